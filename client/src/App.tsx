@@ -10,15 +10,27 @@ import { SnakeData, SNAKE_VELOCITY } from "./game/snake/Snake";
 import Home from "./home/Home";
 
 import MessageType from "./message/messageTypes";
+import { decodeBinaryMessages } from "./message/binary";
+import snapshotBuffer, { applyOtherMoves } from "./game/SnapshotBuffer";
+import prediction from "./game/Prediction";
 import {
   IncreaseOtherLengthMessage,
   IncreaseOwnLengthMessage,
   leaderboardData,
   leaderboardEntry,
+  OrbAddedMessage,
+  OrbRemovedMessage,
+  orbsData,
   OtherUserDiedMessage,
+  OwnRank,
+  RedirectMessage,
   sendNewClientNoCodeMessage,
   sendNewClientWithCodeMessage,
+  SnakeMove,
+  SnakeViewMessage,
   UpdatePositionMessage,
+  UpdatePositionsMessage,
+  UpdateRankMessage,
 } from "./message/message";
 
 /**
@@ -29,9 +41,10 @@ import {
 export default function App(): JSX.Element {
   const [gameStarted, setGameStarted] = useState(false);
   const [scores, setScores] = useState(new Map<string, number>());
+  const [ownRank, setOwnRank] = useState<OwnRank | null>(null);
   const [gameCode, setGameCode] = useState("");
 
-  const orbSet = new Set<OrbData>();
+  const orbSet = new Map<number, OrbData>();
 
   // initial snake
   const snakeBody: Position[] = [];
@@ -59,6 +72,7 @@ export default function App(): JSX.Element {
           gameState={gameState}
           setGameState={setGameState}
           scores={scores}
+          ownRank={ownRank}
           gameCode={gameCode}
           socket={socket}
         />
@@ -66,6 +80,7 @@ export default function App(): JSX.Element {
         <Home
           setGameStarted={setGameStarted}
           setScores={setScores}
+          setOwnRank={setOwnRank}
           setGameCode={setGameCode}
           gameState={gameState}
           setGameState={setGameState}
@@ -88,14 +103,17 @@ const AppConfig = {
 
 /** The client's websocket for communication with the server */
 let socket: WebSocket;
+/** The id of the client's own snake, as assigned by the server on joining */
+let ownSnakeId: number | undefined;
 
 /**
  * Creates a websocket for communcation with the Slither+ server
  * @param setScores A funcion that sets the current leaderboard (set of scores) for the game
+ * @param setOwnRank A function that sets the client's own position on the leaderboard
  * @param setGameStarted A function that sets whether or not the client has started playing the game
  * @param setErrorText A function that sets any error message to be rendered on the home page
  * @param setGameCode A function that sets the current lobby's game code
- * @param orbSet A list of all orbs stored in metadata form
+ * @param orbSet A map of all orbs (by id) stored in metadata form
  * @param gameState A metadata representation of the current state of the game
  * @param setGameState A function that sets the current state of the game
  * @param username The username of the client
@@ -105,37 +123,36 @@ let socket: WebSocket;
  */
 export function registerSocket(
   setScores: Dispatch<SetStateAction<Map<string, number>>>,
+  setOwnRank: Dispatch<SetStateAction<OwnRank | null>>,
   setGameStarted: Dispatch<SetStateAction<boolean>>,
   setErrorText: Dispatch<SetStateAction<string>>,
   setGameCode: Dispatch<SetStateAction<string>>,
-  orbSet: Set<OrbData>,
+  orbSet: Map<number, OrbData>,
   gameState: GameState,
   setGameState: Dispatch<SetStateAction<GameState>>,
   username: string,
   hasGameCode: boolean,
   gameCode: string = ""
 ) {
-  // running game on localhost
-  socket = new WebSocket(AppConfig.PROTOCOL + AppConfig.HOST + AppConfig.PORT);
-
-  // running game on ngrok
-  // socket = new WebSocket(AppConfig.PROTOCOL + AppConfig.HOST);
-
-  socket.onopen = () => {
-    console.log("client: A new client-side socket was opened!");
-    if (hasGameCode) {
-      sendNewClientWithCodeMessage(socket, username, gameCode);
-    } else {
-      sendNewClientNoCodeMessage(socket, username);
-    }
-  };
-
   // different functionality based on received message type from server
-  socket.onmessage = (response: MessageEvent) => {
-    let message = JSON.parse(response.data);
+  const handleMessage = (message: any) => {
     switch (message.type) {
+      // a router in front of several servers sent the client on to the server
+      // that runs its game (and closes this websocket) -- the client joins
+      // through that server instead
+      case MessageType.REDIRECT: {
+        const redirectMessage: RedirectMessage = message;
+        socket.onerror = null;
+        socket.close();
+        connect(redirectMessage.data.url);
+        break;
+      }
+
       // successfully joined a game
       case MessageType.JOIN_SUCCESS: {
+        ownSnakeId = message.data.snakeId;
+        snapshotBuffer.clear();
+        prediction.reset(gameState.snake.snakeBody.toArray());
         setGameStarted(true);
         break;
       }
@@ -163,6 +180,41 @@ export function registerSocket(
         break;
       }
 
+      // updates position of all snakes on screen, for every move in a server tick
+      case MessageType.UPDATE_POSITIONS: {
+        const updatePositionsMessage: UpdatePositionsMessage = message;
+        const newGameState: GameState = { ...gameState };
+        const ownMoves: SnakeMove[] = [];
+        const otherMoves: SnakeMove[] = [];
+        updatePositionsMessage.data.updates.forEach((move: SnakeMove) => {
+          // the client's own snake is only sent if the server moves it (from
+          // the client's MOVE_INPUT messages)
+          if (move.id === ownSnakeId) ownMoves.push(move);
+          else otherMoves.push(move);
+        });
+        // the client's own snake is redrawn from the server's moves, with the
+        // moves predicted from inputs the server has not received replayed
+        const { ack } = updatePositionsMessage.data;
+        if (ownMoves.length > 0 || ack !== undefined) {
+          prediction.applyServerMoves(ownMoves, ack);
+          newGameState.snake.snakeBody = new Denque(
+            prediction.predictedBody()
+          );
+        }
+        // stamped snapshots are drawn smoothly, a little behind the server
+        // (see GameCanvas); other moves are drawn straight away
+        const { tick, serverTime } = updatePositionsMessage.data;
+        if (tick !== undefined && serverTime !== undefined) {
+          if (otherMoves.length > 0) {
+            snapshotBuffer.push(tick, serverTime, otherMoves);
+          }
+        } else {
+          applyOtherMoves(newGameState.otherBodies, otherMoves);
+        }
+        setGameState(newGameState);
+        break;
+      }
+
       // client's snake died
       case MessageType.YOU_DIED: {
         // currently just reloading to force the home screen to open
@@ -179,6 +231,13 @@ export function registerSocket(
         console.log("removePositions");
         console.log(removePositions);
         const newGameState: GameState = { ...gameState };
+        // moves that are still waiting to be drawn are drawn first
+        if (otherUserDiedMessage.data.id !== undefined) {
+          applyOtherMoves(
+            newGameState.otherBodies,
+            snapshotBuffer.takeSnake(otherUserDiedMessage.data.id)
+          );
+        }
         removePositions.forEach((position: Position) => {
           newGameState.otherBodies.delete(JSON.stringify(position));
         });
@@ -186,6 +245,33 @@ export function registerSocket(
         break;
       }
 
+      // another client's snake came into view of the client's snake
+      case MessageType.SNAKE_ENTERED_VIEW: {
+        const snakeViewMessage: SnakeViewMessage = message;
+        const newGameState: GameState = { ...gameState };
+        snakeViewMessage.data.bodyParts.forEach((position: Position) => {
+          newGameState.otherBodies.add(JSON.stringify(position));
+        });
+        setGameState(newGameState);
+        break;
+      }
+
+      // another client's snake went out of view of the client's snake
+      case MessageType.SNAKE_LEFT_VIEW: {
+        const snakeViewMessage: SnakeViewMessage = message;
+        const newGameState: GameState = { ...gameState };
+        // moves that are still waiting to be drawn are drawn first
+        applyOtherMoves(
+          newGameState.otherBodies,
+          snapshotBuffer.takeSnake(snakeViewMessage.data.id)
+        );
+        snakeViewMessage.data.bodyParts.forEach((position: Position) => {
+          newGameState.otherBodies.delete(JSON.stringify(position));
+        });
+        setGameState(newGameState);
+        break;
+      }
+
       // updating users' scores
       case MessageType.UPDATE_LEADERBOARD: {
         const leaderboardMessage: leaderboardData = message;
@@ -193,6 +279,13 @@ export function registerSocket(
         break;
       }
 
+      // updating the client's own position on the leaderboard
+      case MessageType.UPDATE_RANK: {
+        const updateRankMessage: UpdateRankMessage = message;
+        setOwnRank(updateRankMessage.data);
+        break;
+      }
+
       // setting the client's game code
       case MessageType.SET_GAME_CODE: {
         console.log("gc");
@@ -201,11 +294,35 @@ export function registerSocket(
         break;
       }
 
-      // updating the set of orbs for the client's game
+      // replacing every orb for the client's game (sent on joining, and
+      // periodically to resync)
       case MessageType.SEND_ORBS: {
-        orbSet = message.data.orbSet;
-        gameState.orbs = orbSet;
-        setGameState(gameState);
+        const orbsMessage: orbsData = message;
+        orbSet.clear();
+        orbsMessage.data.orbSet.forEach((orb: OrbData) => {
+          orbSet.set(orb.id, orb);
+        });
+        setGameState({ ...gameState, orbs: orbSet });
+        break;
+      }
+
+      // adding new orbs to the client's game
+      case MessageType.ORB_ADDED: {
+        const orbAddedMessage: OrbAddedMessage = message;
+        orbAddedMessage.data.orbs.forEach((orb: OrbData) => {
+          orbSet.set(orb.id, orb);
+        });
+        setGameState({ ...gameState, orbs: orbSet });
+        break;
+      }
+
+      // removing eaten orbs from the client's game
+      case MessageType.ORB_REMOVED: {
+        const orbRemovedMessage: OrbRemovedMessage = message;
+        orbRemovedMessage.data.ids.forEach((id: number) => {
+          orbSet.delete(id);
+        });
+        setGameState({ ...gameState, orbs: orbSet });
         break;
       }
 
@@ -219,6 +336,7 @@ export function registerSocket(
         newBodyParts.forEach((bodyPart: Position) => {
           newGameState.snake.snakeBody.push(bodyPart);
         });
+        prediction.grow(newBodyParts);
         setGameState(newGameState);
         break;
       }
@@ -238,8 +356,46 @@ export function registerSocket(
     }
   };
 
-  // if any error in the server occurs
-  socket.onerror = () => setErrorText("Error: No server running!");
+  // binary frames may hold several messages; text frames hold either one JSON
+  // message or (when the server batches messages) a JSON array of messages
+  const onMessage = (response: MessageEvent) => {
+    if (response.data instanceof ArrayBuffer) {
+      decodeBinaryMessages(response.data).forEach(handleMessage);
+      return;
+    }
+    const parsed = JSON.parse(response.data);
+    if (Array.isArray(parsed)) {
+      parsed.forEach(handleMessage);
+    } else {
+      handleMessage(parsed);
+    }
+  };
+
+  // opens the websocket and joins the game as soon as it is open (again, on
+  // the new websocket, if the client is redirected)
+  const connect = (url: string) => {
+    socket = new WebSocket(url);
+    // binary messages (if the binary protocol is used) are decoded from ArrayBuffers
+    socket.binaryType = "arraybuffer";
+
+    socket.onopen = () => {
+      console.log("client: A new client-side socket was opened!");
+      if (hasGameCode) {
+        sendNewClientWithCodeMessage(socket, username, gameCode);
+      } else {
+        sendNewClientNoCodeMessage(socket, username);
+      }
+    };
+    socket.onmessage = onMessage;
+    // if any error in the server occurs
+    socket.onerror = () => setErrorText("Error: No server running!");
+  };
+
+  // running game on localhost
+  connect(AppConfig.PROTOCOL + AppConfig.HOST + AppConfig.PORT);
+
+  // running game on ngrok
+  // connect(AppConfig.PROTOCOL + AppConfig.HOST);
 }
 
 /**
@@ -4,6 +4,7 @@ import GameState, { Position } from "./GameState";
 import GameCanvas from "./GameCanvas";
 import Leaderboard from "../leaderboard/Leaderboard";
 import GameCode from "../gameCode/GameCode";
+import { OwnRank } from "../message/message";
 
 /**
  * An interface representing data passed to the HTML element responsible for
@@ -16,6 +17,8 @@ interface GameProps {
   setGameState: Dispatch<SetStateAction<GameState>>;
   /** A map from each user, as a string, to their score */
   scores: Map<string, number>;
+  /** The client's own position on the leaderboard (null until the server sends it) */
+  ownRank: OwnRank | null;
   /** The game code of the game current being played */
   gameCode: string;
   /** The client's websocket for communication with the Slither+ server */
@@ -29,6 +32,7 @@ interface GameProps {
  * @param gameState A metadata representation of the current state of the game
  * @param setGameState A function that sets the current state of the game
  * @param scores A map from each user, as a string, to their score
+ * @param ownRank The client's own position on the leaderboard
  * @param gameCode The game code of the game current being played
  * @returns the rendered representation of the client's current Slither+ game
  */
@@ -36,6 +40,7 @@ export default function Game({
   gameState,
   setGameState,
   scores,
+  ownRank,
   gameCode,
   socket,
 }: GameProps) {
@@ -46,7 +51,7 @@ export default function Game({
         setGameState={setGameState}
         socket={socket}
       />
-      <Leaderboard leaderboard={scores} />
+      <Leaderboard leaderboard={scores} ownRank={ownRank} />
       <GameCode gameCode={gameCode} />
     </div>
   );
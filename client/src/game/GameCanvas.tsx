@@ -1,3 +1,4 @@
+import Denque from "denque";
 import { useEffect, Dispatch, SetStateAction } from "react";
 
 import GameState, { Position } from "./GameState";
@@ -5,8 +6,30 @@ import Snake, { SnakeData, SNAKE_VELOCITY } from "./snake/Snake";
 import Orb, { OrbData } from "./orb/Orb";
 import Border from "./boundary/Boundary";
 import OtherSnake from "./snake/OtherSnake";
+import snapshotBuffer, { applyOtherMoves } from "./SnapshotBuffer";
+import prediction, { MOVES_PER_SECOND } from "./Prediction";
 
-import { sendUpdatePositionMessage } from "../message/message";
+import {
+  sendMoveInputMessage,
+  sendUpdatePositionMessage,
+} from "../message/message";
+
+/**
+ * Whether the client steers its snake by sending the server the direction to
+ * head in (MOVE_INPUT), letting the server move the snake, rather than moving
+ * the snake itself and sending each move (UPDATE_POSITION). Off unless the
+ * client is built with REACT_APP_SEND_MOVE_INPUTS=true. The client predicts
+ * its own snake's moves from its inputs (see Prediction), so that the snake
+ * does not lag a round trip behind the mouse.
+ */
+export const SEND_MOVE_INPUTS =
+  process.env.REACT_APP_SEND_MOVE_INPUTS === "true";
+/** How often (in ms) the client checks whether it should send a new input */
+const INPUT_INTERVAL = 100;
+/** How much (in radians) the direction must change before it is resent */
+const INPUT_ANGLE_THRESHOLD = 0.05;
+/** How often (in ms) the other snakes' buffered moves are drawn */
+const DRAW_INTERVAL = 16;
 
 /**
  * The size of the map. The map is rendered centered on the origin, so
@@ -20,6 +43,10 @@ const mousePos: Position = { x: 0, y: 0 };
  * middle of the window
  */
 const offset: Position = { x: 0, y: 0 };
+/** Whether the client's mouse button is held down (making the snake boost) */
+let mouseDown = false;
+/** The last input sent to the server (undefined until one has been sent) */
+let lastInput: { angle: number; boost: boolean } | undefined;
 // let lastUpdatedPosition: Position = { x: 0, y: 0 };
 // let lastUpdatedTime: number = new Date().getTime();
 
@@ -56,6 +83,29 @@ export default function GameCanvas({
     mousePos.y = e.pageY;
   };
 
+  const drawBufferedMoves = () => {
+    const moves = snapshotBuffer.takeDue();
+    if (moves.length === 0) return;
+    const newGameState: GameState = { ...gameState };
+    applyOtherMoves(newGameState.otherBodies, moves);
+    setGameState(newGameState);
+  };
+
+  const onMouseDown = () => {
+    mouseDown = true;
+  };
+
+  const onMouseUp = () => {
+    mouseDown = false;
+  };
+
+  const predictOwnSnake = () => {
+    prediction.predict();
+    const newGameState: GameState = { ...gameState };
+    newGameState.snake.snakeBody = new Denque(prediction.predictedBody());
+    setGameState(newGameState);
+  };
+
   const updatePositions = () => {
     const newGameState: GameState = { ...gameState };
     const updatedSnake: SnakeData = moveSnake(gameState.snake, socket);
@@ -65,15 +115,33 @@ export default function GameCanvas({
   };
 
   useEffect(() => {
-    // updates position of the client's snake every 50 ms
-    const interval = setInterval(updatePositions, 50);
+    // either sends the direction of the mouse every 100 ms (if it has changed),
+    // with the server moving the client's snake (and the client predicting
+    // its moves at the server's rate), or updates position of the client's
+    // snake every 50 ms
+    lastInput = undefined;
+    const interval = SEND_MOVE_INPUTS
+      ? setInterval(() => sendMoveInput(socket), INPUT_INTERVAL)
+      : setInterval(updatePositions, 50);
+    const predictInterval = SEND_MOVE_INPUTS
+      ? setInterval(predictOwnSnake, 1000 / MOVES_PER_SECOND)
+      : undefined;
+    // draws the other snakes' moves from the server's snapshots as they fall due
+    const drawInterval = setInterval(drawBufferedMoves, DRAW_INTERVAL);
     // updates mouse position when moved, determines target direction for snake
     window.addEventListener("mousemove", onMouseMove);
+    // holding the mouse button down makes the snake boost
+    window.addEventListener("mousedown", onMouseDown);
+    window.addEventListener("mouseup", onMouseUp);
 
     return () => {
       // clean up upon closing
       clearInterval(interval);
+      clearInterval(predictInterval);
+      clearInterval(drawInterval);
       window.removeEventListener("mousemove", onMouseMove);
+      window.removeEventListener("mousedown", onMouseDown);
+      window.removeEventListener("mouseup", onMouseUp);
     };
   }, []);
 
@@ -87,8 +155,8 @@ export default function GameCanvas({
   return (
     <div>
       <Snake snake={gameState.snake} offset={offset} />
-      {Array.from(gameState.orbs).map((orb: OrbData, ind: number) => (
-        <Orb orbInfo={orb} offset={offset} key={ind} />
+      {Array.from(gameState.orbs.values()).map((orb: OrbData) => (
+        <Orb orbInfo={orb} offset={offset} key={orb.id} />
       ))}
       <OtherSnake positions={gameState.otherBodies} offset={offset} />
       snakes
@@ -148,6 +216,31 @@ export function moveSnake(snake: SnakeData, socket: WebSocket): SnakeData {
   return snake;
 }
 
+/**
+ * Sends the server the direction from the client's snake's head (always at
+ * the middle of the window) to the mouse, and whether the snake is boosting,
+ * if either has changed enough since the last input that was sent (numbered,
+ * so that the snake's predicted moves can be reconciled with the server's)
+ * @param socket The client's websocket for communication with the Slither+ server
+ */
+export function sendMoveInput(socket: WebSocket): void {
+  const angle: number = Math.atan2(
+    mousePos.y - window.innerHeight / 2,
+    mousePos.x - window.innerWidth / 2
+  );
+  if (
+    lastInput !== undefined &&
+    lastInput.boost === mouseDown &&
+    Math.abs(mod(angle - lastInput.angle + Math.PI, 2 * Math.PI) - Math.PI) <
+      INPUT_ANGLE_THRESHOLD
+  ) {
+    return;
+  }
+  lastInput = { angle: angle, boost: mouseDown };
+  const input = prediction.addInput(angle, mouseDown);
+  sendMoveInputMessage(socket, angle, mouseDown, input.seq);
+}
+
 /**
  * Takes the modulo of the first argument by the second argument (n % m)
  * @param n the number whose modulo is being calculated
@@ -23,8 +23,8 @@ export default interface GameState {
    * a position
    */
   otherBodies: Set<string>;
-  /** A metadata representation of all current in-game orbs */
-  orbs: Set<OrbData>;
+  /** A metadata representation of all current in-game orbs, by orb id */
+  orbs: Map<number, OrbData>;
 
   /** A map of each user to their score */
   scores: Map<String, Number>;
@@ -0,0 +1,58 @@
+import { Prediction, step } from "./Prediction";
+import { Position } from "./GameState";
+
+const startBody = (): Position[] => [
+  { x: 0, y: 0 },
+  { x: 0, y: -8 },
+  { x: 0, y: -16 },
+];
+
+test("a step turns by at most 0.1 radians and rounds like the server", () => {
+  const body = startBody();
+  const heading = step(body, Math.PI / 2, 0);
+  expect(heading).toBeCloseTo(Math.PI / 2 - 0.1);
+  expect(body).toEqual([
+    { x: 0.8, y: 7.96 },
+    { x: 0, y: 0 },
+    { x: 0, y: -8 },
+  ]);
+  // the shorter way round, across the angle where headings wrap around
+  expect(step(startBody(), 3.1, -3.1)).toBeCloseTo(-3.1);
+});
+
+test("server moves are reconciled by replaying unacknowledged inputs", () => {
+  const prediction = new Prediction();
+  prediction.reset(startBody());
+  prediction.predict(); // nothing is predicted before the first input
+  expect(prediction.predictedBody()).toEqual(startBody());
+
+  expect(prediction.addInput(0, false).seq).toBe(0);
+  prediction.predict();
+  prediction.predict();
+  const server = startBody();
+  step(server, Math.PI / 2, 0);
+  prediction.applyServerMoves(
+    [{ id: 1, add: server[0], remove: startBody()[2] }],
+    0
+  );
+  const predicted = prediction.predictedBody().slice();
+  expect(predicted[1]).toEqual(server[0]);
+
+  // the server has not received the new input yet, so its next move (with
+  // the old input) leaves the prediction unchanged
+  expect(prediction.addInput(Math.PI, false).seq).toBe(1);
+  prediction.predict();
+  const expected = prediction.predictedBody().slice();
+  step(server, Math.PI / 2 - 0.1, 0);
+  prediction.applyServerMoves(
+    [{ id: 1, add: server[0], remove: server[2] }],
+    0
+  );
+  expect(prediction.predictedBody()).toEqual(expected);
+
+  // growth is kept when the snake is rebuilt from the server's moves
+  prediction.grow([{ x: 50, y: 50 }]);
+  expect(prediction.predictedBody().length).toBe(4);
+  prediction.applyServerMoves([], 1);
+  expect(prediction.predictedBody().length).toBe(4);
+});
@@ -0,0 +1,259 @@
+import { Position } from "./GameState";
+import { SNAKE_VELOCITY } from "./snake/Snake";
+import { SnakeMove } from "../message/message";
+
+/** How many steps a snake moves each second (MOVES_PER_SECOND on the server) */
+export const MOVES_PER_SECOND = 20;
+/** How many steps a boosting snake moves instead of one */
+export const BOOST_STEPS = 2;
+/** The largest change in heading each step (in radians) */
+const MAX_TURN = 0.1;
+/** The heading of a new snake (down the screen) */
+const INITIAL_HEADING = Math.PI / 2;
+/** Coordinates are rounded to hundredths of a unit, as on the server */
+const COORDINATE_SCALE = 100;
+/**
+ * The most steps that are predicted ahead of the server (a second's worth),
+ * so that the snake stops rather than running away if the server stalls
+ */
+const MAX_PREDICTED_STEPS = MOVES_PER_SECOND;
+
+/** A step predicted beyond the server's snake */
+interface PredictedStep {
+  /** The input that the step heads towards */
+  input: MoveInput;
+  /** The position of the snake's head after the step */
+  head: Position;
+  /** The heading of the snake after the step, in radians */
+  heading: number;
+}
+
+/** An input sent to the server */
+export interface MoveInput {
+  /** The sequence number that the input was sent with */
+  seq: number;
+  /** The direction the snake should head in, in radians */
+  angle: number;
+  /** Whether the snake should move faster */
+  boost: boolean;
+}
+
+/**
+ * Predicts the moves of the client's own snake, when the server moves it from
+ * the client's inputs, so that it turns as soon as the mouse moves rather
+ * than a round trip later. The snake is moved locally with the same rules as
+ * SnakeMotion on the server: each step it turns by at most MAX_TURN towards
+ * the latest input and moves SNAKE_VELOCITY units (BOOST_STEPS steps at a
+ * time while boosting).
+ *
+ * Each input is numbered, and the server sends back the number of the latest
+ * input it has received with each of the snake's moves. When the server's
+ * moves arrive, the predicted snake is rebuilt from the server's snake, and
+ * the steps predicted beyond it are replayed: steps made with an input that
+ * the server has not received yet are replayed with that input, and the
+ * others with the latest input the server has (which it uses from then on).
+ */
+export class Prediction {
+  /** The number of the next input to be sent */
+  private nextSeq = 0;
+  /** The latest input sent (undefined until the first is sent) */
+  private latestInput: MoveInput | undefined;
+  /** The inputs sent that the server has not received yet, in order */
+  private unackedInputs: MoveInput[] = [];
+  /** The latest input that the server has received */
+  private ackedInput: MoveInput | undefined;
+  /** The snake as the server last sent it, head first */
+  private serverBody: Position[] = [];
+  /** The heading of the server's snake, in radians */
+  private serverHeading = INITIAL_HEADING;
+  /** The steps predicted beyond the server's snake, in order */
+  private predictedSteps: PredictedStep[] = [];
+  /** The predicted snake, head first */
+  private body: Position[] = [];
+  /** The heading of the predicted snake, in radians */
+  private heading = INITIAL_HEADING;
+
+  /**
+   * Starts predicting a new snake (e.g. when joining a game)
+   * @param body the snake's body parts, head first
+   */
+  reset(body: Position[]): void {
+    this.nextSeq = 0;
+    this.latestInput = undefined;
+    this.unackedInputs = [];
+    this.ackedInput = undefined;
+    this.serverBody = body.slice();
+    this.serverHeading = INITIAL_HEADING;
+    this.predictedSteps = [];
+    this.body = body.slice();
+    this.heading = INITIAL_HEADING;
+  }
+
+  /**
+   * Numbers an input that is about to be sent to the server, which the
+   * following predicted steps head towards
+   * @param angle the direction the snake should head in, in radians
+   * @param boost whether the snake should move faster
+   * @returns the numbered input
+   */
+  addInput(angle: number, boost: boolean): MoveInput {
+    this.latestInput = { seq: this.nextSeq++, angle: angle, boost: boost };
+    this.unackedInputs.push(this.latestInput);
+    return this.latestInput;
+  }
+
+  /**
+   * Predicts the snake's moves for one of the server's move periods (one
+   * step, or BOOST_STEPS while boosting). Nothing is predicted before the
+   * first input is sent, since the server only starts moving the snake then.
+   */
+  predict(): void {
+    const input = this.latestInput;
+    if (input === undefined || this.body.length === 0) return;
+    const steps = input.boost ? BOOST_STEPS : 1;
+    for (let i = 0; i < steps; i++) {
+      if (this.predictedSteps.length >= MAX_PREDICTED_STEPS) return;
+      this.predictStep(input);
+    }
+  }
+
+  /**
+   * Applies the snake's moves sent by the server, and rebuilds the
+   * predicted snake from them. The server's heading after each move is the
+   * heading predicted for it if the move was predicted exactly, and
+   * otherwise the direction of the move.
+   * @param moves the server's moves of the snake, in order
+   * @param ack the number of the latest input the server has received
+   * (undefined if it was not sent)
+   */
+  applyServerMoves(moves: SnakeMove[], ack: number | undefined): void {
+    moves.forEach((move: SnakeMove, i: number) => {
+      const previousHead = this.serverBody[0];
+      const predicted = this.predictedSteps[i];
+      this.serverBody.pop();
+      this.serverBody.unshift(move.add);
+      if (
+        predicted !== undefined &&
+        predicted.head.x === move.add.x &&
+        predicted.head.y === move.add.y
+      ) {
+        this.serverHeading = predicted.heading;
+      } else if (previousHead !== undefined) {
+        this.serverHeading = Math.atan2(
+          move.add.y - previousHead.y,
+          move.add.x - previousHead.x
+        );
+      }
+    });
+    this.predictedSteps.splice(0, moves.length);
+    if (ack !== undefined) {
+      const acked = this.unackedInputs.find(
+        (input: MoveInput) => input.seq === ack
+      );
+      if (acked !== undefined) this.ackedInput = acked;
+      this.unackedInputs = this.unackedInputs.filter(
+        (input: MoveInput) => input.seq > ack
+      );
+    }
+    this.replay();
+  }
+
+  /**
+   * Adds body parts to the tail of the snake (when it grows)
+   * @param bodyParts the positions of the new body parts
+   */
+  grow(bodyParts: Position[]): void {
+    this.serverBody.push(...bodyParts);
+    this.body.push(...bodyParts);
+  }
+
+  /**
+   * Provides the predicted snake
+   * @returns the predicted snake's body parts, head first
+   */
+  predictedBody(): Position[] {
+    return this.body;
+  }
+
+  /**
+   * Rebuilds the predicted snake from the server's snake, replaying the
+   * steps predicted beyond it: steps made with an input older than the
+   * latest one the server has received are replayed with that one instead,
+   * and the unacknowledged inputs are replayed as they were predicted
+   */
+  private replay(): void {
+    const acked = this.ackedInput;
+    const inputs = this.predictedSteps.map((predicted: PredictedStep) =>
+      acked !== undefined && predicted.input.seq < acked.seq
+        ? acked
+        : predicted.input
+    );
+    this.body = this.serverBody.slice();
+    this.heading = this.serverHeading;
+    this.predictedSteps = [];
+    inputs.forEach((input: MoveInput) => this.predictStep(input));
+  }
+
+  /**
+   * Moves the predicted snake by one step, and records the step
+   * @param input the input that the step heads towards
+   */
+  private predictStep(input: MoveInput): void {
+    this.heading = step(this.body, this.heading, input.angle);
+    this.predictedSteps.push({
+      input: input,
+      head: this.body[0],
+      heading: this.heading,
+    });
+  }
+}
+
+/**
+ * Moves a snake by one step: turns its heading by at most MAX_TURN towards
+ * the target angle, and moves its head SNAKE_VELOCITY units that way
+ * (removing its tail)
+ * @param body the snake's body parts, head first (which are changed)
+ * @param heading the direction the snake is moving in, in radians
+ * @param targetAngle the direction the snake should head in, in radians
+ * @returns the snake's new heading
+ */
+export function step(
+  body: Position[],
+  heading: number,
+  targetAngle: number
+): number {
+  const difference = remainder(targetAngle - heading, 2 * Math.PI);
+  const turn = Math.max(-MAX_TURN, Math.min(MAX_TURN, difference));
+  const newHeading = remainder(heading + turn, 2 * Math.PI);
+  const head = body[0];
+  body.pop();
+  body.unshift({
+    x: round(head.x + round(SNAKE_VELOCITY * Math.cos(newHeading))),
+    y: round(head.y + round(SNAKE_VELOCITY * Math.sin(newHeading))),
+  });
+  return newHeading;
+}
+
+/**
+ * Takes the remainder of n divided by m that is closest to zero (between
+ * -m/2 and m/2), as Math.IEEEremainder does on the server
+ * @param n the dividend
+ * @param m the divisor
+ * @returns the remainder
+ */
+function remainder(n: number, m: number): number {
+  return n - m * Math.round(n / m);
+}
+
+/**
+ * Rounds a coordinate to hundredths of a unit
+ * @param coordinate the coordinate to be rounded
+ * @returns the rounded coordinate
+ */
+function round(coordinate: number): number {
+  return Math.round(coordinate * COORDINATE_SCALE) / COORDINATE_SCALE;
+}
+
+/** The prediction of the client's own snake in the current game */
+const prediction = new Prediction();
+export default prediction;
@@ -0,0 +1,23 @@
+import { SnapshotBuffer } from "./SnapshotBuffer";
+
+const move = (id: number, x: number) => ({
+  id: id,
+  add: { x: x, y: 0 },
+  remove: { x: x - 100, y: 0 },
+});
+
+test("snapshot moves are spread out and drawn behind the server", () => {
+  const buffer = new SnapshotBuffer();
+  expect(buffer.takeDue(0)).toEqual([]);
+  buffer.push(1, 1000, [move(3, 1)], 5000);
+  buffer.push(5, 1200, [move(3, 2), move(4, 10), move(3, 3)], 5200);
+  // older snapshots are ignored
+  buffer.push(4, 1150, [move(4, 99)], 5150);
+
+  // drawn 300 ms (1.5 snapshot intervals) behind the server
+  expect(buffer.takeDue(5299)).toEqual([]);
+  expect(buffer.takeDue(5300)).toEqual([move(3, 1)]);
+  expect(buffer.takeDue(5400)).toEqual([move(3, 2)]);
+  expect(buffer.takeSnake(3)).toEqual([move(3, 3)]);
+  expect(buffer.takeDue(5500)).toEqual([move(4, 10)]);
+});
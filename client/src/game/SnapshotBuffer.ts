@@ -0,0 +1,151 @@
+import { SnakeMove } from "../message/message";
+
+/** The shortest time (in ms) that other snakes are drawn behind the server */
+const MIN_INTERPOLATION_DELAY = 100;
+/**
+ * How many snapshot intervals other snakes are drawn behind the server, so
+ * that the next snapshot has usually arrived before it is needed
+ */
+const INTERPOLATION_INTERVALS = 1.5;
+
+/** A move of another snake, with the server time at which it is drawn */
+interface TimedMove {
+  /** The server time (in ms) at which the move is drawn */
+  time: number;
+  /** The move itself */
+  move: SnakeMove;
+}
+
+/**
+ * A buffer of the snapshots of other snakes' moves sent by the server (each
+ * stamped with its tick and the server time), that releases the moves to be
+ * drawn a little behind the server: the moves in each snapshot are spread
+ * evenly over the time since the previous one, so other snakes move smoothly
+ * even when the server sends snapshots much less often than it ticks (or
+ * when they arrive unevenly).
+ */
+export class SnapshotBuffer {
+  /** The tick of the latest snapshot (-1 before the first) */
+  private lastTick = -1;
+  /** The server time of the latest snapshot */
+  private lastServerTime: number | undefined;
+  /** The smallest difference seen between local and server time */
+  private clockOffset: number | undefined;
+  /** The (smoothed) time between snapshots, in ms */
+  private snapshotInterval = 0;
+  /** The moves waiting to be drawn, in the order they are drawn in */
+  private pending: TimedMove[] = [];
+
+  /**
+   * Adds a snapshot received from the server; snapshots older than the
+   * latest one are ignored (a later snapshot of the same tick, sent before a
+   * snake leaves view or dies, is kept)
+   * @param tick the tick that the snapshot was sent at
+   * @param serverTime the server time (in ms) that it was sent at
+   * @param moves the other snakes' moves since the previous snapshot
+   * @param receivedTime the local time (in ms) that it was received at
+   */
+  push(
+    tick: number,
+    serverTime: number,
+    moves: SnakeMove[],
+    receivedTime: number = Date.now()
+  ): void {
+    if (tick < this.lastTick) return;
+    const offset = receivedTime - serverTime;
+    if (this.clockOffset === undefined || offset < this.clockOffset) {
+      this.clockOffset = offset;
+    }
+    const start =
+      this.lastServerTime === undefined ? serverTime : this.lastServerTime;
+    if (this.lastServerTime !== undefined) {
+      this.snapshotInterval =
+        this.snapshotInterval === 0
+          ? serverTime - start
+          : 0.9 * this.snapshotInterval + 0.1 * (serverTime - start);
+    }
+
+    // each snake's moves are spread evenly over the time since the last snapshot
+    const movesById = new Map<number, SnakeMove[]>();
+    moves.forEach((move: SnakeMove) => {
+      const snakeMoves = movesById.get(move.id);
+      if (snakeMoves === undefined) movesById.set(move.id, [move]);
+      else snakeMoves.push(move);
+    });
+    movesById.forEach((snakeMoves: SnakeMove[]) => {
+      snakeMoves.forEach((move: SnakeMove, i: number) => {
+        const time =
+          start + ((i + 1) / snakeMoves.length) * (serverTime - start);
+        this.pending.push({ time: time, move: move });
+      });
+    });
+    this.pending.sort((a: TimedMove, b: TimedMove) => a.time - b.time);
+
+    this.lastTick = tick;
+    this.lastServerTime = serverTime;
+  }
+
+  /**
+   * Removes and returns the moves that are due to be drawn
+   * @param now the current local time (in ms)
+   * @returns the moves to draw, in order
+   */
+  takeDue(now: number = Date.now()): SnakeMove[] {
+    if (this.clockOffset === undefined) return [];
+    const delay = Math.max(
+      MIN_INTERPOLATION_DELAY,
+      INTERPOLATION_INTERVALS * this.snapshotInterval
+    );
+    const renderTime = now - this.clockOffset - delay;
+    let due = 0;
+    while (due < this.pending.length && this.pending[due].time <= renderTime) {
+      due++;
+    }
+    return this.pending.splice(0, due).map((timed: TimedMove) => timed.move);
+  }
+
+  /**
+   * Removes and returns every move of a snake that is still waiting to be
+   * drawn (to be drawn straight away, before the snake leaves view or dies)
+   * @param id the id of the snake
+   * @returns the snake's moves, in order
+   */
+  takeSnake(id: number): SnakeMove[] {
+    const snakeMoves: SnakeMove[] = [];
+    this.pending = this.pending.filter((timed: TimedMove) => {
+      if (timed.move.id !== id) return true;
+      snakeMoves.push(timed.move);
+      return false;
+    });
+    return snakeMoves;
+  }
+
+  /** Forgets every snapshot (e.g. when joining a new game) */
+  clear(): void {
+    this.lastTick = -1;
+    this.lastServerTime = undefined;
+    this.clockOffset = undefined;
+    this.snapshotInterval = 0;
+    this.pending = [];
+  }
+}
+
+/**
+ * Applies other snakes' moves to the set of their body parts' positions
+ * (serialized as JSON)
+ * @param otherBodies the positions of the other snakes' body parts
+ * @param moves the moves to be applied, in order
+ */
+export function applyOtherMoves(
+  otherBodies: Set<string>,
+  moves: SnakeMove[]
+): void {
+  moves.forEach((move: SnakeMove) => {
+    otherBodies.delete(JSON.stringify(move.remove));
+    otherBodies.add(JSON.stringify(move.add));
+  });
+}
+
+/** The buffer of the snapshots received from the server in the current game */
+const snapshotBuffer = new SnapshotBuffer();
+export default snapshotBuffer;
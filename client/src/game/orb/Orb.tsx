@@ -3,6 +3,8 @@ import "./orb.css";
 
 /** A metadata representation of the orb */
 export interface OrbData {
+  /** The id of the orb, used by the server to add and remove single orbs */
+  id: number;
   /** The position of the orb on the map */
   position: Position;
   /** The size of the orb, as an enum */
@@ -5,6 +5,7 @@ import "./Home.css";
 import { registerSocket } from "../App";
 import GameState from "../game/GameState";
 import { OrbData } from "../game/orb/Orb";
+import { OwnRank } from "../message/message";
 import HowToPlay from "./HowToPlay";
 
 /**
@@ -68,14 +69,16 @@ interface HomeProps {
   setGameStarted: Dispatch<SetStateAction<boolean>>;
   /** A function that sets the current leaderboard (set of scores) for the game */
   setScores: Dispatch<SetStateAction<Map<string, number>>>;
+  /** A function that sets the client's own position on the leaderboard */
+  setOwnRank: Dispatch<SetStateAction<OwnRank | null>>;
   /** A function that sets the game code for the lobby the client is playing in */
   setGameCode: Dispatch<SetStateAction<string>>;
   /** A metadata representation of the current state of the game */
   gameState: GameState;
   /** A function that sets the current state of the game */
   setGameState: Dispatch<SetStateAction<GameState>>;
-  /** A list of all orbs stored in metadata form */
-  orbSet: Set<OrbData>;
+  /** A map of all orbs (by id) stored in metadata form */
+  orbSet: Map<number, OrbData>;
 }
 
 /**
@@ -86,15 +89,17 @@ interface HomeProps {
  *
  * @param setGameStarted A function that sets whether or not the client has started playing the game
  * @param setScores A function that sets the current leaderboard (set of scores) for the game
+ * @param setOwnRank A function that sets the client's own position on the leaderboard
  * @param setGameCode A function that sets the game code for the lobby the client is playing in
  * @param gameState A metadata representation of the current state of the game
  * @param setGameState A function that sets the current state of the game
- * @param orbSet A list of all orbs stored in metadata form
+ * @param orbSet A map of all orbs (by id) stored in metadata form
  * @returns the home page of the Slither+ game
  */
 export default function Home({
   setGameStarted,
   setScores,
+  setOwnRank,
   setGameCode,
   gameState,
   setGameState,
@@ -115,6 +120,7 @@ export default function Home({
     try {
       registerSocket(
         setScores,
+        setOwnRank,
         setGameStarted,
         setErrorText,
         setGameCode,
@@ -141,6 +147,7 @@ export default function Home({
     try {
       registerSocket(
         setScores,
+        setOwnRank,
         setGameStarted,
         setErrorText,
         setGameCode,
@@ -1,23 +1,24 @@
 import React from "react";
-import { leaderboardEntry } from "../message/message";
+import { OwnRank } from "../message/message";
 import "./Leaderboard.css";
 
 /**
  * Displays the current lobby's leaderboard, in the top right.
- * @param leadboard a map of each user in the lobby to their score
+ * @param leadboard a map of each user in the lobby to their score, in the
+ * (decreasing score) order in which the server sent the standings
+ * @param ownRank the client's own position on the leaderboard, if known
  * @returns a HTML element rendering the leaderboard
  */
 export default function Leaderboard({
   leaderboard,
+  ownRank,
 }: {
   leaderboard: Map<string, number>;
+  ownRank: OwnRank | null;
 }): JSX.Element {
-  let leaderboardEntries: [string, number][] = Array.from(
+  const leaderboardEntries: [string, number][] = Array.from(
     leaderboard.entries()
   );
-  leaderboardEntries = leaderboardEntries.sort(
-    (a: [string, number], b: [string, number]) => (a[1] > b[1] ? -1 : 1)
-  );
   return (
     <div className="leaderboard">
       <table>
@@ -36,6 +37,13 @@ export default function Leaderboard({
             </tr>
           );
         })}
+        {ownRank !== null && (
+          <tr>
+            <td className="rank-entry" colSpan={2}>
+              You: #{ownRank.rank} of {ownRank.playerCount}
+            </td>
+          </tr>
+        )}
       </table>
     </div>
   );
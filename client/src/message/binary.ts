@@ -0,0 +1,212 @@
+import MessageType from "./messageTypes";
+import { Position } from "../game/GameState";
+import { OrbData, OrbSize } from "../game/orb/Orb";
+
+/**
+ * Whether this client asks the server for the binary protocol: the most
+ * frequent messages (position updates and orbs) are then sent in both
+ * directions as compact binary frames instead of JSON. The layouts below must
+ * match BinaryCodec on the server. Off unless the client is built with
+ * REACT_APP_BINARY_PROTOCOL=true (the server uses whichever protocol each
+ * client asks for when it joins).
+ */
+export const USE_BINARY_PROTOCOL =
+  process.env.REACT_APP_BINARY_PROTOCOL === "true";
+
+/** The type codes that start each binary message */
+const UPDATE_POSITION = 1;
+const UPDATE_POSITIONS = 2;
+const SEND_ORBS = 3;
+const ORB_ADDED = 4;
+const ORB_REMOVED = 5;
+const MOVE_INPUT = 6;
+
+/** Coordinates are sent as 32-bit integers, in hundredths of a unit */
+const COORDINATE_SCALE = 100;
+
+/** Angles are sent as 16-bit integers, in ten-thousandths of a radian */
+const ANGLE_SCALE = 10000;
+
+/**
+ * Encodes an UPDATE_POSITION message (the move of the client's own snake)
+ * into a binary frame.
+ * @param add the position of the segment of the snake to add
+ * @param remove the position of the segment of the snake to remove
+ * @returns the encoded message
+ */
+export function encodeUpdatePosition(
+  add: Position,
+  remove: Position
+): ArrayBuffer {
+  const buffer = new ArrayBuffer(1 + 16);
+  const view = new DataView(buffer);
+  view.setUint8(0, UPDATE_POSITION);
+  writePosition(view, 1, add);
+  writePosition(view, 9, remove);
+  return buffer;
+}
+
+/**
+ * Encodes a MOVE_INPUT message (the direction the client's own snake should
+ * head in) into a binary frame.
+ * @param angle the direction to head in, in radians (between -PI and PI)
+ * @param boost whether the snake should move faster
+ * @param seq the sequence number of the input
+ * @returns the encoded message
+ */
+export function encodeMoveInput(
+  angle: number,
+  boost: boolean,
+  seq: number
+): ArrayBuffer {
+  const buffer = new ArrayBuffer(1 + 7);
+  const view = new DataView(buffer);
+  view.setUint8(0, MOVE_INPUT);
+  view.setInt16(1, Math.round(angle * ANGLE_SCALE));
+  view.setUint8(3, boost ? 1 : 0);
+  view.setInt32(4, seq);
+  return buffer;
+}
+
+/**
+ * Decodes the messages in a binary frame received from the server into the
+ * same shape as the equivalent JSON messages, so that they can be handled in
+ * exactly the same way.
+ * @param buffer the received frame
+ * @returns the messages held in the frame, in order
+ */
+export function decodeBinaryMessages(buffer: ArrayBuffer): any[] {
+  const view = new DataView(buffer);
+  const messages: any[] = [];
+  let offset = 0;
+  while (offset < view.byteLength) {
+    const type = view.getUint8(offset);
+    offset += 1;
+    switch (type) {
+      case UPDATE_POSITION: {
+        const add = readPosition(view, offset);
+        const remove = readPosition(view, offset + 8);
+        offset += 16;
+        messages.push({
+          type: MessageType.UPDATE_POSITION,
+          data: { add: add, remove: remove },
+        });
+        break;
+      }
+      case UPDATE_POSITIONS: {
+        const count = view.getInt32(offset);
+        const tick = readInt64(view, offset + 4);
+        const serverTime = readInt64(view, offset + 12);
+        const ack = view.getInt32(offset + 20);
+        offset += 24;
+        const updates = [];
+        for (let i = 0; i < count; i++) {
+          updates.push({
+            id: view.getInt32(offset),
+            add: readPosition(view, offset + 4),
+            remove: readPosition(view, offset + 12),
+          });
+          offset += 20;
+        }
+        const data: any = { updates: updates };
+        if (tick >= 0) {
+          data.tick = tick;
+          data.serverTime = serverTime;
+        }
+        if (ack >= 0) data.ack = ack;
+        messages.push({ type: MessageType.UPDATE_POSITIONS, data: data });
+        break;
+      }
+      case SEND_ORBS:
+      case ORB_ADDED: {
+        const count = view.getInt32(offset);
+        offset += 4;
+        const orbs: OrbData[] = [];
+        for (let i = 0; i < count; i++) {
+          orbs.push(readOrb(view, offset));
+          offset += 16;
+        }
+        messages.push(
+          type === SEND_ORBS
+            ? { type: MessageType.SEND_ORBS, data: { orbSet: orbs } }
+            : { type: MessageType.ORB_ADDED, data: { orbs: orbs } }
+        );
+        break;
+      }
+      case ORB_REMOVED: {
+        const count = view.getInt32(offset);
+        offset += 4;
+        const ids: number[] = [];
+        for (let i = 0; i < count; i++) {
+          ids.push(view.getInt32(offset));
+          offset += 4;
+        }
+        messages.push({
+          type: MessageType.ORB_REMOVED,
+          data: { ids: ids },
+        });
+        break;
+      }
+      default:
+        // the rest of the frame cannot be read without knowing this
+        // message's layout, so it is dropped
+        return messages;
+    }
+  }
+  return messages;
+}
+
+/**
+ * Reads a 64-bit integer (a tick or a server time, both well within the
+ * integers that a number holds exactly)
+ * @param view the view of the buffer to read from
+ * @param offset the byte offset at which the integer starts
+ * @returns the integer that was read
+ */
+function readInt64(view: DataView, offset: number): number {
+  return view.getInt32(offset) * 2 ** 32 + view.getUint32(offset + 4);
+}
+
+/**
+ * Writes a position as two coordinates in hundredths of a unit
+ * @param view the view of the buffer to write into
+ * @param offset the byte offset at which to write the position
+ * @param position the position to be written
+ */
+function writePosition(view: DataView, offset: number, position: Position) {
+  view.setInt32(offset, Math.round(position.x * COORDINATE_SCALE));
+  view.setInt32(offset + 4, Math.round(position.y * COORDINATE_SCALE));
+}
+
+/**
+ * Reads an orb written as its id, position, size (0 for small, 1 for large)
+ * and color (one byte each for red, green and blue)
+ * @param view the view of the buffer to read from
+ * @param offset the byte offset at which the orb starts
+ * @returns the orb that was read
+ */
+function readOrb(view: DataView, offset: number): OrbData {
+  const rgb =
+    (view.getUint8(offset + 13) << 16) |
+    (view.getUint8(offset + 14) << 8) |
+    view.getUint8(offset + 15);
+  return {
+    id: view.getInt32(offset),
+    position: readPosition(view, offset + 4),
+    orbSize: view.getUint8(offset + 12) === 0 ? OrbSize.SMALL : OrbSize.LARGE,
+    color: "#" + rgb.toString(16).padStart(6, "0"),
+  };
+}
+
+/**
+ * Reads a position written as two coordinates in hundredths of a unit
+ * @param view the view of the buffer to read from
+ * @param offset the byte offset at which the position starts
+ * @returns the position that was read
+ */
+function readPosition(view: DataView, offset: number): Position {
+  return {
+    x: view.getInt32(offset) / COORDINATE_SCALE,
+    y: view.getInt32(offset + 4) / COORDINATE_SCALE,
+  };
+}
@@ -1,6 +1,11 @@
 import MessageType from "./messageTypes";
 import { Position } from "../game/GameState";
 import { OrbData } from "../game/orb/Orb";
+import {
+  encodeMoveInput,
+  encodeUpdatePosition,
+  USE_BINARY_PROTOCOL,
+} from "./binary";
 
 /**
  * The default generic interface for any message sent or received to
@@ -23,6 +28,8 @@ export interface NewClientNoCodeMessage {
   /** The data sent with the message - the client's username */
   data: {
     username: string;
+    /** Whether the client asks for the binary protocol */
+    binary: boolean;
   };
 }
 
@@ -40,6 +47,8 @@ export interface NewClientOldCodeMessage {
   data: {
     username: string;
     gameCode: string;
+    /** Whether the client asks for the binary protocol */
+    binary: boolean;
   };
 }
 
@@ -60,6 +69,25 @@ export interface UpdatePositionMessage {
   };
 }
 
+/**
+ * An interface representing a message sent to the server to steer the
+ * current client's snake, which the server then moves.
+ */
+export interface MoveInputMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.MOVE_INPUT;
+  /**
+   * The data sent with the message - the direction the snake should head
+   * in, whether it should move faster, and the input's sequence number
+   * (which the server sends back with the snake's moves)
+   */
+  data: {
+    angle: number;
+    boost: boolean;
+    seq: number;
+  };
+}
+
 /**
  * Sends a message to the server via the given websocket to register
  * the client for a new game.
@@ -74,6 +102,7 @@ export function sendNewClientNoCodeMessage(
     type: MessageType.NEW_CLIENT_NO_CODE,
     data: {
       username: username,
+      binary: USE_BINARY_PROTOCOL,
     },
   };
   socket.send(JSON.stringify(message));
@@ -96,6 +125,7 @@ export function sendNewClientWithCodeMessage(
     data: {
       username: username,
       gameCode: gameCode,
+      binary: USE_BINARY_PROTOCOL,
     },
   };
   socket.send(JSON.stringify(message));
@@ -113,6 +143,10 @@ export function sendUpdatePositionMessage(
   add: Position,
   remove: Position
 ): void {
+  if (USE_BINARY_PROTOCOL) {
+    socket.send(encodeUpdatePosition(add, remove));
+    return;
+  }
   const message: UpdatePositionMessage = {
     type: MessageType.UPDATE_POSITION,
     data: {
@@ -123,6 +157,36 @@ export function sendUpdatePositionMessage(
   socket.send(JSON.stringify(message));
 }
 
+/**
+ * Sends a message to the server via the given websocket to steer the
+ * current client's snake: the server moves the snake towards the given
+ * direction from then on, and sends the client each of its snake's moves.
+ * @param socket the client's websocket for communication with the server
+ * @param angle the direction the snake should head in, in radians
+ * @param boost whether the snake should move faster
+ * @param seq the sequence number of the input
+ */
+export function sendMoveInputMessage(
+  socket: WebSocket,
+  angle: number,
+  boost: boolean,
+  seq: number
+): void {
+  if (USE_BINARY_PROTOCOL) {
+    socket.send(encodeMoveInput(angle, boost, seq));
+    return;
+  }
+  const message: MoveInputMessage = {
+    type: MessageType.MOVE_INPUT,
+    data: {
+      angle: angle,
+      boost: boost,
+      seq: seq,
+    },
+  };
+  socket.send(JSON.stringify(message));
+}
+
 // TYPES FOR MESSAGES RECEIVED FROM THE SERVER
 
 /**
@@ -141,6 +205,27 @@ export interface leaderboardData {
   };
 }
 
+/**
+ * An interface representing a message received from the server when the
+ * client's own position on the leaderboard changes.
+ */
+export interface UpdateRankMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.UPDATE_RANK;
+  /** The data sent with the message - the client's rank and the lobby's size */
+  data: OwnRank;
+}
+
+/**
+ * An interface representing the client's own position on the leaderboard.
+ */
+export interface OwnRank {
+  /** The client's rank, starting from 1 for the highest score */
+  rank: number;
+  /** The number of players in the lobby */
+  playerCount: number;
+}
+
 /**
  * An interface representing an entry on the leaderboard, with
  * a user and their score.
@@ -174,7 +259,67 @@ export interface orbsData {
   type: MessageType.SEND_ORBS;
   /** The data sent with the message - the current lobby's orbs */
   data: {
-    orbSet: Set<OrbData>;
+    orbSet: OrbData[];
+  };
+}
+
+/**
+ * An interface representing a message received from the server with the
+ * orbs added to the current lobby since its last orb update.
+ */
+export interface OrbAddedMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.ORB_ADDED;
+  /** The data sent with the message - the newly added orbs */
+  data: {
+    orbs: OrbData[];
+  };
+}
+
+/**
+ * An interface representing a message received from the server with the ids
+ * of the orbs removed (eaten) from the current lobby since its last orb update.
+ */
+export interface OrbRemovedMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.ORB_REMOVED;
+  /** The data sent with the message - the ids of the removed orbs */
+  data: {
+    ids: number[];
+  };
+}
+
+/**
+ * An interface representing a single move of a snake, as sent by the server
+ * in a batch of position updates.
+ */
+export interface SnakeMove {
+  /** The id of the snake that moved */
+  id: number;
+  /** The position of the segment added to the front of the snake */
+  add: Position;
+  /** The position of the segment removed from the back of the snake */
+  remove: Position;
+}
+
+/**
+ * An interface representing a message received from the server with every
+ * snake move processed during one server tick.
+ */
+export interface UpdatePositionsMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.UPDATE_POSITIONS;
+  /**
+   * The data sent with the message - the moves of every snake since the last
+   * snapshot, stamped with the server's tick and time (in ms) if the server
+   * runs a tick loop, and with the sequence number of the client's latest
+   * input that its own snake's moves include (if it sends inputs)
+   */
+  data: {
+    updates: SnakeMove[];
+    tick?: number;
+    serverTime?: number;
+    ack?: number;
   };
 }
 
@@ -197,14 +342,32 @@ export interface OtherUserDiedMessage {
   /** The type (purpose) of the message sent or received */
   type: MessageType.OTHER_USED_DIED;
   /**
-   * The data sent with the message - the positions of the other
-   * client to be removed, from rendering
+   * The data sent with the message - the id of the other client's snake,
+   * and its positions to be removed, from rendering
    */
   data: {
+    id?: number;
     removePositions: Position[];
   };
 }
 
+/**
+ * An interface representing a message received from the server when another
+ * client's snake comes into or goes out of view of the client's snake.
+ */
+export interface SnakeViewMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.SNAKE_ENTERED_VIEW | MessageType.SNAKE_LEFT_VIEW;
+  /**
+   * The data sent with the message - the id of the other snake and the
+   * positions of all of its segments, to start or stop rendering
+   */
+  data: {
+    id: number;
+    bodyParts: Position[];
+  };
+}
+
 /**
  * An interface representing a message received from the server to notify
  * the client that their snake has increased in length.
@@ -236,3 +399,20 @@ export interface IncreaseOtherLengthMessage {
     newBodyParts: Position[];
   };
 }
+
+/**
+ * An interface representing a message received from a router in front of
+ * several servers, sending the client on to the server that runs its game
+ * (the router then closes the client's websocket).
+ */
+export interface RedirectMessage {
+  /** The type (purpose) of the message sent or received */
+  type: MessageType.REDIRECT;
+  /**
+   * The data sent with the message - the websocket URL of the server to
+   * connect to (and join through) instead
+   */
+  data: {
+    url: string;
+  };
+}
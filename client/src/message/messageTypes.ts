@@ -6,19 +6,27 @@ enum MessageType {
   NEW_CLIENT_NO_CODE = "NEW_CLIENT_NO_CODE",
   NEW_CLIENT_WITH_CODE = "NEW_CLIENT_WITH_CODE",
   UPDATE_LEADERBOARD = "UPDATE_LEADERBOARD",
+  UPDATE_RANK = "UPDATE_RANK",
   SEND_ORBS = "SEND_ORBS",
+  ORB_ADDED = "ORB_ADDED",
+  ORB_REMOVED = "ORB_REMOVED",
   REMOVE_ORB = "REMOVE_ORB",
   UPDATE_POSITION = "UPDATE_POSITION",
+  UPDATE_POSITIONS = "UPDATE_POSITIONS",
+  MOVE_INPUT = "MOVE_INPUT",
   UPDATE_SCORE = "UPDATE_SCORE",
   INCREASE_OWN_LENGTH = "INCREASE_OWN_LENGTH",
   INCREASE_OTHER_LENGTH = "INCREASE_OTHER_LENGHT",
   YOU_DIED = "YOU_DIED",
   OTHER_USED_DIED = "OTHER_USER_DIED",
+  SNAKE_ENTERED_VIEW = "SNAKE_ENTERED_VIEW",
+  SNAKE_LEFT_VIEW = "SNAKE_LEFT_VIEW",
   SET_GAME_CODE = "SET_GAME_CODE",
   ERROR = "ERROR",
   SUCCESS = "SUCCESS",
   JOIN_ERROR = "JOIN_ERROR",
   JOIN_SUCCESS = "JOIN_SUCCESS",
+  REDIRECT = "REDIRECT",
 }
 
 export default MessageType;
@@ -0,0 +1,57 @@
+package edu.brown.cs32.benchmark;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.server.ServerConfig;
+import edu.brown.cs32.server.SlitherServer;
+import edu.brown.cs32.user.User;
+import java.util.concurrent.Executor;
+
+/**
+ * BenchmarkServer class to provide the GameStates used by the benchmarks. The server is never
+ * started, and the work that the games would normally hand to the server's shared threads (their
+ * timers) is discarded, so each benchmark drives its GameState on its own thread alone.
+ */
+public class BenchmarkServer extends SlitherServer {
+
+  /**
+   * BenchmarkServer constructor to create a server with the default settings (without listening
+   * on its port)
+   */
+  public BenchmarkServer() {
+    super(ServerConfig.defaults());
+  }
+
+  /**
+   * Creates a GameState whose timers have already been cancelled
+   * @param gameCode : the game code for the new GameState
+   * @return the new GameState
+   */
+  public GameState createGameState(String gameCode) {
+    GameState gameState = new GameState(this, gameCode);
+    gameState.shutdown();
+    return gameState;
+  }
+
+  /**
+   * Discards the work that the games would run on the server's shared threads (so that none of it
+   * runs alongside the benchmarks)
+   * @return an executor that never runs its tasks
+   */
+  @Override
+  public Executor getGameWorkers() {
+    return task -> {};
+  }
+
+  /**
+   * Ignores score updates from eaten orbs -- the benchmark games have no leaderboards
+   */
+  @Override
+  public void handleUpdateScore(User user, GameState gamestate, Integer orbValue) {}
+
+  /**
+   * Stops the server's timer thread (once the benchmarks using it are done)
+   */
+  public void shutdown() {
+    this.getTimerService().shutdown();
+  }
+}
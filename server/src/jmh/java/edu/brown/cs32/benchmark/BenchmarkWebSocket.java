@@ -0,0 +1,151 @@
+package edu.brown.cs32.benchmark;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import javax.net.ssl.SSLSession;
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.enums.ReadyState;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.protocols.IProtocol;
+
+/**
+ * BenchmarkWebSocket class to stand in for a client's connection in the benchmarks: it is always
+ * open, and discards everything sent to it (only counting the bytes, so that building the sent
+ * messages cannot be optimized away)
+ */
+public class BenchmarkWebSocket implements WebSocket {
+
+  private long sentBytes; // the number of bytes (or characters) sent through this connection
+  private Object attachment; // the object attached to this connection
+
+  /**
+   * Provides the number of bytes (or characters, for text messages) sent through this connection
+   * @return the amount of data sent so far
+   */
+  public long getSentBytes() {
+    return this.sentBytes;
+  }
+
+  @Override
+  public void send(String text) {
+    this.sentBytes += text.length();
+  }
+
+  @Override
+  public void send(ByteBuffer bytes) {
+    this.sentBytes += bytes.remaining();
+  }
+
+  @Override
+  public void send(byte[] bytes) {
+    this.sentBytes += bytes.length;
+  }
+
+  @Override
+  public void sendFrame(Framedata framedata) {}
+
+  @Override
+  public void sendFrame(Collection<Framedata> frames) {
+    for (Framedata frame : frames) {
+      this.sentBytes += frame.getPayloadData().remaining();
+    }
+  }
+
+  @Override
+  public void sendPing() {}
+
+  @Override
+  public void sendFragmentedFrame(Opcode op, ByteBuffer buffer, boolean fin) {}
+
+  @Override
+  public void close(int code, String message) {}
+
+  @Override
+  public void close(int code) {}
+
+  @Override
+  public void close() {}
+
+  @Override
+  public void closeConnection(int code, String message) {}
+
+  @Override
+  public boolean hasBufferedData() {
+    return false;
+  }
+
+  @Override
+  public InetSocketAddress getRemoteSocketAddress() {
+    return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+  }
+
+  @Override
+  public InetSocketAddress getLocalSocketAddress() {
+    return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return true;
+  }
+
+  @Override
+  public boolean isClosing() {
+    return false;
+  }
+
+  @Override
+  public boolean isFlushAndClose() {
+    return false;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return false;
+  }
+
+  @Override
+  public Draft getDraft() {
+    return null;
+  }
+
+  @Override
+  public ReadyState getReadyState() {
+    return ReadyState.OPEN;
+  }
+
+  @Override
+  public String getResourceDescriptor() {
+    return "/";
+  }
+
+  @Override
+  public <T> void setAttachment(T attachment) {
+    this.attachment = attachment;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getAttachment() {
+    return (T) this.attachment;
+  }
+
+  @Override
+  public boolean hasSSLSupport() {
+    return false;
+  }
+
+  @Override
+  public SSLSession getSSLSession() {
+    throw new IllegalArgumentException("This connection does not use SSL");
+  }
+
+  @Override
+  public IProtocol getProtocol() {
+    return null;
+  }
+}
@@ -0,0 +1,184 @@
+package edu.brown.cs32.benchmark;
+
+import edu.brown.cs32.exceptions.InvalidRemoveCoordinateException;
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.user.User;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.java_websocket.WebSocket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the GameState work done for every move a client sends: the collision check, and
+ * the updates to the mover's own snake and to the other users' views of it.
+ *
+ * Every snake moves around its own closed loop (a circle just long enough to hold the snake), with
+ * the loops laid out in a grid across the map, so that the snakes never collide, and the game
+ * looks the same however many moves a benchmark makes. Each benchmark call moves (or checks) the
+ * next snake in turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+  private static final double STEP = 5; // the distance between consecutive body parts
+  private static final double LOOP_SPACING = 50; // the smallest distance between two loops (more than a body part's radius)
+  private static final double MAP_EXTENT = 1400; // the loops are kept within -MAP_EXTENT and MAP_EXTENT on both axes
+  private static final int LOOP_GAP = 8; // how many positions longer than the snake each loop is
+
+  @Param({"10", "50"})
+  public int playerCount;
+
+  @Param({"20", "60", "150"})
+  public int snakeLength;
+
+  private BenchmarkServer server; // the (never started) server of the game
+  private GameState gameState; // the game being benchmarked
+  private User[] users; // the players in the game
+  private WebSocket[] sockets; // the connection of each player
+  private Set<WebSocket> gameStateSockets; // the connections of all the players
+  private Position[][] loops; // the positions around each player's loop
+  private int[] heads; // the index in its loop of each player's head (increasing forever)
+  private int nextPlayer; // the player to be moved (or checked) by the next benchmark call
+
+  /**
+   * Creates the game, with a snake of snakeLength body parts for each of the playerCount players,
+   * and 150 orbs
+   */
+  @Setup(Level.Trial)
+  public void setup() throws InvalidRemoveCoordinateException {
+    this.server = new BenchmarkServer();
+    this.gameState = this.server.createGameState("BENCH");
+    this.users = new User[this.playerCount];
+    this.sockets = new WebSocket[this.playerCount];
+    this.gameStateSockets = new HashSet<>();
+    this.loops = new Position[this.playerCount][];
+    this.heads = new int[this.playerCount];
+    this.nextPlayer = 0;
+
+    for (int player = 0; player < this.playerCount; player++) {
+      this.users[player] = new User("player" + player);
+      this.sockets[player] = new BenchmarkWebSocket();
+      this.gameStateSockets.add(this.sockets[player]);
+      this.loops[player] = this.createLoop(player);
+    }
+    for (int player = 0; player < this.playerCount; player++) {
+      // the snake starts in a straight line below the start of its loop, then moves onto the loop
+      Position start = this.loops[player][0];
+      this.gameState.addUser(this.users[player]);
+      this.gameState.createNewSnake(this.users[player], this.sockets[player], start, this.snakeLength);
+      for (int i = this.snakeLength - 1; i >= 0; i--) {
+        Position toAdd = this.loops[player][++this.heads[player]];
+        Position toRemove = new Position(start.x(), start.y() + STEP * i);
+        this.gameState.updateOwnPositions(this.users[player], toAdd, toRemove);
+        this.gameState.updateOtherUsersWithPosition(this.users[player], toAdd, toRemove,
+            this.sockets[player], this.gameStateSockets, this.server);
+      }
+    }
+    this.gameState.generateOrb();
+    this.gameState.sendOrbData();
+  }
+
+  /**
+   * Stops the server's timer thread
+   */
+  @TearDown(Level.Trial)
+  public void teardown() {
+    this.server.shutdown();
+  }
+
+  /**
+   * Computes the positions around a player's loop: a circle of snakeLength + LOOP_GAP positions,
+   * STEP apart, in the player's cell of the grid of loops
+   * @param player : the index of the player
+   * @return the positions around the loop, in the order in which the snake moves through them
+   */
+  private Position[] createLoop(int player) {
+    int loopLength = this.snakeLength + LOOP_GAP;
+    double radius = STEP * loopLength / (2 * Math.PI);
+    double cellSize = 2 * radius + LOOP_SPACING;
+    int cellsPerSide = (int) (2 * MAP_EXTENT / cellSize);
+    if (player >= cellsPerSide * cellsPerSide)
+      throw new IllegalStateException(this.playerCount + " snakes of length " + this.snakeLength + " do not fit on the map");
+    double centerX = -MAP_EXTENT + cellSize * (player % cellsPerSide + 0.5);
+    double centerY = -MAP_EXTENT + cellSize * (player / cellsPerSide + 0.5);
+
+    Position[] loop = new Position[loopLength];
+    for (int i = 0; i < loopLength; i++) {
+      double angle = 2 * Math.PI * i / loopLength;
+      loop[i] = new Position(centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle));
+    }
+    return loop;
+  }
+
+  /**
+   * Picks the player for the next benchmark call (each player in turn)
+   * @return the index of the player
+   */
+  private int nextPlayer() {
+    int player = this.nextPlayer;
+    this.nextPlayer = (player + 1) % this.playerCount;
+    return player;
+  }
+
+  /**
+   * Provides the position at the given index of a player's loop
+   * @param player : the index of the player
+   * @param index : the index in the loop (taken modulo the loop's length)
+   * @return the position at that index
+   */
+  private Position loopPosition(int player, int index) {
+    Position[] loop = this.loops[player];
+    return loop[index % loop.length];
+  }
+
+  /**
+   * Benchmark for checking a snake's head against the map boundary, the other snakes, and the orbs
+   */
+  @Benchmark
+  public void collisionCheck() {
+    int player = this.nextPlayer();
+    Position head = this.loopPosition(player, this.heads[player]);
+    this.gameState.collisionCheck(this.users[player], head, this.sockets[player], this.gameStateSockets, this.server);
+  }
+
+  /**
+   * Benchmark for moving a snake forward within its own body parts
+   */
+  @Benchmark
+  public void updateOwnPositions() throws InvalidRemoveCoordinateException {
+    int player = this.nextPlayer();
+    int head = ++this.heads[player];
+    this.gameState.updateOwnPositions(this.users[player], this.loopPosition(player, head),
+        this.loopPosition(player, head - this.snakeLength));
+  }
+
+  /**
+   * Benchmark for sending a snake's move to the players who can see it (and updating what it sees)
+   */
+  @Benchmark
+  public void updateOtherUsersWithPosition() {
+    int player = this.nextPlayer();
+    int head = ++this.heads[player];
+    this.gameState.updateOtherUsersWithPosition(this.users[player], this.loopPosition(player, head),
+        this.loopPosition(player, head - this.snakeLength), this.sockets[player], this.gameStateSockets, this.server);
+  }
+}
@@ -0,0 +1,104 @@
+package edu.brown.cs32.benchmark;
+
+import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.leaderboard.LeaderboardEntry;
+import edu.brown.cs32.user.User;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading the leaderboard standings and updating scores, with different numbers of
+ * players on the leaderboard
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+  private static final int SCORE_UPDATES = 1024; // the number of (precomputed) score updates cycled through
+
+  @Param({"10", "100", "1000"})
+  public int playerCount;
+
+  private BenchmarkServer server; // the (never started) server of the leaderboard's game
+  private Leaderboard leaderboard; // the leaderboard being benchmarked
+  private User[] updatedUsers; // the user whose score is set by each score update
+  private int[] updatedScores; // the score set by each score update
+  private int nextUpdate; // the score update to be made by the next benchmark call
+
+  /**
+   * Creates the leaderboard, with playerCount players with random scores
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.server = new BenchmarkServer();
+    this.leaderboard = new Leaderboard(this.server.createGameState("BENCH"), this.server);
+    Random random = new Random(32);
+    User[] users = new User[this.playerCount];
+    for (int i = 0; i < this.playerCount; i++) {
+      users[i] = new User("player" + i);
+      this.leaderboard.addNewUser(users[i]);
+      this.leaderboard.updateScore(users[i], 20 + random.nextInt(500));
+    }
+    this.updatedUsers = new User[SCORE_UPDATES];
+    this.updatedScores = new int[SCORE_UPDATES];
+    for (int i = 0; i < SCORE_UPDATES; i++) {
+      this.updatedUsers[i] = users[random.nextInt(this.playerCount)];
+      this.updatedScores[i] = 20 + random.nextInt(500);
+    }
+    this.nextUpdate = 0;
+  }
+
+  /**
+   * Stops the server's timer thread
+   */
+  @TearDown(Level.Trial)
+  public void teardown() {
+    this.server.shutdown();
+  }
+
+  /**
+   * Benchmark for getting the standings of every player
+   * @return the standings
+   */
+  @Benchmark
+  public LeaderboardEntry[] getLeaderboard() {
+    return this.leaderboard.getLeaderboard();
+  }
+
+  /**
+   * Benchmark for getting the top 10 standings (as sent to the clients)
+   * @return the standings
+   */
+  @Benchmark
+  public LeaderboardEntry[] getTopLeaderboard() {
+    return this.leaderboard.getLeaderboard(10);
+  }
+
+  /**
+   * Benchmark for changing a player's score (as happens whenever an orb is eaten)
+   * @return whether the score was updated
+   */
+  @Benchmark
+  public boolean updateScore() {
+    int update = this.nextUpdate;
+    this.nextUpdate = (update + 1) % SCORE_UPDATES;
+    return this.leaderboard.updateScore(this.updatedUsers[update], this.updatedScores[update]);
+  }
+}
@@ -0,0 +1,55 @@
+package edu.brown.cs32.benchmark;
+
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.orb.OrbGenerator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for filling an empty map with orbs (as happens when a game starts), with different
+ * numbers of extra orbs left behind by dead snakes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrbGeneratorBenchmark {
+
+  @Param({"0", "100", "500"})
+  public int numDeathOrbs;
+
+  private OrbGenerator orbGenerator; // the generator being benchmarked
+
+  /**
+   * Creates the orb generator
+   */
+  @Setup
+  public void setup() {
+    this.orbGenerator = new OrbGenerator();
+  }
+
+  /**
+   * Benchmark for generating orbs up to the maximum orb count (plus the death orbs)
+   * @return the generated orbs
+   */
+  @Benchmark
+  public Set<Orb> generateOrbs() {
+    Set<Orb> orbs = new HashSet<>();
+    this.orbGenerator.generateOrbs(orbs, this.numDeathOrbs);
+    return orbs;
+  }
+}
@@ -0,0 +1,91 @@
+package edu.brown.cs32.benchmark;
+
+import edu.brown.cs32.leaderboard.LeaderboardEntry;
+import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageType;
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.orb.OrbGenerator;
+import edu.brown.cs32.position.Position;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for serializing the messages that the server sends most often (or that are largest)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializeBenchmark {
+
+  @Param({"UPDATE_POSITION", "SEND_ORBS", "UPDATE_LEADERBOARD"})
+  public MessageType messageType;
+
+  private BenchmarkServer server; // the (never started) server doing the serializing
+  private Message message; // the message to be serialized
+
+  /**
+   * Creates a typical message of the benchmarked type: a single move, the 150 orbs of a full map,
+   * or the top 10 standings
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.server = new BenchmarkServer();
+    Map<String, Object> data = new HashMap<>();
+    switch (this.messageType) {
+      case UPDATE_POSITION -> {
+        data.put("add", new Position(612.25, -340.5));
+        data.put("remove", new Position(615.75, -245.0));
+      }
+      case SEND_ORBS -> {
+        Set<Orb> orbs = new HashSet<>();
+        new OrbGenerator().generateOrbs(orbs, 0);
+        data.put("orbSet", orbs);
+      }
+      case UPDATE_LEADERBOARD -> {
+        LeaderboardEntry[] leaderboard = new LeaderboardEntry[10];
+        for (int i = 0; i < leaderboard.length; i++) {
+          leaderboard[i] = new LeaderboardEntry("player" + i, 200 - 10 * i);
+        }
+        data.put("leaderboard", leaderboard);
+      }
+      default -> throw new IllegalArgumentException("No benchmark message for " + this.messageType);
+    }
+    this.message = new Message(this.messageType, data);
+  }
+
+  /**
+   * Stops the server's timer thread
+   */
+  @TearDown(Level.Trial)
+  public void teardown() {
+    this.server.shutdown();
+  }
+
+  /**
+   * Benchmark for serializing the message to JSON
+   * @return the serialized message
+   */
+  @Benchmark
+  public String serialize() {
+    return this.server.serialize(this.message);
+  }
+}
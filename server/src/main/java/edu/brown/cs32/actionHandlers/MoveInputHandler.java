@@ -0,0 +1,37 @@
+package edu.brown.cs32.actionHandlers;
+
+import edu.brown.cs32.exceptions.MissingFieldException;
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageType;
+import edu.brown.cs32.user.User;
+
+/**
+ * MoveInputHandler class to allow for snakes to be moved by their clients' inputs (rather than by
+ * the moves that the clients send themselves)
+ */
+public class MoveInputHandler {
+
+  /**
+   * Activated when SlitherServer receives a MOVE_INPUT message, to set the direction that the
+   * user's snake should head in (and whether it should boost) until the client's next input. The
+   * snake is then moved by the inputted gameState.
+   *
+   * @param thisUser : the user whose input was received
+   * @param message : the deserialized message from the client containing the angle (in radians)
+   * that its snake should head in, and optionally whether it is boosting (false if absent) and the
+   * input's sequence number (which is sent back with the snake's moves, so that the client can
+   * tell which of its inputs they include)
+   * @param gameState : the GameState corresponding to the game in which this MOVE_INPUT message
+   * is being processed
+   * @throws MissingFieldException if the message does not contain a numeric 'angle' field
+   */
+  public void handleMoveInput(User thisUser, Message message, GameState gameState) throws MissingFieldException {
+    if (!(message.data().get("angle") instanceof Double angle) || !Double.isFinite(angle))
+      throw new MissingFieldException(message, MessageType.ERROR);
+    boolean boosting = Boolean.TRUE.equals(message.data().get("boost"));
+    int sequence = message.data().get("seq") instanceof Number seq ? seq.intValue() : -1;
+    gameState.setMoveInput(thisUser, angle, boosting, sequence);
+  }
+
+}
@@ -21,6 +21,9 @@ public class UpdatePositionHandler {
    * Activated when SlitherServer receives UPDATE_POSITION method to
    * update for all users (sharing the inputted gameState) where the
    * newly moved snake connected to the inputted webSocket is located
+   * (if the gameState runs a tick loop, the update is queued for the next tick instead; if the
+   * client has sent MOVE_INPUT messages, the update is ignored, since its snake is moved by the
+   * gameState)
    * 
    * @param thisUser : the user whose snake's position is being updated
    * @param message : the deserialized message from the client containing
@@ -34,18 +37,22 @@ public class UpdatePositionHandler {
    * users can be updated with this user's snake position update
    * @param server : the server through which GameState updates are sent live
    * to all users for synchronicity
-   * @throws MissingFieldException if both addData and removeData messages do not each contain an 'x' and 'y' field
+   * @throws MissingFieldException if the add and remove data do not each contain an 'x' and 'y' field
    * @throws InvalidRemoveCoordinateException (via updateOwnPositions method call) if the last body part of the snake (which is being attempted to be removed) is not actually the last body part
    */
   public void handlePositionUpdate(User thisUser, Message message, GameState gameState, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) throws MissingFieldException, InvalidRemoveCoordinateException {
     if (!(message.data().containsKey("add") && message.data().containsKey("remove")))
       throw new MissingFieldException(message, MessageType.ERROR);
-    Map<String, Double> addData = (Map<String, Double>) message.data().get("add");
-    Map<String, Double> removeData = (Map<String, Double>) message.data().get("remove");
-    if ((!(addData.containsKey("x") && addData.containsKey("y"))) || (!(removeData.containsKey("x") && removeData.containsKey("y"))))
+    Position toAdd = this.readPosition(message.data().get("add"));
+    Position toRemove = this.readPosition(message.data().get("remove"));
+    if (toAdd == null || toRemove == null)
       throw new MissingFieldException(message, MessageType.ERROR);
-    Position toAdd = new Position(addData.get("x"), addData.get("y"));
-    Position toRemove = new Position(removeData.get("x"), removeData.get("y"));
+    if (gameState.isMovedByInputs(thisUser)) // the snake is moved by the GameState itself (see MoveInputHandler)
+      return;
+    if (gameState.isTicking()) { // the move will be processed (and sent to other users) by the next tick
+      gameState.queuePositionUpdate(thisUser, toAdd, toRemove, webSocket);
+      return;
+    }
     gameState.updateOwnPositions(thisUser, toAdd, toRemove);
     gameState.updateOtherUsersWithPosition(thisUser, toAdd, toRemove, webSocket, gameStateSockets, server);
 
@@ -54,5 +61,19 @@ public class UpdatePositionHandler {
 //    t.start();
   }
 
+  /**
+   * Reads a position from the data of a message: either a map with 'x' and 'y' fields (from the
+   * JSON protocol) or an already-decoded Position (from the binary protocol)
+   * @param positionData : the value of the 'add' or 'remove' field of the message
+   * @return the position, or null if positionData does not describe a position
+   */
+  private Position readPosition(Object positionData) {
+    if (positionData instanceof Position position)
+      return position;
+    if (positionData instanceof Map<?, ?> map && map.get("x") instanceof Double x && map.get("y") instanceof Double y)
+      return new Position(x, y);
+    return null;
+  }
+
 }
 
@@ -1,71 +1,204 @@
 package edu.brown.cs32.gameState;
 
 import edu.brown.cs32.exceptions.InvalidRemoveCoordinateException;
+import edu.brown.cs32.interest.AreaOfInterest;
+import edu.brown.cs32.interest.ViewChange;
+import edu.brown.cs32.logging.LogSampler;
+import edu.brown.cs32.logging.Logger;
 import edu.brown.cs32.message.Message;
 import edu.brown.cs32.message.MessageType;
 import edu.brown.cs32.orb.OrbColor;
+import edu.brown.cs32.position.FixedPoint;
 import edu.brown.cs32.position.Position;
+import edu.brown.cs32.position.PositionUpdate;
 import edu.brown.cs32.orb.Orb;
 import edu.brown.cs32.orb.OrbGenerator;
 import edu.brown.cs32.orb.OrbSize;
+import edu.brown.cs32.orb.OrbStore;
+import edu.brown.cs32.scheduling.GameTimers;
+import edu.brown.cs32.scheduling.SerialExecutor;
 import edu.brown.cs32.server.SlitherServer;
+import edu.brown.cs32.snake.SnakeBody;
+import edu.brown.cs32.snake.SnakeBodyPart;
+import edu.brown.cs32.snake.SnakeMotion;
+import edu.brown.cs32.spatial.SpatialGrid;
 import edu.brown.cs32.user.User;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.java_websocket.WebSocket;
 
 /**
  * GameState class to contain all game data corresponding to this state
+ *
+ * Note: a GameState is not thread-safe -- all work on it (handling messages, timers, and ticks)
+ * must be submitted to its executor, which runs that work one task at a time
  */
 public class GameState {
 
+  private static final Logger LOGGER = Logger.getLogger(GameState.class);
+  private static final LogSampler COLLISION_CHECK_SAMPLER = new LogSampler(1000); // logs 1 in 1000 collision checks
   private final SlitherServer slitherServer; // an instance of the SlitherServer (currently running server)
   private final String gameCode; // the game code corresponding to this GameState
-  private final Set<Orb> orbs; // the set of all the orbs currently present in the game
+  private final SerialExecutor executor; // runs all the work for this game, one task at a time
+  private final GameTimers timers; // this game's timers on the server's shared timer thread (cancelled when the game ends)
+  private final OrbStore orbs; // the set of all the orbs currently present in the game (indexed by position)
   private int numDeathOrbs; // total count of the number of orbs formed as a result of players dying
   private final OrbGenerator orbGenerator = new OrbGenerator(); //  an OrbGenerator for this game
   private final int ORB_GENERATION_TIME_INTERVAL = 5; // time interval at which new orbs are generated
-  private final Map<User, Set<Position>> userToOthersPositions; // maps each user to the positions of every other snake's body parts
-  private final Map<User, Set<Position>> userToOwnPositions; // maps each user to their own snake's body parts
-  private final Map<User, Deque<Position>> userToSnakeDeque; // maps each user to a double ended queue with their body parts (in order)
+  private final int ORB_KEYFRAME_TIME_INTERVAL = 30; // time interval at which every orb is resent to all clients (to resync them)
+  private final SpatialGrid<SnakeBodyPart> bodyPartGrid; // grid of every snake's body parts (each stored once, tagged with its owner)
+  private final Map<User, SnakeBody> userToSnakeBody; // maps each user to their snake's body parts (in order from head to tail)
   private final int SNAKE_CIRCLE_RADIUS = 35; // radius of each body part of the snakes
+  private final int MAP_BOUNDARY = 1500; // the map spans from -MAP_BOUNDARY to MAP_BOUNDARY on both axes
+  private final int tickRate; // number of simulation ticks per second (0 if position updates are processed as soon as they arrive)
+  private final Queue<PositionInput> pendingInputs; // position updates received since the last tick (only used when ticking)
+  private final int snapshotInterval; // number of ticks between the snapshots of other snakes' moves sent to each client
+  private final Map<User, List<PositionUpdate>> userToHeldUpdates; // maps each user to the moves of other snakes held for their next snapshot
+  private long tickNumber; // the number of ticks run so far (stamped on each snapshot)
+  private final Map<User, Integer> userToSnakeId; // maps each user to the (short) id that identifies their snake to the clients
+  private int nextSnakeId; // the id to be given to the next snake created in this game
+  private final int SNAKE_VIEW_RADIUS = 1100; // distance between a head and another snake's body within which users are sent updates about each other's snakes
+  private final int VIEW_LEAVE_MARGIN = 200; // extra distance between heads and bodies before users stop being sent updates about each other's snakes
+  private final int ORB_RESYNC_DISTANCE = 250; // distance a head can move before its user is resent the orbs around it
+  private final AreaOfInterest areaOfInterest; // what each user can see (so that each client is only sent nearby updates)
+  private final Map<User, WebSocket> userToSocket; // maps each user with a live snake to their websocket
+  private final Map<User, SnakeMotion> userToMotion; // maps each user whose client sends inputs (rather than moves) to their snake's motion
+  private final int MOVES_PER_SECOND = 20; // number of steps per second that snakes moved by their inputs take (as clients used to move their own)
+  private final int BOOST_STEPS = 2; // number of steps a boosting snake takes for each step of the others
+  private double moveCredit; // steps that snakes moved by their inputs are owed since the last tick (only used when ticking)
+  private boolean moveTimerScheduled; // whether the timer that moves snakes by their inputs has been scheduled (only used when not ticking)
+
+  /**
+   * PositionInput record to store a position update received from a client, until it is
+   * processed by the next tick
+   */
+  private record PositionInput(User user, Position toAdd, Position toRemove, WebSocket webSocket) {}
 
   /**
    * GameState constructor to initialize all necessary variables, including
    * a corresponding server and game code unique to this state
    * 
-   * Note: Uses a ScheduledThreadPoolExecutor to generate orbs up to the
-   * maximum orb count every 5 seconds
+   * Note: Registers with the server's shared TimerService, without ticking
+   * (see the 3-argument constructor)
    * 
    * @param slitherServer : the server to be used in correlation with this
    * GameState to synchronize all assigned users
    * @param gameCode : the unique game code to be assigned to this state
    */
   public GameState(SlitherServer slitherServer, String gameCode) {
+    this(slitherServer, gameCode, 0);
+  }
+
+  /**
+   * GameState constructor to initialize all necessary variables, including
+   * a corresponding server and game code unique to this state
+   *
+   * Note: Registers with the server's shared TimerService to generate orbs up
+   * to the maximum orb count every 5 seconds, to resend every orb (a keyframe)
+   * every 30 seconds, and (if tickRate is positive) to run tickRate simulation
+   * ticks per second -- otherwise, the snakes that are moved by their clients'
+   * inputs are moved MOVES_PER_SECOND times per second by a timer scheduled
+   * when the first such input arrives (so games whose clients all send their
+   * own moves run no move timer). The timed work itself is run on this
+   * GameState's executor, and the timers are cancelled by shutdown()
+   *
+   * @param slitherServer : the server to be used in correlation with this
+   * GameState to synchronize all assigned users
+   * @param gameCode : the unique game code to be assigned to this state
+   * @param tickRate : the number of simulation ticks to run per second, or 0 to
+   * process every position update as soon as it is received
+   */
+  public GameState(SlitherServer slitherServer, String gameCode, int tickRate) {
+    this(slitherServer, gameCode, tickRate, 0);
+  }
+
+  /**
+   * GameState constructor to initialize all necessary variables, including
+   * a corresponding server and game code unique to this state, for a game
+   * that sends snapshots of the snakes' moves less often than it ticks
+   *
+   * @param slitherServer : the server to be used in correlation with this
+   * GameState to synchronize all assigned users
+   * @param gameCode : the unique game code to be assigned to this state
+   * @param tickRate : the number of simulation ticks to run per second, or 0 to
+   * process every position update as soon as it is received
+   * @param snapshotRate : the number of snapshots of other snakes' moves to send
+   * each client per second when ticking, or 0 to send one every tick
+   */
+  public GameState(SlitherServer slitherServer, String gameCode, int tickRate, int snapshotRate) {
     this.slitherServer = slitherServer;
     this.gameCode = gameCode;
-    this.orbs = new HashSet<>();
-    this.userToOthersPositions = new HashMap<>();
-    this.userToOwnPositions = new HashMap<>();
-    this.userToSnakeDeque = new HashMap<>();
-    ScheduledThreadPoolExecutor exec = new ScheduledThreadPoolExecutor(1);
-    exec.scheduleAtFixedRate(new Runnable() {
-      public void run() {
-        // code to execute repeatedly
-        System.out.println("Try to generate orbs");
-        GameState.this.generateOrb();
-        GameState.this.sendOrbData();
-      }
+    this.executor = new SerialExecutor(slitherServer.getGameWorkers());
+    this.orbs = new OrbStore(-this.MAP_BOUNDARY, this.MAP_BOUNDARY, this.SNAKE_CIRCLE_RADIUS);
+    this.bodyPartGrid = new SpatialGrid<>(-this.MAP_BOUNDARY, this.MAP_BOUNDARY, this.SNAKE_CIRCLE_RADIUS, SnakeBodyPart::position);
+    this.userToSnakeBody = new HashMap<>();
+    this.tickRate = tickRate;
+    this.pendingInputs = new ArrayDeque<>();
+    this.snapshotInterval = tickRate > 0 && snapshotRate > 0 ? Math.max(1, Math.round((float) tickRate / snapshotRate)) : 1;
+    this.userToHeldUpdates = new HashMap<>();
+    this.tickNumber = 0;
+    this.userToSnakeId = new HashMap<>();
+    this.nextSnakeId = 0;
+    this.areaOfInterest = new AreaOfInterest(this.SNAKE_VIEW_RADIUS, this.VIEW_LEAVE_MARGIN, this.ORB_RESYNC_DISTANCE);
+    this.userToSocket = new HashMap<>();
+    this.userToMotion = new LinkedHashMap<>();
+    this.moveCredit = 0;
+    this.moveTimerScheduled = false;
+    this.timers = slitherServer.getTimerService().register(this.executor);
+    this.timers.scheduleAtFixedRate(() -> {
+      this.generateOrb();
+      this.sendOrbChanges();
     }, 0, this.ORB_GENERATION_TIME_INTERVAL, TimeUnit.SECONDS);
+    this.timers.scheduleAtFixedRate(this::sendOrbData,
+        this.ORB_KEYFRAME_TIME_INTERVAL, this.ORB_KEYFRAME_TIME_INTERVAL, TimeUnit.SECONDS);
+    if (this.isTicking()) {
+      long tickPeriod = TimeUnit.SECONDS.toMicros(1) / this.tickRate;
+      this.timers.scheduleAtFixedRate(this::tick, tickPeriod, tickPeriod, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  /**
+   * Schedules work for this game to be run repeatedly (on this game's executor) until the game ends
+   * @param task : the work to be run
+   * @param initialDelay : the time before the work is first run
+   * @param period : the time between the starts of successive runs
+   * @param unit : the unit of initialDelay and period
+   */
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+    this.timers.scheduleAtFixedRate(task, initialDelay, period, unit);
+  }
+
+  /**
+   * Cancels all of this game's timers (orb generation, ticks, and any others scheduled for it, such
+   * as the leaderboard's), once the game has ended
+   */
+  public void shutdown() {
+    this.timers.cancelAll();
+  }
+
+  /**
+   * Submits work for this game to its executor, to be run after all the work submitted before it
+   * @param task : the work to be run
+   */
+  public void execute(Runnable task) {
+    this.executor.execute(task);
+  }
+
+  /**
+   * Provides the executor that runs all the work for this game (e.g. to check its queue length)
+   * @return this GameState's executor
+   */
+  public SerialExecutor getExecutor() {
+    return this.executor;
   }
 
   /**
@@ -73,9 +206,274 @@ public class GameState {
    * @param user : the user to be added to this GameState
    */
   public void addUser(User user) {
-    this.userToOwnPositions.put(user, new HashSet<>());
-    this.userToOthersPositions.put(user, new HashSet<>());
-    this.userToSnakeDeque.put(user, new LinkedList<>());
+    this.userToSnakeBody.put(user, new SnakeBody());
+    this.userToSnakeId.put(user, this.nextSnakeId++);
+  }
+
+  /**
+   * Provides the id that identifies a user's snake to the clients (e.g. in batched position updates)
+   * @param user : the user whose snake id is to be obtained
+   * @return the id of the user's snake (null once the snake has died)
+   */
+  public Integer getSnakeId(User user) {
+    return this.userToSnakeId.get(user);
+  }
+
+  /**
+   * Provides the websocket of a user with a live snake in this game
+   * @param user : the user whose websocket is to be obtained
+   * @return the user's websocket, or null if the user has no live snake in this game
+   */
+  public WebSocket getSocket(User user) {
+    return this.userToSocket.get(user);
+  }
+
+  /**
+   * Provides the number of users with a live snake in this game. This is read by the metrics
+   * endpoint outside of the game's executor, so it may be slightly out of date.
+   * @return the number of live snakes in the game
+   */
+  public int getPlayerCount() {
+    return this.userToSocket.size();
+  }
+
+  /**
+   * Provides the number of orbs currently in this game. This is read by the metrics endpoint
+   * outside of the game's executor, so it may be slightly out of date.
+   * @return the number of orbs in the game
+   */
+  public int getOrbCount() {
+    return this.orbs.size();
+  }
+
+  /**
+   * Indicates whether this GameState processes position updates in fixed-rate ticks
+   * @return true if position updates are queued and processed by the tick loop; false if they are
+   * processed as soon as they arrive
+   */
+  public boolean isTicking() {
+    return this.tickRate > 0;
+  }
+
+  /**
+   * Queues a position update received from a client, to be processed by the next tick
+   * @param thisUser : the user whose snake moved
+   * @param toAdd : the position to add to the front of this user's snake
+   * @param toRemove : the position to remove from the back of this user's snake
+   * @param webSocket : the websocket of the user whose snake moved
+   */
+  public void queuePositionUpdate(User thisUser, Position toAdd, Position toRemove, WebSocket webSocket) {
+    this.pendingInputs.add(new PositionInput(thisUser, toAdd, toRemove, webSocket));
+  }
+
+  /**
+   * Sets the latest input received from a user's client (the direction the client wants its snake
+   * to head in, and whether it is boosting). From then on, the user's snake is moved by this
+   * GameState rather than by UPDATE_POSITION messages from the client.
+   * @param thisUser : the user whose input was received
+   * @param targetAngle : the direction the snake should head in (in radians)
+   * @param boosting : whether the snake should move faster
+   * @param sequence : the sequence number of the input (-1 if the client does not number its inputs)
+   */
+  public void setMoveInput(User thisUser, double targetAngle, boolean boosting, int sequence) {
+    if (!this.userToSocket.containsKey(thisUser)) // the snake has already died
+      return;
+    this.userToMotion.computeIfAbsent(thisUser, user -> new SnakeMotion()).setInput(targetAngle, boosting, sequence);
+    if (!this.isTicking() && !this.moveTimerScheduled) { // the first input-driven snake in the game
+      this.moveTimerScheduled = true;
+      long movePeriod = TimeUnit.SECONDS.toMicros(1) / this.MOVES_PER_SECOND;
+      this.timers.scheduleAtFixedRate(this::moveSnakes, movePeriod, movePeriod, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  /**
+   * Indicates whether a user's snake is moved by this GameState from its client's inputs
+   * @param thisUser : the user whose snake is to be checked
+   * @return true if the user's client has sent inputs for its live snake; false if the client
+   * sends its snake's moves itself (or the snake is not alive)
+   */
+  public boolean isMovedByInputs(User thisUser) {
+    return this.userToMotion.containsKey(thisUser);
+  }
+
+  /**
+   * Moves every snake that is moved by its client's inputs by one step (two if it is boosting), for
+   * games that do not run a tick loop: each move is sent to the snake's own client (as an
+   * UPDATE_POSITIONS message holding its snake's id) and to the users who can see the snake, and
+   * the snake is then checked for collisions. The snake's own client is also sent the sequence
+   * number of the latest input that the move includes. The timer that runs this is only scheduled once a
+   * client has sent an input, and keeps running after those snakes have died (doing nothing while
+   * there are none).
+   */
+  public void moveSnakes() {
+    if (this.userToMotion.isEmpty()) // no snakes are moved by their inputs (any more)
+      return;
+    Set<WebSocket> gameStateSockets = this.slitherServer.getGameStateSockets(this);
+    if (gameStateSockets == null) // the game has already ended
+      return;
+    for (User user : new ArrayList<>(this.userToMotion.keySet())) { // snakes may die (and be removed) as they move
+      SnakeMotion motion = this.userToMotion.get(user);
+      int steps = motion.isBoosting() ? this.BOOST_STEPS : 1;
+      for (int i = 0; i < steps && this.userToMotion.containsKey(user); i++) {
+        this.moveSnake(user, motion, gameStateSockets);
+      }
+    }
+  }
+
+  /**
+   * Moves a snake that is moved by its client's inputs by a single step (see moveSnakes)
+   * @param thisUser : the user whose snake is to be moved
+   * @param motion : the motion of the user's snake
+   * @param gameStateSockets : the websockets of all the users in this game
+   */
+  private void moveSnake(User thisUser, SnakeMotion motion, Set<WebSocket> gameStateSockets) {
+    SnakeBody snakeBody = this.userToSnakeBody.get(thisUser);
+    WebSocket webSocket = this.userToSocket.get(thisUser);
+    Position toRemove = snakeBody.get(snakeBody.size() - 1);
+    Position toAdd = motion.step(snakeBody);
+    snakeBody.removeLast();
+    snakeBody.addFirst(toAdd);
+
+    // the client is sent its move before any growth from the collision check, so that it removes
+    // the same tail as this GameState did
+    Map<String, Object> data = new HashMap<>();
+    data.put("updates", List.of(new PositionUpdate(this.userToSnakeId.get(thisUser), toAdd, toRemove)));
+    if (motion.getLastSequence() >= 0)
+      data.put("ack", motion.getLastSequence());
+    this.slitherServer.sendToSocket(webSocket, new Message(MessageType.UPDATE_POSITIONS, data));
+    this.updateOtherUsersWithPosition(thisUser, toAdd, toRemove, webSocket, gameStateSockets, this.slitherServer);
+    this.collisionCheck(thisUser, toAdd, webSocket, gameStateSockets, this.slitherServer);
+  }
+
+  /**
+   * Runs a single simulation tick: applies every position update queued since the last tick, moves
+   * the snakes that are moved by their clients' inputs (by MOVES_PER_SECOND steps per second, or
+   * BOOST_STEPS times as many for boosting snakes), sends each client the moves of the snakes it
+   * can see in a single batched UPDATE_POSITIONS message, updates what each moved snake can see,
+   * runs one collision check for each snake that moved (at its latest head position), and then
+   * sends the orbs eaten or dropped during the tick as a single set of orb changes.
+   *
+   * Each UPDATE_POSITIONS message is stamped with the tick number and the server time, so that
+   * clients can interpolate other snakes' moves between them. A client's own snake's moves (if it
+   * is moved by its inputs) are sent every tick, with the sequence number of the latest input they
+   * include (so that the client can reconcile the moves it predicted), but the other snakes' moves are only sent every
+   * snapshotInterval ticks: the moves of the ticks in between are held for the next snapshot.
+   */
+  public void tick() {
+    Set<WebSocket> gameStateSockets = this.slitherServer.getGameStateSockets(this);
+    if (gameStateSockets == null) // the game has already ended
+      return;
+    this.tickNumber++;
+
+    Map<User, List<PositionUpdate>> userToUpdates = new HashMap<>();
+    Map<User, PositionInput> latestInputs = new LinkedHashMap<>();
+    PositionInput input;
+    while ((input = this.pendingInputs.poll()) != null) {
+      this.applyTickMove(input, userToUpdates, latestInputs);
+    }
+
+    this.moveCredit += (double) this.MOVES_PER_SECOND / this.tickRate;
+    int steps = (int) this.moveCredit;
+    this.moveCredit -= steps;
+    for (Map.Entry<User, SnakeMotion> motion : this.userToMotion.entrySet()) {
+      SnakeBody snakeBody = this.userToSnakeBody.get(motion.getKey());
+      int snakeSteps = motion.getValue().isBoosting() ? steps * this.BOOST_STEPS : steps;
+      for (int i = 0; i < snakeSteps; i++) {
+        Position toRemove = snakeBody.get(snakeBody.size() - 1);
+        Position toAdd = motion.getValue().step(snakeBody);
+        this.applyTickMove(new PositionInput(motion.getKey(), toAdd, toRemove, this.userToSocket.get(motion.getKey())),
+            userToUpdates, latestInputs);
+      }
+    }
+    // each client is sent the moves of the snakes it could see before the tick; snakes that come
+    // into view are then sent in full (already moved) by updateAreaOfInterest
+    boolean snapshotTick = this.tickNumber % this.snapshotInterval == 0;
+    for (Map.Entry<User, WebSocket> viewer : this.userToSocket.entrySet()) {
+      List<PositionUpdate> heldUpdates = this.userToHeldUpdates.computeIfAbsent(viewer.getKey(), user -> new ArrayList<>());
+      if (!userToUpdates.isEmpty()) {
+        for (User visibleUser : this.areaOfInterest.getVisibleSnakes(viewer.getKey())) {
+          heldUpdates.addAll(userToUpdates.getOrDefault(visibleUser, List.of()));
+        }
+      }
+      List<PositionUpdate> visibleUpdates = new ArrayList<>();
+      SnakeMotion ownMotion = this.userToMotion.get(viewer.getKey());
+      if (ownMotion != null) // the client does not move its own snake
+        visibleUpdates.addAll(userToUpdates.getOrDefault(viewer.getKey(), List.of()));
+      if (snapshotTick) {
+        visibleUpdates.addAll(heldUpdates);
+        heldUpdates.clear();
+      }
+      if (!visibleUpdates.isEmpty())
+        this.sendPositionUpdates(viewer.getValue(), visibleUpdates, ownMotion == null ? -1 : ownMotion.getLastSequence());
+    }
+    if (userToUpdates.isEmpty())
+      return;
+    for (User movedUser : latestInputs.keySet()) {
+      this.updateAreaOfInterest(movedUser);
+    }
+
+    for (PositionInput latestInput : latestInputs.values()) {
+      if (this.userToSnakeBody.containsKey(latestInput.user()))
+        this.collisionCheck(latestInput.user(), latestInput.toAdd(), latestInput.webSocket(), gameStateSockets, this.slitherServer);
+    }
+    this.sendOrbChanges();
+  }
+
+  /**
+   * Sends a client a batch of moves as an UPDATE_POSITIONS message, stamped with the current tick
+   * number and server time (in milliseconds), and with the sequence number of the latest input of
+   * the client's own snake that the moves include (if the client numbers its inputs)
+   * @param webSocket : the websocket of the client
+   * @param updates : the moves to be sent
+   * @param ack : the sequence number of the client's latest input (-1 if there is none to send)
+   */
+  private void sendPositionUpdates(WebSocket webSocket, List<PositionUpdate> updates, int ack) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("updates", updates);
+    data.put("tick", this.tickNumber);
+    data.put("serverTime", System.currentTimeMillis());
+    if (ack >= 0)
+      data.put("ack", ack);
+    this.slitherServer.sendToSocket(webSocket, new Message(MessageType.UPDATE_POSITIONS, data));
+  }
+
+  /**
+   * Sends a user the other snakes' moves held for their next snapshot straight away -- before they
+   * are told that a snake has left their view or died, so that the snake is removed from the state
+   * that the client will have reached
+   * @param viewer : the user whose held moves are to be sent
+   */
+  private void sendHeldUpdates(User viewer) {
+    List<PositionUpdate> heldUpdates = this.userToHeldUpdates.get(viewer);
+    WebSocket webSocket = this.userToSocket.get(viewer);
+    if (heldUpdates == null || heldUpdates.isEmpty() || webSocket == null)
+      return;
+    this.sendPositionUpdates(webSocket, new ArrayList<>(heldUpdates), -1);
+    heldUpdates.clear();
+  }
+
+  /**
+   * Applies a single move during a tick (replying with an error if the move's toRemove coordinate
+   * is not the snake's tail), and records it to be sent to the clients that can see the snake
+   * @param input : the move to be applied
+   * @param userToUpdates : the moves applied so far this tick, by the user whose snake moved
+   * @param latestInputs : the latest move applied so far this tick, by the user whose snake moved
+   */
+  private void applyTickMove(PositionInput input, Map<User, List<PositionUpdate>> userToUpdates, Map<User, PositionInput> latestInputs) {
+    if (!this.userToSnakeBody.containsKey(input.user())) // the snake has already died
+      return;
+    try {
+      this.updateOwnPositions(input.user(), input.toAdd(), input.toRemove());
+    } catch (InvalidRemoveCoordinateException e) {
+      Map<String, Object> data = new HashMap<>();
+      data.put("msg", "Incorrect toRemove coordinate provided");
+      this.slitherServer.sendToSocket(input.webSocket(), new Message(e.messageType, data));
+      return;
+    }
+    this.updateBodyPartGrid(input.user(), input.toAdd(), input.toRemove());
+    userToUpdates.computeIfAbsent(input.user(), user -> new ArrayList<>())
+        .add(new PositionUpdate(this.userToSnakeId.get(input.user()), input.toAdd(), input.toRemove()));
+    latestInputs.put(input.user(), input);
   }
 
   /**
@@ -93,24 +491,67 @@ public class GameState {
    * found (and therefore removed)
    */
   public boolean removeOrb(Position position) {
-    Orb removeOrb = new Orb(position, OrbSize.SMALL, "red"); // OrbSize/color irrelevant for hash equality comparison
-    if (!this.orbs.contains(removeOrb))
-      return false;
-    while (this.orbs.contains(removeOrb)) {
-      this.orbs.remove(removeOrb);
-    }
-    return true;
+    return this.orbs.removeAt(position) != null;
   }
 
   /**
-   * Sends the updated orb data (including newly-generated orbs) to all clients
-   * connected to this GameState
+   * Sends each user with a live snake all the orbs around its snake (a keyframe), so that any
+   * client that has missed or misapplied an orb change is brought back in sync. Orb changes that
+   * have not been sent yet are dropped, since the keyframes already include them.
    */
   public void sendOrbData() {
+    this.orbs.drainAddedOrbs();
+    this.orbs.drainRemovedOrbIds();
+    for (User user : this.userToSocket.keySet()) {
+      this.sendOrbData(user);
+    }
+  }
+
+  /**
+   * Sends a single user all the orbs around its snake (a keyframe, replacing all the orbs that the
+   * client had), e.g. when the user has just joined the game or its snake has moved far enough to
+   * need the orbs around its new position
+   * @param user : the user to send the orbs to
+   */
+  public void sendOrbData(User user) {
+    WebSocket webSocket = this.userToSocket.get(user);
+    Position orbCenter = this.areaOfInterest.resyncOrbs(user);
+    if (webSocket == null || orbCenter == null) // the user has no live snake
+      return;
     Map<String, Object> orbData = new HashMap<>();
-    orbData.put("orbSet", this.orbs);
-    String json = this.slitherServer.serialize(new Message(MessageType.SEND_ORBS, orbData));    
-    this.slitherServer.sendToAllGameStateConnections(this, json);
+    orbData.put("orbSet", this.orbs.getWithinRadius(orbCenter, this.areaOfInterest.getOrbRadius()));
+    this.slitherServer.sendToSocket(webSocket, new Message(MessageType.SEND_ORBS, orbData));
+  }
+
+  /**
+   * Sends the orbs added (ORB_ADDED) and the ids of the orbs removed (ORB_REMOVED) since the orb
+   * changes were last sent -- so the amount of orb data sent depends on how many orbs changed
+   * rather than on how many orbs there are. Each client is only sent the added orbs around its
+   * snake; removed ids are sent to every client (they are tiny, and ids that a client does not
+   * know about are ignored)
+   */
+  public void sendOrbChanges() {
+    List<Orb> addedOrbs = this.orbs.drainAddedOrbs();
+    List<Integer> removedOrbIds = this.orbs.drainRemovedOrbIds();
+    if (!addedOrbs.isEmpty()) {
+      for (Map.Entry<User, WebSocket> viewer : this.userToSocket.entrySet()) {
+        List<Orb> visibleOrbs = new ArrayList<>();
+        for (Orb orb : addedOrbs) {
+          if (this.areaOfInterest.isOrbInView(viewer.getKey(), orb.getPosition()))
+            visibleOrbs.add(orb);
+        }
+        if (visibleOrbs.isEmpty())
+          continue;
+        Map<String, Object> data = new HashMap<>();
+        data.put("orbs", visibleOrbs);
+        this.slitherServer.sendToSocket(viewer.getValue(), new Message(MessageType.ORB_ADDED, data));
+      }
+    }
+    if (!removedOrbIds.isEmpty()) {
+      Map<String, Object> data = new HashMap<>();
+      data.put("ids", removedOrbIds);
+      this.slitherServer.sendToAllGameStateConnections(this, new Message(MessageType.ORB_REMOVED, data));
+    }
   }
 
   /**
@@ -119,21 +560,16 @@ public class GameState {
    * @param toAdd : the position to add to the front of this user's snake
    * @param toRemove : the position to remove from the back of this user's snake
    * @throws InvalidRemoveCoordinateException if the coordinate attempting to be removed
-   * is not the last in the Deque
+   * is not the tail of the snake (in which case the snake is left unchanged)
    */
   public void updateOwnPositions(User thisUser, Position toAdd, Position toRemove) throws InvalidRemoveCoordinateException {
-    if (!this.userToOwnPositions.containsKey((thisUser)))
-      this.userToOwnPositions.put(thisUser, new HashSet<>());
-    this.userToOwnPositions.get(thisUser).add(toAdd);
-    this.userToOwnPositions.get(thisUser).remove(toRemove);
-
-    this.userToSnakeDeque.get(thisUser).addFirst(toAdd);
-    if (!this.userToSnakeDeque.get(thisUser).peekLast().equals(toRemove)) {
-      System.out.println("To remove error");
-      System.out.println(this.userToSnakeDeque.get(thisUser));
+    SnakeBody snakeBody = this.userToSnakeBody.get(thisUser);
+    if (!snakeBody.isLast(toRemove)) {
+      LOGGER.warn("Position to remove is not the tail of the snake: " + snakeBody);
       throw new InvalidRemoveCoordinateException(MessageType.ERROR);
     }
-    this.userToSnakeDeque.get(thisUser).removeLast();
+    snakeBody.removeLast();
+    snakeBody.addFirst(toAdd);
   }
 
   /**
@@ -147,80 +583,160 @@ public class GameState {
     Map<String, Object> data = new HashMap<>();
     data.put("newBodyParts", newBodyParts);
     Message message = new Message(MessageType.INCREASE_OWN_LENGTH, data);
-    webSocket.send(server.serialize(message));
+    server.sendToSocket(webSocket, message);
   }
 
   /**
-   * Sends a message to all other corresponding clients (to this GameState) (via webSocket) that this
-   * user's snake length has been increased
-   * @param webSocket : the webSocket through which to send the increased length message
+   * Sends a message to the other users who can see this user's snake that this user's snake
+   * length has been increased
+   * @param thisUser : the user whose snake has increased in length
    * @param newBodyParts : the list of Positions that correspond to the increase in length
-   * @param gameStateSockets : the list of other clients' sockets to receieve the update in this client's snake length
    * @param server : the server through which to serialize the message to be sent via webSocket
    */
-  private void sendOthersIncreasedLengthBodyParts(WebSocket webSocket, List<Position> newBodyParts, Set<WebSocket> gameStateSockets, SlitherServer server) {
+  private void sendOthersIncreasedLengthBodyParts(User thisUser, List<Position> newBodyParts, SlitherServer server) {
     Map<String, Object> data = new HashMap<>();
     data.put("newBodyParts", newBodyParts);
     Message message = new Message(MessageType.INCREASE_OTHER_LENGTH, data);
-    String jsonMessage = server.serialize(message);
-    for (WebSocket socket : gameStateSockets) {
-      if (socket.equals(webSocket))
-        continue;
-      socket.send(jsonMessage);
-    }
+    server.sendToSockets(this.getViewerSockets(thisUser), message, null);
   }
 
   /**
-   * Creates a new snake for this user at a preset position and sends this data to all other users sharing this GameState
+   * Creates a new snake for this user at a preset position, and sends it to the users who can see
+   * it (and sends the snakes that it can see to this user)
    * @param thisUser : the user for which this new snake is being generated
    * @param webSocket : the current user's socket through which to send data to the client
-   * @param gameStateSockets : the list of other clients' sockets to receive the creation update of this client's snake
+   * @param gameStateSockets : the list of other clients' sockets in this game (unused: only the
+   * users near the new snake are sent it)
    * @param server : the server through which to serialize the message to be sent via webSocket
    */
   public void createNewSnake(User thisUser, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) {
-    List<Position> newSnake = new ArrayList<>();
-    for (int i=0; i < 20; i++) {
-      Position position = new Position(600, 100 + 5 * i);
-      newSnake.add(position);
-      this.userToSnakeDeque.get(thisUser).addLast(position);
+    this.createNewSnake(thisUser, webSocket, new Position(600, 100), 20);
+  }
+
+  /**
+   * Creates a new snake for this user with its head at the given position and its body parts laid
+   * out in a straight line below it (5 units apart), and sends it to the users who can see it (and
+   * sends the snakes that it can see to this user)
+   * @param thisUser : the user for which this new snake is being generated
+   * @param webSocket : the current user's socket through which to send data to the client
+   * @param head : the position of the new snake's head
+   * @param length : the number of body parts in the new snake
+   */
+  public void createNewSnake(User thisUser, WebSocket webSocket, Position head, int length) {
+    SnakeBody snakeBody = this.userToSnakeBody.get(thisUser);
+    for (int i=0; i < length; i++) {
+      snakeBody.addLast(new Position(head.x(), head.y() + 5 * i));
     }
-    this.sendOthersIncreasedLengthBodyParts(webSocket, newSnake, gameStateSockets, server);
+    this.userToSocket.put(thisUser, webSocket);
+    ViewChange viewChange = this.areaOfInterest.addSnake(thisUser, snakeBody);
+    this.sendViewChange(thisUser, viewChange);
   }
 
   /**
-   * Updates the specified user's position based on its current position
+   * Updates what a user's snake can see (and what can see it) after it has moved: the snakes that
+   * have come into or gone out of view are sent to or removed from each other's clients, and the
+   * user is resent the orbs around its snake if it has moved far enough
+   * @param thisUser : the user whose snake has moved
+   */
+  private void updateAreaOfInterest(User thisUser) {
+    SnakeBody snakeBody = this.userToSnakeBody.get(thisUser);
+    if (snakeBody == null || snakeBody.isEmpty()) // the snake has already died
+      return;
+    ViewChange viewChange = this.areaOfInterest.moveSnake(thisUser, snakeBody);
+    this.sendViewChange(thisUser, viewChange);
+    if (this.areaOfInterest.needsOrbResync(thisUser))
+      this.sendOrbData(thisUser);
+  }
+
+  /**
+   * Sends the (whole) snakes that have come into view of a user's snake to the user's client (and
+   * the user's snake to theirs), and removes the snakes that have gone out of view in the same way
+   * @param thisUser : the user whose view has changed
+   * @param viewChange : the snakes that have entered and left the user's view
+   */
+  private void sendViewChange(User thisUser, ViewChange viewChange) {
+    for (User otherUser : viewChange.entered()) {
+      this.sendSnakeView(thisUser, otherUser, MessageType.SNAKE_ENTERED_VIEW);
+      this.sendSnakeView(otherUser, thisUser, MessageType.SNAKE_ENTERED_VIEW);
+    }
+    for (User otherUser : viewChange.left()) {
+      this.sendSnakeView(thisUser, otherUser, MessageType.SNAKE_LEFT_VIEW);
+      this.sendSnakeView(otherUser, thisUser, MessageType.SNAKE_LEFT_VIEW);
+    }
+  }
+
+  /**
+   * Sends every body part of a snake to a user's client, for the client to start or stop rendering
+   * that snake
+   * @param viewer : the user to send the snake to
+   * @param snakeUser : the user whose snake is being sent
+   * @param messageType : SNAKE_ENTERED_VIEW or SNAKE_LEFT_VIEW
+   */
+  private void sendSnakeView(User viewer, User snakeUser, MessageType messageType) {
+    WebSocket webSocket = this.userToSocket.get(viewer);
+    if (webSocket == null)
+      return;
+    if (messageType == MessageType.SNAKE_LEFT_VIEW)
+      this.sendHeldUpdates(viewer);
+    Map<String, Object> data = new HashMap<>();
+    data.put("id", this.userToSnakeId.get(snakeUser));
+    data.put("bodyParts", this.userToSnakeBody.get(snakeUser).toPositions());
+    this.slitherServer.sendToSocket(webSocket, new Message(messageType, data));
+  }
+
+  /**
+   * Provides the websockets of the users who can see a user's snake
+   * @param thisUser : the user whose snake is being looked at
+   * @return the websockets of every other user whose snake is near this user's snake
+   */
+  private Set<WebSocket> getViewerSockets(User thisUser) {
+    Set<WebSocket> viewerSockets = new HashSet<>();
+    for (User viewer : this.areaOfInterest.getVisibleSnakes(thisUser)) {
+      WebSocket webSocket = this.userToSocket.get(viewer);
+      if (webSocket != null)
+        viewerSockets.add(webSocket);
+    }
+    return viewerSockets;
+  }
+
+  /**
+   * Sends the specified user's move to the other users who can see its snake, and then updates
+   * what the snake can see from its new position
    * @param thisUser : the user whose position is to change
    * @param toAdd : the position to add to the front of this user's snake
    * @param toRemove : the position to remove from the back of this user's snake
-   * @param webSocket : 
-   * @param gameStateSockets :
-   * @param server : 
+   * @param webSocket : the websocket of the user whose snake moved (which is not sent the update)
+   * @param gameStateSockets : the websockets of all the users in this game (unused: only the users
+   * near the snake are sent the update)
+   * @param server : the server through which the update is encoded and sent to the other users
    */
   public void updateOtherUsersWithPosition(User thisUser, Position toAdd, Position toRemove, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) {
-    for (User user : this.userToOthersPositions.keySet()) {
-      if (user.equals(thisUser))
-        continue;
-      this.userToOthersPositions.get(user).add(toAdd);
-      this.userToOthersPositions.get(user).remove(toRemove);
-    }
+    this.updateBodyPartGrid(thisUser, toAdd, toRemove);
 
     Map<String, Object> data = new HashMap<>();
     data.put("add", toAdd);
     data.put("remove", toRemove);
     Message message = new Message(MessageType.UPDATE_POSITION, data);
-    String jsonResponse = server.serialize(message);
+    server.sendToSockets(this.getViewerSockets(thisUser), message, webSocket);
+    this.updateAreaOfInterest(thisUser);
+  }
 
-    for (WebSocket socket : gameStateSockets) {
-      if (socket.equals(webSocket))
-        continue;
-      socket.send(jsonResponse);
-    }
+  /**
+   * Moves a user's snake within the shared grid of body parts (used for collision checks)
+   * @param thisUser : the user whose snake moved
+   * @param toAdd : the position added to the front of this user's snake
+   * @param toRemove : the position removed from the back of this user's snake
+   */
+  private void updateBodyPartGrid(User thisUser, Position toAdd, Position toRemove) {
+    this.bodyPartGrid.add(new SnakeBodyPart(thisUser, toAdd));
+    this.bodyPartGrid.remove(new SnakeBodyPart(thisUser, toRemove));
   }
 
   /**
-   * This function is called when a user's snake dies. It updates all the other clients in the
-   * same game with the information on the latest positions at which the user's snake's body parts
+   * This function is called when a user's snake dies. It updates the other clients that can see
+   * the snake with the information on the latest positions at which the user's snake's body parts
    * were, and instructs the client to remove those body parts so that they are no longer rendered.
+   * The snake is then removed from every user's area of interest.
    *
    * @param thisUser - a User: the User whose snake body parts need to be removed from all other
    *                 clients in the same game
@@ -231,52 +747,25 @@ public class GameState {
    * @param server - a SlitherServer: an instance of the currently running server.
    */
   public void updateOtherUsersWithRemovedPositions(User thisUser, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) {
-    List<Position> removedPositions = new ArrayList<>();
-    removedPositions.addAll(this.userToOwnPositions.get(thisUser));
+    SnakeBody snakeBody = this.userToSnakeBody.get(thisUser);
+    Set<Position> removedPositions = new HashSet<>(snakeBody == null ? List.of() : snakeBody.toPositions());
     for (Position position : removedPositions) {
-      for (User user : this.userToOthersPositions.keySet()) {
-        if (user.equals(thisUser))
-          continue;
-        this.userToOthersPositions.get(user).remove(position);
-      }
+      this.bodyPartGrid.remove(new SnakeBodyPart(thisUser, position));
     }
-    Map<String, Object> data = new HashMap<>();
-    data.put("removePositions", removedPositions);
-    String jsonMessage = server.serialize(new Message(MessageType.OTHER_USER_DIED, data));
-    for (WebSocket socket : gameStateSockets) {
-      if (socket.equals(webSocket))
-        continue;
-      socket.send(jsonMessage);
+    for (User viewer : this.areaOfInterest.getVisibleSnakes(thisUser)) {
+      this.sendHeldUpdates(viewer);
     }
-  }
+    Set<WebSocket> viewerSockets = this.getViewerSockets(thisUser);
+    this.areaOfInterest.removeSnake(thisUser);
+    this.userToSocket.remove(thisUser);
+    this.userToMotion.remove(thisUser);
+    this.userToHeldUpdates.remove(thisUser);
+    Integer snakeId = this.userToSnakeId.remove(thisUser);
 
-  /**
-   * Computes and returns the Euclidean distance between two Positions (two coordinates on the
-   * game map).
-   *
-   * @param firstCenter - a Position: the first position (coordinate) on the game map.
-   * @param secondCenter - a Position: the second position (coordinate) on the game map.
-   * @return a double: the Euclidean distance between firstCenter and secondCenter.
-   */
-  private double distance(Position firstCenter, Position secondCenter) {
-    return Math.sqrt(Math.pow(firstCenter.x() - secondCenter.x(), 2) + Math.pow(firstCenter.y() - secondCenter.y(), 2));
-  }
-
-  /**
-   * Takes a double-ended queue containing the positions of the body parts of some snake and returns
-   * a List of positions containing the last two body parts of the snake (without modifying the
-   * original double-ended queue).
-   * @param bodyParts
-   * @return
-   */
-  private List<Position> getLastTwoBodyParts(Deque<Position> bodyParts) {
-    Position lastPosition = bodyParts.removeLast();
-    Position secondLastPosition = bodyParts.peekLast();
-    bodyParts.addLast(lastPosition);
-    List<Position> lastTwoBodyParts = new ArrayList<>();
-    lastTwoBodyParts.add(secondLastPosition);
-    lastTwoBodyParts.add(lastPosition);
-    return lastTwoBodyParts;
+    Map<String, Object> data = new HashMap<>();
+    data.put("id", snakeId);
+    data.put("removePositions", new ArrayList<>(removedPositions));
+    server.sendToSockets(viewerSockets, new Message(MessageType.OTHER_USER_DIED, data), webSocket);
   }
 
   /**
@@ -288,19 +777,19 @@ public class GameState {
    * created.
    */
   private Position getNewBodyPartPosition(User thisUser) {
-    Deque<Position> userBodyParts = this.userToSnakeDeque.get(thisUser);
+    SnakeBody userBodyParts = this.userToSnakeBody.get(thisUser);
+    int size = userBodyParts.size();
     Position newPosition;
-    if (userBodyParts.size() == 0)
+    if (size == 0)
       newPosition = new Position(600.0, 100.0);
-    else if (userBodyParts.size() == 1)
-      newPosition = new Position(Math.round(userBodyParts.peekFirst().x() * 100) / 100.0, Math.round((userBodyParts.peekFirst().y() + 5) * 100) / 100.0);
+    else if (size == 1)
+      newPosition = Position.ofFixed(userBodyParts.getFixedX(0), userBodyParts.getFixedY(0) + 5 * FixedPoint.SCALE);
     else {
-      List<Position> userLastTwoBodyParts = this.getLastTwoBodyParts(userBodyParts);
-      double xDifference = userLastTwoBodyParts.get(0).x() - userLastTwoBodyParts.get(1).x();
-      double yDifference = userLastTwoBodyParts.get(0).y() - userLastTwoBodyParts.get(1).y();
-      double x = userLastTwoBodyParts.get(1).x() - xDifference;
-      double y = userLastTwoBodyParts.get(1).y() - yDifference;
-      newPosition = new Position(Math.round(x * 100) / 100.0, Math.round(y * 100) / 100.0);
+      // continue the line from the second last body part through the last one
+      int xDifference = userBodyParts.getFixedX(size - 2) - userBodyParts.getFixedX(size - 1);
+      int yDifference = userBodyParts.getFixedY(size - 2) - userBodyParts.getFixedY(size - 1);
+      newPosition = Position.ofFixed(userBodyParts.getFixedX(size - 1) - xDifference,
+          userBodyParts.getFixedY(size - 1) - yDifference);
     }
     return newPosition;
   }
@@ -308,7 +797,7 @@ public class GameState {
   /**
    * Generates death orbs for a snake when it dies: a large orb is created for every fourth snake
    * body part, and all the clients in the same game are updated with the new orbs so that they can
-   * be rendered.
+   * be rendered (along with any other orb changes).
    *
    * @param positions - a List of Positions: the positions of the body parts of the snake that has
    *                  died and needs to be converted ("dissolved") into death orbs.
@@ -320,7 +809,8 @@ public class GameState {
       this.orbs.add(new Orb(positions.get(i), OrbSize.LARGE, OrbColor.generate()));
       this.numDeathOrbs++;
     }
-    this.sendOrbData();
+    if (!this.isTicking()) // otherwise the new orbs are sent at the end of the tick
+      this.sendOrbChanges();
   }
 
   /**
@@ -338,81 +828,87 @@ public class GameState {
    * @param server - a SlitherServer object: an instance of the server that is currently running.
    */
   public void collisionCheck(User thisUser, Position latestHeadPosition, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) {
-    System.out.println("Run collision check");
-    Set<Position> otherBodies = this.userToOthersPositions.get(thisUser);
-    Set<Orb> allOrbs = new HashSet<>(this.orbs);
+    LOGGER.debug(COLLISION_CHECK_SAMPLER, () -> "Run collision check");
+    long start = System.nanoTime();
+    this.checkCollisions(thisUser, latestHeadPosition, webSocket, gameStateSockets, server);
+    server.getMetrics().collisionChecked(System.nanoTime() - start);
+  }
+
+  /**
+   * Checks a moved snake for collisions with the game boundary, orbs, and other snakes, and
+   * performs whatever updates they lead to (see collisionCheck).
+   *
+   * @param thisUser - a User: the user whose snake has just moved.
+   * @param latestHeadPosition - a Position: the position to which the head of the user's snake has
+   *                           just moved.
+   * @param webSocket - a WebSocket: the WebSocket connection object associated with this user
+   * @param gameStateSockets - a Set of WebSockets: the set of all the WebSockets for players
+   *                         within the same game as this user.
+   * @param server - a SlitherServer object: an instance of the server that is currently running.
+   */
+  private void checkCollisions(User thisUser, Position latestHeadPosition, WebSocket webSocket, Set<WebSocket> gameStateSockets, SlitherServer server) {
 
     // check if the user's snake has collided with (gone beyond) the game map boundary -- kill
     // the snake if this happens
-    if( latestHeadPosition.x() - this.SNAKE_CIRCLE_RADIUS <= -1500 ||
-        latestHeadPosition.x() + this.SNAKE_CIRCLE_RADIUS >= 1500 ||
-        latestHeadPosition.y() - this.SNAKE_CIRCLE_RADIUS <= -1500 ||
-        latestHeadPosition.y() + this.SNAKE_CIRCLE_RADIUS >= 1500
+    if( latestHeadPosition.x() - this.SNAKE_CIRCLE_RADIUS <= -this.MAP_BOUNDARY ||
+        latestHeadPosition.x() + this.SNAKE_CIRCLE_RADIUS >= this.MAP_BOUNDARY ||
+        latestHeadPosition.y() - this.SNAKE_CIRCLE_RADIUS <= -this.MAP_BOUNDARY ||
+        latestHeadPosition.y() + this.SNAKE_CIRCLE_RADIUS >= this.MAP_BOUNDARY
       ) {
       Message userDiedMessage = new Message(MessageType.YOU_DIED, new HashMap<>());
-      String jsonMessage = server.serialize(userDiedMessage);
-      webSocket.send(jsonMessage);
+      server.sendToSocket(webSocket, userDiedMessage);
       this.updateOtherUsersWithRemovedPositions(thisUser, webSocket, gameStateSockets, server);
 
-      List<Position> deadSnakePositions = new ArrayList<>();
-      deadSnakePositions.addAll(this.userToSnakeDeque.get(thisUser));
-      this.userToOwnPositions.remove(thisUser);
-      this.userToOthersPositions.remove(thisUser);
-      this.userToSnakeDeque.remove(thisUser);
+      List<Position> deadSnakePositions = this.userToSnakeBody.get(thisUser).toPositions();
+      this.userToSnakeBody.remove(thisUser);
       server.handleUserDied(thisUser, webSocket, this);
       this.generateDeathOrbs(deadSnakePositions);
       return;
     }
 
     // check if the user's snake has collided with any other snakes in the same game -- kill the
-    // user's snake if this happens
-    for (Position otherBodyPosition : otherBodies) {
-      if (this.distance(latestHeadPosition, otherBodyPosition) <= this.SNAKE_CIRCLE_RADIUS) {
-        Message userDiedMessage = new Message(MessageType.YOU_DIED, new HashMap<>());
-        String jsonMessage = server.serialize(userDiedMessage);
-        webSocket.send(jsonMessage);
-
-        List<Position> deadSnakePositions = new ArrayList<>();
-        deadSnakePositions.addAll(this.userToSnakeDeque.get(thisUser));
-        this.updateOtherUsersWithRemovedPositions(thisUser, webSocket, gameStateSockets, server);
-        this.userToOwnPositions.remove(thisUser);
-        this.userToOthersPositions.remove(thisUser);
-        this.userToSnakeDeque.remove(thisUser);
-        server.handleUserDied(thisUser, webSocket, this);
-        this.generateDeathOrbs(deadSnakePositions);
-        return;
-      }
+    // user's snake if this happens (only the grid cells around the head need to be checked)
+    if (this.bodyPartGrid.anyWithinRadius(latestHeadPosition, this.SNAKE_CIRCLE_RADIUS,
+        bodyPart -> !bodyPart.owner().equals(thisUser))) {
+      Message userDiedMessage = new Message(MessageType.YOU_DIED, new HashMap<>());
+      server.sendToSocket(webSocket, userDiedMessage);
+
+      List<Position> deadSnakePositions = this.userToSnakeBody.get(thisUser).toPositions();
+      this.updateOtherUsersWithRemovedPositions(thisUser, webSocket, gameStateSockets, server);
+      this.userToSnakeBody.remove(thisUser);
+      server.handleUserDied(thisUser, webSocket, this);
+      this.generateDeathOrbs(deadSnakePositions);
+      return;
     }
 
     // Check if the user's snake has eaten any orbs -- remove the eaten orbs and increase the length
-    // of the snake when this happens
+    // of the snake when this happens (only the orbs in the grid cells around the head are checked)
     List<Position> newBodyParts = new ArrayList<>();
     boolean orbCollided = false;
-    for (Orb orb : allOrbs) {
-      Position orbPosition = orb.getPosition();
-      if (this.distance(latestHeadPosition, orbPosition) <= this.SNAKE_CIRCLE_RADIUS) {
-        this.removeOrb(orbPosition);
-        orbCollided = true;
-        Integer orbValue = switch(orb.getSize()) {
-          case SMALL -> 1;
-          case LARGE -> 5;
-        };
-        server.handleUpdateScore(thisUser, this, orbValue);
-
-        for (int i=0; i < orbValue; i++) {
-          Position newPosition = this.getNewBodyPartPosition(thisUser);
-          newBodyParts.add(newPosition);
-        }
+    for (Orb orb : this.orbs.getWithinRadius(latestHeadPosition, this.SNAKE_CIRCLE_RADIUS)) {
+      this.removeOrb(orb.getPosition());
+      orbCollided = true;
+      Integer orbValue = switch(orb.getSize()) {
+        case SMALL -> 1;
+        case LARGE -> 5;
+      };
+      server.handleUpdateScore(thisUser, this, orbValue);
+
+      for (int i=0; i < orbValue; i++) {
+        Position newPosition = this.getNewBodyPartPosition(thisUser);
+        newBodyParts.add(newPosition);
+        // the client adds the new body parts to the back of its snake too
+        this.userToSnakeBody.get(thisUser).addLast(newPosition);
       }
     }
-    if (orbCollided)
-      this.sendOrbData();
+    if (orbCollided && !this.isTicking()) // otherwise the eaten orbs are sent at the end of the tick
+      this.sendOrbChanges();
 
     if (newBodyParts.size() > 0) {
       // increase the length of the user's own snake with their client
       this.sendOwnIncreasedLengthBodyParts(webSocket, newBodyParts, server);
       // increase the length of the user's snake for every other client in the same game
-      this.sendOthersIncreasedLengthBodyParts(webSocket, newBodyParts, gameStateSockets, server);
+      this.sendOthersIncreasedLengthBodyParts(thisUser, newBodyParts, server);
     }
   }
 
@@ -2,6 +2,7 @@ package edu.brown.cs32.gamecode;
 
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * GameCodeGenerator class to pseudo-randomly generate new game codes
@@ -30,8 +31,22 @@ public class GameCodeGenerator {
    * within a game being generated (type: String)
    */
   public String generateGameCode(Set<String> existingGameCodes) {
+    return this.generateGameCode(existingGameCodes, gameCode -> true);
+  }
+
+  /**
+   * Given a set of existingGameCodes, continuously generates new game codes
+   * until one not present in the set, and accepted by isUsable, is created
+   * (e.g. one owned by this server, when games are split across servers)
+   * @param existingGameCodes : the set of existingGameCodes already within
+   * use in other games
+   * @param isUsable : whether a new game code can be used
+   * @return the new (not previously in existence) game code to be used
+   * within a game being generated (type: String)
+   */
+  public String generateGameCode(Set<String> existingGameCodes, Predicate<String> isUsable) {
     String gameCode = this.createGameCode();
-    while (existingGameCodes.contains(gameCode)) {
+    while (existingGameCodes.contains(gameCode) || !isUsable.test(gameCode)) {
       gameCode = this.createGameCode();
     }
     return gameCode;
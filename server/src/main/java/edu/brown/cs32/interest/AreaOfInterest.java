@@ -0,0 +1,196 @@
+package edu.brown.cs32.interest;
+
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.snake.SnakeBody;
+import edu.brown.cs32.user.User;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AreaOfInterest class to keep track of what each player in a game can see, so that each client is
+ * only sent updates about the snakes and orbs near its own snake (rather than about everything on
+ * the map).
+ *
+ * Two snakes can see each other while the head of either one is within the view radius of the
+ * other's body, so a long snake whose head is far away is still seen by the snakes near its tail.
+ * Each body is approximated by its bounding box (which is never further from a head than the body
+ * itself, so no snake that should be seen is missed). Once two snakes can see each other, they only
+ * stop doing so when neither head is within the leave radius of the other's body (which is a
+ * little larger, so that a snake moving along the edge of the view radius does not repeatedly
+ * enter and leave the view). A snake that moves is compared with every other snake in the game;
+ * each comparison only looks at two heads and two bounding boxes.
+ *
+ * Orbs are tracked around an "orb center" for each player instead of around its head: the client
+ * is sent the orbs within the orb radius of that center, and the center is only moved (and the
+ * orbs resent) once the head has moved more than the resync distance away from it.
+ */
+public class AreaOfInterest {
+
+  private final double viewRadius; // the distance between a head and a body within which snakes start seeing each other
+  private final double leaveRadius; // the distance between a head and a body beyond which snakes stop seeing each other
+  private final double orbResyncDistance; // how far a head can move from its orb center before the orbs are resent
+  private final Map<User, Position> userToHead; // the head position of each (live) snake
+  private final Map<User, SnakeBounds> userToBounds; // the bounding box of the body of each (live) snake
+  private final Map<User, Set<User>> userToVisibleSnakes; // the snakes that each snake can (and that can) see
+  private final Map<User, Position> userToOrbCenter; // the position around which each client was last sent orbs
+
+  /**
+   * AreaOfInterest constructor to create the (empty) areas of interest of a game
+   * @param viewRadius : the distance between a head and another snake's body within which the
+   * snakes start seeing each other
+   * @param leaveMargin : how much further than viewRadius from each other's bodies both heads must
+   * be for snakes to stop seeing each other
+   * @param orbResyncDistance : how far a head can move from its orb center before the orbs around
+   * it are resent
+   */
+  public AreaOfInterest(double viewRadius, double leaveMargin, double orbResyncDistance) {
+    this.viewRadius = viewRadius;
+    this.leaveRadius = viewRadius + leaveMargin;
+    this.orbResyncDistance = orbResyncDistance;
+    this.userToHead = new HashMap<>();
+    this.userToBounds = new HashMap<>();
+    this.userToVisibleSnakes = new HashMap<>();
+    this.userToOrbCenter = new HashMap<>();
+  }
+
+  /**
+   * Adds a new snake, which starts seeing (and being seen by) the snakes near it
+   * @param user : the user whose snake is being added
+   * @param body : the body of the new snake (which must not be empty)
+   * @return the snakes that the new snake can see (none of them can have left its view)
+   */
+  public ViewChange addSnake(User user, SnakeBody body) {
+    this.userToVisibleSnakes.put(user, new HashSet<>());
+    return this.moveSnake(user, body);
+  }
+
+  /**
+   * Records where a snake's body now is, and updates which snakes it can see (and which can see it)
+   * @param user : the user whose snake moved
+   * @param body : the snake's body, in its new position (which must not be empty)
+   * @return the snakes that have entered and left the view of the moved snake (the moved snake
+   * has, equivalently, entered and left their views)
+   */
+  public ViewChange moveSnake(User user, SnakeBody body) {
+    Set<User> visibleSnakes = this.userToVisibleSnakes.get(user);
+    if (visibleSnakes == null) // the snake has already been removed
+      return new ViewChange(List.of(), List.of());
+    Position head = body.get(0);
+    SnakeBounds bounds = SnakeBounds.of(body);
+    this.userToHead.put(user, head);
+    this.userToBounds.put(user, bounds);
+
+    List<User> entered = new ArrayList<>();
+    List<User> left = new ArrayList<>();
+    for (Map.Entry<User, Position> other : this.userToHead.entrySet()) {
+      if (other.getKey().equals(user))
+        continue;
+      // the distance from either head to the other snake's body (whichever is smaller)
+      double distance = Math.min(this.userToBounds.get(other.getKey()).distanceTo(head), bounds.distanceTo(other.getValue()));
+      boolean visible = visibleSnakes.contains(other.getKey());
+      if (visible && distance > this.leaveRadius)
+        left.add(other.getKey());
+      else if (!visible && distance <= this.viewRadius)
+        entered.add(other.getKey());
+    }
+    for (User other : left) {
+      visibleSnakes.remove(other);
+      this.userToVisibleSnakes.get(other).remove(user);
+    }
+    for (User other : entered) {
+      visibleSnakes.add(other);
+      this.userToVisibleSnakes.get(other).add(user);
+    }
+    return new ViewChange(entered, left);
+  }
+
+  /**
+   * Removes a snake (e.g. when it dies), which stops seeing and being seen by every other snake
+   * @param user : the user whose snake is being removed
+   * @return the snakes that could see the removed snake
+   */
+  public Set<User> removeSnake(User user) {
+    Set<User> visibleSnakes = this.userToVisibleSnakes.remove(user);
+    if (visibleSnakes == null)
+      return Set.of();
+    for (User other : visibleSnakes) {
+      this.userToVisibleSnakes.get(other).remove(user);
+    }
+    this.userToHead.remove(user);
+    this.userToBounds.remove(user);
+    this.userToOrbCenter.remove(user);
+    return visibleSnakes;
+  }
+
+  /**
+   * Provides the snakes that a snake can see (which are also the snakes that can see it)
+   * @param user : the user whose snake's view is to be obtained
+   * @return the snakes visible to the user's snake (empty if the user has no snake)
+   */
+  public Set<User> getVisibleSnakes(User user) {
+    Set<User> visibleSnakes = this.userToVisibleSnakes.get(user);
+    return visibleSnakes == null ? Set.of() : Collections.unmodifiableSet(visibleSnakes);
+  }
+
+  /**
+   * Provides the radius around each orb center within which a client is sent orbs (this covers the
+   * whole view radius for as long as the head stays within the resync distance of the center)
+   * @return the radius within which orbs are sent to a client
+   */
+  public double getOrbRadius() {
+    return this.viewRadius + this.orbResyncDistance;
+  }
+
+  /**
+   * Checks whether an orb at the given position is within a client's area of interest (so the
+   * client should be told about it)
+   * @param user : the user whose client is being checked
+   * @param orbPosition : the position of the orb
+   * @return true if the orb is within the orb radius of the user's orb center; false otherwise (or
+   * if the user's client has not been sent any orbs yet)
+   */
+  public boolean isOrbInView(User user, Position orbPosition) {
+    Position orbCenter = this.userToOrbCenter.get(user);
+    return orbCenter != null && this.distance(orbCenter, orbPosition) <= this.getOrbRadius();
+  }
+
+  /**
+   * Checks whether a snake's head has moved far enough from its orb center that its client needs
+   * to be sent the orbs around its new position
+   * @param user : the user whose snake is being checked
+   * @return true if the orbs need to be resent to the user's client; false otherwise
+   */
+  public boolean needsOrbResync(User user) {
+    Position head = this.userToHead.get(user);
+    Position orbCenter = this.userToOrbCenter.get(user);
+    return head != null && (orbCenter == null || this.distance(head, orbCenter) > this.orbResyncDistance);
+  }
+
+  /**
+   * Moves a client's orb center to its snake's current head position (to be called when the orbs
+   * around that position are sent to the client)
+   * @param user : the user whose orb center is to be moved
+   * @return the new orb center, or null if the user has no snake
+   */
+  public Position resyncOrbs(User user) {
+    Position head = this.userToHead.get(user);
+    if (head != null)
+      this.userToOrbCenter.put(user, head);
+    return head;
+  }
+
+  /**
+   * Computes the distance between two positions
+   * @param first : the first position
+   * @param second : the second position
+   * @return the (euclidean) distance between the two positions
+   */
+  private double distance(Position first, Position second) {
+    return Math.hypot(first.x() - second.x(), first.y() - second.y());
+  }
+}
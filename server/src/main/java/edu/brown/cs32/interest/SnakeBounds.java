@@ -0,0 +1,45 @@
+package edu.brown.cs32.interest;
+
+import edu.brown.cs32.position.FixedPoint;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.snake.SnakeBody;
+
+/**
+ * SnakeBounds record to store the bounding box of a snake's body (the smallest rectangle that
+ * contains every one of its body parts), in fixed point coordinates (see FixedPoint)
+ */
+public record SnakeBounds(int minX, int minY, int maxX, int maxY) {
+
+  /**
+   * Computes the bounding box of a snake's body
+   * @param body : the snake's body (which must not be empty)
+   * @return the bounding box of the body's parts
+   */
+  public static SnakeBounds of(SnakeBody body) {
+    int minX = body.getFixedX(0);
+    int minY = body.getFixedY(0);
+    int maxX = minX;
+    int maxY = minY;
+    for (int i = 1; i < body.size(); i++) {
+      int x = body.getFixedX(i);
+      int y = body.getFixedY(i);
+      minX = Math.min(minX, x);
+      minY = Math.min(minY, y);
+      maxX = Math.max(maxX, x);
+      maxY = Math.max(maxY, y);
+    }
+    return new SnakeBounds(minX, minY, maxX, maxY);
+  }
+
+  /**
+   * Computes the distance from a position to the nearest point of the bounding box, which is never
+   * more than the distance to the nearest body part of the snake
+   * @param position : the position to measure the distance from
+   * @return the distance (0 if the position is inside the bounding box)
+   */
+  public double distanceTo(Position position) {
+    long xDifference = Math.max(0, Math.max((long) this.minX - position.fixedX(), (long) position.fixedX() - this.maxX));
+    long yDifference = Math.max(0, Math.max((long) this.minY - position.fixedY(), (long) position.fixedY() - this.maxY));
+    return Math.hypot(xDifference, yDifference) / FixedPoint.SCALE;
+  }
+}
@@ -0,0 +1,10 @@
+package edu.brown.cs32.interest;
+
+import edu.brown.cs32.user.User;
+import java.util.List;
+
+/**
+ * Record to represent how the view of a snake changed when it moved: the snakes that it can now
+ * see (and that can now see it) and the snakes that it can no longer see
+ */
+public record ViewChange(List<User> entered, List<User> left) {}
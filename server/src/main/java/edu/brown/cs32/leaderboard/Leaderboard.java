@@ -6,28 +6,43 @@ import edu.brown.cs32.message.MessageType;
 import edu.brown.cs32.server.SlitherServer;
 import edu.brown.cs32.user.User;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.java_websocket.WebSocket;
 
 /**
  * Leaderboard class to control leaderboard data and timed updating
  */
 public class Leaderboard {
 
-  private final Map<User, Integer> userScores;
+  private final ScoreIndex<User> userScores; // the users' scores, kept in decreasing order
   private final int LEADERBOARD_UPDATE_INTERVAL = 1;
+  private final int LEADERBOARD_SIZE = 10; // the number of (top) standings that every client is sent
   private final GameState gameState;
   private final SlitherServer slitherServer;
+  private final Map<User, UserRank> lastSentRanks; // the rank that each user's client was last sent
+  private LeaderboardEntry[] lastSentLeaderboard; // the standings that the clients were last sent
+  private boolean changed; // whether any scores (or players) have changed since the last update
+
+  /**
+   * UserRank record to store a user's position on the leaderboard, out of how many players
+   */
+  private record UserRank(int rank, int playerCount) {}
 
   /**
    * Leaderboard object constructor to synchronize an identical, timed-updating
    * leaderboard across all users sharing a GameState
    * 
-   * Note: Uses a ScheduledThreadPoolExecutor to send UPDATE_LEADERBOARD 
-   * messages to all clients linked to the specified GameState every second
+   * Note: Schedules a timer with the GameState to check for changes to the
+   * standings every second (run on the GameState's executor, which also runs
+   * all score updates, and cancelled with the GameState's other timers when
+   * the game ends). Nothing is sent unless something changed: clients are sent
+   * an UPDATE_LEADERBOARD message when the top standings change, and each
+   * client is sent an UPDATE_RANK message when its own rank changes.
    * 
    * @param gameState : the GameState for which all users present within such
    * state see this Leaderboard's data
@@ -35,34 +50,73 @@ public class Leaderboard {
    * data between all clients connected to their GameState
    */
   public Leaderboard(GameState gameState, SlitherServer slitherServer) {
-    this.userScores = new HashMap<User, Integer>();
+    this.userScores = new ScoreIndex<>();
     this.gameState = gameState;
     this.slitherServer = slitherServer;
+    this.lastSentRanks = new HashMap<>();
+    this.lastSentLeaderboard = new LeaderboardEntry[0];
+    this.changed = false;
+
+    gameState.scheduleAtFixedRate(this::sendChanges, 1, this.LEADERBOARD_UPDATE_INTERVAL, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Sends the clients whatever has changed since the last update: the top standings (to every
+   * client if they changed, or else only to clients that have not been sent them yet) and each
+   * client's own rank (if it changed)
+   */
+  private void sendChanges() {
+    if (!this.changed)
+      return;
+    this.changed = false;
 
-    ScheduledThreadPoolExecutor exec = new ScheduledThreadPoolExecutor(1);
-    exec.scheduleAtFixedRate(new Runnable() {
-      public void run() {
-        // code to execute repeatedly
-        System.out.println("Try to generate leaderboard");
-        LeaderboardEntry[] newLeaderboard = Leaderboard.this.getLeaderboard();
-        Map<String, Object> data = new HashMap<>();
-        data.put("leaderboard", newLeaderboard);
-        Message message = new Message(MessageType.UPDATE_LEADERBOARD, data);
-        Leaderboard.this.sendLeaderboardScores(message);
-        //Leaderboard.this.sendGameCode();
-      }
-    }, 1, this.LEADERBOARD_UPDATE_INTERVAL, TimeUnit.SECONDS); 
+    LeaderboardEntry[] leaderboard = this.getLeaderboard(this.LEADERBOARD_SIZE);
+    Message leaderboardMessage = this.createLeaderboardMessage(leaderboard);
+    boolean sentToAll = !Arrays.equals(leaderboard, this.lastSentLeaderboard);
+    if (sentToAll) {
+      this.lastSentLeaderboard = leaderboard;
+      this.slitherServer.sendToAllGameStateConnections(this.gameState, leaderboardMessage);
+    }
+
+    List<User> users = this.userScores.getTop(this.userScores.size());
+    Set<WebSocket> missedStandings = new HashSet<>(); // new clients, which missed the last standings
+    for (int i = 0; i < users.size(); i++) {
+      User user = users.get(i);
+      WebSocket webSocket = this.gameState.getSocket(user);
+      if (webSocket == null)
+        continue;
+      UserRank userRank = new UserRank(i + 1, users.size());
+      UserRank lastSentRank = this.lastSentRanks.put(user, userRank);
+      if (lastSentRank == null && !sentToAll)
+        missedStandings.add(webSocket);
+      if (!userRank.equals(lastSentRank))
+        this.sendRank(webSocket, userRank);
+    }
+    if (!missedStandings.isEmpty()) // encoded once, however many clients joined since the last update
+      this.slitherServer.sendToSockets(missedStandings, leaderboardMessage, null);
+  }
+
+  /**
+   * Creates an UPDATE_LEADERBOARD message holding the given standings
+   * @param leaderboard : the standings to be sent
+   * @return the message
+   */
+  private Message createLeaderboardMessage(LeaderboardEntry[] leaderboard) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("leaderboard", leaderboard);
+    return new Message(MessageType.UPDATE_LEADERBOARD, data);
   }
 
   /**
-   * Method to send the corresponding UPDATE_LEADERBOARD Message to all other users with a matching GameState
-   * @param message : to the message to be sent to all users sharing this Leaderboard'ds stored GameState
+   * Sends a client an UPDATE_RANK message with its user's position on the leaderboard
+   * @param webSocket : the connection of the client to be sent its rank
+   * @param userRank : the user's rank, and the number of players in the game
    */
-  private void sendLeaderboardScores(Message message) {
-    String json = this.slitherServer.serialize(message);
-    System.out.println("Leaderboard json");
-    System.out.println(json);
-    this.slitherServer.sendToAllGameStateConnections(this.gameState, json);
+  private void sendRank(WebSocket webSocket, UserRank userRank) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("rank", userRank.rank());
+    data.put("playerCount", userRank.playerCount());
+    this.slitherServer.sendToSocket(webSocket, new Message(MessageType.UPDATE_RANK, data));
   }
 
   /**
@@ -74,10 +128,11 @@ public class Leaderboard {
    * on the leaderboard then false is returned and no changes are made.
    */
   public boolean addNewUser(User user) {
-    if (this.userScores.containsKey(user)) {
+    if (this.userScores.getScore(user) != null) {
       return false;
     }
     this.userScores.put(user, 20);
+    this.changed = true;
     return true;
   }
 
@@ -89,11 +144,11 @@ public class Leaderboard {
    * the user did not exist on the leaderboard to begin with).
    */
   public boolean removeUser(User user) {
-    if (this.userScores.containsKey(user)) {
-      this.userScores.remove(user);
-      return true;
-    }
-    return false;
+    this.lastSentRanks.remove(user);
+    if (!this.userScores.remove(user))
+      return false;
+    this.changed = true;
+    return true;
   }
 
   /**
@@ -102,7 +157,17 @@ public class Leaderboard {
    * @return the inputted user's current score
    */
   public Integer getCurrentScore(User user) {
-    return this.userScores.get(user);
+    return this.userScores.getScore(user);
+  }
+
+  /**
+   * Provides the inputted user's current position on the leaderboard
+   * @param user : the user whose rank is to be obtained
+   * @return the user's rank, starting from 1 for the highest score, or -1 if the user is not on
+   * the leaderboard
+   */
+  public int getRank(User user) {
+    return this.userScores.getRank(user);
   }
 
   /**
@@ -114,11 +179,12 @@ public class Leaderboard {
    * User did not exist on the leaderboard to begin with).
    */
   public boolean updateScore(User user, Integer newScore) {
-    if (this.userScores.containsKey(user)) {
-      this.userScores.put(user, newScore);
-      return true;
+    if (this.userScores.getScore(user) == null) {
+      return false;
     }
-    return false;
+    this.userScores.put(user, newScore);
+    this.changed = true;
+    return true;
   }
 
   /**
@@ -127,18 +193,24 @@ public class Leaderboard {
    * @return an array of LeaderboardEntry's -- sorted in decreasing order of user scores.
    */
   public LeaderboardEntry[] getLeaderboard() {
-    LeaderboardEntry[] leaderboard = new LeaderboardEntry[this.userScores.size()];
-    int i = 0;
-    for (User user : this.userScores.keySet()) {
-      leaderboard[i] = new LeaderboardEntry(user.getUsername(), this.userScores.get(user));
-      i++;
+    return this.getLeaderboard(this.userScores.size());
+  }
+
+  /**
+   * Gets the current leaderboard standings for the highest-scoring players who are currently
+   * playing (without looking at any of the other players).
+   *
+   * @param count - The (maximum) number of standings to get.
+   * @return an array of the count highest-scoring LeaderboardEntry's -- sorted in decreasing order
+   * of user scores.
+   */
+  public LeaderboardEntry[] getLeaderboard(int count) {
+    List<User> topUsers = this.userScores.getTop(count);
+    LeaderboardEntry[] leaderboard = new LeaderboardEntry[topUsers.size()];
+    for (int i = 0; i < leaderboard.length; i++) {
+      User user = topUsers.get(i);
+      leaderboard[i] = new LeaderboardEntry(user.getUsername(), this.userScores.getScore(user));
     }
-    Arrays.sort(leaderboard, new Comparator<LeaderboardEntry>() {
-      @Override
-      public int compare(LeaderboardEntry o1, LeaderboardEntry o2) {
-        return o1.score().compareTo(o2.score());
-      }
-    });
     return leaderboard;
   }
 }
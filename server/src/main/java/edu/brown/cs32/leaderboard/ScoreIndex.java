@@ -0,0 +1,249 @@
+package edu.brown.cs32.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * ScoreIndex class to keep a set of keys ordered by their scores as the scores change, so that the
+ * highest-scoring keys and the rank of any key can be read without sorting all of the keys.
+ *
+ * The keys are stored in an indexed skip list, ordered by decreasing score (keys with equal scores
+ * are ordered by which reached that score first). Every link in the list also stores how many
+ * positions it skips over, so the rank of a key is found by adding up the links followed while
+ * searching for it. Adding, removing, re-scoring and ranking a key all take O(log n) expected
+ * time, and reading the top k keys takes O(k) time.
+ *
+ * @param <T> the type of the keys being scored
+ */
+public class ScoreIndex<T> {
+
+  private static final int MAX_LEVEL = 32; // the most levels that the skip list can have
+  private static final double LEVEL_PROBABILITY = 0.25; // the chance of a node reaching each further level
+
+  private final Node<T> head; // sentinel node before the highest-scoring key, on every level
+  private final Map<T, Node<T>> keyToNode; // the node storing each key in the list
+  private final Random random; // used to pick the level of each new node
+  private int level; // the number of levels currently in use
+  private int length; // the number of nodes currently linked into the list
+  private long nextSequence; // increases with every score set, to order keys with equal scores
+
+  /**
+   * Node class to store a key (with its score) in the skip list
+   */
+  private static class Node<T> {
+
+    private final T key; // the key stored in this node (null for the head)
+    private final int score; // the score of the key
+    private final long sequence; // when the key was given its score, to break ties
+    private final Node<T>[] next; // the next node on each level this node is on
+    private final int[] span; // how many positions each of the links in next moves forward
+
+    /**
+     * Node constructor to create a node that is not yet linked into the list
+     * @param key : the key to be stored
+     * @param score : the key's score
+     * @param sequence : when the key was given its score
+     * @param levels : the number of levels that the node is on
+     */
+    @SuppressWarnings("unchecked")
+    private Node(T key, int score, long sequence, int levels) {
+      this.key = key;
+      this.score = score;
+      this.sequence = sequence;
+      this.next = (Node<T>[]) new Node<?>[levels];
+      this.span = new int[levels];
+    }
+  }
+
+  /**
+   * ScoreIndex constructor to create an empty index
+   */
+  public ScoreIndex() {
+    this.head = new Node<>(null, 0, 0, MAX_LEVEL);
+    this.keyToNode = new HashMap<>();
+    this.random = new Random();
+    this.level = 1;
+    this.length = 0;
+    this.nextSequence = 0;
+  }
+
+  /**
+   * Sets the score of a key, adding the key to the index if it is not already in it
+   * @param key : the key to be scored
+   * @param score : the key's new score
+   * @return true if the key was added; false if it was already in the index (and was re-scored)
+   */
+  public boolean put(T key, int score) {
+    Node<T> oldNode = this.keyToNode.get(key);
+    if (oldNode != null) {
+      if (oldNode.score == score)
+        return false;
+      this.unlink(oldNode);
+    }
+    Node<T> node = new Node<>(key, score, this.nextSequence++, this.randomLevel());
+    this.link(node);
+    this.keyToNode.put(key, node);
+    return oldNode == null;
+  }
+
+  /**
+   * Removes a key from the index
+   * @param key : the key to be removed
+   * @return true if the key was removed; false if it was not in the index
+   */
+  public boolean remove(T key) {
+    Node<T> node = this.keyToNode.remove(key);
+    if (node == null)
+      return false;
+    this.unlink(node);
+    return true;
+  }
+
+  /**
+   * Provides the score of a key
+   * @param key : the key whose score is to be obtained
+   * @return the key's score, or null if the key is not in the index
+   */
+  public Integer getScore(T key) {
+    Node<T> node = this.keyToNode.get(key);
+    return node == null ? null : node.score;
+  }
+
+  /**
+   * Provides the rank of a key (its position when the keys are ordered by decreasing score)
+   * @param key : the key whose rank is to be obtained
+   * @return the key's rank, starting from 1 for the highest-scoring key, or -1 if the key is not in
+   * the index
+   */
+  public int getRank(T key) {
+    Node<T> node = this.keyToNode.get(key);
+    if (node == null)
+      return -1;
+    int rank = 0;
+    Node<T> current = this.head;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (current.next[i] != null && (current.next[i] == node || this.precedes(current.next[i], node))) {
+        rank += current.span[i];
+        current = current.next[i];
+      }
+      if (current == node)
+        return rank;
+    }
+    return -1;
+  }
+
+  /**
+   * Provides the highest-scoring keys, in decreasing order of score
+   * @param count : the (maximum) number of keys to be provided
+   * @return a list of the count highest-scoring keys (or of all the keys, if there are fewer)
+   */
+  public List<T> getTop(int count) {
+    List<T> top = new ArrayList<>(Math.max(0, Math.min(count, this.size())));
+    Node<T> current = this.head.next[0];
+    while (current != null && top.size() < count) {
+      top.add(current.key);
+      current = current.next[0];
+    }
+    return top;
+  }
+
+  /**
+   * Provides the number of keys in the index
+   * @return the number of keys in the index
+   */
+  public int size() {
+    return this.keyToNode.size();
+  }
+
+  /**
+   * Checks whether a node comes strictly before another in the list
+   * @param first : the node that might come first
+   * @param second : the node that might come second
+   * @return true if first has a higher score than second, or has the same score and got it
+   * earlier; false otherwise
+   */
+  private boolean precedes(Node<T> first, Node<T> second) {
+    if (first.score != second.score)
+      return first.score > second.score;
+    return first.sequence < second.sequence;
+  }
+
+  /**
+   * Links a new node into the list at the position given by its score
+   * @param node : the node to be linked (not yet in the list)
+   */
+  @SuppressWarnings("unchecked")
+  private void link(Node<T> node) {
+    Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL]; // the last node before the new node on each level
+    int[] rank = new int[MAX_LEVEL]; // the rank of the node in update on each level
+    Node<T> current = this.head;
+    for (int i = this.level - 1; i >= 0; i--) {
+      rank[i] = i == this.level - 1 ? 0 : rank[i + 1];
+      while (current.next[i] != null && this.precedes(current.next[i], node)) {
+        rank[i] += current.span[i];
+        current = current.next[i];
+      }
+      update[i] = current;
+    }
+
+    int nodeLevel = node.next.length;
+    if (nodeLevel > this.level) {
+      for (int i = this.level; i < nodeLevel; i++) {
+        rank[i] = 0;
+        update[i] = this.head;
+        this.head.span[i] = this.length; // the (empty) link skips past every node
+      }
+      this.level = nodeLevel;
+    }
+
+    for (int i = 0; i < nodeLevel; i++) {
+      node.next[i] = update[i].next[i];
+      update[i].next[i] = node;
+      node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+      update[i].span[i] = rank[0] - rank[i] + 1;
+    }
+    for (int i = nodeLevel; i < this.level; i++) {
+      update[i].span[i]++;
+    }
+    this.length++;
+  }
+
+  /**
+   * Unlinks a node from the list
+   * @param node : the node to be unlinked (currently in the list)
+   */
+  private void unlink(Node<T> node) {
+    Node<T> current = this.head;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (current.next[i] != null && this.precedes(current.next[i], node)) {
+        current = current.next[i];
+      }
+      if (current.next[i] == node) {
+        current.span[i] += node.span[i] - 1;
+        current.next[i] = node.next[i];
+      } else {
+        current.span[i]--;
+      }
+    }
+    while (this.level > 1 && this.head.next[this.level - 1] == null) {
+      this.level--;
+    }
+    this.length--;
+  }
+
+  /**
+   * Picks the number of levels for a new node (each further level being reached with probability
+   * LEVEL_PROBABILITY)
+   * @return the number of levels for the new node, between 1 and MAX_LEVEL
+   */
+  private int randomLevel() {
+    int nodeLevel = 1;
+    while (nodeLevel < MAX_LEVEL && this.random.nextDouble() < LEVEL_PROBABILITY) {
+      nodeLevel++;
+    }
+    return nodeLevel;
+  }
+}
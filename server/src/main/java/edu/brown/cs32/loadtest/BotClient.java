@@ -0,0 +1,486 @@
+package edu.brown.cs32.loadtest;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageCodec;
+import edu.brown.cs32.message.MessageType;
+import edu.brown.cs32.position.Position;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+
+/**
+ * BotClient class to simulate a single player: it joins a game over its own websocket connection,
+ * then (each time move is called) moves its snake the way the browser client does, sending the
+ * position added to the front of the snake and the position removed from its back. The snake
+ * wanders around the map, turning gradually towards a random target, and grows when the server
+ * says it has eaten orbs.
+ *
+ * Bots made to send inputs instead send a MOVE_INPUT message (the direction to head towards their
+ * target) whenever that direction has changed by more than INPUT_THRESHOLD, and move their snakes
+ * by the moves of their own snakes that the server sends back. Their moves are then timed from
+ * when they hear of them, rather than from when they were sent.
+ *
+ * Bots use the JSON protocol, and accept both single messages and the JSON arrays of messages that
+ * the server sends when it batches messages.
+ */
+public class BotClient extends WebSocketClient {
+
+  private static final JsonAdapter<Object> JSON_ADAPTER = new Moshi.Builder().build().adapter(Object.class); // parses received frames into Maps and Lists
+  private static final double STEP = 8; // the distance the snake's head moves with each move
+  private static final double MAX_TURN = 0.1; // the largest change in heading (in radians) with each move
+  private static final double INPUT_THRESHOLD = 0.05; // how far (in radians) the direction to the target must change before a new input is sent
+  private static final double WANDER_EXTENT = 1300; // wander targets are kept within -WANDER_EXTENT and WANDER_EXTENT on both axes
+  private static final double TARGET_REACHED_DISTANCE = 50; // how close the head must get to its target before a new one is picked
+  private static final Position SPAWN_HEAD = new Position(600, 100); // where the server places the head of every new snake
+  private static final int SPAWN_LENGTH = 20; // the number of body parts in every new snake
+  private static final double SPAWN_SPACING = 5; // the distance between the body parts of a new snake
+
+  /**
+   * Listener interface for the events of a bot's life that the load test reacts to
+   */
+  public interface Listener {
+    /**
+     * Called when the bot has joined a game
+     * @param bot : the bot that joined
+     * @param gameCode : the code of the game that it joined
+     */
+    void joined(BotClient bot, String gameCode);
+
+    /**
+     * Called when the bot's snake has died (and its connection has been closed, like the browser
+     * client reloading the page)
+     * @param bot : the bot that died
+     */
+    void died(BotClient bot);
+
+    /**
+     * Called when the bot has been sent on to the node that owns its game (by a ShardRouter, which
+     * then closes the bot's connection)
+     * @param bot : the bot that was redirected
+     * @param nodeUri : the websocket address of the node that the bot should join through
+     */
+    void redirected(BotClient bot, URI nodeUri);
+  }
+
+  private final String username; // the username that the bot joins with
+  private final LoadStats stats; // where the bot's measurements are recorded
+  private final MessageCodec codec; // serializes the messages that the bot sends
+  private final Listener listener; // notified when the bot joins a game or dies
+  private final Random random; // picks the bot's wander targets
+  private final Deque<Position> body; // the snake's body parts, from head to tail
+  private final boolean sendInputs; // whether the bot sends inputs (and the server moves its snake) rather than moves
+  private String joinGameCode; // the game code to join with (null to create a new game)
+  private double heading; // the direction the head is moving in (in radians)
+  private double lastInputAngle; // the direction sent with the last input (NaN if none has been sent)
+  private int inputSequence; // the sequence number of the next input to be sent (as the browser client numbers them)
+  private int snakeId; // the id of the bot's snake in its game (-1 until it has joined)
+  private Position target; // the point the snake is currently turning towards
+  private boolean joined; // whether the bot is in a game (and so can move)
+  private boolean dead; // whether the bot's snake has died
+  private boolean redirected; // whether the bot has been sent on to another server (see ShardRouter)
+  private long joinSentNanos; // when the join message was sent
+  private long lastMoveNanos; // when the last move was sent
+  private long grewNanos; // when the snake grew without the new standings having arrived yet (0 if none are awaited)
+
+  /**
+   * BotClient constructor to create a bot that has not connected yet (see connect)
+   * @param serverUri : the websocket address of the server
+   * @param username : the username that the bot joins with
+   * @param gameCode : the code of the game to join (null to create a new game)
+   * @param stats : where the bot's measurements are to be recorded
+   * @param codec : serializes the messages that the bot sends
+   * @param listener : to be notified when the bot joins a game or dies
+   * @param sendInputs : whether the bot sends inputs rather than moves
+   * @param seed : the seed for the bot's wandering (so that runs can be repeated)
+   */
+  public BotClient(URI serverUri, String username, String gameCode, LoadStats stats, MessageCodec codec, Listener listener, boolean sendInputs, long seed) {
+    super(serverUri);
+    this.username = username;
+    this.joinGameCode = gameCode;
+    this.stats = stats;
+    this.codec = codec;
+    this.listener = listener;
+    this.random = new Random(seed);
+    this.body = new ArrayDeque<>();
+    this.sendInputs = sendInputs;
+    this.lastInputAngle = Double.NaN;
+    this.snakeId = -1;
+    this.heading = this.random.nextDouble() * 2 * Math.PI;
+    this.target = this.randomTarget();
+    this.joined = false;
+    this.dead = false;
+    this.redirected = false;
+    this.grewNanos = 0;
+  }
+
+  /**
+   * Provides the username that the bot joins with
+   * @return the bot's username
+   */
+  public String getUsername() {
+    return this.username;
+  }
+
+  /**
+   * Provides whether the bot is in a game
+   * @return true if the bot has joined a game and its snake has not died
+   */
+  public synchronized boolean isPlaying() {
+    return this.joined && !this.dead;
+  }
+
+  /**
+   * Sends the join message as soon as the connection is open
+   * @param handshake : the server's handshake (unused)
+   */
+  @Override
+  public void onOpen(ServerHandshake handshake) {
+    this.sendJoin();
+  }
+
+  /**
+   * Moves the snake one step: turns the head towards the current target, adds the new head
+   * position, and removes the tail (sending both to the server) -- or, if the bot sends inputs,
+   * sends the direction towards the target if it has changed enough. Does nothing if the bot is
+   * not in a game.
+   */
+  public synchronized void move() {
+    if (!this.joined || this.dead || this.body.isEmpty())
+      return;
+    Position head = this.body.peekFirst();
+    if (Math.hypot(this.target.x() - head.x(), this.target.y() - head.y()) < TARGET_REACHED_DISTANCE)
+      this.target = this.randomTarget();
+    double targetHeading = Math.atan2(this.target.y() - head.y(), this.target.x() - head.x());
+    if (this.sendInputs) {
+      if (Double.isNaN(this.lastInputAngle)
+          || Math.abs(Math.IEEEremainder(targetHeading - this.lastInputAngle, 2 * Math.PI)) > INPUT_THRESHOLD) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("angle", targetHeading);
+        data.put("boost", false);
+        data.put("seq", this.inputSequence++);
+        this.lastInputAngle = targetHeading;
+        this.sendMessage(new Message(MessageType.MOVE_INPUT, data));
+      }
+      return;
+    }
+    double turn = Math.IEEEremainder(targetHeading - this.heading, 2 * Math.PI);
+    this.heading += Math.max(-MAX_TURN, Math.min(MAX_TURN, turn));
+
+    Position toAdd = new Position(head.x() + STEP * Math.cos(this.heading),
+        head.y() + STEP * Math.sin(this.heading));
+    Position toRemove = this.body.removeLast();
+    this.body.addFirst(toAdd);
+
+    Map<String, Object> data = new HashMap<>();
+    data.put("add", toAdd);
+    data.put("remove", toRemove);
+    this.lastMoveNanos = System.nanoTime();
+    this.stats.moveSent(moveKey(toAdd.x(), toAdd.y()), this.lastMoveNanos);
+    this.sendMessage(new Message(MessageType.UPDATE_POSITION, data));
+  }
+
+  /**
+   * Handles a frame received from the server: a single JSON message, or a JSON array of them
+   * @param frame : the received frame
+   */
+  @Override
+  public void onMessage(String frame) {
+    long receivedNanos = System.nanoTime();
+    Object parsed;
+    try {
+      parsed = JSON_ADAPTER.fromJson(frame);
+    } catch (IOException e) {
+      this.stats.frameReceived(1, frame.length());
+      this.stats.errorMessage();
+      return;
+    }
+    if (parsed instanceof List<?> messages) {
+      this.stats.frameReceived(messages.size(), frame.length());
+      for (Object message : messages) {
+        this.handleMessage(message, receivedNanos);
+      }
+    } else {
+      this.stats.frameReceived(1, frame.length());
+      this.handleMessage(parsed, receivedNanos);
+    }
+  }
+
+  /**
+   * Counts a binary frame (which is not expected, since bots do not ask for the binary protocol)
+   * @param bytes : the received frame
+   */
+  @Override
+  public void onMessage(ByteBuffer bytes) {
+    this.stats.frameReceived(1, bytes.remaining());
+  }
+
+  /**
+   * Reports the bot's death once its connection has been closed, or counts the closing as a
+   * connection error if the bot did not close it (and was not redirected)
+   * @param code : the websocket close code
+   * @param reason : the reason given for closing
+   * @param remote : whether the server closed the connection
+   */
+  @Override
+  public void onClose(int code, String reason, boolean remote) {
+    boolean died;
+    boolean redirected;
+    synchronized (this) {
+      died = this.dead;
+      redirected = this.redirected;
+      this.joined = false;
+    }
+    if (died)
+      this.listener.died(this);
+    else if (remote && !redirected)
+      this.stats.connectionError();
+  }
+
+  /**
+   * Counts a failed connection (or an error on an open one)
+   * @param e : the error
+   */
+  @Override
+  public void onError(Exception e) {
+    this.stats.connectionError();
+  }
+
+  /**
+   * Handles a single message received from the server
+   * @param message : the parsed message (a Map, if the server sent a well-formed message)
+   * @param receivedNanos : when the frame holding the message was received
+   */
+  private void handleMessage(Object message, long receivedNanos) {
+    if (!(message instanceof Map<?, ?> fields) || !(fields.get("data") instanceof Map<?, ?> data)) {
+      this.stats.errorMessage();
+      return;
+    }
+    String type = String.valueOf(fields.get("type"));
+    switch (type) {
+      case "JOIN_SUCCESS" -> this.handleJoinSuccess(data, receivedNanos);
+      case "JOIN_ERROR" -> this.handleJoinError();
+      case "ERROR" -> this.handleError();
+      case "UPDATE_POSITION" -> this.recordMoveReceived(data.get("add"), receivedNanos);
+      case "UPDATE_POSITIONS" -> {
+        if (data.get("updates") instanceof List<?> updates) {
+          for (Object update : updates) {
+            if (update instanceof Map<?, ?> updateData && updateData.get("id") instanceof Double id && id == this.getSnakeId())
+              this.applyOwnMove(updateData.get("add"), receivedNanos);
+            else if (update instanceof Map<?, ?> updateData)
+              this.recordMoveReceived(updateData.get("add"), receivedNanos);
+          }
+        }
+      }
+      case "INCREASE_OWN_LENGTH" -> this.handleIncreaseLength(data, receivedNanos);
+      case "UPDATE_LEADERBOARD" -> this.handleLeaderboard(data, receivedNanos);
+      case "YOU_DIED" -> this.handleDeath();
+      case "REDIRECT" -> this.handleRedirect(data);
+      default -> {
+        // the other messages (orbs, other snakes, ranks) only change what a player would see
+      }
+    }
+  }
+
+  /**
+   * Starts the snake off where the server places new snakes, and records the join
+   * @param data : the data of the JOIN_SUCCESS message
+   * @param receivedNanos : when the message was received
+   */
+  private void handleJoinSuccess(Map<?, ?> data, long receivedNanos) {
+    String gameCode = String.valueOf(data.get("gameCode"));
+    synchronized (this) {
+      this.body.clear();
+      for (int i = 0; i < SPAWN_LENGTH; i++) {
+        this.body.addLast(new Position(SPAWN_HEAD.x(), SPAWN_HEAD.y() + SPAWN_SPACING * i));
+      }
+      this.joinGameCode = gameCode;
+      this.snakeId = data.get("snakeId") instanceof Double id ? id.intValue() : -1;
+      this.lastInputAngle = Double.NaN;
+      this.joined = true;
+    }
+    this.stats.joined(receivedNanos - this.joinSentNanos);
+    this.listener.joined(this, gameCode);
+  }
+
+  /**
+   * Handles a failed join: if the bot tried to join a game that has since ended (every player in
+   * it died), it creates a new game instead -- otherwise the failure is counted as an error
+   */
+  private void handleJoinError() {
+    synchronized (this) {
+      if (this.joinGameCode == null) {
+        this.stats.errorMessage();
+        return;
+      }
+      this.joinGameCode = null;
+    }
+    this.sendJoin();
+  }
+
+  /**
+   * Counts an error sent by the server -- unless the snake has died, since moves sent before the
+   * bot heard of its death are answered with errors once the server has removed the snake
+   */
+  private synchronized void handleError() {
+    if (!this.dead)
+      this.stats.errorMessage();
+  }
+
+  /**
+   * Grows the snake by the body parts that the server added to its back, and records how long the
+   * server took to report the eaten orbs
+   * @param data : the data of the INCREASE_OWN_LENGTH message
+   * @param receivedNanos : when the message was received
+   */
+  private synchronized void handleIncreaseLength(Map<?, ?> data, long receivedNanos) {
+    if (!(data.get("newBodyParts") instanceof List<?> newBodyParts))
+      return;
+    for (Object bodyPart : newBodyParts) {
+      if (bodyPart instanceof Map<?, ?> position && position.get("x") instanceof Double x && position.get("y") instanceof Double y)
+        this.body.addLast(new Position(x, y));
+    }
+    this.stats.orbEaten(receivedNanos - this.lastMoveNanos);
+    if (this.grewNanos == 0)
+      this.grewNanos = receivedNanos;
+  }
+
+  /**
+   * Records how long the new standings took to arrive after the snake grew -- only when the
+   * standings include this bot, since the changed score of a bot outside of the top of the
+   * leaderboard does not lead to a new leaderboard being sent
+   * @param data : the data of the UPDATE_LEADERBOARD message
+   * @param receivedNanos : when the message was received
+   */
+  private synchronized void handleLeaderboard(Map<?, ?> data, long receivedNanos) {
+    if (this.grewNanos == 0)
+      return;
+    boolean listed = data.get("leaderboard") instanceof List<?> entries && entries.stream()
+        .anyMatch(entry -> entry instanceof Map<?, ?> fields && this.username.equals(fields.get("username")));
+    if (listed)
+      this.stats.leaderboardUpdated(receivedNanos - this.grewNanos);
+    this.grewNanos = 0;
+  }
+
+  /**
+   * Records the death of the snake, and closes the connection (the listener is told once it has
+   * closed)
+   */
+  private void handleDeath() {
+    synchronized (this) {
+      this.dead = true;
+    }
+    this.stats.died();
+    this.close();
+  }
+
+  /**
+   * Tells the listener which server the bot has been sent on to (the server closes the connection)
+   * @param data : the data of the REDIRECT message
+   */
+  private void handleRedirect(Map<?, ?> data) {
+    if (!(data.get("url") instanceof String url)) {
+      this.stats.errorMessage();
+      return;
+    }
+    synchronized (this) {
+      this.redirected = true;
+    }
+    this.listener.redirected(this, URI.create(url));
+  }
+
+  /**
+   * Provides the id of the bot's snake in its game
+   * @return the snake's id, or -1 if the bot has not joined a game
+   */
+  private synchronized int getSnakeId() {
+    return this.snakeId;
+  }
+
+  /**
+   * Moves the snake by a move of its own that the server made (for bots that send inputs), and
+   * records the move as sent, so that the other bots' receipt of it is timed from now
+   * @param position : the position that the move added (a Map of x and y)
+   * @param receivedNanos : when the move was received
+   */
+  private synchronized void applyOwnMove(Object position, long receivedNanos) {
+    if (!(position instanceof Map<?, ?> fields && fields.get("x") instanceof Double x && fields.get("y") instanceof Double y)
+        || this.body.isEmpty())
+      return;
+    this.body.removeLast();
+    this.body.addFirst(new Position(x, y));
+    this.lastMoveNanos = receivedNanos;
+    this.stats.moveSent(moveKey(x, y), receivedNanos);
+  }
+
+  /**
+   * Records the receipt of another snake's move
+   * @param position : the position that the move added (a Map of x and y)
+   * @param receivedNanos : when the move was received
+   */
+  private void recordMoveReceived(Object position, long receivedNanos) {
+    if (position instanceof Map<?, ?> fields && fields.get("x") instanceof Double x && fields.get("y") instanceof Double y)
+      this.stats.moveReceived(moveKey(x, y), receivedNanos);
+  }
+
+  /**
+   * Sends the join message: NEW_CLIENT_WITH_CODE if the bot has a game code to join, and
+   * NEW_CLIENT_NO_CODE (creating a new game) otherwise
+   */
+  private void sendJoin() {
+    Map<String, Object> data = new HashMap<>();
+    data.put("username", this.username);
+    MessageType type;
+    synchronized (this) {
+      if (this.joinGameCode != null) {
+        data.put("gameCode", this.joinGameCode);
+        type = MessageType.NEW_CLIENT_WITH_CODE;
+      } else {
+        type = MessageType.NEW_CLIENT_NO_CODE;
+      }
+      this.joinSentNanos = System.nanoTime();
+    }
+    this.sendMessage(new Message(type, data));
+  }
+
+  /**
+   * Serializes and sends a message (unless the connection has already closed)
+   * @param message : the message to be sent
+   */
+  private void sendMessage(Message message) {
+    if (!this.isOpen())
+      return;
+    this.send(this.codec.serialize(message));
+    this.stats.messageSent();
+  }
+
+  /**
+   * Picks a random point for the snake to wander towards
+   * @return a random point within the wander area
+   */
+  private Position randomTarget() {
+    return new Position((this.random.nextDouble() * 2 - 1) * WANDER_EXTENT,
+        (this.random.nextDouble() * 2 - 1) * WANDER_EXTENT);
+  }
+
+
+  /**
+   * Provides the key by which a move is matched between the bot that sent it and the bots that
+   * receive it: the position that it added to the front of the snake
+   * @param x : the x coordinate of the added position
+   * @param y : the y coordinate of the added position
+   * @return the key of the move
+   */
+  static String moveKey(double x, double y) {
+    return x + "," + y;
+  }
+}
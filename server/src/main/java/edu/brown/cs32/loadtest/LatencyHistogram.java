@@ -0,0 +1,105 @@
+package edu.brown.cs32.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram class to record latencies (in microseconds) from many threads at once, and to
+ * report their percentiles, without storing every sample.
+ *
+ * Latencies are counted in log-linear buckets: every power of two is split into SUB_BUCKETS
+ * buckets of equal width, so each recorded latency is reported to within about 3% of its value
+ * (latencies below 2 * SUB_BUCKETS microseconds are counted exactly).
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 32; // buckets per power of two
+  private static final int MAX_EXPONENT = 37; // latencies are counted up to 2^MAX_EXPONENT microseconds (over a day)
+
+  private final AtomicLongArray counts; // the number of latencies counted in each bucket
+  private final AtomicLong count; // the number of latencies recorded
+  private final AtomicLong max; // the largest latency recorded
+
+  /**
+   * LatencyHistogram constructor to create an empty histogram
+   */
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(2 * SUB_BUCKETS + (MAX_EXPONENT - 5) * SUB_BUCKETS);
+    this.count = new AtomicLong();
+    this.max = new AtomicLong();
+  }
+
+  /**
+   * Records a latency
+   * @param micros : the latency in microseconds (negative latencies are counted as 0)
+   */
+  public void record(long micros) {
+    long latency = Math.max(0, micros);
+    this.counts.incrementAndGet(this.bucketOf(latency));
+    this.count.incrementAndGet();
+    this.max.accumulateAndGet(latency, Math::max);
+  }
+
+  /**
+   * Provides the number of latencies recorded
+   * @return the number of latencies recorded
+   */
+  public long getCount() {
+    return this.count.get();
+  }
+
+  /**
+   * Provides the largest latency recorded
+   * @return the largest latency in microseconds (0 if none were recorded)
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Provides a percentile of the recorded latencies
+   * @param percentile : the percentile to be obtained (between 0 and 100)
+   * @return the smallest latency (rounded down to the start of its bucket) that at least
+   * percentile percent of the recorded latencies are at or below, in microseconds (0 if none were
+   * recorded)
+   */
+  public long getPercentile(double percentile) {
+    long total = this.count.get();
+    if (total == 0)
+      return 0;
+    long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int bucket = 0; bucket < this.counts.length(); bucket++) {
+      seen += this.counts.get(bucket);
+      if (seen >= target)
+        return Math.min(this.lowerBoundOf(bucket), this.max.get());
+    }
+    return this.max.get();
+  }
+
+  /**
+   * Finds the bucket that a latency is counted in
+   * @param micros : the (non-negative) latency
+   * @return the index of the latency's bucket
+   */
+  private int bucketOf(long micros) {
+    if (micros < 2 * SUB_BUCKETS)
+      return (int) micros;
+    int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT); // micros is in [2^exponent, 2^(exponent+1))
+    int subBucket = (int) Math.min(SUB_BUCKETS - 1, (micros >> (exponent - 5)) - SUB_BUCKETS);
+    return 2 * SUB_BUCKETS + (exponent - 6) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Provides the smallest latency counted in a bucket
+   * @param bucket : the index of the bucket
+   * @return the smallest latency (in microseconds) counted in that bucket
+   */
+  private long lowerBoundOf(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS)
+      return bucket;
+    int exponent = 6 + (bucket - 2 * SUB_BUCKETS) / SUB_BUCKETS;
+    int subBucket = (bucket - 2 * SUB_BUCKETS) % SUB_BUCKETS;
+    return (long) (SUB_BUCKETS + subBucket) << (exponent - 5);
+  }
+}
@@ -0,0 +1,185 @@
+package edu.brown.cs32.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadStats class to collect the measurements of a load test from all of its simulated clients:
+ * latency histograms, message and byte counts, and error counts.
+ *
+ * Moves are timed from when a client sends them to when each client that can see the moving snake
+ * receives them: every sent move is registered by its added position, and looked up again by the
+ * receiving clients (all the clients run in this process, so they share a clock).
+ */
+public class LoadStats {
+
+  private static final long MOVE_EXPIRY_NANOS = 5_000_000_000L; // how long a sent move can still be matched with a received one
+
+  private final LatencyHistogram joinLatency; // from sending a join message to receiving JOIN_SUCCESS
+  private final LatencyHistogram moveLatency; // from sending a move to another client receiving it
+  private final LatencyHistogram orbLatency; // from sending a move that eats orbs to receiving INCREASE_OWN_LENGTH
+  private final LatencyHistogram leaderboardLatency; // from a client's snake growing to it receiving new standings that include it
+  private final Map<String, Long> sentMoves; // the time at which each recent move was sent, by its added position
+  private final AtomicLong sentMessages; // the number of messages sent by all the clients
+  private final AtomicLong receivedMessages; // the number of messages received by all the clients
+  private final AtomicLong receivedBytes; // the number of bytes (or characters) received by all the clients
+  private final AtomicLong errorMessages; // the number of ERROR and JOIN_ERROR messages received
+  private final AtomicLong connectionErrors; // the number of connections that failed or closed unexpectedly
+  private final AtomicLong deaths; // the number of YOU_DIED messages received
+  private final AtomicLong joins; // the number of successful joins (including rejoins after dying)
+
+  /**
+   * LoadStats constructor to create empty statistics
+   */
+  public LoadStats() {
+    this.joinLatency = new LatencyHistogram();
+    this.moveLatency = new LatencyHistogram();
+    this.orbLatency = new LatencyHistogram();
+    this.leaderboardLatency = new LatencyHistogram();
+    this.sentMoves = new ConcurrentHashMap<>();
+    this.sentMessages = new AtomicLong();
+    this.receivedMessages = new AtomicLong();
+    this.receivedBytes = new AtomicLong();
+    this.errorMessages = new AtomicLong();
+    this.connectionErrors = new AtomicLong();
+    this.deaths = new AtomicLong();
+    this.joins = new AtomicLong();
+  }
+
+  /**
+   * Records that a client sent a message
+   */
+  public void messageSent() {
+    this.sentMessages.incrementAndGet();
+  }
+
+  /**
+   * Records that a client sent a move, so that its receipt by other clients can be timed
+   * @param moveKey : the key of the move (see BotClient.moveKey)
+   * @param sentNanos : when the move was sent (from System.nanoTime)
+   */
+  public void moveSent(String moveKey, long sentNanos) {
+    this.sentMoves.put(moveKey, sentNanos);
+  }
+
+  /**
+   * Records that a client received another client's move
+   * @param moveKey : the key of the move (see BotClient.moveKey)
+   * @param receivedNanos : when the move was received (from System.nanoTime)
+   */
+  public void moveReceived(String moveKey, long receivedNanos) {
+    Long sentNanos = this.sentMoves.get(moveKey);
+    if (sentNanos != null)
+      this.moveLatency.record((receivedNanos - sentNanos) / 1000);
+  }
+
+  /**
+   * Forgets the moves sent too long ago to still be received (so the map of sent moves stays small)
+   * @param nowNanos : the current time (from System.nanoTime)
+   */
+  public void expireMoves(long nowNanos) {
+    this.sentMoves.values().removeIf(sentNanos -> nowNanos - sentNanos > MOVE_EXPIRY_NANOS);
+  }
+
+  /**
+   * Records that a frame was received
+   * @param messages : the number of messages in the frame
+   * @param bytes : the size of the frame
+   */
+  public void frameReceived(int messages, int bytes) {
+    this.receivedMessages.addAndGet(messages);
+    this.receivedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Records that a client joined a game
+   * @param latencyNanos : the time between sending the join message and receiving JOIN_SUCCESS
+   */
+  public void joined(long latencyNanos) {
+    this.joins.incrementAndGet();
+    this.joinLatency.record(latencyNanos / 1000);
+  }
+
+  /**
+   * Records that a client's snake ate orbs
+   * @param latencyNanos : the time between sending the move and receiving INCREASE_OWN_LENGTH
+   */
+  public void orbEaten(long latencyNanos) {
+    this.orbLatency.record(latencyNanos / 1000);
+  }
+
+  /**
+   * Records that a client received leaderboard changes after its snake grew
+   * @param latencyNanos : the time between the snake growing and the leaderboard changes arriving
+   */
+  public void leaderboardUpdated(long latencyNanos) {
+    this.leaderboardLatency.record(latencyNanos / 1000);
+  }
+
+  /**
+   * Records that a client received an ERROR or JOIN_ERROR message
+   */
+  public void errorMessage() {
+    this.errorMessages.incrementAndGet();
+  }
+
+  /**
+   * Records that a connection failed or was closed by the server
+   */
+  public void connectionError() {
+    this.connectionErrors.incrementAndGet();
+  }
+
+  /**
+   * Records that a client's snake died
+   */
+  public void died() {
+    this.deaths.incrementAndGet();
+  }
+
+  /**
+   * Prints a one-line summary of the counts so far (for progress reports while the test runs)
+   * @param out : the stream to print to
+   * @param elapsedSeconds : how long the test has been running
+   * @param playingClients : the number of clients currently playing
+   */
+  public void printProgress(PrintStream out, double elapsedSeconds, int playingClients) {
+    out.printf("[%5.1fs] %d playing, %d joins, %d sent, %d received, %d errors, %d deaths%n",
+        elapsedSeconds, playingClients, this.joins.get(), this.sentMessages.get(),
+        this.receivedMessages.get(), this.errorMessages.get() + this.connectionErrors.get(), this.deaths.get());
+  }
+
+  /**
+   * Prints the final report: throughput, error counts, and latency percentiles
+   * @param out : the stream to print to
+   * @param elapsedSeconds : how long the test ran
+   */
+  public void printReport(PrintStream out, double elapsedSeconds) {
+    out.printf("Throughput over %.1f s:%n", elapsedSeconds);
+    out.printf("  sent      %10d messages (%.1f/s)%n", this.sentMessages.get(), this.sentMessages.get() / elapsedSeconds);
+    out.printf("  received  %10d messages (%.1f/s), %.1f KB/s%n", this.receivedMessages.get(),
+        this.receivedMessages.get() / elapsedSeconds, this.receivedBytes.get() / 1024.0 / elapsedSeconds);
+    out.printf("Errors: %d error messages, %d connection errors (%d joins, %d deaths)%n",
+        this.errorMessages.get(), this.connectionErrors.get(), this.joins.get(), this.deaths.get());
+    out.printf("Latency (ms)      %10s %8s %8s %8s %8s %8s%n", "count", "p50", "p90", "p99", "p99.9", "max");
+    this.printLatency(out, "join", this.joinLatency);
+    this.printLatency(out, "move", this.moveLatency);
+    this.printLatency(out, "orb eaten", this.orbLatency);
+    this.printLatency(out, "leaderboard", this.leaderboardLatency);
+  }
+
+  /**
+   * Prints a row of the latency table
+   * @param out : the stream to print to
+   * @param name : the name of the measured latency
+   * @param histogram : the recorded latencies
+   */
+  private void printLatency(PrintStream out, String name, LatencyHistogram histogram) {
+    out.printf("  %-15s %10d %8.2f %8.2f %8.2f %8.2f %8.2f%n", name, histogram.getCount(),
+        histogram.getPercentile(50) / 1000.0, histogram.getPercentile(90) / 1000.0,
+        histogram.getPercentile(99) / 1000.0, histogram.getPercentile(99.9) / 1000.0,
+        histogram.getMax() / 1000.0);
+  }
+}
@@ -0,0 +1,219 @@
+package edu.brown.cs32.loadtest;
+
+import edu.brown.cs32.message.MessageCodec;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * LoadTest class to run a headless load test against a running server: it connects many simulated
+ * clients (BotClients), which join games and move their snakes at a steady rate, and then reports
+ * the latencies that the clients saw, the message throughput, and the errors.
+ *
+ * Each client has a slot: the slots are split into games of clientsPerGame, and when a client's
+ * snake dies, a new client takes over its slot and rejoins the same game (as a player reloading
+ * the page would). All snakes start where the server places new snakes, so snakes that join close
+ * together in time tend to collide early on -- those deaths are counted, and the slots rejoin.
+ * Clients that are redirected (when testing through a ShardRouter) connect again to the node that
+ * they were sent to.
+ *
+ * Run with e.g. (against a server already started with `mvn compile exec:java`):
+ *   mvn compile exec:java -Dexec.mainClass=edu.brown.cs32.loadtest.LoadTest -Dloadtest.clients=500
+ */
+public class LoadTest implements BotClient.Listener {
+
+  private static final long PROGRESS_INTERVAL_SECONDS = 5; // the interval at which progress is printed
+
+  private final LoadTestConfig config; // the settings of the test
+  private final URI serverUri; // the websocket address of the server
+  private final LoadStats stats; // the measurements of all the clients
+  private final MessageCodec codec; // serializes the messages sent by all the clients
+  private final ScheduledExecutorService scheduler; // connects the clients, sends their moves, and prints progress
+  private final AtomicReferenceArray<BotClient> slots; // the client currently playing in each slot
+  private final AtomicReferenceArray<String> gameCodes; // the code of each game (null until its first client has joined)
+  private final Map<BotClient, Integer> botToSlot; // the slot of each client
+  private volatile boolean running; // whether the test is still running (so dead clients should be replaced)
+  private int nextSeed; // added to the configured seed to give each client its own wandering
+
+  /**
+   * LoadTest constructor to set up a test that has not started yet (see run)
+   * @param config : the settings of the test
+   */
+  public LoadTest(LoadTestConfig config) {
+    this.config = config;
+    this.serverUri = URI.create("ws://" + config.host() + ":" + config.port());
+    this.stats = new LoadStats();
+    this.codec = new MessageCodec();
+    this.scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    this.slots = new AtomicReferenceArray<>(config.clients());
+    this.gameCodes = new AtomicReferenceArray<>((config.clients() + config.clientsPerGame() - 1) / config.clientsPerGame());
+    this.botToSlot = new ConcurrentHashMap<>();
+    this.running = false;
+    this.nextSeed = 0;
+  }
+
+  /**
+   * Runs the test: connects the clients (spread over the ramp-up time), lets them play for the
+   * configured duration, and then disconnects them
+   * @return the measurements of the test
+   * @throws InterruptedException if the thread is interrupted while the clients are playing
+   */
+  public LoadStats run() throws InterruptedException {
+    this.running = true;
+    long startNanos = System.nanoTime();
+    long rampUpMicros = TimeUnit.SECONDS.toMicros(this.config.rampUpSeconds());
+    for (int slot = 0; slot < this.config.clients(); slot++) {
+      int clientSlot = slot;
+      long connectDelay = rampUpMicros * slot / this.config.clients();
+      this.scheduler.schedule(() -> this.connect(clientSlot), connectDelay, TimeUnit.MICROSECONDS);
+      this.scheduler.scheduleAtFixedRate(() -> this.move(clientSlot), connectDelay + this.config.moveIntervalMs() * 1000L,
+          this.config.moveIntervalMs() * 1000L, TimeUnit.MICROSECONDS);
+    }
+    this.scheduler.scheduleAtFixedRate(() -> {
+      this.stats.expireMoves(System.nanoTime());
+      this.stats.printProgress(System.out, (System.nanoTime() - startNanos) / 1e9, this.countPlaying());
+    }, PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+    Thread.sleep(TimeUnit.SECONDS.toMillis(this.config.durationSeconds()));
+    this.running = false;
+    this.scheduler.shutdownNow();
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+    for (int slot = 0; slot < this.slots.length(); slot++) {
+      BotClient bot = this.slots.get(slot);
+      if (bot != null)
+        bot.closeBlocking();
+    }
+    this.stats.printReport(System.out, elapsedSeconds);
+    return this.stats;
+  }
+
+  /**
+   * Records the code of the game that a client joined (which is a new game if the slot's previous
+   * game had ended), so that the other clients of that slot's game join it too
+   * @param bot : the client that joined
+   * @param gameCode : the code of the game that it joined
+   */
+  @Override
+  public void joined(BotClient bot, String gameCode) {
+    Integer slot = this.botToSlot.get(bot);
+    if (slot != null)
+      this.gameCodes.set(this.gameOf(slot), gameCode);
+  }
+
+  /**
+   * Replaces a client whose snake died with a new client, which rejoins the same game after the
+   * rejoin delay
+   * @param bot : the client whose snake died
+   */
+  @Override
+  public void died(BotClient bot) {
+    Integer slot = this.botToSlot.remove(bot);
+    if (slot != null && this.running)
+      this.scheduler.schedule(() -> this.connect(slot), this.config.rejoinDelayMs(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Replaces a client that was redirected with a new client, which connects to the node that it
+   * was sent to straight away
+   * @param bot : the client that was redirected
+   * @param nodeUri : the websocket address of the node that it was sent to
+   */
+  @Override
+  public void redirected(BotClient bot, URI nodeUri) {
+    Integer slot = this.botToSlot.remove(bot);
+    if (slot != null && this.running)
+      this.scheduler.execute(() -> this.connect(slot, nodeUri));
+  }
+
+  /**
+   * Connects a new client in a slot to the server (see connect(int, URI))
+   * @param slot : the slot to connect a client in
+   */
+  private void connect(int slot) {
+    this.connect(slot, this.serverUri);
+  }
+
+  /**
+   * Connects a new client in a slot: the first slot of each game creates the game, and the others
+   * join it once it exists (checking again shortly if it does not exist yet)
+   * @param slot : the slot to connect a client in
+   * @param uri : the websocket address to connect to
+   */
+  private void connect(int slot, URI uri) {
+    if (!this.running)
+      return;
+    int game = this.gameOf(slot);
+    String gameCode = this.gameCodes.get(game);
+    boolean createsGame = slot % this.config.clientsPerGame() == 0;
+    if (gameCode == null && !createsGame) {
+      this.scheduler.schedule(() -> this.connect(slot, uri), 100, TimeUnit.MILLISECONDS);
+      return;
+    }
+    BotClient bot = new BotClient(uri, "bot" + slot, gameCode, this.stats, this.codec, this,
+        this.config.sendInputs(), this.config.seed() + this.nextSeed());
+    this.botToSlot.put(bot, slot);
+    this.slots.set(slot, bot);
+    bot.connect();
+  }
+
+  /**
+   * Moves the snake of the client in a slot (if it is playing)
+   * @param slot : the slot whose client should move
+   */
+  private void move(int slot) {
+    BotClient bot = this.slots.get(slot);
+    if (bot == null)
+      return;
+    try {
+      bot.move();
+    } catch (RuntimeException e) {
+      // e.g. the connection closed during the send -- the move task must keep running for the slot
+      this.stats.connectionError();
+    }
+  }
+
+  /**
+   * Provides the game that a slot's clients play in
+   * @param slot : the slot
+   * @return the index of the slot's game
+   */
+  private int gameOf(int slot) {
+    return slot / this.config.clientsPerGame();
+  }
+
+  /**
+   * Provides a new seed offset for a client's wandering
+   * @return the next seed offset
+   */
+  private synchronized int nextSeed() {
+    return this.nextSeed++;
+  }
+
+  /**
+   * Counts the clients currently playing
+   * @return the number of clients in a game whose snakes have not died
+   */
+  private int countPlaying() {
+    int playing = 0;
+    for (int slot = 0; slot < this.slots.length(); slot++) {
+      BotClient bot = this.slots.get(slot);
+      if (bot != null && bot.isPlaying())
+        playing++;
+    }
+    return playing;
+  }
+
+  /**
+   * Main method for the LoadTest class: runs a load test with the settings given by system
+   * properties (see LoadTestConfig) and prints its report
+   * @param args : arguments provided to the main method (unused)
+   * @throws InterruptedException if the thread is interrupted while the test is running
+   */
+  public static void main(String[] args) throws InterruptedException {
+    new LoadTest(LoadTestConfig.fromSystemProperties()).run();
+  }
+}
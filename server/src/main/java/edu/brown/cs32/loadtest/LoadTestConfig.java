@@ -0,0 +1,53 @@
+package edu.brown.cs32.loadtest;
+
+/**
+ * LoadTestConfig record to store the settings that a LoadTest is run with
+ *
+ * @param host : the host name of the server under test
+ * @param port : the port on which the server listens for websocket connections
+ * @param clients : the number of simulated clients (each playing over its own connection)
+ * @param clientsPerGame : the number of clients playing in each game (the first creates the game
+ * with NEW_CLIENT_NO_CODE, the others join it with NEW_CLIENT_WITH_CODE)
+ * @param durationSeconds : how long the clients play for, once the first has connected
+ * @param rampUpSeconds : the time over which the clients' connections are spread out
+ * @param moveIntervalMs : the interval (in milliseconds) at which each client sends a move
+ * @param rejoinDelayMs : how long (in milliseconds) a client whose snake died waits before
+ * rejoining its game, as a player clicking to play again would
+ * @param sendInputs : whether clients send MOVE_INPUT messages (the direction to head in) and let
+ * the server move their snakes, rather than sending their moves themselves
+ * @param seed : the seed for the clients' wandering (so that runs can be repeated)
+ */
+public record LoadTestConfig(String host, int port, int clients, int clientsPerGame,
+                             int durationSeconds, int rampUpSeconds, int moveIntervalMs, int rejoinDelayMs,
+                             boolean sendInputs, long seed) {
+
+  /**
+   * Provides the default load test settings: 200 clients in games of 10 against a local server on
+   * port 9000, connecting over 10 seconds and playing for 60 seconds, with a move every 50 ms (and
+   * rejoining 2 seconds after dying), each client sending its moves itself
+   * @return the default LoadTestConfig
+   */
+  public static LoadTestConfig defaults() {
+    return new LoadTestConfig("localhost", 9000, 200, 10, 60, 10, 50, 2000, false, 32);
+  }
+
+  /**
+   * Reads the load test settings from system properties (e.g. -Dloadtest.clients=500), using the
+   * defaults for any property that is not set
+   * @return the LoadTestConfig described by the system properties
+   */
+  public static LoadTestConfig fromSystemProperties() {
+    LoadTestConfig defaults = LoadTestConfig.defaults();
+    return new LoadTestConfig(
+        System.getProperty("loadtest.host", defaults.host()),
+        Integer.getInteger("loadtest.port", defaults.port()),
+        Integer.getInteger("loadtest.clients", defaults.clients()),
+        Integer.getInteger("loadtest.clientsPerGame", defaults.clientsPerGame()),
+        Integer.getInteger("loadtest.durationSeconds", defaults.durationSeconds()),
+        Integer.getInteger("loadtest.rampUpSeconds", defaults.rampUpSeconds()),
+        Integer.getInteger("loadtest.moveIntervalMs", defaults.moveIntervalMs()),
+        Integer.getInteger("loadtest.rejoinDelayMs", defaults.rejoinDelayMs()),
+        Boolean.parseBoolean(System.getProperty("loadtest.sendInputs", String.valueOf(defaults.sendInputs()))),
+        Long.getLong("loadtest.seed", defaults.seed()));
+  }
+}
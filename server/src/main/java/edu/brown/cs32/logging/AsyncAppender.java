@@ -0,0 +1,132 @@
+package edu.brown.cs32.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AsyncAppender class to hand log records over to another appender on a background thread, so that
+ * the threads doing the logging (e.g. the websocket and game threads) never wait for console I/O.
+ *
+ * Records are stored in a fixed-size ring buffer until the background thread writes them out. If
+ * the buffer is full (the destination cannot keep up), new records are dropped rather than making
+ * the logging thread wait, and the number of dropped records is logged once there is room again.
+ */
+public class AsyncAppender implements LogAppender {
+
+  private final LogAppender delegate; // the appender that the records are written to
+  private final LogRecord[] buffer; // ring buffer of the records waiting to be written
+  private final Thread writer; // the background thread writing out the records
+  private int head; // the index in the buffer of the oldest waiting record
+  private int count; // the number of waiting records
+  private long dropped; // the number of records dropped (because the buffer was full) and not yet reported
+  private boolean closed; // whether the appender has been closed
+
+  /**
+   * AsyncAppender constructor to create an appender that writes to delegate on its own thread
+   * @param delegate : the appender that the records are to be written to
+   * @param capacity : the most records that can be waiting to be written at once
+   */
+  public AsyncAppender(LogAppender delegate, int capacity) {
+    this.delegate = delegate;
+    this.buffer = new LogRecord[capacity];
+    this.head = 0;
+    this.count = 0;
+    this.dropped = 0;
+    this.closed = false;
+    this.writer = new Thread(this::writeRecords, "log-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Adds a record to be written on the background thread (or drops it, if the buffer is full or the
+   * appender has been closed) -- this never waits for the record to be written
+   * @param record : the record to be written
+   */
+  @Override
+  public synchronized void append(LogRecord record) {
+    if (this.closed || this.count == this.buffer.length) {
+      this.dropped++;
+      return;
+    }
+    this.buffer[(this.head + this.count) % this.buffer.length] = record;
+    this.count++;
+    if (this.count == 1)
+      this.notifyAll();
+  }
+
+  /**
+   * Stops accepting records, and waits for the waiting ones to be written out (for at most a second)
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      this.closed = true;
+      this.notifyAll();
+    }
+    try {
+      this.writer.join(1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    this.delegate.close();
+  }
+
+  /**
+   * Provides the number of records waiting to be written
+   * @return the number of records in the buffer
+   */
+  public synchronized int getPendingCount() {
+    return this.count;
+  }
+
+  /**
+   * Loop run by the background thread: takes all the waiting records out of the buffer at once,
+   * then writes them out (without holding the lock, so that logging threads can keep adding
+   * records in the meantime), until the appender is closed and the buffer is empty
+   */
+  private void writeRecords() {
+    List<LogRecord> batch = new ArrayList<>();
+    while (true) {
+      long droppedRecords;
+      synchronized (this) {
+        while (this.count == 0 && !this.closed) {
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (this.count == 0) // closed, and everything has been written
+          return;
+        for (; this.count > 0; this.count--) {
+          batch.add(this.buffer[this.head]);
+          this.buffer[this.head] = null;
+          this.head = (this.head + 1) % this.buffer.length;
+        }
+        droppedRecords = this.dropped;
+        this.dropped = 0;
+      }
+
+      for (LogRecord record : batch) {
+        this.write(record);
+      }
+      batch.clear();
+      if (droppedRecords > 0)
+        this.write(new LogRecord(System.currentTimeMillis(), LogLevel.WARN, AsyncAppender.class.getSimpleName(),
+            droppedRecords + " log records were dropped because the log buffer was full", null));
+    }
+  }
+
+  /**
+   * Writes a record to the delegate, making sure a failing write does not stop the background thread
+   * @param record : the record to be written
+   */
+  private void write(LogRecord record) {
+    try {
+      this.delegate.append(record);
+    } catch (RuntimeException e) {
+      // nowhere left to report this -- the record is lost, but later records can still be written
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package edu.brown.cs32.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+
+/**
+ * ConsoleAppender class to write log records, one line each, to a stream (usually System.out).
+ * Writing blocks on the stream, so on busy threads this should be wrapped in an AsyncAppender.
+ */
+public class ConsoleAppender implements LogAppender {
+
+  private final PrintStream stream; // the stream the records are written to
+
+  /**
+   * ConsoleAppender constructor to create an appender writing to the given stream
+   * @param stream : the stream the records are to be written to
+   */
+  public ConsoleAppender(PrintStream stream) {
+    this.stream = stream;
+  }
+
+  /**
+   * Writes a log record as "time LEVEL logger - message", followed by the stack trace of its
+   * exception (if it has one)
+   * @param record : the record to be written
+   */
+  @Override
+  public void append(LogRecord record) {
+    this.stream.println(Instant.ofEpochMilli(record.timeMillis()) + " " + String.format("%-5s", record.level())
+        + " " + record.loggerName() + " - " + record.message());
+    if (record.error() != null)
+      record.error().printStackTrace(this.stream);
+  }
+
+  /**
+   * Flushes the stream (which is left open, since it is usually System.out)
+   */
+  @Override
+  public void close() {
+    this.stream.flush();
+  }
+}
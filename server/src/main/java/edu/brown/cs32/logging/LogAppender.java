@@ -0,0 +1,18 @@
+package edu.brown.cs32.logging;
+
+/**
+ * LogAppender interface for the destinations that log records are written to
+ */
+public interface LogAppender {
+
+  /**
+   * Writes a log record to this appender's destination
+   * @param record : the record to be written
+   */
+  void append(LogRecord record);
+
+  /**
+   * Writes out any records that this appender is still holding on to, and releases its resources
+   */
+  void close();
+}
@@ -0,0 +1,12 @@
+package edu.brown.cs32.logging;
+
+/**
+ * LogLevel enum to represent how important a log record is (in increasing order of importance)
+ */
+public enum LogLevel {
+  DEBUG,
+  INFO,
+  WARN,
+  ERROR,
+  OFF // only used as a threshold, to turn logging off
+}
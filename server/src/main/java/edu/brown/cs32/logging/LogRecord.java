@@ -0,0 +1,12 @@
+package edu.brown.cs32.logging;
+
+/**
+ * LogRecord record to store a single logged event
+ *
+ * @param timeMillis : when the event was logged (in milliseconds since the epoch)
+ * @param level : how important the event is
+ * @param loggerName : the name of the logger the event was logged with
+ * @param message : the (already formatted) message describing the event
+ * @param error : the exception that caused the event, or null if there is none
+ */
+public record LogRecord(long timeMillis, LogLevel level, String loggerName, String message, Throwable error) {}
@@ -0,0 +1,42 @@
+package edu.brown.cs32.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogSampler class to log only some of the occurrences of a frequent event (e.g. one for every
+ * message received), so that logging it stays cheap however often it happens. Each call site that
+ * is to be sampled should have its own sampler.
+ */
+public class LogSampler {
+
+  private final int sampleEvery; // 1 in how many occurrences are logged
+  private final AtomicLong occurrences; // the number of occurrences so far
+
+  /**
+   * LogSampler constructor to create a sampler that logs one in every sampleEvery occurrences
+   * (starting with the first one)
+   * @param sampleEvery : 1 in how many occurrences should be logged (1 to log every occurrence)
+   */
+  public LogSampler(int sampleEvery) {
+    if (sampleEvery < 1)
+      throw new IllegalArgumentException("sampleEvery must be at least 1");
+    this.sampleEvery = sampleEvery;
+    this.occurrences = new AtomicLong();
+  }
+
+  /**
+   * Records an occurrence of the event, and decides whether it should be logged
+   * @return true if this occurrence should be logged; false otherwise
+   */
+  public boolean sample() {
+    return this.occurrences.getAndIncrement() % this.sampleEvery == 0;
+  }
+
+  /**
+   * Provides how many occurrences the logged ones stand for (to be included in their messages)
+   * @return 1 in how many occurrences are logged
+   */
+  public int getSampleEvery() {
+    return this.sampleEvery;
+  }
+}
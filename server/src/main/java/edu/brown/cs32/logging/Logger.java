@@ -0,0 +1,96 @@
+package edu.brown.cs32.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Logger class to log events from one part of the server, at the level set in Logging. Messages
+ * that are expensive to build (or logged very often) can be passed as Suppliers, which are only
+ * called if the event is actually logged, and frequent events can be sampled with a LogSampler.
+ */
+public class Logger {
+
+  private final String name; // the name that records logged with this logger are labelled with
+
+  /**
+   * Logger constructor to create a logger with the given name
+   * @param name : the name that records logged with this logger are to be labelled with
+   */
+  public Logger(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Creates a logger named after a class
+   * @param type : the class that will be logging
+   * @return a logger labelled with the (simple) name of the class
+   */
+  public static Logger getLogger(Class<?> type) {
+    return new Logger(type.getSimpleName());
+  }
+
+  /**
+   * Checks whether events of the given level are currently logged
+   * @param level : the level to be checked
+   * @return true if events of that level are logged; false otherwise
+   */
+  public boolean isEnabled(LogLevel level) {
+    return level != LogLevel.OFF && level.compareTo(Logging.getLevel()) >= 0;
+  }
+
+  /**
+   * Logs an event (if its level is currently logged)
+   * @param level : the level of the event
+   * @param message : the message describing the event
+   * @param error : the exception that caused the event, or null if there is none
+   */
+  public void log(LogLevel level, String message, Throwable error) {
+    if (this.isEnabled(level))
+      Logging.append(new LogRecord(System.currentTimeMillis(), level, this.name, message, error));
+  }
+
+  /**
+   * Logs a DEBUG event, building its message only if DEBUG events are currently logged
+   * @param message : builds the message describing the event
+   */
+  public void debug(Supplier<String> message) {
+    if (this.isEnabled(LogLevel.DEBUG))
+      this.log(LogLevel.DEBUG, message.get(), null);
+  }
+
+  /**
+   * Logs a sample of a frequent DEBUG event: the message is only built (and the event logged) if
+   * DEBUG events are currently logged and the sampler picks this occurrence
+   * @param sampler : the sampler of the call site logging the event
+   * @param message : builds the message describing the event
+   */
+  public void debug(LogSampler sampler, Supplier<String> message) {
+    if (this.isEnabled(LogLevel.DEBUG) && sampler.sample())
+      this.log(LogLevel.DEBUG, sampler.getSampleEvery() == 1
+          ? message.get() : message.get() + " (1 in " + sampler.getSampleEvery() + " logged)", null);
+  }
+
+  /**
+   * Logs an INFO event
+   * @param message : the message describing the event
+   */
+  public void info(String message) {
+    this.log(LogLevel.INFO, message, null);
+  }
+
+  /**
+   * Logs a WARN event
+   * @param message : the message describing the event
+   */
+  public void warn(String message) {
+    this.log(LogLevel.WARN, message, null);
+  }
+
+  /**
+   * Logs an ERROR event
+   * @param message : the message describing the event
+   * @param error : the exception that caused the event, or null if there is none
+   */
+  public void error(String message, Throwable error) {
+    this.log(LogLevel.ERROR, message, error);
+  }
+}
@@ -0,0 +1,73 @@
+package edu.brown.cs32.logging;
+
+/**
+ * Logging class to hold the settings shared by all the Loggers: the lowest level that is logged,
+ * and the appender that log records are written to.
+ *
+ * By default, records of level INFO and above are written to System.out through an AsyncAppender.
+ * The level can be set with the slither.logLevel system property (e.g. -Dslither.logLevel=DEBUG),
+ * and the size of the async buffer with slither.logBufferSize.
+ */
+public final class Logging {
+
+  private static volatile LogLevel level = readLevel(); // the lowest level that is logged
+  private static volatile LogAppender appender = new AsyncAppender(
+      new ConsoleAppender(System.out), Integer.getInteger("slither.logBufferSize", 8192)); // where records are written
+
+  static {
+    // write out whatever is still buffered when the server stops
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> Logging.appender.close(), "log-shutdown"));
+  }
+
+  /**
+   * Logging should not be instantiated -- all of its members are static
+   */
+  private Logging() {}
+
+  /**
+   * Reads the level to log at from the slither.logLevel system property
+   * @return the level named by the property, or INFO if it is not set (or not a level)
+   */
+  private static LogLevel readLevel() {
+    try {
+      return LogLevel.valueOf(System.getProperty("slither.logLevel", "INFO").toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return LogLevel.INFO;
+    }
+  }
+
+  /**
+   * Provides the lowest level that is currently logged
+   * @return the current log level
+   */
+  public static LogLevel getLevel() {
+    return Logging.level;
+  }
+
+  /**
+   * Sets the lowest level that is logged
+   * @param level : the new log level (OFF to log nothing)
+   */
+  public static void setLevel(LogLevel level) {
+    Logging.level = level;
+  }
+
+  /**
+   * Sets the appender that all log records are written to (the previous appender is not closed)
+   * @param appender : the new appender
+   * @return the previous appender
+   */
+  public static LogAppender setAppender(LogAppender appender) {
+    LogAppender previous = Logging.appender;
+    Logging.appender = appender;
+    return previous;
+  }
+
+  /**
+   * Writes a log record to the current appender
+   * @param record : the record to be written
+   */
+  static void append(LogRecord record) {
+    Logging.appender.append(record);
+  }
+}
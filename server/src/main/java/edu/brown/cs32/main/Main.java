@@ -1,5 +1,7 @@
 package edu.brown.cs32.main;
 
+import edu.brown.cs32.logging.Logger;
+
 /**
  * Main class for default use
  */
@@ -10,6 +12,6 @@ public class Main {
      * @param args : any arguments given to default main method
      */
     public static void main(String[] args) {
-        System.out.println("The server main method was run!");
+        Logger.getLogger(Main.class).info("The server main method was run!");
     }
 }
@@ -0,0 +1,192 @@
+package edu.brown.cs32.message;
+
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.orb.OrbSize;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.position.PositionUpdate;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BinaryCodec class to encode and decode the binary versions of the most frequent messages, for
+ * clients that ask for the binary protocol when joining a game (the JSON protocol is used for every
+ * other message, and for clients that do not ask for it).
+ *
+ * Each binary message is a 1-byte type code followed by a fixed layout for that type; a frame may
+ * hold several messages back to back. Numbers are big-endian, and coordinates are sent as 32-bit
+ * integers in hundredths of a unit (the precision that positions are rounded to anyway):
+ * - UPDATE_POSITION: add x, add y, remove x, remove y
+ * - UPDATE_POSITIONS: update count, tick (64 bits, -1 if the message is not stamped), server time
+ *   (64 bits, in milliseconds), the sequence number of the receiving client's latest input that the
+ *   updates include (-1 if there is none), then for each update: snake id, add x, add y, remove x,
+ *   remove y
+ * - SEND_ORBS and ORB_ADDED: orb count, then for each orb: id, x, y, size (1 byte: 0 = SMALL,
+ *   1 = LARGE), color (3 bytes: red, green, blue)
+ * - ORB_REMOVED: id count, then each removed orb's id
+ * - MOVE_INPUT (only sent by clients): angle (16 bits, in ten-thousandths of a radian), boost (1
+ *   byte: 0 or 1), sequence number (-1 if the client does not number its inputs)
+ */
+public class BinaryCodec {
+
+  private static final byte UPDATE_POSITION = 1;
+  private static final byte UPDATE_POSITIONS = 2;
+  private static final byte SEND_ORBS = 3;
+  private static final byte ORB_ADDED = 4;
+  private static final byte ORB_REMOVED = 5;
+  private static final byte MOVE_INPUT = 6;
+  private static final double ANGLE_SCALE = 10000; // angles are sent in ten-thousandths of a radian
+
+  /**
+   * Checks whether a type of message has a binary encoding
+   * @param type : the MessageType to check
+   * @return true if messages of this type can be encoded by this codec; false otherwise
+   */
+  public boolean supports(MessageType type) {
+    return switch (type) {
+      case UPDATE_POSITION, UPDATE_POSITIONS, SEND_ORBS, ORB_ADDED, ORB_REMOVED -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Encodes a message (of a supported type) into its binary form
+   * @param message : the message to be encoded
+   * @return a buffer holding the encoded message, ready to be read (sent)
+   * @throws IllegalArgumentException if the message's type has no binary encoding
+   */
+  public ByteBuffer encode(Message message) {
+    return switch (message.type()) {
+      case UPDATE_POSITION -> {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 16);
+        buffer.put(UPDATE_POSITION);
+        this.putPosition(buffer, (Position) message.data().get("add"));
+        this.putPosition(buffer, (Position) message.data().get("remove"));
+        yield buffer.flip();
+      }
+      case UPDATE_POSITIONS -> {
+        List<?> updates = (List<?>) message.data().get("updates");
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 16 + 4 + updates.size() * 20);
+        buffer.put(UPDATE_POSITIONS);
+        buffer.putInt(updates.size());
+        buffer.putLong(message.data().get("tick") instanceof Long tick ? tick : -1);
+        buffer.putLong(message.data().get("serverTime") instanceof Long serverTime ? serverTime : 0);
+        buffer.putInt(message.data().get("ack") instanceof Integer ack ? ack : -1);
+        for (Object item : updates) {
+          PositionUpdate update = (PositionUpdate) item;
+          buffer.putInt(update.id());
+          this.putPosition(buffer, update.add());
+          this.putPosition(buffer, update.remove());
+        }
+        yield buffer.flip();
+      }
+      case SEND_ORBS -> this.encodeOrbs(SEND_ORBS, (Collection<?>) message.data().get("orbSet"));
+      case ORB_ADDED -> this.encodeOrbs(ORB_ADDED, (Collection<?>) message.data().get("orbs"));
+      case ORB_REMOVED -> {
+        List<?> ids = (List<?>) message.data().get("ids");
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + ids.size() * 4);
+        buffer.put(ORB_REMOVED);
+        buffer.putInt(ids.size());
+        for (Object id : ids) {
+          buffer.putInt((Integer) id);
+        }
+        yield buffer.flip();
+      }
+      default -> throw new IllegalArgumentException("No binary encoding for " + message.type());
+    };
+  }
+
+  /**
+   * Encodes a collection of orbs (for a SEND_ORBS or ORB_ADDED message)
+   * @param type : the type code of the message
+   * @param orbs : the orbs to be encoded
+   * @return a buffer holding the encoded message, ready to be read (sent)
+   */
+  private ByteBuffer encodeOrbs(byte type, Collection<?> orbs) {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + orbs.size() * 16);
+    buffer.put(type);
+    buffer.putInt(orbs.size());
+    for (Object item : orbs) {
+      Orb orb = (Orb) item;
+      buffer.putInt(orb.getId());
+      this.putPosition(buffer, orb.getPosition());
+      buffer.put((byte) (orb.getSize() == OrbSize.SMALL ? 0 : 1));
+      int color = this.parseColor(orb.getColor());
+      buffer.put((byte) (color >> 16)).put((byte) (color >> 8)).put((byte) color);
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Decodes the messages in a binary frame received from a client. Decoded positions are stored
+   * in the message data as Position objects (rather than as maps of coordinates).
+   * @param bytes : the received frame
+   * @return the messages held in the frame, in order
+   * @throws IOException if the frame does not hold a sequence of valid client messages
+   */
+  public List<Message> decode(ByteBuffer bytes) throws IOException {
+    List<Message> messages = new ArrayList<>();
+    try {
+      while (bytes.hasRemaining()) {
+        byte type = bytes.get();
+        Map<String, Object> data = new HashMap<>();
+        if (type == UPDATE_POSITION) {
+          data.put("add", this.getPosition(bytes));
+          data.put("remove", this.getPosition(bytes));
+          messages.add(new Message(MessageType.UPDATE_POSITION, data));
+        } else if (type == MOVE_INPUT) {
+          data.put("angle", bytes.getShort() / ANGLE_SCALE);
+          data.put("boost", bytes.get() != 0);
+          int sequence = bytes.getInt();
+          if (sequence >= 0)
+            data.put("seq", sequence);
+          messages.add(new Message(MessageType.MOVE_INPUT, data));
+        } else {
+          throw new IOException("Unexpected binary message type " + type);
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated binary message", e);
+    }
+    return messages;
+  }
+
+  /**
+   * Writes a position as its two fixed point coordinates (in hundredths of a unit)
+   * @param buffer : the buffer to write into
+   * @param position : the position to be written
+   */
+  private void putPosition(ByteBuffer buffer, Position position) {
+    buffer.putInt(position.fixedX());
+    buffer.putInt(position.fixedY());
+  }
+
+  /**
+   * Reads a position written as its two fixed point coordinates (in hundredths of a unit)
+   * @param buffer : the buffer to read from
+   * @return the position that was read
+   */
+  private Position getPosition(ByteBuffer buffer) {
+    int x = buffer.getInt();
+    int y = buffer.getInt();
+    return Position.ofFixed(x, y);
+  }
+
+  /**
+   * Converts a hexidecimal color string (e.g. "#ff00b2") into a 24-bit RGB value
+   * @param color : the color string to be converted
+   * @return the RGB value of the color (white if the string is not a hexidecimal color)
+   */
+  private int parseColor(String color) {
+    try {
+      return Integer.parseInt(color.startsWith("#") ? color.substring(1) : color, 16) & 0xffffff;
+    } catch (NumberFormatException e) {
+      return 0xffffff;
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package edu.brown.cs32.message;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Moshi;
+import edu.brown.cs32.leaderboard.LeaderboardEntry;
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.position.PositionUpdate;
+import java.io.IOException;
+import okio.Buffer;
+
+/**
+ * MessageCodec class to serialize and deserialize Messages to and from JSON. A single codec is
+ * built when the server starts and is shared by every thread: the Moshi instance and its adapters
+ * are created once (instead of for every message), the payload types that are sent most often
+ * have hand-written adapters (so they are written without reflection), and each thread writes into
+ * its own reusable buffer.
+ */
+public class MessageCodec {
+
+  private final JsonAdapter<Message> messageAdapter; // adapter for whole messages (thread-safe)
+  private final ThreadLocal<Buffer> buffers; // a reusable buffer for each thread to serialize into
+
+  /**
+   * MessageCodec constructor to build the Moshi instance (with the typed payload adapters) and
+   * the message adapter
+   */
+  public MessageCodec() {
+    Moshi moshi = new Moshi.Builder()
+        .add(Position.class, new PositionAdapter().nullSafe())
+        .add(PositionUpdate.class, new PositionUpdateAdapter().nullSafe())
+        .add(Orb.class, new OrbAdapter().nullSafe())
+        .add(LeaderboardEntry.class, new LeaderboardEntryAdapter().nullSafe())
+        .build();
+    this.messageAdapter = moshi.adapter(Message.class);
+    this.buffers = ThreadLocal.withInitial(Buffer::new);
+  }
+
+  /**
+   * Serializes a Message into a JSON String
+   * @param message : the Message to be serialized
+   * @return the JSON String for the message
+   */
+  public String serialize(Message message) {
+    Buffer buffer = this.buffers.get();
+    try {
+      this.messageAdapter.toJson(JsonWriter.of(buffer), message);
+      return buffer.readUtf8();
+    } catch (IOException e) {
+      // writing into an in-memory buffer cannot actually fail
+      throw new IllegalStateException(e);
+    } finally {
+      buffer.clear(); // leave the buffer empty for the next message, even after a failure
+    }
+  }
+
+  /**
+   * Deserializes a JSON String into a Message
+   * @param json : the JSON String received from a client
+   * @return the deserialized Message
+   * @throws IOException if the String is not valid JSON for a Message
+   */
+  public Message deserialize(String json) throws IOException {
+    try {
+      return this.messageAdapter.fromJson(json);
+    } catch (JsonDataException e) {
+      // valid JSON, but not shaped like a Message (e.g. an unknown message type)
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Adapter for Positions, written as {"x": ..., "y": ...}
+   */
+  private static class PositionAdapter extends JsonAdapter<Position> {
+    @Override
+    public Position fromJson(JsonReader reader) throws IOException {
+      double x = 0;
+      double y = 0;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "x" -> x = reader.nextDouble();
+          case "y" -> y = reader.nextDouble();
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+      return new Position(x, y);
+    }
+
+    @Override
+    public void toJson(JsonWriter writer, Position position) throws IOException {
+      writer.beginObject();
+      writer.name("x").value(position.x());
+      writer.name("y").value(position.y());
+      writer.endObject();
+    }
+  }
+
+  /**
+   * Adapter for PositionUpdates, written as {"id": ..., "add": {...}, "remove": {...}}
+   */
+  private static class PositionUpdateAdapter extends ServerOnlyAdapter<PositionUpdate> {
+    private final PositionAdapter positionAdapter = new PositionAdapter();
+
+    @Override
+    public void toJson(JsonWriter writer, PositionUpdate update) throws IOException {
+      writer.beginObject();
+      writer.name("id").value(update.id());
+      writer.name("add");
+      this.positionAdapter.toJson(writer, update.add());
+      writer.name("remove");
+      this.positionAdapter.toJson(writer, update.remove());
+      writer.endObject();
+    }
+  }
+
+  /**
+   * Adapter for Orbs, written as {"id": ..., "position": {...}, "orbSize": ..., "color": ...}
+   */
+  private static class OrbAdapter extends ServerOnlyAdapter<Orb> {
+    private final PositionAdapter positionAdapter = new PositionAdapter();
+
+    @Override
+    public void toJson(JsonWriter writer, Orb orb) throws IOException {
+      writer.beginObject();
+      writer.name("id").value(orb.getId());
+      writer.name("position");
+      this.positionAdapter.toJson(writer, orb.getPosition());
+      writer.name("orbSize").value(orb.getSize().name());
+      writer.name("color").value(orb.getColor());
+      writer.endObject();
+    }
+  }
+
+  /**
+   * Adapter for LeaderboardEntries, written as {"username": ..., "score": ...}
+   */
+  private static class LeaderboardEntryAdapter extends ServerOnlyAdapter<LeaderboardEntry> {
+    @Override
+    public void toJson(JsonWriter writer, LeaderboardEntry entry) throws IOException {
+      writer.beginObject();
+      writer.name("username").value(entry.username());
+      writer.name("score").value(entry.score());
+      writer.endObject();
+    }
+  }
+
+  /**
+   * Base adapter for payload types that are only ever sent by the server (and so are never read)
+   * @param <T> the payload type
+   */
+  private abstract static class ServerOnlyAdapter<T> extends JsonAdapter<T> {
+    @Override
+    public T fromJson(JsonReader reader) throws IOException {
+      throw new JsonDataException("Unexpected payload from client at " + reader.getPath());
+    }
+  }
+}
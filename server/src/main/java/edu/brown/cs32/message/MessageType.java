@@ -8,17 +8,25 @@ public enum MessageType {
   NEW_CLIENT_NO_CODE,
   NEW_CLIENT_WITH_CODE,
   UPDATE_LEADERBOARD,
+  UPDATE_RANK,
   SEND_ORBS,
+  ORB_ADDED,
+  ORB_REMOVED,
   REMOVE_ORB,
   UPDATE_POSITION,
+  UPDATE_POSITIONS,
+  MOVE_INPUT,
   UPDATE_SCORE,
   INCREASE_OWN_LENGTH,
   INCREASE_OTHER_LENGTH,
   YOU_DIED,
   OTHER_USER_DIED,
+  SNAKE_ENTERED_VIEW,
+  SNAKE_LEFT_VIEW,
   SET_GAME_CODE,
   ERROR,
   SUCCESS,
   JOIN_ERROR,
-  JOIN_SUCCESS
+  JOIN_SUCCESS,
+  REDIRECT
 }
@@ -0,0 +1,73 @@
+package edu.brown.cs32.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter class for a count that only ever goes up (e.g. the number of messages received), kept
+ * separately for each combination of label values. Counts can be added from any thread without
+ * locking.
+ */
+public class Counter implements Metric {
+
+  private final String name; // the name of the counter
+  private final String help; // the description of the counter
+  private final List<String> labelNames; // the names of the counter's labels
+  private final Map<List<String>, LongAdder> counts; // the count for each combination of label values
+
+  /**
+   * Counter constructor to create a counter with no counts yet (see MetricsRegistry.counter)
+   * @param name : the name of the counter (by convention ending in _total)
+   * @param help : the description of the counter
+   * @param labelNames : the names of the counter's labels
+   */
+  Counter(String name, String help, String... labelNames) {
+    this.name = name;
+    this.help = help;
+    this.labelNames = List.of(labelNames);
+    this.counts = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Adds one to the count for the given label values
+   * @param labelValues : the values of the counter's labels (one for each label name)
+   */
+  public void inc(String... labelValues) {
+    this.add(1, labelValues);
+  }
+
+  /**
+   * Adds to the count for the given label values
+   * @param amount : the (non-negative) amount to be added
+   * @param labelValues : the values of the counter's labels (one for each label name)
+   */
+  public void add(long amount, String... labelValues) {
+    if (labelValues.length != this.labelNames.size())
+      throw new IllegalArgumentException(this.name + " expects labels " + this.labelNames);
+    this.counts.computeIfAbsent(List.of(labelValues), values -> new LongAdder()).add(amount);
+  }
+
+  /**
+   * Provides the count for the given label values
+   * @param labelValues : the values of the counter's labels (one for each label name)
+   * @return the count (0 if nothing has been counted for those label values)
+   */
+  public long get(String... labelValues) {
+    LongAdder count = this.counts.get(List.of(labelValues));
+    return count == null ? 0 : count.sum();
+  }
+
+  /**
+   * Writes the counter, with a sample for each combination of label values counted so far
+   * @param out : the builder that the counter is written into
+   */
+  @Override
+  public void writeTo(StringBuilder out) {
+    Metric.writeHeader(out, this.name, this.help, "counter");
+    for (Map.Entry<List<String>, LongAdder> count : this.counts.entrySet()) {
+      Metric.writeSample(out, this.name, this.labelNames, count.getKey(), count.getValue().sum());
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package edu.brown.cs32.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Gauge class for a value that can go up and down (e.g. the number of active games), read from its
+ * source each time the metrics are written rather than being kept up to date. A gauge either has a
+ * single value, or a value for each value of its one label (e.g. one per game).
+ */
+public class Gauge implements Metric {
+
+  private final String name; // the name of the gauge
+  private final String help; // the description of the gauge
+  private final List<String> labelNames; // the name of the gauge's label (empty if it has a single value)
+  private final Supplier<Map<String, ? extends Number>> values; // reads the current value for each label value
+
+  /**
+   * Gauge constructor to create a gauge (see MetricsRegistry.gauge)
+   * @param name : the name of the gauge
+   * @param help : the description of the gauge
+   * @param labelName : the name of the gauge's label (null if it has a single value)
+   * @param values : reads the current value for each label value (with any key, if the gauge has
+   *               a single value)
+   */
+  Gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> values) {
+    this.name = name;
+    this.help = help;
+    this.labelNames = labelName == null ? List.of() : List.of(labelName);
+    this.values = values;
+  }
+
+  /**
+   * Writes the gauge, reading its current values
+   * @param out : the builder that the gauge is written into
+   */
+  @Override
+  public void writeTo(StringBuilder out) {
+    Metric.writeHeader(out, this.name, this.help, "gauge");
+    for (Map.Entry<String, ? extends Number> value : this.values.get().entrySet()) {
+      List<String> labelValues = this.labelNames.isEmpty() ? List.of() : List.of(value.getKey());
+      Metric.writeSample(out, this.name, this.labelNames, labelValues, value.getValue().doubleValue());
+    }
+  }
+}
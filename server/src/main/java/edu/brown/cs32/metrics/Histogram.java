@@ -0,0 +1,130 @@
+package edu.brown.cs32.metrics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram class for the distribution of observed values (e.g. how long message handlers take),
+ * counted in fixed buckets and kept separately for each combination of label values. Values can be
+ * observed from any thread without locking.
+ */
+public class Histogram implements Metric {
+
+  /**
+   * Bucket upper bounds (in seconds) for the time taken by work done on the server's threads,
+   * from 10 microseconds to a second
+   */
+  public static final double[] DURATION_BUCKETS = {
+      0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1};
+
+  private final String name; // the name of the histogram
+  private final String help; // the description of the histogram
+  private final double[] buckets; // the upper bounds of the buckets, in increasing order
+  private final List<String> labelNames; // the names of the histogram's labels
+  private final Map<List<String>, Distribution> distributions; // the observed values for each combination of label values
+
+  /**
+   * Distribution class to hold the observed values for one combination of label values
+   */
+  private static class Distribution {
+    private final LongAdder[] bucketCounts; // the number of values in each bucket (the last is above every bound)
+    private final DoubleAdder sum; // the sum of the values
+    private final LongAdder count; // the number of values
+
+    /**
+     * Distribution constructor to create an empty distribution
+     * @param bucketCount : the number of bucket upper bounds
+     */
+    private Distribution(int bucketCount) {
+      this.bucketCounts = new LongAdder[bucketCount + 1];
+      for (int i = 0; i < this.bucketCounts.length; i++) {
+        this.bucketCounts[i] = new LongAdder();
+      }
+      this.sum = new DoubleAdder();
+      this.count = new LongAdder();
+    }
+  }
+
+  /**
+   * Histogram constructor to create a histogram with no values yet (see MetricsRegistry.histogram)
+   * @param name : the name of the histogram
+   * @param help : the description of the histogram
+   * @param buckets : the upper bounds of the buckets, in increasing order
+   * @param labelNames : the names of the histogram's labels
+   */
+  Histogram(String name, String help, double[] buckets, String... labelNames) {
+    this.name = name;
+    this.help = help;
+    this.buckets = buckets.clone();
+    this.labelNames = List.of(labelNames);
+    this.distributions = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Observes a value for the given label values
+   * @param value : the observed value
+   * @param labelValues : the values of the histogram's labels (one for each label name)
+   */
+  public void observe(double value, String... labelValues) {
+    if (labelValues.length != this.labelNames.size())
+      throw new IllegalArgumentException(this.name + " expects labels " + this.labelNames);
+    Distribution distribution = this.distributions.computeIfAbsent(List.of(labelValues),
+        values -> new Distribution(this.buckets.length));
+    int bucket = Arrays.binarySearch(this.buckets, value);
+    distribution.bucketCounts[bucket >= 0 ? bucket : -bucket - 1].increment();
+    distribution.sum.add(value);
+    distribution.count.increment();
+  }
+
+  /**
+   * Observes a duration, which is reported in seconds
+   * @param nanos : the duration in nanoseconds
+   * @param labelValues : the values of the histogram's labels (one for each label name)
+   */
+  public void observeNanos(long nanos, String... labelValues) {
+    this.observe(nanos / 1e9, labelValues);
+  }
+
+  /**
+   * Provides the number of values observed for the given label values
+   * @param labelValues : the values of the histogram's labels (one for each label name)
+   * @return the number of observed values
+   */
+  public long getCount(String... labelValues) {
+    Distribution distribution = this.distributions.get(List.of(labelValues));
+    return distribution == null ? 0 : distribution.count.sum();
+  }
+
+  /**
+   * Writes the histogram, with cumulative bucket counts, the sum, and the count for each
+   * combination of label values observed so far
+   * @param out : the builder that the histogram is written into
+   */
+  @Override
+  public void writeTo(StringBuilder out) {
+    Metric.writeHeader(out, this.name, this.help, "histogram");
+    List<String> bucketLabelNames = new ArrayList<>(this.labelNames);
+    bucketLabelNames.add("le");
+    for (Map.Entry<List<String>, Distribution> entry : this.distributions.entrySet()) {
+      Distribution distribution = entry.getValue();
+      List<String> bucketLabelValues = new ArrayList<>(entry.getKey());
+      bucketLabelValues.add("");
+      long cumulativeCount = 0;
+      for (int i = 0; i <= this.buckets.length; i++) {
+        cumulativeCount += distribution.bucketCounts[i].sum();
+        bucketLabelValues.set(bucketLabelValues.size() - 1,
+            i < this.buckets.length ? BigDecimal.valueOf(this.buckets[i]).toPlainString() : "+Inf");
+        Metric.writeSample(out, this.name + "_bucket", bucketLabelNames, bucketLabelValues, cumulativeCount);
+      }
+      // the count is the +Inf bucket, so that the two always agree even while values are observed
+      Metric.writeSample(out, this.name + "_sum", this.labelNames, entry.getKey(), distribution.sum.sum());
+      Metric.writeSample(out, this.name + "_count", this.labelNames, entry.getKey(), cumulativeCount);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package edu.brown.cs32.metrics;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Metric interface for everything a MetricsRegistry can report, along with the helpers that the
+ * metrics share for writing the Prometheus text format
+ */
+interface Metric {
+
+  /**
+   * Writes the metric (its HELP and TYPE lines, then one line per sample) in the Prometheus text
+   * format
+   * @param out : the builder that the metric is written into
+   */
+  void writeTo(StringBuilder out);
+
+  /**
+   * Writes the HELP and TYPE lines that start every metric
+   * @param out : the builder that the lines are written into
+   * @param name : the name of the metric
+   * @param help : the description of the metric
+   * @param type : the Prometheus type of the metric (counter, gauge, or histogram)
+   */
+  static void writeHeader(StringBuilder out, String name, String help, String type) {
+    out.append("# HELP ").append(name).append(' ')
+        .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  /**
+   * Writes a single sample line: the name, the labels (if any), and the value
+   * @param out : the builder that the line is written into
+   * @param name : the name of the sample
+   * @param labelNames : the names of the sample's labels
+   * @param labelValues : the values of the sample's labels (in the same order as their names)
+   * @param value : the value of the sample
+   */
+  static void writeSample(StringBuilder out, String name, List<String> labelNames, List<String> labelValues, double value) {
+    out.append(name);
+    if (!labelNames.isEmpty()) {
+      out.append('{');
+      for (int i = 0; i < labelNames.size(); i++) {
+        if (i > 0)
+          out.append(',');
+        out.append(labelNames.get(i)).append("=\"").append(labelValues.get(i)
+            .replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+      }
+      out.append('}');
+    }
+    out.append(' ').append(formatValue(value)).append('\n');
+  }
+
+  /**
+   * Formats a value the way Prometheus writes them: whole numbers without a decimal point, and
+   * other values without an exponent
+   * @param value : the value to be formatted
+   * @return the formatted value
+   */
+  static String formatValue(double value) {
+    if (Double.isInfinite(value))
+      return value > 0 ? "+Inf" : "-Inf";
+    if (Double.isNaN(value))
+      return "NaN";
+    if (value == Math.rint(value) && Math.abs(value) < 1e15)
+      return Long.toString((long) value);
+    return BigDecimal.valueOf(value).toPlainString();
+  }
+}
@@ -0,0 +1,32 @@
+package edu.brown.cs32.metrics;
+
+import spark.Service;
+
+/**
+ * MetricsEndpoint class to serve a registry's metrics over HTTP at /metrics (for Prometheus to
+ * scrape), on its own port and threads so that scrapes never hold up the game server
+ */
+public class MetricsEndpoint {
+
+  private final Service http; // the Spark instance serving the endpoint
+
+  /**
+   * MetricsEndpoint constructor to start serving the metrics
+   * @param registry : the registry whose metrics are served
+   * @param port : the port on which the endpoint listens
+   */
+  public MetricsEndpoint(MetricsRegistry registry, int port) {
+    this.http = Service.ignite().port(port);
+    this.http.get("/metrics", (request, response) -> {
+      response.type(MetricsRegistry.CONTENT_TYPE);
+      return registry.render();
+    });
+  }
+
+  /**
+   * Stops serving the metrics
+   */
+  public void stop() {
+    this.http.stop();
+  }
+}
@@ -0,0 +1,88 @@
+package edu.brown.cs32.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * MetricsRegistry class to hold a set of metrics and write them all out in the Prometheus text
+ * exposition format (version 0.0.4), e.g. for the /metrics endpoint (see MetricsEndpoint)
+ */
+public class MetricsRegistry {
+
+  /**
+   * The content type of the Prometheus text format
+   */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final List<Metric> metrics; // the registered metrics, in the order they are written
+
+  /**
+   * MetricsRegistry constructor to create a registry with no metrics
+   */
+  public MetricsRegistry() {
+    this.metrics = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Creates and registers a counter
+   * @param name : the name of the counter (by convention ending in _total)
+   * @param help : the description of the counter
+   * @param labelNames : the names of the counter's labels
+   * @return the new counter
+   */
+  public Counter counter(String name, String help, String... labelNames) {
+    Counter counter = new Counter(name, help, labelNames);
+    this.metrics.add(counter);
+    return counter;
+  }
+
+  /**
+   * Creates and registers a histogram
+   * @param name : the name of the histogram
+   * @param help : the description of the histogram
+   * @param buckets : the upper bounds of the histogram's buckets, in increasing order
+   * @param labelNames : the names of the histogram's labels
+   * @return the new histogram
+   */
+  public Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+    Histogram histogram = new Histogram(name, help, buckets, labelNames);
+    this.metrics.add(histogram);
+    return histogram;
+  }
+
+  /**
+   * Registers a gauge with a single value
+   * @param name : the name of the gauge
+   * @param help : the description of the gauge
+   * @param value : reads the gauge's current value
+   */
+  public void gauge(String name, String help, DoubleSupplier value) {
+    this.metrics.add(new Gauge(name, help, null, () -> Map.of("", value.getAsDouble())));
+  }
+
+  /**
+   * Registers a gauge with a value for each value of its label
+   * @param name : the name of the gauge
+   * @param help : the description of the gauge
+   * @param labelName : the name of the gauge's label
+   * @param values : reads the gauge's current value for each label value
+   */
+  public void gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> values) {
+    this.metrics.add(new Gauge(name, help, labelName, values));
+  }
+
+  /**
+   * Writes every registered metric in the Prometheus text format
+   * @return the metrics, as the body of a /metrics response
+   */
+  public String render() {
+    StringBuilder out = new StringBuilder();
+    for (Metric metric : this.metrics) {
+      metric.writeTo(out);
+    }
+    return out.toString();
+  }
+}
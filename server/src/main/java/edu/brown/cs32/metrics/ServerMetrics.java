@@ -0,0 +1,113 @@
+package edu.brown.cs32.metrics;
+
+import edu.brown.cs32.message.MessageType;
+
+/**
+ * ServerMetrics class to hold the counters and histograms that the server and its games update as
+ * they run. Message counts are totals (Prometheus turns them into rates), and durations are in
+ * seconds. The gauges (games, users, orbs, queue lengths) are registered by the server itself,
+ * since they are read from its state.
+ */
+public class ServerMetrics {
+
+  private static final double[] RECIPIENT_BUCKETS = {0, 1, 2, 5, 10, 20, 50, 100}; // buckets for the number of clients a message is sent to
+  private static final double[] LAG_BUCKETS = {0.0001, 0.0005, 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5}; // buckets for how late timers run (in seconds)
+
+  private final MetricsRegistry registry; // the registry that every metric is registered with
+  private final Counter messagesReceived; // messages received from clients, by type
+  private final Counter messagesSent; // messages sent to clients (once per recipient), by type
+  private final Histogram handlerSeconds; // time taken to handle each received message, by type
+  private final Histogram serializeSeconds; // time taken to encode each outgoing message, by format
+  private final Histogram collisionCheckSeconds; // time taken by each collision check
+  private final Histogram broadcastRecipients; // number of clients each message to a set of clients is sent to
+  private final Histogram timerLagSeconds; // how late each run of a game's timers starts on the game's executor
+
+  /**
+   * ServerMetrics constructor to create and register the server's metrics
+   * @param registry : the registry that the metrics are registered with
+   */
+  public ServerMetrics(MetricsRegistry registry) {
+    this.registry = registry;
+    this.messagesReceived = registry.counter("slither_messages_received_total",
+        "Messages received from clients", "type");
+    this.messagesSent = registry.counter("slither_messages_sent_total",
+        "Messages sent to clients (counted once per recipient)", "type");
+    this.handlerSeconds = registry.histogram("slither_message_handler_seconds",
+        "Time taken to handle a received message", Histogram.DURATION_BUCKETS, "type");
+    this.serializeSeconds = registry.histogram("slither_serialize_seconds",
+        "Time taken to encode an outgoing message", Histogram.DURATION_BUCKETS, "format");
+    this.collisionCheckSeconds = registry.histogram("slither_collision_check_seconds",
+        "Time taken to check a moved snake for collisions", Histogram.DURATION_BUCKETS);
+    this.broadcastRecipients = registry.histogram("slither_broadcast_recipients",
+        "Number of clients that a message to a set of clients was sent to", RECIPIENT_BUCKETS);
+    this.timerLagSeconds = registry.histogram("slither_timer_lag_seconds",
+        "How late a game timer started running on the game's executor", LAG_BUCKETS);
+  }
+
+  /**
+   * Provides the registry that the metrics are registered with (to add gauges, or to serve them)
+   * @return the server's MetricsRegistry
+   */
+  public MetricsRegistry getRegistry() {
+    return this.registry;
+  }
+
+  /**
+   * Counts a message received from a client
+   * @param type : the type of the message
+   */
+  public void messageReceived(MessageType type) {
+    this.messagesReceived.inc(type.name());
+  }
+
+  /**
+   * Counts a message sent to clients
+   * @param type : the type of the message
+   * @param recipients : the number of clients that it was sent to
+   */
+  public void messageSent(MessageType type, int recipients) {
+    this.messagesSent.add(recipients, type.name());
+  }
+
+  /**
+   * Records the number of clients that a message to a set of clients was sent to
+   * @param recipients : the number of clients that it was sent to
+   */
+  public void broadcastSent(int recipients) {
+    this.broadcastRecipients.observe(recipients);
+  }
+
+  /**
+   * Records the time taken to handle a received message
+   * @param type : the type of the message
+   * @param nanos : the time taken, in nanoseconds
+   */
+  public void messageHandled(MessageType type, long nanos) {
+    this.handlerSeconds.observeNanos(nanos, type.name());
+  }
+
+  /**
+   * Records the time taken to encode an outgoing message
+   * @param format : the format it was encoded in ("json" or "binary")
+   * @param nanos : the time taken, in nanoseconds
+   */
+  public void messageSerialized(String format, long nanos) {
+    this.serializeSeconds.observeNanos(nanos, format);
+  }
+
+  /**
+   * Records the time taken by a collision check
+   * @param nanos : the time taken, in nanoseconds
+   */
+  public void collisionChecked(long nanos) {
+    this.collisionCheckSeconds.observeNanos(nanos);
+  }
+
+  /**
+   * Records how late a run of a game's timer started
+   * @param nanos : the time between when the run was due and when it started, in nanoseconds
+   */
+  public void timerLagged(long nanos) {
+    this.timerLagSeconds.observeNanos(Math.max(0, nanos));
+  }
+}
@@ -2,12 +2,17 @@ package edu.brown.cs32.orb;
 
 import edu.brown.cs32.position.Position;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Orb class to represent orb objects (with a position, size, and color)
+ * Orb class to represent orb objects (with a position, size, color, and an id that clients use to
+ * add and remove individual orbs)
  */
 public class Orb {
 
+  private static final AtomicInteger NEXT_ID = new AtomicInteger(); // the id of the next orb to be created (in any game)
+
+  private final int id;
   private final Position position;
   private final OrbSize orbSize;
   private final String color;
@@ -19,11 +24,20 @@ public class Orb {
    * @param color : the color to which this orb should be assigned (hexidecimal string)
    */
   public Orb(Position position, OrbSize orbSize, String color) {
+    this.id = NEXT_ID.getAndIncrement();
     this.position = position;
     this.orbSize = orbSize;
     this.color = color;
   }
 
+  /**
+   * Accessor method to retrive orb id
+   * @return this orb's id (unique among all orbs created by the server)
+   */
+  public int getId() {
+    return this.id;
+  }
+
   /**
    * Accessor method to retrive orb Position
    * @return this orb's Position 
@@ -40,6 +54,14 @@ public class Orb {
     return this.orbSize;
   }
 
+  /**
+   * Accessor method to retrive orb color
+   * @return this orb's color (hexidecimal string)
+   */
+  public String getColor() {
+    return this.color;
+  }
+
   /**
    * Custom Orb object equals method to determine equality based on
    * whether the 'other Orb' has an equivalent Position
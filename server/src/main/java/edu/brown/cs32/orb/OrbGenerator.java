@@ -13,15 +13,6 @@ public class OrbGenerator {
   final float MAP_MIN_COORDINATE = -1500.0f + 100.0f;
   final float MAP_MAX_COORDINATE = 1500.0f - 100.0f;
 
-  /**
-   * Rounds the inputted float to two decimal places
-   * @param value : the float to be rounded to two decimal places
-   * @return the inputted float rounded to two decimal places
-   */
-  private float round(float value) {
-    return Math.round(value * 100) / 100.0f;
-  }
-
   /**
    * Fills its input Set<Orb> with orbs up to MAX_ORB_COUNT (plus the amount of death orbs present)
    * Note: Orbs are generated with random Position coordinates, a random OrbSize, and a random hexidecimal color assignment
@@ -33,8 +24,9 @@ public class OrbGenerator {
     Random random = new Random();
     int size = orbs.size();
     for (int i = 0; i < this.MAX_ORB_COUNT - size + numDeathOrbs; i++) {
-      Orb orb = new Orb(new Position(this.round(random.nextFloat(this.MAP_MIN_COORDINATE, this.MAP_MAX_COORDINATE)),
-                                       this.round(random.nextFloat(this.MAP_MIN_COORDINATE, this.MAP_MAX_COORDINATE))),
+      // the coordinates are rounded to hundredths of a unit by Position
+      Orb orb = new Orb(new Position(random.nextFloat(this.MAP_MIN_COORDINATE, this.MAP_MAX_COORDINATE),
+                                       random.nextFloat(this.MAP_MIN_COORDINATE, this.MAP_MAX_COORDINATE)),
                         this.generateOrbSize(), OrbColor.generate());
       orbs.add(orb);
     }
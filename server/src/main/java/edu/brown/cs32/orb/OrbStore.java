@@ -0,0 +1,160 @@
+package edu.brown.cs32.orb;
+
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.spatial.SpatialGrid;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OrbStore class to hold all the orbs in a game. It behaves like a Set of orbs (so it can be
+ * filled by the OrbGenerator and serialized like any other collection), but also indexes the orbs
+ * by position: orbs can be removed by position in constant time, and the orbs near a position can
+ * be found by only looking at the orbs in the surrounding cells of a SpatialGrid.
+ *
+ * The store also records the orbs added and removed since its changes were last drained, so that
+ * clients can be sent just those changes instead of every orb in the game.
+ */
+public class OrbStore extends AbstractSet<Orb> {
+
+  private final Map<Position, Orb> positionToOrb; // maps each orb's position to the orb itself
+  private final SpatialGrid<Orb> orbGrid; // grid of all the orbs, for radius queries
+  private List<Orb> addedOrbs; // orbs added since the changes were last drained
+  private List<Integer> removedOrbIds; // ids of the orbs removed since the changes were last drained
+
+  /**
+   * OrbStore constructor to create an empty store of orbs for a square map
+   * @param minCoordinate : the smallest coordinate on the map (on both axes)
+   * @param maxCoordinate : the largest coordinate on the map (on both axes)
+   * @param cellSize : the side length of each cell in the grid of orbs (ideally about the radius
+   * that orbs will be looked up with)
+   */
+  public OrbStore(double minCoordinate, double maxCoordinate, double cellSize) {
+    this.positionToOrb = new HashMap<>();
+    this.orbGrid = new SpatialGrid<>(minCoordinate, maxCoordinate, cellSize, Orb::getPosition);
+    this.addedOrbs = new ArrayList<>();
+    this.removedOrbIds = new ArrayList<>();
+  }
+
+  /**
+   * Adds an orb to the store, unless there already is an orb at the same position
+   * @param orb : the orb to be added
+   * @return true if the orb was added; false if an orb with the same position already exists
+   */
+  @Override
+  public boolean add(Orb orb) {
+    if (this.positionToOrb.putIfAbsent(orb.getPosition(), orb) != null)
+      return false;
+    this.orbGrid.add(orb);
+    this.addedOrbs.add(orb);
+    return true;
+  }
+
+  /**
+   * Removes the orb at the given position from the store
+   * @param position : the position of the orb to be removed
+   * @return the removed orb, or null if there was no orb at that position
+   */
+  public Orb removeAt(Position position) {
+    Orb orb = this.positionToOrb.remove(position);
+    if (orb != null) {
+      this.orbGrid.remove(orb);
+      this.removedOrbIds.add(orb.getId());
+    }
+    return orb;
+  }
+
+  /**
+   * Removes an orb (equivalently, the orb at the same position) from the store
+   * @param o : the orb to be removed
+   * @return true if an orb was removed; false otherwise
+   */
+  @Override
+  public boolean remove(Object o) {
+    return o instanceof Orb orb && this.removeAt(orb.getPosition()) != null;
+  }
+
+  /**
+   * Checks whether the store contains an orb at the same position as the given orb
+   * @param o : the orb to look for
+   * @return true if there is an orb at the same position; false otherwise
+   */
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Orb orb && this.positionToOrb.containsKey(orb.getPosition());
+  }
+
+  /**
+   * Finds all the orbs whose centers are within the given radius of a position
+   * @param center : the position to measure distances from
+   * @param radius : the (inclusive) maximum distance from center
+   * @return a list of the orbs within radius of center (safe to modify the store while iterating)
+   */
+  public List<Orb> getWithinRadius(Position center, double radius) {
+    return this.orbGrid.getWithinRadius(center, radius);
+  }
+
+  /**
+   * Provides an iterator over all the orbs in the store (removing through the iterator also
+   * removes the orb from the grid)
+   * @return an iterator over the orbs in the store
+   */
+  @Override
+  public Iterator<Orb> iterator() {
+    Iterator<Orb> orbIterator = this.positionToOrb.values().iterator();
+    return new Iterator<>() {
+      private Orb current;
+
+      @Override
+      public boolean hasNext() {
+        return orbIterator.hasNext();
+      }
+
+      @Override
+      public Orb next() {
+        this.current = orbIterator.next();
+        return this.current;
+      }
+
+      @Override
+      public void remove() {
+        orbIterator.remove();
+        OrbStore.this.orbGrid.remove(this.current);
+        OrbStore.this.removedOrbIds.add(this.current.getId());
+      }
+    };
+  }
+
+  /**
+   * Provides the orbs added since the changes were last drained, and starts recording afresh
+   * @return the added orbs, in the order in which they were added
+   */
+  public List<Orb> drainAddedOrbs() {
+    List<Orb> added = this.addedOrbs;
+    this.addedOrbs = new ArrayList<>();
+    return added;
+  }
+
+  /**
+   * Provides the ids of the orbs removed since the changes were last drained, and starts recording
+   * afresh
+   * @return the ids of the removed orbs, in the order in which they were removed
+   */
+  public List<Integer> drainRemovedOrbIds() {
+    List<Integer> removed = this.removedOrbIds;
+    this.removedOrbIds = new ArrayList<>();
+    return removed;
+  }
+
+  /**
+   * Provides the number of orbs in the store
+   * @return the number of orbs in the store
+   */
+  @Override
+  public int size() {
+    return this.positionToOrb.size();
+  }
+}
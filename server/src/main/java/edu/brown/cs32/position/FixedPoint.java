@@ -0,0 +1,67 @@
+package edu.brown.cs32.position;
+
+/**
+ * FixedPoint class to convert coordinates to and from fixed point: every coordinate in the game is
+ * a whole number of hundredths of a unit (the same precision that the binary protocol sends), so
+ * that positions can be compared and hashed exactly, and a position's two coordinates can be
+ * packed into a single long.
+ */
+public final class FixedPoint {
+
+  /**
+   * The number of fixed point steps in one unit
+   */
+  public static final int SCALE = 100;
+
+  /**
+   * FixedPoint constructor (private, since the class only has static methods)
+   */
+  private FixedPoint() {}
+
+  /**
+   * Converts a coordinate into fixed point, rounding it to the nearest hundredth of a unit
+   * @param coordinate : the coordinate to be converted
+   * @return the coordinate in hundredths of a unit
+   */
+  public static int toFixed(double coordinate) {
+    return (int) Math.round(coordinate * SCALE);
+  }
+
+  /**
+   * Converts a fixed point coordinate back into units
+   * @param fixed : the coordinate in hundredths of a unit
+   * @return the coordinate in units
+   */
+  public static double toDouble(int fixed) {
+    return fixed / (double) SCALE;
+  }
+
+  /**
+   * Packs a pair of fixed point coordinates into a single long (x in the high 32 bits and y in the
+   * low 32 bits)
+   * @param x : the x coordinate in hundredths of a unit
+   * @param y : the y coordinate in hundredths of a unit
+   * @return the packed coordinates
+   */
+  public static long pack(int x, int y) {
+    return ((long) x << 32) | (y & 0xffffffffL);
+  }
+
+  /**
+   * Unpacks the x coordinate from a pair of packed coordinates
+   * @param packed : the packed coordinates (see pack)
+   * @return the x coordinate in hundredths of a unit
+   */
+  public static int unpackX(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  /**
+   * Unpacks the y coordinate from a pair of packed coordinates
+   * @param packed : the packed coordinates (see pack)
+   * @return the y coordinate in hundredths of a unit
+   */
+  public static int unpackY(long packed) {
+    return (int) packed;
+  }
+}
@@ -1,6 +1,73 @@
 package edu.brown.cs32.position;
 
 /**
- * Position record to store (x and y) coordinates of any objects (snake/orb) on screen
+ * Position record to store (x and y) coordinates of any objects (snake/orb) on screen. The
+ * coordinates are rounded to the nearest hundredth of a unit and kept in fixed point, packed into
+ * a single long (see FixedPoint), so positions are compared and hashed exactly and take half the
+ * space of a pair of doubles.
+ *
+ * @param packed : the position's fixed point coordinates, packed by FixedPoint.pack
  */
-public record Position(double x, double y) {}
+public record Position(long packed) {
+
+  /**
+   * Position constructor to create a position from coordinates in units (rounded to the nearest
+   * hundredth of a unit)
+   * @param x : the x coordinate
+   * @param y : the y coordinate
+   */
+  public Position(double x, double y) {
+    this(FixedPoint.pack(FixedPoint.toFixed(x), FixedPoint.toFixed(y)));
+  }
+
+  /**
+   * Creates a position from fixed point coordinates
+   * @param fixedX : the x coordinate in hundredths of a unit
+   * @param fixedY : the y coordinate in hundredths of a unit
+   * @return the position
+   */
+  public static Position ofFixed(int fixedX, int fixedY) {
+    return new Position(FixedPoint.pack(fixedX, fixedY));
+  }
+
+  /**
+   * Provides the x coordinate
+   * @return the x coordinate in units
+   */
+  public double x() {
+    return FixedPoint.toDouble(this.fixedX());
+  }
+
+  /**
+   * Provides the y coordinate
+   * @return the y coordinate in units
+   */
+  public double y() {
+    return FixedPoint.toDouble(this.fixedY());
+  }
+
+  /**
+   * Provides the x coordinate in fixed point
+   * @return the x coordinate in hundredths of a unit
+   */
+  public int fixedX() {
+    return FixedPoint.unpackX(this.packed);
+  }
+
+  /**
+   * Provides the y coordinate in fixed point
+   * @return the y coordinate in hundredths of a unit
+   */
+  public int fixedY() {
+    return FixedPoint.unpackY(this.packed);
+  }
+
+  /**
+   * Provides the position as a String (in units), for logging
+   * @return the position's coordinates
+   */
+  @Override
+  public String toString() {
+    return "Position[x=" + this.x() + ", y=" + this.y() + "]";
+  }
+}
@@ -0,0 +1,8 @@
+package edu.brown.cs32.position;
+
+/**
+ * PositionUpdate record to store a single move of a snake (sent to the clients in batches): the
+ * id of the snake that moved, the position added to the front of the snake, and the position
+ * removed from the back of the snake
+ */
+public record PositionUpdate(int id, Position add, Position remove) {}
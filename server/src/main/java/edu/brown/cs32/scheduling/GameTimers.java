@@ -0,0 +1,84 @@
+package edu.brown.cs32.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * GameTimers class to hold the timers that a single game has scheduled with the TimerService, so
+ * that they can all be cancelled together when the game ends
+ */
+public class GameTimers {
+
+  private final ScheduledExecutorService scheduler; // the shared timer thread of the TimerService
+  private final Executor executor; // the executor on which the timed work is run
+  private final LongConsumer lagRecorder; // is given the lag (in nanoseconds) of every run of every timer
+  private final List<ScheduledFuture<?>> timers; // the timers scheduled so far
+  private boolean cancelled; // whether the timers have been cancelled (no more can then be scheduled)
+
+  /**
+   * GameTimers constructor to create an empty set of timers (see TimerService.register)
+   * @param scheduler : the shared timer thread on which the timers are scheduled
+   * @param executor : the executor on which the timed work is to be run
+   * @param lagRecorder : is to be given the lag (in nanoseconds) of every run of every timer
+   */
+  GameTimers(ScheduledExecutorService scheduler, Executor executor, LongConsumer lagRecorder) {
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.lagRecorder = lagRecorder;
+    this.timers = new ArrayList<>();
+    this.cancelled = false;
+  }
+
+  /**
+   * Schedules work to be run repeatedly at a fixed rate (on this set's executor), until the timers
+   * are cancelled. At most one run of the work is waiting on the executor at a time: if the
+   * executor is still behind when the next period starts, that period is skipped (the waiting run
+   * stands in for it) rather than queueing another run. Each run records how long after the
+   * earliest period that it stands for was due it started, so skipped periods show up as lag.
+   * @param task : the work to be run
+   * @param initialDelay : the time before the work is first run
+   * @param period : the time between the starts of successive runs
+   * @param unit : the unit of initialDelay and period
+   */
+  public synchronized void scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+    if (this.cancelled)
+      return;
+    long periodNanos = unit.toNanos(period);
+    AtomicLong nextDueNanos = new AtomicLong(System.nanoTime() + unit.toNanos(initialDelay)); // only used on the timer thread
+    AtomicBoolean queued = new AtomicBoolean(false); // whether a run is waiting on the executor
+    AtomicLong queuedDueNanos = new AtomicLong(); // when the waiting run was due
+    Runnable timedTask = () -> {
+      long dueNanos = queuedDueNanos.get();
+      queued.set(false); // from here on, the next period queues a new run
+      this.lagRecorder.accept(System.nanoTime() - dueNanos);
+      task.run();
+    };
+    Runnable periodStarted = () -> {
+      // fixed-rate periods are due at whole periods after the first, however late earlier runs were
+      long dueNanos = nextDueNanos.getAndAdd(periodNanos);
+      if (queued.compareAndSet(false, true)) {
+        queuedDueNanos.set(dueNanos);
+        this.executor.execute(timedTask);
+      }
+    };
+    this.timers.add(this.scheduler.scheduleAtFixedRate(periodStarted, initialDelay, period, unit));
+  }
+
+  /**
+   * Cancels every timer in this set (work that has already been handed to the executor still runs)
+   */
+  public synchronized void cancelAll() {
+    this.cancelled = true;
+    for (ScheduledFuture<?> timer : this.timers) {
+      timer.cancel(false);
+    }
+    this.timers.clear();
+  }
+}
@@ -0,0 +1,79 @@
+package edu.brown.cs32.scheduling;
+
+import edu.brown.cs32.logging.Logger;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SerialExecutor class to run tasks one at a time, in the order in which they were submitted, on
+ * top of a shared (multithreaded) executor. Each game owns one SerialExecutor (a "mailbox"), so
+ * all the work for a game runs as if it were on a single thread -- without any locks, and without
+ * creating a new thread for each task -- while different games still run in parallel.
+ */
+public class SerialExecutor implements Executor {
+
+  private static final Logger LOGGER = Logger.getLogger(SerialExecutor.class);
+  private final int MAX_TASKS_PER_BATCH = 64; // tasks run before yielding the thread to other executors
+  private final Executor backingExecutor; // the shared executor whose threads actually run the tasks
+  private final Queue<Runnable> tasks; // the tasks waiting to be run
+  private final AtomicBoolean scheduled; // whether a batch of tasks is queued on or running in the backing executor
+
+  /**
+   * SerialExecutor constructor to create an empty mailbox on top of a shared executor
+   * @param backingExecutor : the (shared) executor whose threads will run the submitted tasks
+   */
+  public SerialExecutor(Executor backingExecutor) {
+    this.backingExecutor = backingExecutor;
+    this.tasks = new ConcurrentLinkedQueue<>();
+    this.scheduled = new AtomicBoolean(false);
+  }
+
+  /**
+   * Submits a task to be run after every task submitted before it has finished
+   * @param task : the task to be run
+   */
+  @Override
+  public void execute(Runnable task) {
+    this.tasks.add(task);
+    this.schedule();
+  }
+
+  /**
+   * Provides the number of tasks that are waiting to be run
+   * @return the number of queued tasks
+   */
+  public int getQueuedTaskCount() {
+    return this.tasks.size();
+  }
+
+  /**
+   * Hands a batch of tasks to the backing executor, unless a batch is already queued or running
+   */
+  private void schedule() {
+    if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true))
+      this.backingExecutor.execute(this::runBatch);
+  }
+
+  /**
+   * Runs queued tasks (up to MAX_TASKS_PER_BATCH, so that a busy game cannot starve the others
+   * sharing the backing executor), then schedules the next batch if more tasks are waiting
+   */
+  private void runBatch() {
+    try {
+      Runnable task;
+      for (int i = 0; i < this.MAX_TASKS_PER_BATCH && (task = this.tasks.poll()) != null; i++) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          // one failing task must not stop the tasks queued after it
+          LOGGER.error("A queued task failed", e);
+        }
+      }
+    } finally {
+      this.scheduled.set(false);
+      this.schedule();
+    }
+  }
+}
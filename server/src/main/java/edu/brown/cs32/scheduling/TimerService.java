@@ -0,0 +1,64 @@
+package edu.brown.cs32.scheduling;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.LongConsumer;
+
+/**
+ * TimerService class to run the timers of every game (orb generation, ticks, leaderboard updates)
+ * on a single shared timer thread, instead of on a timer thread per game. The timer thread never
+ * runs the timed work itself: it only hands it to the executor of the game that it belongs to, so
+ * the work still runs one task at a time with the rest of that game's work.
+ *
+ * Each game registers with the service to get its own GameTimers, and cancels them when the game
+ * ends (so that nothing is left scheduled for a game that no longer exists).
+ *
+ * Every run of a timer reports its lag: how long after it was due it actually started running on
+ * its game's executor (which includes any time spent waiting behind the game's other work).
+ */
+public class TimerService {
+
+  private final ScheduledThreadPoolExecutor scheduler; // the shared timer thread (and queue of scheduled timers)
+  private final LongConsumer lagRecorder; // is given the lag (in nanoseconds) of every run of every timer
+
+  /**
+   * TimerService constructor to start the shared timer thread, without recording timer lag
+   */
+  public TimerService() {
+    this(lagNanos -> {});
+  }
+
+  /**
+   * TimerService constructor to start the shared timer thread
+   * @param lagRecorder : is given the lag (in nanoseconds) of every run of every timer
+   */
+  public TimerService(LongConsumer lagRecorder) {
+    this.lagRecorder = lagRecorder;
+    this.scheduler = new ScheduledThreadPoolExecutor(1);
+    this.scheduler.setRemoveOnCancelPolicy(true); // cancelled timers are dropped from the queue straight away
+  }
+
+  /**
+   * Registers a game (or anything else with its own executor) with the service
+   * @param executor : the executor on which the registered timers' work is to be run
+   * @return the GameTimers through which timers are scheduled (and later cancelled)
+   */
+  public GameTimers register(Executor executor) {
+    return new GameTimers(this.scheduler, executor, this.lagRecorder);
+  }
+
+  /**
+   * Provides the number of timers currently scheduled (across every registered game)
+   * @return the number of scheduled timers
+   */
+  public int getScheduledTimerCount() {
+    return this.scheduler.getQueue().size();
+  }
+
+  /**
+   * Stops the shared timer thread, cancelling every timer
+   */
+  public void shutdown() {
+    this.scheduler.shutdownNow();
+  }
+}
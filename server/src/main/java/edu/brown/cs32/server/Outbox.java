@@ -0,0 +1,128 @@
+package edu.brown.cs32.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.java_websocket.WebSocket;
+
+/**
+ * Outbox class to collect the messages being sent to a single client, so that they can be sent
+ * together in a few frames (when the outbox is flushed, at a fixed interval or once enough bytes
+ * are waiting) rather than each in a frame of its own.
+ *
+ * Messages are sent in the order in which they were added: each run of consecutive JSON messages
+ * is sent as a single frame holding a JSON array of the messages (or as the message itself, if the
+ * run has only one message), and each run of consecutive binary messages is sent as a single
+ * binary frame holding the messages back to back.
+ */
+public class Outbox {
+
+  private final WebSocket webSocket; // the connection of the client that the messages are sent to
+  private final int maxBatchBytes; // the number of waiting bytes at which the outbox is flushed straight away
+  private final List<PendingMessage> pendingMessages; // the messages waiting to be sent, in order
+  private int pendingBytes; // the (approximate) number of bytes in the waiting messages
+
+  /**
+   * PendingMessage record to store a message waiting to be sent: either a JSON message or a binary
+   * message (the other field is null)
+   */
+  private record PendingMessage(String json, ByteBuffer binary) {}
+
+  /**
+   * Outbox constructor to create an empty outbox for a client's connection
+   * @param webSocket : the connection of the client that the messages are to be sent to
+   * @param maxBatchBytes : the number of waiting bytes at which the outbox should be flushed
+   * without waiting for the next scheduled flush
+   */
+  public Outbox(WebSocket webSocket, int maxBatchBytes) {
+    this.webSocket = webSocket;
+    this.maxBatchBytes = maxBatchBytes;
+    this.pendingMessages = new ArrayList<>();
+    this.pendingBytes = 0;
+  }
+
+  /**
+   * Adds a JSON message to be sent with the next flush
+   * @param json : the serialized message
+   */
+  public synchronized void add(String json) {
+    this.pendingMessages.add(new PendingMessage(json, null));
+    this.pendingBytes += json.length();
+    if (this.pendingBytes >= this.maxBatchBytes)
+      this.flush();
+  }
+
+  /**
+   * Adds a binary message to be sent with the next flush
+   * @param binary : the encoded message (its remaining bytes are sent; the buffer is not modified)
+   */
+  public synchronized void add(ByteBuffer binary) {
+    this.pendingMessages.add(new PendingMessage(null, binary.duplicate()));
+    this.pendingBytes += binary.remaining();
+    if (this.pendingBytes >= this.maxBatchBytes)
+      this.flush();
+  }
+
+  /**
+   * Sends all the waiting messages (if the connection is still open; otherwise they are dropped)
+   */
+  public synchronized void flush() {
+    if (this.pendingMessages.isEmpty())
+      return;
+    if (this.webSocket.isOpen()) {
+      int start = 0;
+      while (start < this.pendingMessages.size()) {
+        boolean isJson = this.pendingMessages.get(start).json() != null;
+        int end = start + 1;
+        while (end < this.pendingMessages.size() && (this.pendingMessages.get(end).json() != null) == isJson)
+          end++;
+        List<PendingMessage> run = this.pendingMessages.subList(start, end);
+        if (isJson)
+          this.sendJson(run);
+        else
+          this.sendBinary(run);
+        start = end;
+      }
+    }
+    this.pendingMessages.clear();
+    this.pendingBytes = 0;
+  }
+
+  /**
+   * Sends a run of JSON messages in a single frame
+   * @param run : the JSON messages to be sent
+   */
+  private void sendJson(List<PendingMessage> run) {
+    if (run.size() == 1) {
+      this.webSocket.send(run.get(0).json());
+      return;
+    }
+    StringBuilder frame = new StringBuilder("[");
+    for (int i = 0; i < run.size(); i++) {
+      if (i > 0)
+        frame.append(',');
+      frame.append(run.get(i).json());
+    }
+    this.webSocket.send(frame.append(']').toString());
+  }
+
+  /**
+   * Sends a run of binary messages in a single frame
+   * @param run : the binary messages to be sent
+   */
+  private void sendBinary(List<PendingMessage> run) {
+    if (run.size() == 1) {
+      this.webSocket.send(run.get(0).binary());
+      return;
+    }
+    int frameSize = 0;
+    for (PendingMessage message : run) {
+      frameSize += message.binary().remaining();
+    }
+    ByteBuffer frame = ByteBuffer.allocate(frameSize);
+    for (PendingMessage message : run) {
+      frame.put(message.binary());
+    }
+    this.webSocket.send(frame.flip());
+  }
+}
@@ -0,0 +1,79 @@
+package edu.brown.cs32.server;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.Framedata;
+
+/**
+ * PreparedFrame class to hold a message that is broadcast to many clients, so that its frame is
+ * created once rather than once per client: webSocket.send(String) UTF-8 encodes its payload and
+ * creates a new frame every time it is called, while the frame prepared here (with its encoded
+ * payload) is handed to every client's sendFrame. Each connection still copies the frame's header
+ * and payload into a buffer of its own when it writes the frame; what is saved is the encoding of
+ * the message and the creation of its frame.
+ *
+ * Clients whose messages are batched are sent the message through their outbox instead (it is
+ * combined there with their other messages, so it cannot be sent in a frame of its own). A
+ * PreparedFrame is sent to its clients one after another on a single thread (sending a frame
+ * briefly moves the position of its payload buffer).
+ */
+public class PreparedFrame {
+
+  private static final Draft FRAME_DRAFT = new Draft_6455(); // creates the frames (which servers do not mask)
+  private final String json; // the JSON message (null if the message is binary)
+  private final ByteBuffer binary; // the binary message (null if the message is JSON)
+  private List<Framedata> frames; // the message's frame, with its encoded payload (null until it is first sent straight away)
+
+  /**
+   * PreparedFrame constructor to hold either a JSON or a binary message (the other is null)
+   * @param json : the JSON message
+   * @param binary : the binary message
+   */
+  private PreparedFrame(String json, ByteBuffer binary) {
+    this.json = json;
+    this.binary = binary;
+  }
+
+  /**
+   * Creates a PreparedFrame holding a JSON message
+   * @param json : the serialized message
+   * @return the PreparedFrame
+   */
+  public static PreparedFrame ofJson(String json) {
+    return new PreparedFrame(json, null);
+  }
+
+  /**
+   * Creates a PreparedFrame holding a binary message
+   * @param binary : the encoded message (its remaining bytes are sent; the buffer is not modified)
+   * @return the PreparedFrame
+   */
+  public static PreparedFrame ofBinary(ByteBuffer binary) {
+    return new PreparedFrame(null, binary.slice());
+  }
+
+  /**
+   * Sends the message to a client: through its outbox if it has one, and otherwise by passing the
+   * prepared frame (which is created the first time that it is needed) to the connection, which
+   * writes it out
+   * @param webSocket : the connection of the client to send the message to
+   * @param outbox : the connection's outbox, or null if messages are sent straight away
+   * @throws org.java_websocket.exceptions.WebsocketNotConnectedException if the connection has
+   * closed
+   */
+  public void sendTo(WebSocket webSocket, Outbox outbox) {
+    if (outbox != null) {
+      if (this.json != null)
+        outbox.add(this.json);
+      else
+        outbox.add(this.binary);
+      return;
+    }
+    if (this.frames == null)
+      this.frames = this.json != null ? FRAME_DRAFT.createFrames(this.json, false) : FRAME_DRAFT.createFrames(this.binary.duplicate(), false);
+    webSocket.sendFrame(this.frames);
+  }
+}
@@ -0,0 +1,45 @@
+package edu.brown.cs32.server;
+
+/**
+ * ServerConfig record to store the settings that the SlitherServer is started with
+ *
+ * @param port : the port on which the server listens for websocket connections
+ * @param tickRate : the number of simulation ticks per second run by each game (0 to process every
+ * position update as soon as it arrives, without a tick loop)
+ * @param snapshotRate : the number of snapshots of other snakes' moves sent to each client per
+ * second when ticking (0 to send one every tick); the moves of the ticks in between are held and
+ * sent with the next snapshot, for clients to interpolate between
+ * @param flushIntervalMs : the interval (in milliseconds) at which the messages batched for each
+ * client are sent (0 to send every message straight away, without batching)
+ * @param maxBatchBytes : the number of bytes batched for a client at which they are sent without
+ * waiting for the next flush (only used when messages are batched)
+ * @param metricsPort : the port on which the server's metrics are served over HTTP at /metrics (0
+ * to not serve them)
+ */
+public record ServerConfig(int port, int tickRate, int snapshotRate, int flushIntervalMs, int maxBatchBytes, int metricsPort) {
+
+  /**
+   * Provides the default server settings: listening on port 9000, without a tick loop (so
+   * snapshots would be sent every tick), without batching messages, and serving metrics on port 9001
+   * @return the default ServerConfig
+   */
+  public static ServerConfig defaults() {
+    return new ServerConfig(9000, 0, 0, 0, 16384, 9001);
+  }
+
+  /**
+   * Reads the server settings from system properties (e.g. -Dslither.tickRate=20), using the
+   * defaults for any property that is not set
+   * @return the ServerConfig described by the system properties
+   */
+  public static ServerConfig fromSystemProperties() {
+    ServerConfig defaults = ServerConfig.defaults();
+    return new ServerConfig(
+        Integer.getInteger("slither.port", defaults.port()),
+        Integer.getInteger("slither.tickRate", defaults.tickRate()),
+        Integer.getInteger("slither.snapshotRate", defaults.snapshotRate()),
+        Integer.getInteger("slither.flushIntervalMs", defaults.flushIntervalMs()),
+        Integer.getInteger("slither.maxBatchBytes", defaults.maxBatchBytes()),
+        Integer.getInteger("slither.metricsPort", defaults.metricsPort()));
+  }
+}
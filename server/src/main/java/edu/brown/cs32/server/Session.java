@@ -0,0 +1,120 @@
+package edu.brown.cs32.server;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.user.User;
+import org.java_websocket.WebSocket;
+
+/**
+ * Session class to store everything about a single client's connection: its outbox, which protocol
+ * the client asked for, and (while the client is playing) its user and the GameState and
+ * Leaderboard of the game that it is playing in. A connection's session is attached to its
+ * WebSocket (see forSocket), so handling a message from the client needs a single field read
+ * rather than a chain of map lookups.
+ *
+ * The SessionRegistry remains the record of which users are in which games; a session only holds
+ * direct references to the same objects. Its fields are read on the websocket threads and written
+ * on the games' executors, so they are volatile.
+ */
+public class Session {
+
+  private final Outbox outbox; // the connection's outbox (null if messages are not batched)
+  private volatile boolean binary; // whether the client asked for the binary protocol
+  private volatile User user; // the user playing over the connection (null if there is none)
+  private volatile GameState gameState; // the game that the user is playing in (null if there is none)
+  private volatile Leaderboard leaderboard; // the leaderboard of that game (null if there is none)
+
+  /**
+   * Session constructor to create the session of a newly opened connection, whose client is not
+   * playing yet
+   * @param outbox : the connection's outbox, or null if messages are sent straight away
+   */
+  public Session(Outbox outbox) {
+    this.outbox = outbox;
+    this.binary = false;
+  }
+
+  /**
+   * Provides the session attached to a connection
+   * @param webSocket : the connection
+   * @return the connection's session, or null if it has none (it was not opened by the server)
+   */
+  public static Session forSocket(WebSocket webSocket) {
+    return webSocket.getAttachment();
+  }
+
+  /**
+   * Provides the connection's outbox
+   * @return the outbox, or null if messages are sent straight away
+   */
+  public Outbox getOutbox() {
+    return this.outbox;
+  }
+
+  /**
+   * Indicates whether the client asked for the binary protocol
+   * @return true if the client is sent the binary versions of messages, false otherwise
+   */
+  public boolean isBinary() {
+    return this.binary;
+  }
+
+  /**
+   * Records that the client asked for the binary protocol
+   */
+  public void useBinary() {
+    this.binary = true;
+  }
+
+  /**
+   * Provides the user playing over the connection
+   * @return the user, or null if there is none
+   */
+  public User getUser() {
+    return this.user;
+  }
+
+  /**
+   * Sets the user playing over the connection
+   * @param user : the user
+   */
+  public void setUser(User user) {
+    this.user = user;
+  }
+
+  /**
+   * Provides the GameState of the game that the user is playing in
+   * @return the GameState, or null if the user is not in a game
+   */
+  public GameState getGameState() {
+    return this.gameState;
+  }
+
+  /**
+   * Provides the Leaderboard of the game that the user is playing in
+   * @return the Leaderboard, or null if the user is not in a game
+   */
+  public Leaderboard getLeaderboard() {
+    return this.leaderboard;
+  }
+
+  /**
+   * Records the game that the user has joined. The leaderboard is set first, so that anyone who
+   * sees the GameState also sees its leaderboard.
+   * @param gameState : the game's GameState
+   * @param leaderboard : the game's Leaderboard
+   */
+  public void joinGame(GameState gameState, Leaderboard leaderboard) {
+    this.leaderboard = leaderboard;
+    this.gameState = gameState;
+  }
+
+  /**
+   * Forgets the user and their game (once the user's snake has died), so the client can join again
+   */
+  public void leaveGame() {
+    this.gameState = null;
+    this.leaderboard = null;
+    this.user = null;
+  }
+}
@@ -0,0 +1,203 @@
+package edu.brown.cs32.server;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.user.User;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import org.java_websocket.WebSocket;
+
+/**
+ * SessionRegistry class to store who is playing on the server and which game each of them is
+ * playing in: the user of each connection, the game code of each user, and the GameState,
+ * Leaderboard and websockets of each game.
+ *
+ * The registry is safe to use from any thread without locking: its maps are concurrent, and the
+ * websockets of each game are kept in a copy-on-write set, so that sending a message to every
+ * client in a game iterates over a snapshot of the game's websockets -- it never blocks, or is
+ * broken by, clients joining or leaving the game at the same time (joins and leaves are far less
+ * frequent than broadcasts, so copying the set when they happen is cheap).
+ */
+public class SessionRegistry {
+
+  private final Map<WebSocket, User> socketToUser; // maps websockets to the user associated with that connection
+  private final Map<User, String> userToGameCode; // maps users to the game code for the game they are in
+  private final Map<String, GameState> gameCodeToGameState; // maps game codes to game states (for the same game)
+  private final Map<String, Leaderboard> gameCodeToLeaderboard; // maps game codes to the leaderboard for the game
+  private final Map<GameState, Set<WebSocket>> gameStateToSockets; // maps game states to all the websockets for users in that game (copy-on-write sets)
+
+  /**
+   * SessionRegistry constructor to create a registry with no connections or games
+   */
+  public SessionRegistry() {
+    this.socketToUser = new ConcurrentHashMap<>();
+    this.userToGameCode = new ConcurrentHashMap<>();
+    this.gameCodeToGameState = new ConcurrentHashMap<>();
+    this.gameCodeToLeaderboard = new ConcurrentHashMap<>();
+    this.gameStateToSockets = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Associates a connection with its user
+   * @param webSocket : the connection
+   * @param user : the user playing over the connection
+   * @return false if the connection already had a user (which is left unchanged), true otherwise
+   */
+  public boolean addUser(WebSocket webSocket, User user) {
+    return this.socketToUser.putIfAbsent(webSocket, user) == null;
+  }
+
+  /**
+   * Provides the user of a connection
+   * @param webSocket : the connection
+   * @return the connection's user, or null if it has none
+   */
+  public User getUser(WebSocket webSocket) {
+    return this.socketToUser.get(webSocket);
+  }
+
+  /**
+   * Removes the association between a connection and its user
+   * @param webSocket : the connection
+   * @return the user that the connection had, or null if it had none
+   */
+  public User removeUser(WebSocket webSocket) {
+    return this.socketToUser.remove(webSocket);
+  }
+
+  /**
+   * Provides the number of connections that have a user
+   * @return the number of users currently playing
+   */
+  public int getUserCount() {
+    return this.socketToUser.size();
+  }
+
+  /**
+   * Records the game that a user is playing in
+   * @param user : the user
+   * @param gameCode : the code of the user's game
+   * @return false if the user was already in a game (which is left unchanged), true otherwise
+   */
+  public boolean setGameCode(User user, String gameCode) {
+    return this.userToGameCode.putIfAbsent(user, gameCode) == null;
+  }
+
+  /**
+   * Provides the code of the game that a user is playing in
+   * @param user : the user (may be null)
+   * @return the user's game code, or null if the user is null or not in a game
+   */
+  public String getGameCode(User user) {
+    return user == null ? null : this.userToGameCode.get(user);
+  }
+
+  /**
+   * Removes the record of the game that a user is playing in
+   * @param user : the user
+   * @return the user's game code, or null if the user was not in a game
+   */
+  public String removeGameCode(User user) {
+    return this.userToGameCode.remove(user);
+  }
+
+  /**
+   * Adds a new game, with no websockets yet
+   * @param gameCode : the game's code
+   * @param gameState : the game's GameState
+   * @param leaderboard : the game's Leaderboard
+   */
+  public void addGame(String gameCode, GameState gameState, Leaderboard leaderboard) {
+    this.gameStateToSockets.put(gameState, new CopyOnWriteArraySet<>());
+    this.gameCodeToLeaderboard.put(gameCode, leaderboard);
+    this.gameCodeToGameState.put(gameCode, gameState);
+  }
+
+  /**
+   * Provides the GameState of a game
+   * @param gameCode : the game's code
+   * @return the GameState, or null if there is no such game
+   */
+  public GameState getGameState(String gameCode) {
+    return this.gameCodeToGameState.get(gameCode);
+  }
+
+  /**
+   * Provides the Leaderboard of a game
+   * @param gameCode : the game's code
+   * @return the Leaderboard, or null if there is no such game
+   */
+  public Leaderboard getLeaderboard(String gameCode) {
+    return this.gameCodeToLeaderboard.get(gameCode);
+  }
+
+  /**
+   * Provides the codes of every game (a live, read-only view)
+   * @return the set of the codes of all the ongoing games
+   */
+  public Set<String> getGameCodes() {
+    return Collections.unmodifiableSet(this.gameCodeToLeaderboard.keySet());
+  }
+
+  /**
+   * Provides every game (a live, read-only view)
+   * @return a map from each ongoing game's code to its GameState
+   */
+  public Map<String, GameState> getGames() {
+    return Collections.unmodifiableMap(this.gameCodeToGameState);
+  }
+
+  /**
+   * Provides the websockets of the clients playing in a game. The set may be iterated over while
+   * clients join and leave: each iteration sees the websockets at the time that it started.
+   * @param gameState : the game's GameState
+   * @return the game's websockets, or null if the game has ended
+   */
+  public Set<WebSocket> getGameSockets(GameState gameState) {
+    return this.gameStateToSockets.get(gameState);
+  }
+
+  /**
+   * Adds a websocket to a game
+   * @param gameState : the game's GameState
+   * @param webSocket : the websocket of a client joining the game
+   * @return false if the websocket was already in the game, true otherwise
+   * @throws IllegalStateException if the game has ended
+   */
+  public boolean addGameSocket(GameState gameState, WebSocket webSocket) {
+    boolean[] added = {false};
+    // atomic with removeGameSocket, so a client cannot join a game as its last client leaves it
+    Set<WebSocket> sockets = this.gameStateToSockets.computeIfPresent(gameState, (game, gameSockets) -> {
+      added[0] = gameSockets.add(webSocket);
+      return gameSockets;
+    });
+    if (sockets == null)
+      throw new IllegalStateException("The game has already ended");
+    return added[0];
+  }
+
+  /**
+   * Removes a websocket from a game, and removes the game itself if that was its last websocket
+   * @param gameCode : the game's code
+   * @param gameState : the game's GameState
+   * @param webSocket : the websocket of a client leaving the game
+   * @return true if the game was removed (it has ended), false otherwise (including if it had
+   * already been removed)
+   */
+  public boolean removeGameSocket(String gameCode, GameState gameState, WebSocket webSocket) {
+    boolean[] ended = {false};
+    this.gameStateToSockets.computeIfPresent(gameState, (game, gameSockets) -> {
+      gameSockets.remove(webSocket);
+      ended[0] = gameSockets.isEmpty();
+      return ended[0] ? null : gameSockets;
+    });
+    if (!ended[0])
+      return false;
+    this.gameCodeToGameState.remove(gameCode, gameState);
+    this.gameCodeToLeaderboard.remove(gameCode);
+    return true;
+  }
+}
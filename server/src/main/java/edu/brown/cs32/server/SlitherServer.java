@@ -1,7 +1,6 @@
 package edu.brown.cs32.server;
 
-import com.squareup.moshi.JsonAdapter;
-import com.squareup.moshi.Moshi;
+import edu.brown.cs32.actionHandlers.MoveInputHandler;
 import edu.brown.cs32.actionHandlers.NewClientHandler;
 import edu.brown.cs32.actionHandlers.UpdatePositionHandler;
 import edu.brown.cs32.exceptions.ClientAlreadyExistsException;
@@ -17,17 +16,37 @@ import edu.brown.cs32.gameState.GameState;
 import edu.brown.cs32.gamecode.GameCode;
 import edu.brown.cs32.gamecode.GameCodeGenerator;
 import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.logging.LogSampler;
+import edu.brown.cs32.logging.Logger;
+import edu.brown.cs32.message.BinaryCodec;
 import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageCodec;
 import edu.brown.cs32.message.MessageType;
+import edu.brown.cs32.metrics.MetricsEndpoint;
+import edu.brown.cs32.metrics.MetricsRegistry;
+import edu.brown.cs32.metrics.ServerMetrics;
+import edu.brown.cs32.scheduling.SerialExecutor;
+import edu.brown.cs32.scheduling.TimerService;
+import edu.brown.cs32.sharding.ConsistentHashRing;
+import edu.brown.cs32.sharding.ShardConfig;
+import edu.brown.cs32.sharding.ShardNode;
 import edu.brown.cs32.user.User;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 
@@ -39,30 +58,242 @@ import org.java_websocket.server.WebSocketServer;
  */
 public class SlitherServer extends WebSocketServer {
 
-  private final Set<WebSocket> allConnections; // stores all connections
-  private final Set<WebSocket> inactiveConnections; // stores connections for clients whose users are not actively playing
-  private final Map<User, String> userToGameCode; // maps users to the game code for the game they are in
-  private final Map<String, Leaderboard> gameCodeToLeaderboard; // maps game codes to the leaderboard for the game
-  private final Map<WebSocket, User> socketToUser; // maps websockets to the user associated with that connections
-  private final Map<String, GameState> gameCodeToGameState; // maps game codes to game states (for the same game)
-  private final Map<GameState, Set<WebSocket>> gameStateToSockets; // maps game states to all the websockets for users in that game
+  private static final Logger LOGGER = Logger.getLogger(SlitherServer.class);
+  private static final LogSampler RECEIVED_MESSAGE_SAMPLER = new LogSampler(100); // logs 1 in 100 received messages
+  private final SessionRegistry sessions; // the connections, users and games (read and changed from every thread)
+  private final ServerConfig config; // the settings that this server was started with
+  private final ExecutorService gameWorkers; // shared threads that run the work of every game (through each game's own executor)
+  private final SerialExecutor lobbyExecutor; // runs messages from clients that are not (yet) in a game, one at a time
+  private final TimerService timerService; // the single timer thread shared by the timers of every game
+  private final MessageCodec codec; // serializes and deserializes all messages (shared by all threads)
+  private final BinaryCodec binaryCodec; // encodes and decodes the binary versions of the most frequent messages
+  private final Set<Outbox> outboxes; // the outbox of every connection, for the flusher (empty if messages are not batched)
+  private final ScheduledExecutorService outboxFlusher; // flushes every outbox at a fixed interval (null if messages are not batched)
+  private final ServerMetrics metrics; // the counters and histograms updated as the server runs
+  private MetricsEndpoint metricsEndpoint; // serves the metrics over HTTP (null until the server starts, or if they are not served)
+  private final ShardNode shardNode; // this server's node in a sharded deployment (null if not sharded)
+  private final ConsistentHashRing<ShardNode> shardRing; // assigns game codes to the nodes of a sharded deployment (null if not sharded)
 
   /**
    * Constructor for the SlitherServer class. Calls the code in the WebSocketServer constructor
    * to begin listening for connections on the specified port, and instantiates all of the
    * instance variables of the class.
    *
-   * @param port - an int: the port on which we want the server to listen for websocket connections.
+   * @param config - a ServerConfig: the settings for this server, including the port on which we
+   *               want the server to listen for websocket connections.
    */
-  public SlitherServer(int port) {
-    super(new InetSocketAddress(port));
-    this.allConnections = new HashSet<>();
-    this.inactiveConnections = new HashSet<>();
-    this.userToGameCode = new HashMap<>();
-    this.gameCodeToLeaderboard = new HashMap<>();
-    this.socketToUser = new HashMap<>();
-    this.gameCodeToGameState = new HashMap<>();
-    this.gameStateToSockets = new HashMap<>();
+  public SlitherServer(ServerConfig config) {
+    this(config, ShardConfig.unsharded());
+  }
+
+  /**
+   * Constructor for a SlitherServer that may be one node of a sharded deployment, in which case it
+   * only creates games whose codes it owns (see ShardConfig).
+   *
+   * @param config - a ServerConfig: the settings for this server, including the port on which we
+   *               want the server to listen for websocket connections.
+   * @param shards - a ShardConfig: the nodes that games are split across (none if this server runs
+   *               every game itself).
+   * @throws IllegalArgumentException if this server's node is not in the node list
+   */
+  public SlitherServer(ServerConfig config, ShardConfig shards) {
+    super(new InetSocketAddress(config.port()));
+    this.config = config;
+    if (shards.isSharded()) {
+      this.shardNode = shards.self() != null ? shards.self() : shards.nodes().stream()
+          .filter(node -> node.port() == config.port()).findFirst().orElse(null);
+      if (this.shardNode == null || !shards.nodes().contains(this.shardNode))
+        throw new IllegalArgumentException("This server's node is not in the shard list " + shards.nodes());
+      this.shardRing = shards.createRing();
+    } else {
+      this.shardNode = null;
+      this.shardRing = null;
+    }
+    this.sessions = new SessionRegistry();
+    this.gameWorkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    this.lobbyExecutor = new SerialExecutor(this.gameWorkers);
+    this.metrics = new ServerMetrics(new MetricsRegistry());
+    this.timerService = new TimerService(this.metrics::timerLagged);
+    this.codec = new MessageCodec();
+    this.binaryCodec = new BinaryCodec();
+    this.outboxes = ConcurrentHashMap.newKeySet();
+    if (config.flushIntervalMs() > 0) {
+      this.outboxFlusher = Executors.newSingleThreadScheduledExecutor();
+      this.outboxFlusher.scheduleAtFixedRate(this::flushOutboxes, config.flushIntervalMs(), config.flushIntervalMs(), TimeUnit.MILLISECONDS);
+    } else {
+      this.outboxFlusher = null;
+    }
+    this.registerGauges();
+  }
+
+  /**
+   * Registers the gauges that are read from the server's state whenever the metrics are served:
+   * the numbers of connections, users, and games, and for each game its players, orbs, and the
+   * length of its queue of waiting work (along with the lobby's queue and the scheduled timers).
+   */
+  private void registerGauges() {
+    MetricsRegistry registry = this.metrics.getRegistry();
+    registry.gauge("slither_connections", "Open websocket connections", () -> this.getConnections().size());
+    registry.gauge("slither_users", "Users currently playing", () -> this.sessions.getUserCount());
+    registry.gauge("slither_games", "Active games", () -> this.sessions.getGames().size());
+    registry.gauge("slither_game_players", "Players with a live snake in each game", "game",
+        () -> this.readGames(GameState::getPlayerCount));
+    registry.gauge("slither_game_orbs", "Orbs in each game", "game",
+        () -> this.readGames(GameState::getOrbCount));
+    registry.gauge("slither_game_queued_tasks", "Work waiting on each game's executor", "game",
+        () -> this.readGames(gameState -> gameState.getExecutor().getQueuedTaskCount()));
+    registry.gauge("slither_lobby_queued_tasks", "Messages from clients not in a game waiting to be handled",
+        () -> this.lobbyExecutor.getQueuedTaskCount());
+    registry.gauge("slither_scheduled_timers", "Timers scheduled across every game",
+        () -> this.timerService.getScheduledTimerCount());
+  }
+
+  /**
+   * Reads a value from every active game, for a per-game gauge. The values are read outside of the
+   * games' executors, so they may be slightly out of date.
+   *
+   * @param value - a Function: reads the value from a GameState.
+   * @return a Map from each active game's code to its value.
+   */
+  private Map<String, Integer> readGames(Function<GameState, Integer> value) {
+    Map<String, Integer> values = new HashMap<>();
+    for (Map.Entry<String, GameState> game : this.sessions.getGames().entrySet()) {
+      values.put(game.getKey(), value.apply(game.getValue()));
+    }
+    return values;
+  }
+
+  /**
+   * Provides the counters and histograms that the server and its games update as they run.
+   *
+   * @return a ServerMetrics: the server's metrics.
+   */
+  public ServerMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Sends a json String message to a client: straight away if messages are not batched, and
+   * otherwise through the client's outbox (with the next flush). Messages to a client whose
+   * connection has already closed are dropped (its onClose cleans up after it).
+   *
+   * @param webSocket - a WebSocket: the connection of the client to send the message to.
+   * @param messageJson - a String: the json message to be sent.
+   */
+  public void send(WebSocket webSocket, String messageJson) {
+    Outbox outbox = this.getOutbox(webSocket);
+    try {
+      if (outbox == null)
+        webSocket.send(messageJson);
+      else
+        outbox.add(messageJson);
+    } catch (WebsocketNotConnectedException e) {
+      // the client has disconnected -- it no longer needs any messages
+    }
+  }
+
+  /**
+   * Sends a binary message to a client: straight away if messages are not batched, and otherwise
+   * through the client's outbox (with the next flush). Messages to a client whose connection has
+   * already closed are dropped (its onClose cleans up after it).
+   *
+   * @param webSocket - a WebSocket: the connection of the client to send the message to.
+   * @param binary - a ByteBuffer: the encoded message to be sent.
+   */
+  public void send(WebSocket webSocket, ByteBuffer binary) {
+    Outbox outbox = this.getOutbox(webSocket);
+    try {
+      if (outbox == null)
+        webSocket.send(binary);
+      else
+        outbox.add(binary);
+    } catch (WebsocketNotConnectedException e) {
+      // the client has disconnected -- it no longer needs any messages
+    }
+  }
+
+  /**
+   * Sends a message prepared for a broadcast to a client: in its prepared frame if messages are not
+   * batched, and otherwise through the client's outbox (with the next flush). Messages to a client
+   * whose connection has already closed are dropped (its onClose cleans up after it).
+   *
+   * @param webSocket - a WebSocket: the connection of the client to send the message to.
+   * @param frame - a PreparedFrame: the encoded message to be sent.
+   */
+  private void send(WebSocket webSocket, PreparedFrame frame) {
+    try {
+      frame.sendTo(webSocket, this.getOutbox(webSocket));
+    } catch (WebsocketNotConnectedException e) {
+      // the client has disconnected -- it no longer needs any messages
+    }
+  }
+
+  /**
+   * Provides the outbox of a client's connection, from the session attached to it.
+   *
+   * @param webSocket - a WebSocket: the connection of the client.
+   * @return an Outbox - the connection's outbox (null if messages are not batched, or the
+   * connection has no session).
+   */
+  private Outbox getOutbox(WebSocket webSocket) {
+    Session session = Session.forSocket(webSocket);
+    return session == null ? null : session.getOutbox();
+  }
+
+  /**
+   * Indicates whether a client asked for the binary protocol, from the session attached to its
+   * connection.
+   *
+   * @param webSocket - a WebSocket: the connection of the client.
+   * @return a boolean - true if the client is sent the binary versions of messages, false otherwise.
+   */
+  private boolean isBinary(WebSocket webSocket) {
+    Session session = Session.forSocket(webSocket);
+    return session != null && session.isBinary();
+  }
+
+  /**
+   * Provides the user playing over a connection, from the session attached to it.
+   *
+   * @param webSocket - a WebSocket: the connection.
+   * @return a User - the connection's user (null if there is none).
+   */
+  private User getUser(WebSocket webSocket) {
+    Session session = Session.forSocket(webSocket);
+    return session == null ? null : session.getUser();
+  }
+
+  /**
+   * Flushes the outbox of every connection, so that each client is sent all of the messages
+   * batched for it since the last flush in as few frames as possible.
+   */
+  private void flushOutboxes() {
+    for (Outbox outbox : this.outboxes) {
+      try {
+        outbox.flush();
+      } catch (RuntimeException e) {
+        // e.g. the connection closed during the flush -- the other outboxes must still be flushed
+        LOGGER.error("Could not flush an outbox", e);
+      }
+    }
+  }
+
+  /**
+   * Provides the shared pool of threads on which the executors of all the games run.
+   *
+   * @return an Executor: the server's shared pool of game worker threads.
+   */
+  public Executor getGameWorkers() {
+    return this.gameWorkers;
+  }
+
+  /**
+   * Provides the timer service with which every game schedules its timers.
+   *
+   * @return a TimerService: the server's shared timer service.
+   */
+  public TimerService getTimerService() {
+    return this.timerService;
   }
 
   /**
@@ -71,22 +302,90 @@ public class SlitherServer extends WebSocketServer {
    *
    * @return a set of strings, containing all of the currently valid game codes.
    */
-  public Set<String> getExistingGameCodes() { return this.gameCodeToLeaderboard.keySet(); }
+  public Set<String> getExistingGameCodes() { return this.sessions.getGameCodes(); }
 
   /**
-   * Sends a json String message (messageJson) to all of the clients (via their websockets) within
-   * the provided gameState (i.e. all of the clients playing together in some game).
+   * Indicates whether this server can run the game with the given code: always, unless games are
+   * split across several servers, in which case only the codes that hash to this server's node.
+   *
+   * @param gameCode - a String: the game code.
+   * @return a boolean - true if the game belongs on this server, false otherwise.
+   */
+  public boolean ownsGameCode(String gameCode) {
+    return this.shardRing == null || this.shardRing.getNode(gameCode).equals(this.shardNode);
+  }
+
+  /**
+   * Sends a Message to all of the clients within the provided gameState, in the protocol (binary
+   * or JSON) that each client asked for.
    *
    * @param gameState - a GameState object: the GameState whose associated clients need to be sent
    *                  the message.
-   * @param messageJson a String: the json message to be sent to all of the clients (via their
-   *                    respective websocket connections) associated with the provided GameState.
+   * @param message - a Message: the message to be sent to all of the clients in the game.
+   */
+  public void sendToAllGameStateConnections(GameState gameState, Message message) {
+    Set<WebSocket> gameSockets = this.sessions.getGameSockets(gameState);
+    if (gameSockets == null) // the game has already ended
+      return;
+    this.sendToSockets(gameSockets, message, null);
+  }
+
+  /**
+   * Sends a Message to a single client, in the protocol (binary or JSON) that it asked for
+   *
+   * @param webSocket - a WebSocket: the connection of the client to send the message to.
+   * @param message - a Message: the message to be sent.
    */
-  public void sendToAllGameStateConnections(GameState gameState, String messageJson) {
-    Set<WebSocket> gameSockets = this.gameStateToSockets.get(gameState);
-    for (WebSocket webSocket : gameSockets) {
-      webSocket.send(messageJson);
+  public void sendToSocket(WebSocket webSocket, Message message) {
+    if (this.binaryCodec.supports(message.type()) && this.isBinary(webSocket))
+      this.send(webSocket, this.encodeBinary(message));
+    else
+      this.send(webSocket, this.serialize(message));
+    this.metrics.messageSent(message.type(), 1);
+  }
+
+  /**
+   * Sends a Message to a set of clients, in the protocol (binary or JSON) that each client asked
+   * for. The message is encoded at most once per protocol, however many clients it is sent to, and
+   * the same prepared websocket frame is written to each client (see PreparedFrame).
+   *
+   * @param sockets - a Set of WebSockets: the connections of the clients to send the message to.
+   * @param message - a Message: the message to be sent.
+   * @param excludedSocket - a WebSocket: a connection in sockets that should not be sent the
+   *                       message (e.g. the client that the message is about), or null.
+   */
+  public void sendToSockets(Set<WebSocket> sockets, Message message, WebSocket excludedSocket) {
+    boolean hasBinaryEncoding = this.binaryCodec.supports(message.type());
+    PreparedFrame json = null;
+    PreparedFrame binary = null;
+    int recipients = 0;
+    for (WebSocket webSocket : sockets) {
+      if (webSocket.equals(excludedSocket))
+        continue;
+      recipients++;
+      if (hasBinaryEncoding && this.isBinary(webSocket)) {
+        if (binary == null)
+          binary = PreparedFrame.ofBinary(this.encodeBinary(message));
+        this.send(webSocket, binary);
+      } else {
+        if (json == null)
+          json = PreparedFrame.ofJson(this.serialize(message));
+        this.send(webSocket, json);
+      }
     }
+    this.metrics.messageSent(message.type(), recipients);
+    this.metrics.broadcastSent(recipients);
+  }
+
+  /**
+   * Provides the set of WebSockets for all the clients playing in the game with the given GameState.
+   *
+   * @param gameState - a GameState object: the GameState whose clients' WebSockets are needed.
+   * @return a Set of WebSockets for the clients in that game (null if the game has ended), which
+   * may be iterated over while clients join and leave the game.
+   */
+  public Set<WebSocket> getGameStateSockets(GameState gameState) {
+    return this.sessions.getGameSockets(gameState);
   }
 
   /**
@@ -94,15 +393,12 @@ public class SlitherServer extends WebSocketServer {
    *
    * @param gameCode - a String: The game code that the user needs to be mapped to.
    * @param user - a User: The user that needs to be mapped to the provided game code.
-   * @return a boolean: false if the user was already present in the userToGameCode map (in which
+   * @return a boolean: false if the user was already mapped to a game code (in which
    * case this method was called erraneously since the user already exists); else, the desired
-   * mapping is added into userToGameCode and true is returned.
+   * mapping is added and true is returned.
    */
   public boolean addGameCodeToUser(String gameCode, User user) {
-    if (this.userToGameCode.containsKey(user))
-      return false;
-    this.userToGameCode.put(user, gameCode);
-    return true;
+    return this.sessions.setGameCode(user, gameCode);
   }
 
   /**
@@ -110,15 +406,17 @@ public class SlitherServer extends WebSocketServer {
    *
    * @param webSocket - a WebSocket: The WebSocket that needs to be mapped to the provided user.
    * @param user - a User: The User that the provided WebSocket needs to be mapped to.
-   * @return a boolean: false if the websocket was already present in the socketToUser map (in which
+   * @return a boolean: false if the websocket was already mapped to a user (in which
    * case this method was called erraneously since the websocket already exists, and must already
-   * be associated with some user); else, the desired mapping is added into socketToUser and true
+   * be associated with some user); else, the desired mapping is added and true
    * is returned.
    */
   public boolean addWebsocketUser(WebSocket webSocket, User user) {
-    if (this.socketToUser.containsKey(webSocket))
+    if (!this.sessions.addUser(webSocket, user))
       return false;
-    this.socketToUser.put(webSocket, user);
+    Session session = Session.forSocket(webSocket);
+    if (session != null)
+      session.setUser(user);
     return true;
   }
 
@@ -139,13 +437,14 @@ public class SlitherServer extends WebSocketServer {
    * the provided game code can be found (the game code provided is incorrect).
    */
   public boolean addSocketToGameState(String gameCode, WebSocket webSocket) throws MissingGameStateException {
-    GameState gameState = this.gameCodeToGameState.get(gameCode);
-    if (gameState == null || this.gameStateToSockets.get(gameState) == null)
+    GameState gameState = this.sessions.getGameState(gameCode);
+    if (gameState == null)
       throw new MissingGameStateException(MessageType.JOIN_ERROR);
-    if (this.gameStateToSockets.get(gameState).contains(webSocket))
-      return false;
-    this.gameStateToSockets.get(gameState).add(webSocket);
-    return true;
+    try {
+      return this.sessions.addGameSocket(gameState, webSocket);
+    } catch (IllegalStateException e) { // the game's last client left it in the meantime
+      throw new MissingGameStateException(MessageType.JOIN_ERROR);
+    }
   }
 
   /**
@@ -161,12 +460,14 @@ public class SlitherServer extends WebSocketServer {
    */
   @Override
   public void onOpen(WebSocket webSocket, ClientHandshake clientHandshake) {
-    System.out.println("server: onOpen called");
-    this.allConnections.add(webSocket);
-    this.inactiveConnections.add(webSocket);
-    System.out.println("server: New client joined - Connection from " + webSocket.getRemoteSocketAddress().getAddress().getHostAddress());
-    String jsonResponse = this.serialize(this.generateMessage("New socket opened", MessageType.SUCCESS));
-    webSocket.send(jsonResponse);
+    Outbox outbox = null;
+    if (this.outboxFlusher != null) {
+      outbox = new Outbox(webSocket, this.config.maxBatchBytes());
+      this.outboxes.add(outbox);
+    }
+    webSocket.setAttachment(new Session(outbox));
+    LOGGER.info("New client joined - Connection from " + webSocket.getRemoteSocketAddress().getAddress().getHostAddress());
+    this.sendToSocket(webSocket, this.generateMessage("New socket opened", MessageType.SUCCESS));
   }
 
   /**
@@ -184,23 +485,28 @@ public class SlitherServer extends WebSocketServer {
    */
   @Override
   public void onClose(WebSocket webSocket, int code, String reason, boolean remote) {
-    System.out.println("server: onClose called");
-    User user = this.socketToUser.get(webSocket);
-    if (user == null)
-      return;
-    String gameCode = this.userToGameCode.get(user);
-    if (gameCode == null)
+    LOGGER.debug(() -> "Connection closed (code " + code + ")");
+    Session session = Session.forSocket(webSocket);
+    if (session == null)
       return;
-    GameState gameState = this.gameCodeToGameState.get(gameCode);
-    if (gameState == null)
+    if (session.getOutbox() != null)
+      this.outboxes.remove(session.getOutbox());
+    User user = session.getUser();
+    GameState gameState = session.getGameState();
+    if (user == null || gameState == null)
       return;
-    gameState.updateOtherUsersWithRemovedPositions(user, webSocket, this.gameStateToSockets.get(gameState), this);
-    this.handleUserDied(user, webSocket, gameState);
+    gameState.execute(() -> {
+      if (session.getUser() != user) // the user's snake died before the connection closed
+        return;
+      gameState.updateOtherUsersWithRemovedPositions(user, webSocket, this.sessions.getGameSockets(gameState), this);
+      this.handleUserDied(user, webSocket, gameState);
+    });
   }
 
   /**
    * Defines the code to be run when a message is received by an existing websocket on the
-   * server-side. The json messae is deserialized, and then processed in a new thread.
+   * server-side. The json messae is deserialized, and then processed on the executor of the game
+   * that the client is playing in (or on the lobby executor if the client is not in a game yet).
    *
    * @param webSocket - a WebSocket: The WebSocket connection object corresponding to the socket
    *                  that has received the message.
@@ -208,24 +514,71 @@ public class SlitherServer extends WebSocketServer {
    */
   @Override
   public void onMessage(WebSocket webSocket, String jsonMessage) {
-    System.out.println("server: Message received from client: " + jsonMessage);
-    Moshi moshi = new Moshi.Builder().build();
-    JsonAdapter<Message> jsonAdapter = moshi.adapter(Message.class);
-    String jsonResponse;
+    LOGGER.debug(RECEIVED_MESSAGE_SAMPLER, () -> "Message received from client: " + jsonMessage);
     try {
-      Message deserializedMessage = jsonAdapter.fromJson(jsonMessage);
-      Thread t = new Thread(() -> handleOnMessage(webSocket, deserializedMessage));
-      t.start();
+      Message deserializedMessage = this.codec.deserialize(jsonMessage);
+      this.metrics.messageReceived(deserializedMessage.type());
+      this.getExecutor(webSocket).execute(() -> handleOnMessage(webSocket, deserializedMessage));
     } catch (IOException e) {
       MessageType messageType =
-          this.socketToUser.containsKey(webSocket) ? MessageType.ERROR : MessageType.JOIN_ERROR;
-      jsonResponse = this.serialize(
+          this.getUser(webSocket) != null ? MessageType.ERROR : MessageType.JOIN_ERROR;
+      this.sendToSocket(webSocket,
           this.generateMessage("The server could not deserialize the client's message",
               messageType));
-      webSocket.send(jsonResponse);
     }
   }
 
+  /**
+   * Defines the code to be run when a binary message is received by an existing websocket (from a
+   * client using the binary protocol). The messages in the frame are decoded, and then processed
+   * exactly like JSON messages.
+   *
+   * @param webSocket - a WebSocket: The WebSocket connection object corresponding to the socket
+   *                  that has received the message.
+   * @param bytes - a ByteBuffer: The binary frame received by the provided WebSocket.
+   */
+  @Override
+  public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
+    try {
+      Executor executor = this.getExecutor(webSocket);
+      for (Message decodedMessage : this.binaryCodec.decode(bytes)) {
+        this.metrics.messageReceived(decodedMessage.type());
+        executor.execute(() -> handleOnMessage(webSocket, decodedMessage));
+      }
+    } catch (IOException e) {
+      MessageType messageType =
+          this.getUser(webSocket) != null ? MessageType.ERROR : MessageType.JOIN_ERROR;
+      this.sendToSocket(webSocket,
+          this.generateMessage("The server could not decode the client's binary message", messageType));
+    }
+  }
+
+  /**
+   * Records which protocol a joining client asked for: if the join message has "binary": true, the
+   * client is sent (and may send) the binary versions of the most frequent messages.
+   *
+   * @param webSocket - a WebSocket: The WebSocket connection of the joining client.
+   * @param joinMessage - a Message: The NEW_CLIENT_WITH_CODE or NEW_CLIENT_NO_CODE message.
+   */
+  private void registerProtocol(WebSocket webSocket, Message joinMessage) {
+    Session session = Session.forSocket(webSocket);
+    if (session != null && Boolean.TRUE.equals(joinMessage.data().get("binary")))
+      session.useBinary();
+  }
+
+  /**
+   * Finds the executor on which messages received by a WebSocket should be processed: the executor
+   * of the game that the client is playing in, or the lobby executor if the client is not in a game.
+   *
+   * @param webSocket - a WebSocket: The WebSocket connection on which a message was received.
+   * @return an Executor: the executor on which to process the message.
+   */
+  private Executor getExecutor(WebSocket webSocket) {
+    Session session = Session.forSocket(webSocket);
+    GameState gameState = session == null ? null : session.getGameState();
+    return gameState == null ? this.lobbyExecutor : gameState.getExecutor();
+  }
+
   /**
    * Defines the code to be run when an error occurs while receiving or processing a WebSocket
    * message.
@@ -238,8 +591,9 @@ public class SlitherServer extends WebSocketServer {
   @Override
   public void onError(WebSocket connection, Exception e) {
     if (connection != null) {
-      this.allConnections.remove(connection);
-      System.out.println("server: An error occurred from: " + connection.getRemoteSocketAddress().getAddress().getHostAddress());
+      LOGGER.error("An error occurred from: " + connection.getRemoteSocketAddress().getAddress().getHostAddress(), e);
+    } else {
+      LOGGER.error("A server error occurred", e);
     }
   }
 
@@ -249,7 +603,34 @@ public class SlitherServer extends WebSocketServer {
    */
   @Override
   public void onStart() {
-    System.out.println("server: Server started!");
+    LOGGER.info("Server started on port " + this.getPort() + "!");
+    if (this.shardNode != null)
+      LOGGER.info("Running the games owned by shard " + this.shardNode);
+    if (this.config.metricsPort() > 0) {
+      this.metricsEndpoint = new MetricsEndpoint(this.metrics.getRegistry(), this.config.metricsPort());
+      LOGGER.info("Serving metrics on port " + this.config.metricsPort() + " at /metrics");
+    }
+  }
+
+  /**
+   * Stops the server (closing every connection), stops serving its metrics, and then stops the
+   * threads that it started: the shared timer thread, the outbox flusher, and the game workers
+   * (which finish the work that is already queued, but accept no more).
+   *
+   * @param timeout - an int: the number of milliseconds to wait for the connections to close.
+   * @param closeMessage - a String: the message sent to the clients with their connections' close
+   *                     frames.
+   * @throws InterruptedException if interrupted while waiting for the server to stop.
+   */
+  @Override
+  public void stop(int timeout, String closeMessage) throws InterruptedException {
+    if (this.metricsEndpoint != null)
+      this.metricsEndpoint.stop();
+    super.stop(timeout, closeMessage);
+    this.timerService.shutdown();
+    if (this.outboxFlusher != null)
+      this.outboxFlusher.shutdownNow();
+    this.gameWorkers.shutdown();
   }
 
   /**
@@ -259,9 +640,23 @@ public class SlitherServer extends WebSocketServer {
    * @return a String - the serialized Message object.
    */
   public String serialize(Message message) {
-    Moshi moshi = new Moshi.Builder().build();
-    JsonAdapter<Message> jsonAdapter = moshi.adapter(Message.class);
-    return jsonAdapter.toJson(message);
+    long start = System.nanoTime();
+    String json = this.codec.serialize(message);
+    this.metrics.messageSerialized("json", System.nanoTime() - start);
+    return json;
+  }
+
+  /**
+   * Encodes a provided Message object (of a type that has a binary encoding) into its binary form.
+   *
+   * @param message - a Message: the Message object that needs to be encoded.
+   * @return a ByteBuffer - the encoded Message object.
+   */
+  private ByteBuffer encodeBinary(Message message) {
+    long start = System.nanoTime();
+    ByteBuffer binary = this.binaryCodec.encode(message);
+    this.metrics.messageSerialized("binary", System.nanoTime() - start);
+    return binary;
   }
 
   /**
@@ -279,6 +674,20 @@ public class SlitherServer extends WebSocketServer {
     return new Message(messageType, data);
   }
 
+  /**
+   * Records, in the session attached to a client's connection, the game that the client's user
+   * has joined (so that the client's later messages are handled without looking the game up).
+   *
+   * @param webSocket - a WebSocket: the connection of the client.
+   * @param gameState - a GameState: the GameState of the game that the user joined.
+   * @param leaderboard - a Leaderboard: the Leaderboard of that game.
+   */
+  private void joinGame(WebSocket webSocket, GameState gameState, Leaderboard leaderboard) {
+    Session session = Session.forSocket(webSocket);
+    if (session != null)
+      session.joinGame(gameState, leaderboard);
+  }
+
   /**
    * Defines the code to be run when a user's snake has died so that the all associations with the
    * user and their WebSocket are removed from the leaderboard, the gameState and also all game
@@ -294,31 +703,25 @@ public class SlitherServer extends WebSocketServer {
    *                  was playing.
    */
   public void handleUserDied(User user, WebSocket webSocket, GameState gameState) {
-    System.out.println("handleUserDied");
-    this.allConnections.remove(webSocket);
-    this.inactiveConnections.remove(webSocket);
     if (user == null)
       return;
-    this.socketToUser.remove(webSocket);
-    String gameCode = this.userToGameCode.get(user);
+    Session session = Session.forSocket(webSocket);
+    Leaderboard leaderboard = session == null ? null : session.getLeaderboard();
+    if (session != null)
+      session.leaveGame();
+    this.sessions.removeUser(webSocket);
+    String gameCode = this.sessions.removeGameCode(user);
     if (gameCode == null)
       return;
-    this.userToGameCode.remove(user);
-    Leaderboard leaderboard = this.gameCodeToLeaderboard.get(gameCode);
-    leaderboard.removeUser(user);
-
-    System.out.println(this.gameStateToSockets.get(gameState).size());
-
-    if (this.gameStateToSockets.get(gameState).size() == 1) {
-      this.gameStateToSockets.get(gameState).remove(webSocket);
-      this.gameStateToSockets.remove(gameState);
-      gameState = null; // so that it gets garbage collected eventually
-      leaderboard = null; // if there is nobody in that game, then we delete that leaderboard
-      this.gameCodeToGameState.remove(gameCode);
-      this.gameCodeToLeaderboard.remove(gameCode);
-    } else {
-      this.gameStateToSockets.get(gameState).remove(webSocket);
-    }
+    if (leaderboard == null)
+      leaderboard = this.sessions.getLeaderboard(gameCode);
+    if (leaderboard != null)
+      leaderboard.removeUser(user);
+
+    // removing the last websocket of the game also removes the game (and its leaderboard), atomically
+    // with any client joining it at the same time
+    if (this.sessions.removeGameSocket(gameCode, gameState, webSocket))
+      gameState.shutdown(); // stop the game's (and its leaderboard's) timers
   }
 
   /**
@@ -332,18 +735,20 @@ public class SlitherServer extends WebSocketServer {
    * @param orbValue - an Integer: The value by which the provided User's score has to be updated.
    */
   public void handleUpdateScore(User user, GameState gamestate, Integer orbValue) {
-    Leaderboard leaderboard = this.gameCodeToLeaderboard.get(gamestate.getGameCode());
+    Leaderboard leaderboard = this.sessions.getLeaderboard(gamestate.getGameCode());
     Integer currUserScore = leaderboard.getCurrentScore(user);
     leaderboard.updateScore(user, currUserScore + orbValue);
   }
 
   /**
-   * This function is called from within the overriden onMessage function and is executed in a new
-   * thread. It takes the WebSocket from which the message was received, along with the deserialized
-   * message, and processes it.
+   * This function is called from within the overriden onMessage function and is executed on the
+   * executor of the client's game (or the lobby executor). It takes the WebSocket from which the
+   * message was received, along with the deserialized message, and processes it.
+   * Changes to a GameState (and its Leaderboard) are always made on that GameState's executor.
    * Received messages are processed differently based on their type. There are specific processing
    * instructions defined for the following MessageTypes: NEW_CLIENT_WITH_CODE, NEW_CLIENT_NO_CODE,
-   * UPDATE_POSITION.
+   * UPDATE_POSITION, MOVE_INPUT. Errors are replied to through send, since the client may have disconnected
+   * while its message was waiting on the executor.
    *
    * @param webSocket - a WebSocket: The WebSocket connection on which the JSON message (which has
    *                  since been deserialized) was received.
@@ -351,132 +756,149 @@ public class SlitherServer extends WebSocketServer {
    *                            some client.
    */
   public void handleOnMessage(WebSocket webSocket, Message deserializedMessage) {
-    String jsonResponse;
+    long start = System.nanoTime();
+    try {
+      this.processMessage(webSocket, deserializedMessage);
+    } finally {
+      this.metrics.messageHandled(deserializedMessage.type(), System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Processes a received message (see handleOnMessage), replying to the client if the message
+   * could not be processed.
+   *
+   * @param webSocket - a WebSocket: The WebSocket connection on which the message was received.
+   * @param deserializedMessage - a Message: The deserialized Message that was received from some
+   *                            client.
+   */
+  private void processMessage(WebSocket webSocket, Message deserializedMessage) {
     try {
       switch (deserializedMessage.type()) {
         case NEW_CLIENT_WITH_CODE -> { // create a new user and add them to the provided game code if it is valid.
-          this.inactiveConnections.remove(webSocket);
           User newUser = new NewClientHandler().handleNewClientWithCode(deserializedMessage, webSocket, this);
+          this.registerProtocol(webSocket, deserializedMessage);
           // throw errors if the desired game code, Leaderboard, or GameState do not already exist
-          String existingGameCode = this.userToGameCode.get(newUser);
+          String existingGameCode = this.sessions.getGameCode(newUser);
           if (existingGameCode == null) {
             throw new UserNoGameCodeException(MessageType.JOIN_ERROR);
           }
-          if (this.gameCodeToLeaderboard.get(existingGameCode) == null) {
+          Leaderboard leaderboard = this.sessions.getLeaderboard(existingGameCode);
+          if (leaderboard == null) {
             throw new GameCodeNoLeaderboardException(MessageType.JOIN_ERROR);
           }
-          this.gameCodeToLeaderboard.get(existingGameCode).addNewUser(newUser);
-          if (!this.gameCodeToGameState.containsKey(this.userToGameCode.get(newUser)))
+          GameState gameState = this.sessions.getGameState(existingGameCode);
+          if (gameState == null)
             throw new GameCodeNoGameStateException(MessageType.JOIN_ERROR);
 
           this.addSocketToGameState(existingGameCode, webSocket);
-          this.gameCodeToGameState.get(existingGameCode).addUser(newUser);
-          GameState gameState = this.gameCodeToGameState.get(this.userToGameCode.get(newUser));
-          gameState.createNewSnake(newUser, webSocket, this.gameStateToSockets.get(gameState), this);
-
-          GameCode.sendGameCode(existingGameCode, this.gameCodeToGameState.get(existingGameCode), this);
-
-          Message message = this.generateMessage("New client added to existing game code", MessageType.JOIN_SUCCESS);
-          message.data().put("gameCode", this.userToGameCode.get(newUser));
-          jsonResponse = this.serialize(message);
-          webSocket.send(jsonResponse);
+          this.joinGame(webSocket, gameState, leaderboard);
+          gameState.execute(() -> { // the rest changes the game, so it runs on the game's own executor
+            leaderboard.addNewUser(newUser);
+            gameState.addUser(newUser);
+            gameState.createNewSnake(newUser, webSocket, this.sessions.getGameSockets(gameState), this);
+
+            GameCode.sendGameCode(existingGameCode, gameState, this);
+
+            Message message = this.generateMessage("New client added to existing game code", MessageType.JOIN_SUCCESS);
+            message.data().put("gameCode", existingGameCode);
+            message.data().put("snakeId", gameState.getSnakeId(newUser));
+            this.sendToSocket(webSocket, message);
+            gameState.sendOrbData(newUser); // later orb changes are applied on top of these orbs
+          });
           break;
         }
         case NEW_CLIENT_NO_CODE -> { // create a new user and also make a new game code, GameState, and Leaderboard for their new game.
-          this.inactiveConnections.remove(webSocket);
           User newUser = new NewClientHandler().handleNewClientNoCode(deserializedMessage, webSocket, this);
-          String gameCode = new GameCodeGenerator().generateGameCode(this.getExistingGameCodes());
-          this.gameCodeToGameState.put(gameCode, new GameState(this, gameCode));
-          this.gameCodeToGameState.get(gameCode).addUser(newUser);
-          this.gameStateToSockets.put(this.gameCodeToGameState.get(gameCode), new HashSet<>());
-          Leaderboard leaderboard = new Leaderboard(this.gameCodeToGameState.get(gameCode), this);
-          leaderboard.addNewUser(newUser);
-          this.userToGameCode.put(newUser, gameCode);
-          this.gameCodeToLeaderboard.put(gameCode, leaderboard);
+          this.registerProtocol(webSocket, deserializedMessage);
+          String gameCode = new GameCodeGenerator().generateGameCode(this.getExistingGameCodes(), this::ownsGameCode);
+          GameState gameState = new GameState(this, gameCode, this.config.tickRate(), this.config.snapshotRate());
+          Leaderboard leaderboard = new Leaderboard(gameState, this);
+          this.sessions.addGame(gameCode, gameState, leaderboard);
+          this.sessions.setGameCode(newUser, gameCode);
 
           boolean result = this.addSocketToGameState(gameCode, webSocket);
 
           if (!result)
             throw new SocketAlreadyExistsException(MessageType.JOIN_ERROR);
+          this.joinGame(webSocket, gameState, leaderboard);
+
+          gameState.execute(() -> { // the rest changes the game, so it runs on the game's own executor
+            gameState.addUser(newUser);
+            leaderboard.addNewUser(newUser);
 
-          GameCode.sendGameCode(gameCode, this.gameCodeToGameState.get(gameCode), this);
+            GameCode.sendGameCode(gameCode, gameState, this);
 
-          GameState gameState = this.gameCodeToGameState.get(gameCode);
-          gameState.createNewSnake(newUser, webSocket, this.gameStateToSockets.get(gameState), this);
+            gameState.createNewSnake(newUser, webSocket, this.sessions.getGameSockets(gameState), this);
 
-          Message message = this.generateMessage("New client added to new game", MessageType.JOIN_SUCCESS);
-          message.data().put("gameCode", gameCode);
-          jsonResponse = this.serialize(message);
-          webSocket.send(jsonResponse);
+            Message message = this.generateMessage("New client added to new game", MessageType.JOIN_SUCCESS);
+            message.data().put("gameCode", gameCode);
+            message.data().put("snakeId", gameState.getSnakeId(newUser));
+            this.sendToSocket(webSocket, message);
+            gameState.sendOrbData(newUser); // later orb changes are applied on top of these orbs
+          });
           break;
         }
         case UPDATE_POSITION -> { // update the position of the snake of the user associated with the websocket
           // on which this message was received
-          User user = this.socketToUser.get(webSocket);
-          String gameCode = this.userToGameCode.get(user);
-          if (gameCode == null)
+          Session session = Session.forSocket(webSocket); // the user and their game, in a single read
+          User user = session == null ? null : session.getUser();
+          GameState gameState = session == null ? null : session.getGameState();
+          if (gameState == null)
             throw new UserNoGameCodeException(MessageType.ERROR);
-          GameState gameState = this.gameCodeToGameState.get(gameCode);
+
+          // already running on the game's executor (see onMessage)
+          new UpdatePositionHandler().handlePositionUpdate(user, deserializedMessage, gameState, webSocket, this.sessions.getGameSockets(gameState), this);
+          break;
+        }
+        case MOVE_INPUT -> { // set the direction that the snake of the user associated with the websocket
+          // on which this message was received should head in
+          Session session = Session.forSocket(webSocket); // the user and their game, in a single read
+          User user = session == null ? null : session.getUser();
+          GameState gameState = session == null ? null : session.getGameState();
           if (gameState == null)
-            throw new GameCodeNoGameStateException(MessageType.ERROR);
-
-          Thread t = new Thread(() -> {
-            try {
-              new UpdatePositionHandler().handlePositionUpdate(user, deserializedMessage, gameState, webSocket, this.gameStateToSockets.get(gameState), this);
-            } catch (MissingFieldException e) {
-              String res = this.serialize(this.generateMessage("The message sent by the client was missing a required field", e.messageType));
-              webSocket.send(res);
-            } catch (InvalidRemoveCoordinateException e) {
-              String res = this.serialize(this.generateMessage("Incorrect toRemove coordinate provided", e.messageType));
-              webSocket.send(res);
-            }
-          });
-          t.start();
+            throw new UserNoGameCodeException(MessageType.ERROR);
+
+          // already running on the game's executor (see onMessage)
+          new MoveInputHandler().handleMoveInput(user, deserializedMessage, gameState);
           break;
         }
         default -> {
-          MessageType messageType = this.socketToUser.containsKey(webSocket) ? MessageType.ERROR : MessageType.JOIN_ERROR;
-          jsonResponse = this.serialize(this.generateMessage("The message sent by the client had an unexpected type", messageType));
-          webSocket.send(jsonResponse);
+          MessageType messageType = this.getUser(webSocket) != null ? MessageType.ERROR : MessageType.JOIN_ERROR;
+          this.sendToSocket(webSocket, this.generateMessage("The message sent by the client had an unexpected type", messageType));
           break;
         }
       }
     } catch (MissingFieldException e) {
-      jsonResponse = this.serialize(this.generateMessage("The message sent by the client was missing a required field", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("The message sent by the client was missing a required field", e.messageType));
     } catch (ClientAlreadyExistsException e) {
-      jsonResponse = this.serialize(this.generateMessage("Tried to add a client that already exists", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("Tried to add a client that already exists", e.messageType));
     } catch (IncorrectGameCodeException e) {
-      jsonResponse = this.serialize(this.generateMessage("The provided gameCode was incorrect", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("The provided gameCode was incorrect", e.messageType));
     } catch (UserNoGameCodeException e) {
-      jsonResponse = this.serialize(this.generateMessage("User had no corresponding game code", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("User had no corresponding game code", e.messageType));
     } catch (GameCodeNoGameStateException e) {
-      jsonResponse = this.serialize(this.generateMessage("Game code had no corresponding game state", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("Game code had no corresponding game state", e.messageType));
     } catch (GameCodeNoLeaderboardException e) {
-      jsonResponse = this.serialize(this.generateMessage("Game code had no corresponding leaderboard", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("Game code had no corresponding leaderboard", e.messageType));
     } catch (SocketAlreadyExistsException e) {
-      jsonResponse = this.serialize(this.generateMessage("This socket already exists", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("This socket already exists", e.messageType));
     } catch (MissingGameStateException e) {
-      jsonResponse = this.serialize(this.generateMessage("Game state cannot be found", e.messageType));
-      webSocket.send(jsonResponse);
+      this.sendToSocket(webSocket, this.generateMessage("Game state cannot be found", e.messageType));
+    } catch (InvalidRemoveCoordinateException e) {
+      this.sendToSocket(webSocket, this.generateMessage("Incorrect toRemove coordinate provided", e.messageType));
     }
   }
 
   /**
    * Main method for the SlitherServer class. Used to instantiate an object of the SlitherServer
-   * class and get it to listen for WebSocket connections on port 9000.
+   * class and get it to listen for WebSocket connections on port 9000 (unless a different port is
+   * set through the slither.port system property -- see ServerConfig).
    *
    * @param args - a String array: arguments provided to the main method (unused in this case).
    */
   public static void main(String args[]) {
-    final int port = 9000;
-    new SlitherServer(port).start();
+    new SlitherServer(ServerConfig.fromSystemProperties(), ShardConfig.fromSystemProperties()).start();
   }
 
 }
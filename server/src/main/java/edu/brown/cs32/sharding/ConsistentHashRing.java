@@ -0,0 +1,72 @@
+package edu.brown.cs32.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * ConsistentHashRing class to assign keys (game codes) to nodes (server processes). Each node is
+ * placed at many points (virtual nodes) on a ring of 64-bit hashes, and a key belongs to the first
+ * node point at or after the key's own hash. Every process that builds a ring from the same nodes
+ * agrees on the owner of every key, and adding or removing a node only moves the keys next to that
+ * node's points.
+ *
+ * @param <N> the type of the nodes (whose toString() names them on the ring)
+ */
+public class ConsistentHashRing<N> {
+
+  private final NavigableMap<Long, N> ring; // the node at each point on the ring
+
+  /**
+   * ConsistentHashRing constructor to place every node on the ring
+   * @param nodes : the nodes that keys are assigned to
+   * @param virtualNodes : the number of points on the ring for each node (more points spread the
+   * keys more evenly)
+   * @throws IllegalArgumentException if there are no nodes, or virtualNodes is not positive
+   */
+  public ConsistentHashRing(Collection<N> nodes, int virtualNodes) {
+    if (nodes.isEmpty() || virtualNodes <= 0)
+      throw new IllegalArgumentException("A hash ring needs at least one node and one point per node");
+    this.ring = new TreeMap<>();
+    for (N node : nodes) {
+      for (int i = 0; i < virtualNodes; i++) {
+        this.ring.put(hash(node + "#" + i), node);
+      }
+    }
+  }
+
+  /**
+   * Provides the node that a key belongs to
+   * @param key : the key (e.g. a game code)
+   * @return the node that owns the key
+   */
+  public N getNode(String key) {
+    Map.Entry<Long, N> point = this.ring.ceilingEntry(hash(key));
+    return point != null ? point.getValue() : this.ring.firstEntry().getValue();
+  }
+
+  /**
+   * Hashes a String onto the ring, using the first 8 bytes of its MD5 digest (so that the hash is
+   * the same in every process, and well spread even for similar Strings)
+   * @param key : the String to be hashed
+   * @return the String's point on the ring
+   */
+  static long hash(String key) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform is required to support MD5
+      throw new IllegalStateException(e);
+    }
+    long hash = 0;
+    for (int i = 0; i < 8; i++) {
+      hash = (hash << 8) | (digest[i] & 0xff);
+    }
+    return hash;
+  }
+}
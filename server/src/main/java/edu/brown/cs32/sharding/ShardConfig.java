@@ -0,0 +1,61 @@
+package edu.brown.cs32.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShardConfig record to store how games are split across server processes. In a sharded
+ * deployment every game code is owned by one node (chosen by consistent hashing over the node
+ * list), each node only creates games whose codes it owns, and a ShardRouter in front of the nodes
+ * redirects each client to the node that owns the game it joins.
+ *
+ * @param nodes : every node in the deployment, in the same order for every process (empty if the
+ * server is not sharded)
+ * @param self : the node that this process is (null for the router, or if this server's node
+ * should be found from its port)
+ * @param virtualNodes : the number of points on the hash ring for each node
+ */
+public record ShardConfig(List<ShardNode> nodes, ShardNode self, int virtualNodes) {
+
+  /**
+   * Provides the settings for a server that is not sharded (and so owns every game code)
+   * @return a ShardConfig with no nodes
+   */
+  public static ShardConfig unsharded() {
+    return new ShardConfig(List.of(), null, 100);
+  }
+
+  /**
+   * Reads the shard settings from system properties: slither.shards (the node list, written as
+   * host:port,host:port,...), slither.shardNode (this process's own entry in that list), and
+   * slither.shardVirtualNodes. The server is not sharded if slither.shards is not set.
+   * @return the ShardConfig described by the system properties
+   */
+  public static ShardConfig fromSystemProperties() {
+    ShardConfig defaults = ShardConfig.unsharded();
+    List<ShardNode> nodes = new ArrayList<>();
+    for (String address : System.getProperty("slither.shards", "").split(",")) {
+      if (!address.isBlank())
+        nodes.add(ShardNode.parse(address));
+    }
+    String self = System.getProperty("slither.shardNode");
+    return new ShardConfig(List.copyOf(nodes), self == null ? null : ShardNode.parse(self),
+        Integer.getInteger("slither.shardVirtualNodes", defaults.virtualNodes()));
+  }
+
+  /**
+   * Indicates whether games are split across several server processes
+   * @return true if a node list was given, false otherwise
+   */
+  public boolean isSharded() {
+    return !this.nodes.isEmpty();
+  }
+
+  /**
+   * Builds the hash ring that assigns game codes to the nodes
+   * @return a ConsistentHashRing over the nodes
+   */
+  public ConsistentHashRing<ShardNode> createRing() {
+    return new ConsistentHashRing<>(this.nodes, this.virtualNodes);
+  }
+}
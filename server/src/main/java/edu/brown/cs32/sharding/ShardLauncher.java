@@ -0,0 +1,93 @@
+package edu.brown.cs32.sharding;
+
+import edu.brown.cs32.logging.Logger;
+import edu.brown.cs32.server.SlitherServer;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ShardLauncher class to run a whole sharded deployment on one machine (e.g. for testing): it
+ * starts slither.shardCount server processes (2 by default) on consecutive ports from
+ * slither.shardBasePort (the router's port + 100 by default), each serving its metrics on its own
+ * port + 100, and then runs the router in this process on slither.port (9000 by default). Any other
+ * slither.* properties (e.g. slither.tickRate) are passed on to every server. The servers are
+ * stopped when this process exits.
+ *
+ * Run with e.g.:
+ *   mvn compile exec:java -Dexec.mainClass=edu.brown.cs32.sharding.ShardLauncher -Dslither.shardCount=3
+ */
+public class ShardLauncher {
+
+  private static final Logger LOGGER = Logger.getLogger(ShardLauncher.class);
+  private static final Set<String> LAUNCHER_PROPERTIES = Set.of("slither.port", "slither.metricsPort",
+      "slither.shards", "slither.shardNode", "slither.shardCount", "slither.shardBasePort"); // properties that are set separately for each server
+
+  /**
+   * Main method for the ShardLauncher class: starts the servers and then the router
+   * @param args : unused
+   * @throws IOException if a server process could not be started
+   */
+  public static void main(String[] args) throws IOException {
+    int routerPort = Integer.getInteger("slither.port", 9000);
+    int shardCount = Integer.getInteger("slither.shardCount", 2);
+    int basePort = Integer.getInteger("slither.shardBasePort", routerPort + 100);
+
+    List<ShardNode> nodes = new ArrayList<>();
+    for (int i = 0; i < shardCount; i++) {
+      nodes.add(new ShardNode("localhost", basePort + i));
+    }
+    String shardList = nodes.stream().map(ShardNode::toString).collect(Collectors.joining(","));
+
+    List<Process> servers = new ArrayList<>();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> servers.forEach(Process::destroy)));
+    for (ShardNode node : nodes) {
+      List<String> command = new ArrayList<>();
+      command.add(ProcessHandle.current().info().command().orElse("java"));
+      command.add("-cp");
+      command.add(classPath());
+      command.add("-Dslither.port=" + node.port());
+      command.add("-Dslither.metricsPort=" + (node.port() + 100));
+      command.add("-Dslither.shards=" + shardList);
+      command.add("-Dslither.shardNode=" + node);
+      for (String property : System.getProperties().stringPropertyNames()) {
+        if (property.startsWith("slither.") && !LAUNCHER_PROPERTIES.contains(property))
+          command.add("-D" + property + "=" + System.getProperty(property));
+      }
+      command.add(SlitherServer.class.getName());
+      servers.add(new ProcessBuilder(command).inheritIO().start());
+      LOGGER.info("Started shard " + node);
+    }
+
+    ShardConfig shards = ShardConfig.fromSystemProperties();
+    new ShardRouter(routerPort, new ShardConfig(nodes, null, shards.virtualNodes())).start();
+  }
+
+  /**
+   * Provides the classpath that the server processes are started with: the classpath of this
+   * process (or, when run through exec:java, the project's classpath that Maven loaded this class
+   * with)
+   * @return the classpath, as passed to java -cp
+   */
+  private static String classPath() {
+    if (ShardLauncher.class.getClassLoader() instanceof URLClassLoader loader) {
+      List<String> entries = new ArrayList<>();
+      for (URL url : loader.getURLs()) {
+        try {
+          entries.add(Path.of(url.toURI()).toString());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+          // not a local file -- the servers cannot load classes from it
+        }
+      }
+      return String.join(File.pathSeparator, entries);
+    }
+    return System.getProperty("java.class.path");
+  }
+}
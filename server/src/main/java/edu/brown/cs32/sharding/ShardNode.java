@@ -0,0 +1,46 @@
+package edu.brown.cs32.sharding;
+
+import java.net.URI;
+
+/**
+ * ShardNode record to store the address of one of the server processes in a sharded deployment
+ *
+ * @param host : the host that the server process runs on
+ * @param port : the port on which the server process listens for websocket connections
+ */
+public record ShardNode(String host, int port) {
+
+  /**
+   * Reads a node from its address
+   * @param address : the node's address, written as host:port
+   * @return the node at that address
+   * @throws IllegalArgumentException if the address is not written as host:port
+   */
+  public static ShardNode parse(String address) {
+    int separator = address.lastIndexOf(':');
+    if (separator <= 0)
+      throw new IllegalArgumentException("Shard node address is not host:port: " + address);
+    try {
+      return new ShardNode(address.substring(0, separator).trim(), Integer.parseInt(address.substring(separator + 1).trim()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Shard node address has an invalid port: " + address);
+    }
+  }
+
+  /**
+   * Provides the websocket URI of the node
+   * @return the URI that clients (or the router) connect to
+   */
+  public URI uri() {
+    return URI.create("ws://" + this.host + ":" + this.port);
+  }
+
+  /**
+   * Provides the node's address (which is also its name on the hash ring)
+   * @return the node's address, written as host:port
+   */
+  @Override
+  public String toString() {
+    return this.host + ":" + this.port;
+  }
+}
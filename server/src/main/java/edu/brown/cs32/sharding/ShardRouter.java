@@ -0,0 +1,165 @@
+package edu.brown.cs32.sharding;
+
+import edu.brown.cs32.logging.Logger;
+import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageCodec;
+import edu.brown.cs32.message.MessageType;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+/**
+ * ShardRouter class for the front process of a sharded deployment. Clients connect to the router
+ * exactly as they would to a single server, and the router sends each client on to a node based on
+ * the client's first (join) message: a client joining with a game code is sent to the node that
+ * owns the code (by consistent hashing, as the nodes themselves compute it), and a client starting
+ * a new game is sent to the nodes in turn (the node then creates a game code that it owns).
+ *
+ * The router does not stay between the client and its node: it replies to the first message with
+ * a REDIRECT message holding the node's websocket URL and closes the connection, and the client
+ * then connects to the node directly and sends its join message again. The router therefore only
+ * handles one message per player, and needs no threads or connections of its own for them. The
+ * node addresses given in slither.shards must be ones that the clients can connect to.
+ *
+ * Run with e.g. (against nodes already started with -Dslither.shards set to the same list):
+ *   mvn compile exec:java -Dexec.mainClass=edu.brown.cs32.sharding.ShardRouter
+ *     -Dslither.port=9000 -Dslither.shards=localhost:9100,localhost:9101
+ * or start the router and its nodes together with ShardLauncher.
+ */
+public class ShardRouter extends WebSocketServer {
+
+  private static final Logger LOGGER = Logger.getLogger(ShardRouter.class);
+
+  private final List<ShardNode> nodes; // every node that clients can be sent to
+  private final ConsistentHashRing<ShardNode> ring; // assigns each game code to the node that owns it
+  private final AtomicInteger nextNewGameNode; // the index of the node that the next new game is started on
+  private final MessageCodec codec; // reads the type (and game code) of each client's join message, and writes the redirects
+
+  /**
+   * ShardRouter constructor to create a router that listens for clients on the given port
+   * @param port : the port on which clients connect to the router
+   * @param shards : the nodes that clients are sent to
+   * @throws IllegalArgumentException if no nodes are given
+   */
+  public ShardRouter(int port, ShardConfig shards) {
+    super(new InetSocketAddress(port));
+    if (!shards.isSharded())
+      throw new IllegalArgumentException("The router needs the node list (slither.shards)");
+    this.nodes = shards.nodes();
+    this.ring = shards.createRing();
+    this.nextNewGameNode = new AtomicInteger();
+    this.codec = new MessageCodec();
+  }
+
+  /**
+   * Chooses the node that a client is sent to, from its first message
+   * @param firstMessage : the first message sent by the client (normally its join message)
+   * @return the node that owns the game code being joined, or otherwise the next node in turn
+   */
+  ShardNode chooseNode(String firstMessage) {
+    try {
+      Message message = this.codec.deserialize(firstMessage);
+      if (message != null && message.type() == MessageType.NEW_CLIENT_WITH_CODE
+          && message.data().get("gameCode") instanceof String gameCode)
+        return this.ring.getNode(gameCode);
+    } catch (IOException e) {
+      // not a valid message (like a null one, below) -- any node can reply with the error
+    }
+    return this.nodes.get(Math.floorMod(this.nextNewGameNode.getAndIncrement(), this.nodes.size()));
+  }
+
+  /**
+   * Sends a client to the node that owns its game: the client is sent the node's websocket URL in a
+   * REDIRECT message, and its connection to the router is closed
+   * @param webSocket : the client's connection
+   * @param node : the node that the client is to connect to
+   */
+  void redirect(WebSocket webSocket, ShardNode node) {
+    LOGGER.debug(() -> "Redirecting client to shard " + node);
+    Map<String, Object> data = new HashMap<>();
+    data.put("url", node.uri().toString());
+    try {
+      webSocket.send(this.codec.serialize(new Message(MessageType.REDIRECT, data)));
+      webSocket.close(CloseFrame.NORMAL, "Redirected to shard " + node);
+    } catch (WebsocketNotConnectedException e) {
+      // the client has already disconnected -- it no longer needs to be redirected
+    }
+  }
+
+  /**
+   * Does nothing when a client connects: clients are routed by their first message
+   * @param webSocket : the client's connection (unused)
+   * @param handshake : the client's opening handshake (unused)
+   */
+  @Override
+  public void onOpen(WebSocket webSocket, ClientHandshake handshake) {
+  }
+
+  /**
+   * Does nothing when a client's connection closes (the router keeps nothing for its clients)
+   * @param webSocket : the client's connection (unused)
+   * @param code : the close code (unused)
+   * @param reason : the reason for closing (unused)
+   * @param remote : whether the client closed the connection (unused)
+   */
+  @Override
+  public void onClose(WebSocket webSocket, int code, String reason, boolean remote) {
+  }
+
+  /**
+   * Redirects a client to its node, which is chosen from the client's first (JSON) message
+   * @param webSocket : the client's connection
+   * @param message : the message received from the client
+   */
+  @Override
+  public void onMessage(WebSocket webSocket, String message) {
+    this.redirect(webSocket, this.chooseNode(message));
+  }
+
+  /**
+   * Redirects a client whose first message is binary (clients always join with a JSON message, so
+   * such a client is routed like one starting a new game)
+   * @param webSocket : the client's connection
+   * @param bytes : the binary frame received from the client (unused)
+   */
+  @Override
+  public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
+    this.redirect(webSocket, this.chooseNode(""));
+  }
+
+  /**
+   * Logs errors on client connections
+   * @param webSocket : the client's connection (null for errors in the router itself)
+   * @param e : the error
+   */
+  @Override
+  public void onError(WebSocket webSocket, Exception e) {
+    LOGGER.error("A router error occurred", e);
+  }
+
+  /**
+   * Logs that the router has started
+   */
+  @Override
+  public void onStart() {
+    LOGGER.info("Router started on port " + this.getPort() + ", redirecting to " + this.nodes);
+  }
+
+  /**
+   * Main method for the ShardRouter class: starts a router on the port given by slither.port
+   * (9000 by default), redirecting to the nodes given by slither.shards
+   * @param args : unused
+   */
+  public static void main(String[] args) {
+    new ShardRouter(Integer.getInteger("slither.port", 9000), ShardConfig.fromSystemProperties()).start();
+  }
+}
@@ -0,0 +1,183 @@
+package edu.brown.cs32.snake;
+
+import edu.brown.cs32.position.Position;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SnakeBody class to store the positions of a snake's body parts, in order from head to tail. The
+ * fixed point coordinates (see FixedPoint) are kept in a pair of ring buffers (one for x and one
+ * for y), so that moving the snake (adding a new head and removing the tail) and growing it
+ * (adding to the tail) never allocate anything unless the snake has outgrown its buffers, which
+ * then double in size.
+ */
+public class SnakeBody {
+
+  private static final int INITIAL_CAPACITY = 64; // the number of body parts the buffers start with room for (a power of 2)
+
+  private int[] xs; // the x coordinates of the body parts (in hundredths of a unit)
+  private int[] ys; // the y coordinates of the body parts (in hundredths of a unit)
+  private int head; // the index (in xs and ys) of the head
+  private int size; // the number of body parts
+
+  /**
+   * SnakeBody constructor to create a snake with no body parts
+   */
+  public SnakeBody() {
+    this.xs = new int[INITIAL_CAPACITY];
+    this.ys = new int[INITIAL_CAPACITY];
+    this.head = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Adds a body part to the front of the snake (as its new head)
+   * @param position : the position of the body part
+   */
+  public void addFirst(Position position) {
+    this.ensureCapacity();
+    this.head = (this.head - 1) & (this.xs.length - 1);
+    this.xs[this.head] = position.fixedX();
+    this.ys[this.head] = position.fixedY();
+    this.size++;
+  }
+
+  /**
+   * Adds a body part to the back of the snake (as its new tail)
+   * @param position : the position of the body part
+   */
+  public void addLast(Position position) {
+    this.ensureCapacity();
+    int tail = this.index(this.size);
+    this.xs[tail] = position.fixedX();
+    this.ys[tail] = position.fixedY();
+    this.size++;
+  }
+
+  /**
+   * Removes the body part at the back of the snake (its tail)
+   * @throws IllegalStateException if the snake has no body parts
+   */
+  public void removeLast() {
+    if (this.size == 0)
+      throw new IllegalStateException("The snake has no body parts to remove");
+    this.size--;
+  }
+
+  /**
+   * Checks whether the body part at the back of the snake (its tail) is at the given position
+   * @param position : the position to be compared with the tail
+   * @return true if the tail is at the position, false if it is not or if the snake has no body
+   * parts
+   */
+  public boolean isLast(Position position) {
+    if (this.size == 0)
+      return false;
+    int tail = this.index(this.size - 1);
+    return this.xs[tail] == position.fixedX() && this.ys[tail] == position.fixedY();
+  }
+
+  /**
+   * Provides the x coordinate of a body part
+   * @param i : the body part's place in the snake (0 for the head, size() - 1 for the tail)
+   * @return the x coordinate of the body part, in hundredths of a unit
+   */
+  public int getFixedX(int i) {
+    this.checkIndex(i);
+    return this.xs[this.index(i)];
+  }
+
+  /**
+   * Provides the y coordinate of a body part
+   * @param i : the body part's place in the snake (0 for the head, size() - 1 for the tail)
+   * @return the y coordinate of the body part, in hundredths of a unit
+   */
+  public int getFixedY(int i) {
+    this.checkIndex(i);
+    return this.ys[this.index(i)];
+  }
+
+  /**
+   * Provides the position of a body part
+   * @param i : the body part's place in the snake (0 for the head, size() - 1 for the tail)
+   * @return the position of the body part
+   */
+  public Position get(int i) {
+    return Position.ofFixed(this.getFixedX(i), this.getFixedY(i));
+  }
+
+  /**
+   * Provides the number of body parts in the snake
+   * @return the number of body parts in the snake
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Indicates whether the snake has no body parts
+   * @return true if the snake has no body parts, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Provides the positions of all the body parts (e.g. to be sent to a client)
+   * @return a new list of the body parts' positions, from head to tail
+   */
+  public List<Position> toPositions() {
+    List<Position> positions = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      int index = this.index(i);
+      positions.add(Position.ofFixed(this.xs[index], this.ys[index]));
+    }
+    return positions;
+  }
+
+  /**
+   * Provides the body parts as a String, for logging
+   * @return the body parts' positions, from head to tail
+   */
+  @Override
+  public String toString() {
+    return this.toPositions().toString();
+  }
+
+  /**
+   * Converts a body part's place in the snake into its index in the buffers
+   * @param i : the body part's place in the snake (0 for the head)
+   * @return the index of the body part in xs and ys
+   */
+  private int index(int i) {
+    return (this.head + i) & (this.xs.length - 1);
+  }
+
+  /**
+   * Checks that a body part's place in the snake is within the snake
+   * @param i : the body part's place in the snake
+   * @throws IndexOutOfBoundsException if there is no body part at that place
+   */
+  private void checkIndex(int i) {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException("Body part " + i + " of a snake with " + this.size + " body parts");
+  }
+
+  /**
+   * Doubles the size of the buffers if they are full, moving the head to index 0
+   */
+  private void ensureCapacity() {
+    if (this.size < this.xs.length)
+      return;
+    int[] newXs = new int[this.xs.length * 2];
+    int[] newYs = new int[this.ys.length * 2];
+    int firstPart = this.xs.length - this.head; // the body parts from the head to the end of the buffers
+    System.arraycopy(this.xs, this.head, newXs, 0, firstPart);
+    System.arraycopy(this.xs, 0, newXs, firstPart, this.head);
+    System.arraycopy(this.ys, this.head, newYs, 0, firstPart);
+    System.arraycopy(this.ys, 0, newYs, firstPart, this.head);
+    this.xs = newXs;
+    this.ys = newYs;
+    this.head = 0;
+  }
+}
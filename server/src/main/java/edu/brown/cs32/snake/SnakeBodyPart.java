@@ -0,0 +1,10 @@
+package edu.brown.cs32.snake;
+
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.user.User;
+
+/**
+ * SnakeBodyPart record to store the position of a single body part of a snake, tagged with the
+ * user whose snake it belongs to
+ */
+public record SnakeBodyPart(User owner, Position position) {}
@@ -0,0 +1,87 @@
+package edu.brown.cs32.snake;
+
+import edu.brown.cs32.position.FixedPoint;
+import edu.brown.cs32.position.Position;
+
+/**
+ * SnakeMotion class to move a snake whose client sends its inputs (the direction it wants to head
+ * in, and whether it is boosting) instead of its moves. Each step, the snake turns (by at most
+ * MAX_TURN) towards the direction it wants to head in, and its head moves SNAKE_VELOCITY units in
+ * the direction it is heading -- the same movement that clients used to simulate themselves.
+ */
+public class SnakeMotion {
+
+  public static final double SNAKE_VELOCITY = 8; // distance the head moves each step
+  public static final double MAX_TURN = 0.1; // largest change in heading each step (in radians)
+  public static final double INITIAL_HEADING = Math.PI / 2; // heading of a new snake (down the screen, as clients start)
+
+  private double heading; // the direction the snake is moving in (in radians, clockwise from the x axis)
+  private double targetAngle; // the direction the snake's client wants it to head in
+  private boolean boosting; // whether the snake's client wants it to move faster
+  private int lastSequence; // the sequence number of the latest input (-1 if the client does not number its inputs)
+
+  /**
+   * SnakeMotion constructor to create the motion of a new snake, heading in INITIAL_HEADING
+   */
+  public SnakeMotion() {
+    this.heading = INITIAL_HEADING;
+    this.targetAngle = INITIAL_HEADING;
+    this.boosting = false;
+    this.lastSequence = -1;
+  }
+
+  /**
+   * Sets the latest input received from the snake's client
+   * @param targetAngle : the direction the snake should head in (in radians)
+   * @param boosting : whether the snake should move faster
+   * @param sequence : the sequence number of the input (-1 if the client does not number its inputs)
+   */
+  public void setInput(double targetAngle, boolean boosting, int sequence) {
+    this.targetAngle = targetAngle;
+    this.boosting = boosting;
+    this.lastSequence = sequence;
+  }
+
+  /**
+   * Provides the sequence number of the latest input received from the snake's client, which is
+   * sent back with the snake's moves so that the client knows which of its inputs they include
+   * @return the sequence number of the latest input (-1 if the client does not number its inputs)
+   */
+  public int getLastSequence() {
+    return this.lastSequence;
+  }
+
+  /**
+   * Indicates whether the snake's client wants it to move faster
+   * @return true if the snake is boosting, false otherwise
+   */
+  public boolean isBoosting() {
+    return this.boosting;
+  }
+
+  /**
+   * Provides the direction the snake is currently moving in
+   * @return the snake's heading, in radians
+   */
+  public double getHeading() {
+    return this.heading;
+  }
+
+  /**
+   * Turns the snake towards its target angle and provides where its head moves to next
+   * @param snakeBody : the snake's body (which is not changed)
+   * @return the position of the snake's new head
+   * @throws IllegalStateException if the snake has no body parts
+   */
+  public Position step(SnakeBody snakeBody) {
+    if (snakeBody.isEmpty())
+      throw new IllegalStateException("The snake has no body parts to move");
+    double difference = Math.IEEEremainder(this.targetAngle - this.heading, 2 * Math.PI); // in [-PI, PI]
+    double turn = Math.max(-MAX_TURN, Math.min(MAX_TURN, difference));
+    this.heading = Math.IEEEremainder(this.heading + turn, 2 * Math.PI);
+
+    int dx = FixedPoint.toFixed(SNAKE_VELOCITY * Math.cos(this.heading));
+    int dy = FixedPoint.toFixed(SNAKE_VELOCITY * Math.sin(this.heading));
+    return Position.ofFixed(snakeBody.getFixedX(0) + dx, snakeBody.getFixedY(0) + dy);
+  }
+}
@@ -0,0 +1,187 @@
+package edu.brown.cs32.spatial;
+
+import edu.brown.cs32.position.FixedPoint;
+import edu.brown.cs32.position.Position;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * SpatialGrid class to index objects on the (square) game map by their position. The map is split
+ * into a uniform grid of square cells, and every object is stored in the cell containing its
+ * position, so that radius (collision) queries only need to look at the objects in the cells
+ * surrounding the query point rather than at every object on the map.
+ *
+ * Positions outside the map are clamped into the nearest edge cell, so every object can always be
+ * stored and found (query results are still filtered by their exact distance). Cells and distances
+ * are computed with the positions' fixed point coordinates, so they are exact.
+ *
+ * @param <T> the type of the objects being indexed
+ */
+public class SpatialGrid<T> {
+
+  private final int minCoordinate; // the smallest coordinate covered by the grid (on both axes, in hundredths of a unit)
+  private final int cellSize; // the side length of each cell (in hundredths of a unit)
+  private final int cellsPerSide; // the number of cells along each axis of the grid
+  private final Set<T>[] cells; // the cells of the grid, row by row (each set is created lazily)
+  private final Function<T, Position> positionOf; // gets the position of an indexed object
+  private int size; // the number of objects currently stored in the grid
+
+  /**
+   * SpatialGrid constructor to create an empty grid covering the square from minCoordinate to
+   * maxCoordinate (on both axes)
+   *
+   * @param minCoordinate : the smallest coordinate on the map (on both axes)
+   * @param maxCoordinate : the largest coordinate on the map (on both axes)
+   * @param cellSize : the side length of each cell -- queries are cheapest when this is close to
+   * the radius that the grid will usually be queried with
+   * @param positionOf : a function that gets the position of an object to be stored in the grid
+   */
+  @SuppressWarnings("unchecked")
+  public SpatialGrid(double minCoordinate, double maxCoordinate, double cellSize, Function<T, Position> positionOf) {
+    this.minCoordinate = FixedPoint.toFixed(minCoordinate);
+    this.cellSize = Math.max(1, FixedPoint.toFixed(cellSize));
+    this.cellsPerSide = Math.max(1, (int) Math.ceil((maxCoordinate - minCoordinate) / cellSize));
+    this.cells = (Set<T>[]) new Set<?>[this.cellsPerSide * this.cellsPerSide];
+    this.positionOf = positionOf;
+    this.size = 0;
+  }
+
+  /**
+   * Computes the (clamped) index along one axis of the cell containing the given coordinate
+   * @param coordinate : the x or y coordinate to find the cell index of (in hundredths of a unit)
+   * @return the index of the cell containing the coordinate along that axis
+   */
+  private int axisIndex(long coordinate) {
+    long index = Math.floorDiv(coordinate - this.minCoordinate, this.cellSize);
+    return (int) Math.max(0, Math.min(this.cellsPerSide - 1, index));
+  }
+
+  /**
+   * Provides the cell that the given position falls in
+   * @param position : the position whose cell is to be found
+   * @param create : whether to create the cell's set if it does not exist yet
+   * @return the set of objects in that cell (null if it does not exist and create is false)
+   */
+  private Set<T> cellAt(Position position, boolean create) {
+    int index = this.axisIndex(position.fixedY()) * this.cellsPerSide + this.axisIndex(position.fixedX());
+    if (this.cells[index] == null && create)
+      this.cells[index] = new HashSet<>();
+    return this.cells[index];
+  }
+
+  /**
+   * Adds an object to the grid
+   * @param item : the object to be added
+   * @return true if the object was added; false if it was already present in the grid
+   */
+  public boolean add(T item) {
+    boolean added = this.cellAt(this.positionOf.apply(item), true).add(item);
+    if (added)
+      this.size++;
+    return added;
+  }
+
+  /**
+   * Removes an object from the grid
+   * @param item : the object to be removed
+   * @return true if the object was removed; false if it was not present in the grid
+   */
+  public boolean remove(T item) {
+    Set<T> cell = this.cellAt(this.positionOf.apply(item), false);
+    if (cell == null || !cell.remove(item))
+      return false;
+    this.size--;
+    return true;
+  }
+
+  /**
+   * Checks whether an object is present in the grid
+   * @param item : the object to look for
+   * @return true if the object is present in the grid; false otherwise
+   */
+  public boolean contains(T item) {
+    Set<T> cell = this.cellAt(this.positionOf.apply(item), false);
+    return cell != null && cell.contains(item);
+  }
+
+  /**
+   * Provides the number of objects currently stored in the grid
+   * @return the number of objects in the grid
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks whether any object in the grid is within the given radius of a position
+   * @param center : the position to measure distances from
+   * @param radius : the (inclusive) maximum distance from center
+   * @return true if at least one object lies within radius of center; false otherwise
+   */
+  public boolean anyWithinRadius(Position center, double radius) {
+    return !this.getWithinRadius(center, radius, item -> true, true).isEmpty();
+  }
+
+  /**
+   * Checks whether any object in the grid that satisfies a filter is within the given radius of a
+   * position (e.g. a body part belonging to some other snake)
+   * @param center : the position to measure distances from
+   * @param radius : the (inclusive) maximum distance from center
+   * @param filter : the condition that the objects being looked for must satisfy
+   * @return true if at least one object satisfying filter lies within radius of center; false
+   * otherwise
+   */
+  public boolean anyWithinRadius(Position center, double radius, Predicate<T> filter) {
+    return !this.getWithinRadius(center, radius, filter, true).isEmpty();
+  }
+
+  /**
+   * Finds all the objects in the grid that are within the given radius of a position
+   * @param center : the position to measure distances from
+   * @param radius : the (inclusive) maximum distance from center
+   * @return a list of all the objects lying within radius of center
+   */
+  public List<T> getWithinRadius(Position center, double radius) {
+    return this.getWithinRadius(center, radius, item -> true, false);
+  }
+
+  /**
+   * Scans the cells overlapping the square around center for objects within radius of center
+   * @param center : the position to measure distances from
+   * @param radius : the (inclusive) maximum distance from center
+   * @param filter : the condition that the objects being looked for must satisfy
+   * @param firstOnly : whether to stop as soon as a single matching object has been found
+   * @return a list of the objects found within radius of center
+   */
+  private List<T> getWithinRadius(Position center, double radius, Predicate<T> filter, boolean firstOnly) {
+    List<T> found = new ArrayList<>();
+    long fixedRadius = FixedPoint.toFixed(radius);
+    long radiusSquared = fixedRadius * fixedRadius;
+    int minX = this.axisIndex(center.fixedX() - fixedRadius);
+    int maxX = this.axisIndex(center.fixedX() + fixedRadius);
+    int minY = this.axisIndex(center.fixedY() - fixedRadius);
+    int maxY = this.axisIndex(center.fixedY() + fixedRadius);
+    for (int cellY = minY; cellY <= maxY; cellY++) {
+      for (int cellX = minX; cellX <= maxX; cellX++) {
+        Set<T> cell = this.cells[cellY * this.cellsPerSide + cellX];
+        if (cell == null)
+          continue;
+        for (T item : cell) {
+          Position position = this.positionOf.apply(item);
+          long xDifference = position.fixedX() - center.fixedX();
+          long yDifference = position.fixedY() - center.fixedY();
+          if (xDifference * xDifference + yDifference * yDifference <= radiusSquared && filter.test(item)) {
+            found.add(item);
+            if (firstOnly)
+              return found;
+          }
+        }
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,147 @@
+package edu.brown.cs32.interest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.snake.SnakeBody;
+import edu.brown.cs32.user.User;
+
+/**
+ * Testing class for AreaOfInterest.java in 'interest' directory
+ */
+public class AreaOfInterestTest {
+
+    AreaOfInterest areaOfInterest;
+    User u1, u2, u3;
+
+    /**
+     * Setup method to create areas of interest with a 1000-unit view radius, a 200-unit leave
+     * margin, and a 250-unit orb resync distance (the snakes in these tests only have a head unless
+     * the test says otherwise)
+     */
+    @BeforeEach
+    public void setup() {
+        this.areaOfInterest = new AreaOfInterest(1000, 200, 250);
+        this.u1 = new User("u1");
+        this.u2 = new User("u2");
+        this.u3 = new User("u3");
+    }
+
+    /**
+     * Creates a snake's body
+     * @param parts : the positions of the body parts, from head to tail
+     * @return the body
+     */
+    private SnakeBody body(Position... parts) {
+        SnakeBody body = new SnakeBody();
+        for (Position part : parts) {
+            body.addLast(part);
+        }
+        return body;
+    }
+
+    /**
+     * Test for new snakes seeing (and being seen by) only the snakes near their heads
+     */
+    @Test
+    public void testAddSnake() {
+        assertEquals(this.areaOfInterest.addSnake(this.u1, this.body(new Position(0.0, 0.0))).entered(), List.of());
+        ViewChange change = this.areaOfInterest.addSnake(this.u2, this.body(new Position(600.0, 800.0)));
+        assertEquals(change.entered(), List.of(this.u1));
+        assertEquals(this.areaOfInterest.addSnake(this.u3, this.body(new Position(-1400.0, 0.0))).entered(), List.of());
+
+        assertEquals(this.areaOfInterest.getVisibleSnakes(this.u1), Set.of(this.u2));
+        assertEquals(this.areaOfInterest.getVisibleSnakes(this.u2), Set.of(this.u1));
+        assertTrue(this.areaOfInterest.getVisibleSnakes(this.u3).isEmpty());
+    }
+
+    /**
+     * Test for snakes only leaving each other's view once they are beyond the leave radius, and
+     * entering it again once they are back within the view radius
+     */
+    @Test
+    public void testMoveSnakeHysteresis() {
+        this.areaOfInterest.addSnake(this.u1, this.body(new Position(0.0, 0.0)));
+        this.areaOfInterest.addSnake(this.u2, this.body(new Position(900.0, 0.0)));
+
+        ViewChange change = this.areaOfInterest.moveSnake(this.u2, this.body(new Position(1150.0, 0.0)));
+        assertTrue(change.left().isEmpty());
+        assertEquals(this.areaOfInterest.getVisibleSnakes(this.u1), Set.of(this.u2));
+
+        change = this.areaOfInterest.moveSnake(this.u2, this.body(new Position(1250.0, 0.0)));
+        assertEquals(change.left(), List.of(this.u1));
+        assertTrue(this.areaOfInterest.getVisibleSnakes(this.u1).isEmpty());
+
+        change = this.areaOfInterest.moveSnake(this.u2, this.body(new Position(1100.0, 0.0)));
+        assertTrue(change.entered().isEmpty());
+        change = this.areaOfInterest.moveSnake(this.u1, this.body(new Position(150.0, 0.0)));
+        assertEquals(change.entered(), List.of(this.u2));
+        assertEquals(this.areaOfInterest.getVisibleSnakes(this.u2), Set.of(this.u1));
+    }
+
+    /**
+     * Test for a long snake whose head is out of range being seen by (and seeing) the snakes near
+     * its body, until every part of it is out of range
+     */
+    @Test
+    public void testLongSnakeSeenByBody() {
+        this.areaOfInterest.addSnake(this.u1, this.body(new Position(0.0, 0.0)));
+        SnakeBody longSnake = this.body(new Position(1400.0, 0.0), new Position(1400.0, 400.0), new Position(900.0, 400.0));
+        ViewChange change = this.areaOfInterest.addSnake(this.u2, longSnake); // head 1400 away, tail within 1000
+        assertEquals(change.entered(), List.of(this.u1));
+        assertEquals(this.areaOfInterest.getVisibleSnakes(this.u1), Set.of(this.u2));
+
+        change = this.areaOfInterest.moveSnake(this.u1, this.body(new Position(-50.0, 0.0))); // still near the tail
+        assertTrue(change.left().isEmpty());
+
+        longSnake = this.body(new Position(1400.0, 100.0), new Position(1400.0, 400.0), new Position(1300.0, 400.0));
+        change = this.areaOfInterest.moveSnake(this.u2, longSnake); // the tail has followed the head
+        assertEquals(change.left(), List.of(this.u1));
+        assertTrue(this.areaOfInterest.getVisibleSnakes(this.u1).isEmpty());
+    }
+
+    /**
+     * Test for removed snakes no longer being seen by (or seeing) any snake
+     */
+    @Test
+    public void testRemoveSnake() {
+        this.areaOfInterest.addSnake(this.u1, this.body(new Position(0.0, 0.0)));
+        this.areaOfInterest.addSnake(this.u2, this.body(new Position(10.0, 0.0)));
+        assertEquals(this.areaOfInterest.removeSnake(this.u2), Set.of(this.u1));
+        assertTrue(this.areaOfInterest.getVisibleSnakes(this.u1).isEmpty());
+        assertTrue(this.areaOfInterest.getVisibleSnakes(this.u2).isEmpty());
+        assertTrue(this.areaOfInterest.moveSnake(this.u2, this.body(new Position(0.0, 0.0))).entered().isEmpty());
+        assertTrue(this.areaOfInterest.addSnake(this.u3, this.body(new Position(0.0, 0.0))).entered().contains(this.u1));
+    }
+
+    /**
+     * Test for orbs being in view around the orb center, and the center only being moved once the
+     * head has moved more than the resync distance
+     */
+    @Test
+    public void testOrbResync() {
+        this.areaOfInterest.addSnake(this.u1, this.body(new Position(0.0, 0.0)));
+        assertTrue(this.areaOfInterest.needsOrbResync(this.u1));
+        assertFalse(this.areaOfInterest.isOrbInView(this.u1, new Position(0.0, 0.0)));
+
+        assertEquals(this.areaOfInterest.resyncOrbs(this.u1), new Position(0.0, 0.0));
+        assertTrue(this.areaOfInterest.isOrbInView(this.u1, new Position(1250.0, 0.0)));
+        assertFalse(this.areaOfInterest.isOrbInView(this.u1, new Position(1260.0, 0.0)));
+
+        this.areaOfInterest.moveSnake(this.u1, this.body(new Position(200.0, 0.0)));
+        assertFalse(this.areaOfInterest.needsOrbResync(this.u1));
+        this.areaOfInterest.moveSnake(this.u1, this.body(new Position(300.0, 0.0)));
+        assertTrue(this.areaOfInterest.needsOrbResync(this.u1));
+        this.areaOfInterest.resyncOrbs(this.u1);
+        assertFalse(this.areaOfInterest.needsOrbResync(this.u1));
+        assertTrue(this.areaOfInterest.isOrbInView(this.u1, new Position(1500.0, 0.0)));
+    }
+}
@@ -0,0 +1,248 @@
+package edu.brown.cs32.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.message.Message;
+import edu.brown.cs32.message.MessageType;
+import edu.brown.cs32.server.SlitherServer;
+import edu.brown.cs32.server.TestFixtures;
+import edu.brown.cs32.user.User;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for Leaderboard.java in 'leaderboard' directory
+ */
+public class LeaderboardTest {
+
+    /**
+     * Sent record to store a message sent to a single client
+     */
+    record Sent(WebSocket webSocket, Message message) {}
+
+    /**
+     * TestServer class to record every message that the leaderboard sends, instead of sending it
+     */
+    class TestServer extends SlitherServer {
+
+        /**
+         * TestServer constructor to create a server (that is never started)
+         */
+        TestServer() {
+            super(TestFixtures.SERVER_CONFIG);
+        }
+
+        /**
+         * Records a message sent to a single client
+         */
+        @Override
+        public void sendToSocket(WebSocket webSocket, Message message) {
+            sent.add(new Sent(webSocket, message));
+        }
+
+        /**
+         * Records a message sent to a set of clients, once for each client
+         */
+        @Override
+        public void sendToSockets(Set<WebSocket> sockets, Message message, WebSocket excludedSocket) {
+            for (WebSocket webSocket : sockets) {
+                if (!webSocket.equals(excludedSocket))
+                    sent.add(new Sent(webSocket, message));
+            }
+        }
+
+        /**
+         * Records a message sent to every client in the game, once for each client
+         */
+        @Override
+        public void sendToAllGameStateConnections(GameState gameState, Message message) {
+            this.sendToSockets(Set.copyOf(userToSocket.values()), message, null);
+        }
+    }
+
+    /**
+     * TestGameState class to stand in for a game whose players' connections are userToSocket, and
+     * to hold on to the leaderboard's timed update (so the test runs it instead of a timer)
+     */
+    class TestGameState extends GameState {
+
+        /**
+         * TestGameState constructor to create a game (whose own timers are cancelled in teardown)
+         * @param server : the server of the game
+         */
+        TestGameState(SlitherServer server) {
+            super(server, "ABCDEF");
+        }
+
+        /**
+         * Holds on to the leaderboard's timed update instead of scheduling it
+         */
+        @Override
+        public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            update = task;
+        }
+
+        /**
+         * Provides the connection of a player in userToSocket
+         */
+        @Override
+        public WebSocket getSocket(User user) {
+            return userToSocket.get(user);
+        }
+    }
+
+    List<Sent> sent;
+    Map<User, WebSocket> userToSocket;
+    Runnable update;
+    SlitherServer server;
+    GameState gameState;
+    Leaderboard leaderboard;
+    List<User> users;
+
+    /**
+     * Setup method to create a leaderboard with 12 players, whose scores are all different (player
+     * i has the i-th highest score), which has already sent its first update
+     */
+    @BeforeEach
+    public void setup() {
+        this.sent = new ArrayList<>();
+        this.userToSocket = new LinkedHashMap<>();
+        this.server = new TestServer();
+        this.gameState = new TestGameState(this.server);
+        this.leaderboard = new Leaderboard(this.gameState, this.server);
+        assertNotNull(this.update);
+
+        this.users = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            this.users.add(this.addPlayer("user" + i));
+            this.leaderboard.updateScore(this.users.get(i), 1000 - 10 * i);
+        }
+        this.update.run();
+        this.sent.clear();
+    }
+
+    /**
+     * Teardown method to cancel the timers of the game and stop the threads of the server
+     */
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        this.gameState.shutdown();
+        this.server.stop();
+    }
+
+    /**
+     * Adds a player to the game and its leaderboard
+     * @param username : the player's username
+     * @return the player's user
+     */
+    private User addPlayer(String username) {
+        User user = new User(username);
+        this.userToSocket.put(user, TestFixtures.createWebSocket());
+        this.leaderboard.addNewUser(user);
+        return user;
+    }
+
+    /**
+     * Provides the messages of a type that were sent
+     * @param type : the type of the messages
+     * @return the messages of that type, with the clients they were sent to, in order
+     */
+    private List<Sent> sentOfType(MessageType type) {
+        return this.sent.stream().filter(sent -> sent.message().type() == type).toList();
+    }
+
+    /**
+     * Test for nothing being sent when nothing has changed since the last update
+     */
+    @Test
+    public void testIdleUpdateSendsNothing() {
+        this.update.run();
+        assertTrue(this.sent.isEmpty());
+
+        this.leaderboard.updateScore(this.users.get(0), 2000);
+        this.update.run();
+        this.sent.clear();
+        this.update.run();
+        assertTrue(this.sent.isEmpty());
+    }
+
+    /**
+     * Test for a change below the top standings only sending the players whose ranks changed their
+     * new ranks
+     */
+    @Test
+    public void testChangeOutsideTopStandings() {
+        this.leaderboard.updateScore(this.users.get(11), 905); // passes user10 (900) for 11th place
+        this.update.run();
+
+        assertTrue(this.sentOfType(MessageType.UPDATE_LEADERBOARD).isEmpty());
+        List<Sent> ranks = this.sentOfType(MessageType.UPDATE_RANK);
+        assertEquals(ranks.size(), 2);
+        assertEquals(ranks.get(0).webSocket(), this.userToSocket.get(this.users.get(11)));
+        assertEquals(ranks.get(0).message().data().get("rank"), 11);
+        assertEquals(ranks.get(1).webSocket(), this.userToSocket.get(this.users.get(10)));
+        assertEquals(ranks.get(1).message().data().get("rank"), 12);
+    }
+
+    /**
+     * Test for a change in the top standings sending them to every client exactly once
+     */
+    @Test
+    public void testChangeInsideTopStandings() {
+        this.leaderboard.updateScore(this.users.get(5), 2000); // takes 1st place
+        this.update.run();
+
+        List<Sent> standings = this.sentOfType(MessageType.UPDATE_LEADERBOARD);
+        assertEquals(standings.size(), 12);
+        assertEquals(Set.copyOf(standings.stream().map(Sent::webSocket).toList()), Set.copyOf(this.userToSocket.values()));
+        LeaderboardEntry[] leaderboard = (LeaderboardEntry[]) standings.get(0).message().data().get("leaderboard");
+        assertEquals(leaderboard.length, 10);
+        assertEquals(leaderboard[0], new LeaderboardEntry("user5", 2000));
+        assertEquals(this.sentOfType(MessageType.UPDATE_RANK).size(), 6); // user5 and the 5 players it passed
+
+        this.sent.clear();
+        this.update.run();
+        assertTrue(this.sent.isEmpty());
+    }
+
+    /**
+     * Test for a player joining (who is sent the current standings directly) and leaving updating
+     * every player's playerCount
+     */
+    @Test
+    public void testJoinAndLeaveUpdatePlayerCount() {
+        User newUser = this.addPlayer("newUser"); // joins in last place, so the top standings are unchanged
+        this.update.run();
+
+        List<Sent> standings = this.sentOfType(MessageType.UPDATE_LEADERBOARD);
+        assertEquals(standings.size(), 1);
+        assertEquals(standings.get(0).webSocket(), this.userToSocket.get(newUser));
+        List<Sent> ranks = this.sentOfType(MessageType.UPDATE_RANK);
+        assertEquals(ranks.size(), 13);
+        for (Sent rank : ranks) {
+            assertEquals(rank.message().data().get("playerCount"), 13);
+        }
+
+        this.sent.clear();
+        this.leaderboard.removeUser(newUser);
+        this.userToSocket.remove(newUser);
+        this.update.run();
+        assertTrue(this.sentOfType(MessageType.UPDATE_LEADERBOARD).isEmpty());
+        ranks = this.sentOfType(MessageType.UPDATE_RANK);
+        assertEquals(ranks.size(), 12);
+        for (Sent rank : ranks) {
+            assertEquals(rank.message().data().get("playerCount"), 12);
+        }
+    }
+}
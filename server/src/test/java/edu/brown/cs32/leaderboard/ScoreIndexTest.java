@@ -0,0 +1,100 @@
+package edu.brown.cs32.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for ScoreIndex.java in 'leaderboard' directory
+ */
+public class ScoreIndexTest {
+
+    ScoreIndex<String> index;
+
+    /**
+     * Setup method to create an empty index
+     */
+    @BeforeEach
+    public void setup() {
+        this.index = new ScoreIndex<>();
+    }
+
+    /**
+     * Test for adding, re-scoring, and removing keys, and the ranks and top keys that result
+     * (including keys with equal scores, which are ordered by who got the score first)
+     */
+    @Test
+    public void testPutRankTopRemove() {
+        assertTrue(this.index.put("a", 20));
+        assertTrue(this.index.put("b", 50));
+        assertTrue(this.index.put("c", 20));
+        assertFalse(this.index.put("a", 30));
+        assertEquals(this.index.size(), 3);
+
+        assertEquals(this.index.getTop(10), List.of("b", "a", "c"));
+        assertEquals(this.index.getTop(2), List.of("b", "a"));
+        assertEquals(this.index.getRank("b"), 1);
+        assertEquals(this.index.getRank("c"), 3);
+        assertEquals(this.index.getScore("a"), 30);
+
+        this.index.put("c", 30);
+        assertEquals(this.index.getTop(3), List.of("b", "a", "c"));
+
+        assertTrue(this.index.remove("b"));
+        assertFalse(this.index.remove("b"));
+        assertEquals(this.index.getRank("a"), 1);
+        assertEquals(this.index.getRank("b"), -1);
+        assertNull(this.index.getScore("b"));
+        assertEquals(this.index.getTop(0), List.of());
+    }
+
+    /**
+     * Test for the index agreeing with a sorted list of keys over many random adds, re-scores, and
+     * removes
+     */
+    @Test
+    public void testMatchesSortedOrder() {
+        Random random = new Random(32);
+        List<String> expectedOrder = new ArrayList<>(); // keys by decreasing score, ties by age
+        List<Integer> expectedScores = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String key = "user" + random.nextInt(200);
+            int score = random.nextInt(100);
+            boolean remove = random.nextInt(4) == 0;
+            int oldIndex = expectedOrder.indexOf(key);
+            if (oldIndex != -1 && !remove && expectedScores.get(oldIndex) == score) {
+                this.index.put(key, score); // an unchanged score keeps its place
+                continue;
+            }
+            if (oldIndex != -1) {
+                expectedOrder.remove(oldIndex);
+                expectedScores.remove(oldIndex);
+            }
+            if (remove) {
+                this.index.remove(key);
+                continue;
+            }
+            this.index.put(key, score);
+            int newIndex = 0;
+            while (newIndex < expectedScores.size() && expectedScores.get(newIndex) >= score) {
+                newIndex++;
+            }
+            expectedOrder.add(newIndex, key);
+            expectedScores.add(newIndex, score);
+        }
+
+        assertEquals(this.index.size(), expectedOrder.size());
+        assertEquals(this.index.getTop(expectedOrder.size()), expectedOrder);
+        for (int rank = 1; rank <= expectedOrder.size(); rank++) {
+            assertEquals(this.index.getRank(expectedOrder.get(rank - 1)), rank);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.brown.cs32.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for LatencyHistogram.java in 'loadtest' directory
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Test for the percentiles of small latencies (which are counted exactly), and of an empty
+     * histogram
+     */
+    @Test
+    public void testSmallLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getPercentile(50), 0);
+        assertEquals(histogram.getMax(), 0);
+
+        for (int micros = 1; micros <= 60; micros++) {
+            histogram.record(micros);
+        }
+        histogram.record(-5);
+        assertEquals(histogram.getCount(), 61);
+        assertEquals(histogram.getPercentile(0), 0);
+        assertEquals(histogram.getPercentile(50), 30);
+        assertEquals(histogram.getPercentile(100), 60);
+        assertEquals(histogram.getMax(), 60);
+    }
+
+    /**
+     * Test for the percentiles of latencies across many orders of magnitude being reported to within
+     * the bucket width (about 3%), and for latencies too large for the buckets being counted in the
+     * last one
+     */
+    @Test
+    public void testLargeLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+        histogram.record(Long.MAX_VALUE);
+
+        for (double percentile : new double[] {10, 50, 90, 99, 99.9}) {
+            long expected = (long) (100_001 * percentile / 100);
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(reported <= expected && reported >= expected * 0.96,
+                percentile + "th percentile was " + reported + ", expected about " + expected);
+        }
+        assertTrue(histogram.getPercentile(100) > 1L << 37);
+        assertEquals(histogram.getMax(), Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,93 @@
+package edu.brown.cs32.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for AsyncAppender.java in 'logging' directory
+ */
+public class AsyncAppenderTest {
+
+    /**
+     * Appender that stores the messages of the records written to it, and can be made to block
+     * (like a slow console) until it is released
+     */
+    static class BlockingAppender implements LogAppender {
+
+        final List<String> messages = new ArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch firstAppend = new CountDownLatch(1);
+
+        @Override
+        public void append(LogRecord record) {
+            this.firstAppend.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this.messages) {
+                this.messages.add(record.message());
+            }
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /**
+     * Creates a record with the given message
+     * @param message : the message of the record
+     * @return an INFO record with that message
+     */
+    private LogRecord record(String message) {
+        return new LogRecord(0, LogLevel.INFO, "test", message, null);
+    }
+
+    /**
+     * Test for records being written in order on the background thread, and for close writing out
+     * the records that are still waiting
+     */
+    @Test
+    public void testWritesInOrder() {
+        BlockingAppender delegate = new BlockingAppender();
+        delegate.release.countDown();
+        AsyncAppender appender = new AsyncAppender(delegate, 100);
+        for (int i = 0; i < 50; i++) {
+            appender.append(this.record("message " + i));
+        }
+        appender.close();
+        assertEquals(delegate.messages.size(), 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(delegate.messages.get(i), "message " + i);
+        }
+    }
+
+    /**
+     * Test for appending never waiting on a blocked destination: once the buffer is full, records
+     * are dropped, and the number dropped is reported once the destination catches up
+     */
+    @Test
+    public void testDropsWhenFull() throws InterruptedException {
+        BlockingAppender delegate = new BlockingAppender();
+        AsyncAppender appender = new AsyncAppender(delegate, 4);
+        appender.append(this.record("blocked"));
+        assertTrue(delegate.firstAppend.await(5, TimeUnit.SECONDS)); // the writer is now stuck on "blocked"
+        for (int i = 0; i < 10; i++) {
+            appender.append(this.record("message " + i));
+        }
+        assertEquals(appender.getPendingCount(), 4);
+
+        delegate.release.countDown();
+        appender.close();
+        assertEquals(delegate.messages, List.of("blocked", "message 0", "message 1", "message 2", "message 3",
+            "6 log records were dropped because the log buffer was full"));
+    }
+}
@@ -0,0 +1,90 @@
+package edu.brown.cs32.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for Logger.java and LogSampler.java in 'logging' directory
+ */
+public class LoggerTest {
+
+    List<LogRecord> records;
+    LogAppender previousAppender;
+    LogLevel previousLevel;
+    Logger logger;
+
+    /**
+     * Setup method to send all log records to a list (instead of the console)
+     */
+    @BeforeEach
+    public void setup() {
+        this.records = new ArrayList<>();
+        this.previousAppender = Logging.setAppender(new LogAppender() {
+            @Override
+            public void append(LogRecord record) {
+                LoggerTest.this.records.add(record);
+            }
+
+            @Override
+            public void close() {}
+        });
+        this.previousLevel = Logging.getLevel();
+        this.logger = new Logger("test");
+    }
+
+    /**
+     * Teardown method to restore the logging settings
+     */
+    @AfterEach
+    public void teardown() {
+        Logging.setAppender(this.previousAppender);
+        Logging.setLevel(this.previousLevel);
+    }
+
+    /**
+     * Test for only events at or above the current level being logged (and messages of events that
+     * are not logged not being built)
+     */
+    @Test
+    public void testLevels() {
+        Logging.setLevel(LogLevel.INFO);
+        this.logger.debug(() -> {
+            throw new AssertionError("the message of an event that is not logged should not be built");
+        });
+        this.logger.info("info");
+        this.logger.error("error", new RuntimeException());
+        assertEquals(this.records.size(), 2);
+        assertEquals(this.records.get(0).level(), LogLevel.INFO);
+        assertEquals(this.records.get(0).loggerName(), "test");
+        assertEquals(this.records.get(1).message(), "error");
+
+        Logging.setLevel(LogLevel.OFF);
+        this.logger.error("error", null);
+        assertEquals(this.records.size(), 2);
+        assertFalse(this.logger.isEnabled(LogLevel.ERROR));
+        Logging.setLevel(LogLevel.DEBUG);
+        assertTrue(this.logger.isEnabled(LogLevel.DEBUG));
+    }
+
+    /**
+     * Test for sampled events only being logged once per sampleEvery occurrences
+     */
+    @Test
+    public void testSampling() {
+        Logging.setLevel(LogLevel.DEBUG);
+        LogSampler sampler = new LogSampler(10);
+        for (int i = 0; i < 25; i++) {
+            this.logger.debug(sampler, () -> "frequent event");
+        }
+        assertEquals(this.records.size(), 3);
+        assertEquals(this.records.get(0).message(), "frequent event (1 in 10 logged)");
+    }
+}
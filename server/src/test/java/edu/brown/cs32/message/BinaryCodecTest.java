@@ -0,0 +1,137 @@
+package edu.brown.cs32.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.orb.OrbSize;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.position.PositionUpdate;
+
+/**
+ * Testing class for BinaryCodec.java in 'message' directory
+ */
+public class BinaryCodecTest {
+
+    BinaryCodec codec;
+
+    /**
+     * Setup method to create the BinaryCodec
+     */
+    @BeforeEach
+    public void setup() {
+        this.codec = new BinaryCodec();
+    }
+
+    /**
+     * Test for an encoded UPDATE_POSITION message decoding back to the same positions
+     */
+    @Test
+    public void testUpdatePositionRoundTrip() throws IOException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("add", new Position(600.25, 95.5));
+        data.put("remove", new Position(-600.0, 195.75));
+        ByteBuffer encoded = this.codec.encode(new Message(MessageType.UPDATE_POSITION, data));
+        assertEquals(encoded.remaining(), 17);
+
+        List<Message> decoded = this.codec.decode(encoded);
+        assertEquals(decoded.size(), 1);
+        assertEquals(decoded.get(0).type(), MessageType.UPDATE_POSITION);
+        assertEquals(decoded.get(0).data().get("add"), new Position(600.25, 95.5));
+        assertEquals(decoded.get(0).data().get("remove"), new Position(-600.0, 195.75));
+    }
+
+    /**
+     * Test for MOVE_INPUT messages (sent by clients only) being decoded, including several in one
+     * frame after an UPDATE_POSITION message, with their sequence numbers (if they have any)
+     */
+    @Test
+    public void testDecodeMoveInput() throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(17 + 2 * 8);
+        frame.put((byte) 1).putInt(100).putInt(200).putInt(300).putInt(400);
+        frame.put((byte) 6).putShort((short) 15708).put((byte) 1).putInt(12);
+        frame.put((byte) 6).putShort((short) -31416).put((byte) 0).putInt(-1);
+        List<Message> decoded = this.codec.decode(frame.flip());
+        assertEquals(decoded.size(), 3);
+        assertEquals(decoded.get(1).type(), MessageType.MOVE_INPUT);
+        assertEquals((Double) decoded.get(1).data().get("angle"), Math.PI / 2, 1e-4);
+        assertEquals(decoded.get(1).data().get("boost"), true);
+        assertEquals(decoded.get(1).data().get("seq"), 12);
+        assertEquals((Double) decoded.get(2).data().get("angle"), -Math.PI, 1e-4);
+        assertEquals(decoded.get(2).data().get("boost"), false);
+        assertFalse(decoded.get(2).data().containsKey("seq"));
+        assertThrows(IOException.class, () -> this.codec.decode(ByteBuffer.wrap(new byte[] {6, 0, 1, 0})));
+    }
+
+    /**
+     * Test for the layouts (and sizes) of the batched position (stamped with their tick, server time
+     * and acknowledged input) and orb messages (including orb deltas)
+     */
+    @Test
+    public void testEncodeBatches() {
+        Map<String, Object> updateData = new HashMap<>();
+        updateData.put("updates", List.of(
+            new PositionUpdate(7, new Position(1.0, 2.0), new Position(3.0, 4.0)),
+            new PositionUpdate(8, new Position(5.0, 6.0), new Position(7.0, 8.0))));
+        updateData.put("tick", 42L);
+        updateData.put("serverTime", 1700000000123L);
+        updateData.put("ack", 5);
+        ByteBuffer updates = this.codec.encode(new Message(MessageType.UPDATE_POSITIONS, updateData));
+        assertEquals(updates.remaining(), 1 + 4 + 20 + 2 * 20);
+        assertEquals(updates.get(), 2);
+        assertEquals(updates.getInt(), 2);
+        assertEquals(updates.getLong(), 42L);
+        assertEquals(updates.getLong(), 1700000000123L);
+        assertEquals(updates.getInt(), 5);
+        assertEquals(updates.getInt(), 7);
+        assertEquals(updates.getInt(), 100);
+
+        Map<String, Object> orbData = new HashMap<>();
+        Orb orb = new Orb(new Position(-10.5, 20.0), OrbSize.LARGE, "#ff00b2");
+        orbData.put("orbSet", List.of(orb));
+        ByteBuffer orbs = this.codec.encode(new Message(MessageType.SEND_ORBS, orbData));
+        assertEquals(orbs.remaining(), 1 + 4 + 16);
+        assertEquals(orbs.get(), 3);
+        assertEquals(orbs.getInt(), 1);
+        assertEquals(orbs.getInt(), orb.getId());
+        assertEquals(orbs.getInt(), -1050);
+        assertEquals(orbs.getInt(), 2000);
+        assertEquals(orbs.get(), 1);
+        assertEquals(orbs.get() & 0xff, 0xff);
+        assertEquals(orbs.get() & 0xff, 0x00);
+        assertEquals(orbs.get() & 0xff, 0xb2);
+
+        Map<String, Object> removedData = new HashMap<>();
+        removedData.put("ids", List.of(4, 9));
+        ByteBuffer removed = this.codec.encode(new Message(MessageType.ORB_REMOVED, removedData));
+        assertEquals(removed.remaining(), 1 + 4 + 2 * 4);
+        assertEquals(removed.get(), 5);
+        assertEquals(removed.getInt(), 2);
+        assertEquals(removed.getInt(), 4);
+        assertEquals(removed.getInt(), 9);
+    }
+
+    /**
+     * Test for unsupported types, unknown type codes, and truncated frames being rejected
+     */
+    @Test
+    public void testInvalidMessages() {
+        assertTrue(this.codec.supports(MessageType.SEND_ORBS));
+        assertFalse(this.codec.supports(MessageType.UPDATE_LEADERBOARD));
+        assertThrows(IllegalArgumentException.class,
+            () -> this.codec.encode(new Message(MessageType.YOU_DIED, new HashMap<>())));
+        assertThrows(IOException.class, () -> this.codec.decode(ByteBuffer.wrap(new byte[] {9})));
+        assertThrows(IOException.class, () -> this.codec.decode(ByteBuffer.wrap(new byte[] {1, 0, 0})));
+    }
+}
@@ -0,0 +1,71 @@
+package edu.brown.cs32.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.brown.cs32.orb.Orb;
+import edu.brown.cs32.orb.OrbSize;
+import edu.brown.cs32.position.Position;
+import edu.brown.cs32.position.PositionUpdate;
+
+/**
+ * Testing class for MessageCodec.java in 'message' directory
+ */
+public class MessageCodecTest {
+
+    MessageCodec codec;
+
+    /**
+     * Setup method to create the MessageCodec
+     */
+    @BeforeEach
+    public void setup() {
+        this.codec = new MessageCodec();
+    }
+
+    /**
+     * Test for the typed payload adapters producing the JSON that the client expects
+     */
+    @Test
+    public void testSerializePayloads() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("updates", List.of(new PositionUpdate(3, new Position(1.5, 2.0), new Position(-4.25, 0.0))));
+        Orb orb = new Orb(new Position(10.0, 20.0), OrbSize.LARGE, "#ff0000");
+        data.put("orbSet", List.of(orb));
+        String json = this.codec.serialize(new Message(MessageType.UPDATE_POSITIONS, data));
+        assertEquals(json, "{\"type\":\"UPDATE_POSITIONS\",\"data\":{"
+            + "\"updates\":[{\"id\":3,\"add\":{\"x\":1.5,\"y\":2.0},\"remove\":{\"x\":-4.25,\"y\":0.0}}],"
+            + "\"orbSet\":[{\"id\":" + orb.getId() + ",\"position\":{\"x\":10.0,\"y\":20.0},\"orbSize\":\"LARGE\",\"color\":\"#ff0000\"}]}}");
+    }
+
+    /**
+     * Test for the reused buffer being left empty between messages
+     */
+    @Test
+    public void testSerializeRepeatedly() {
+        Message message = new Message(MessageType.YOU_DIED, new HashMap<>());
+        assertEquals(this.codec.serialize(message), "{\"type\":\"YOU_DIED\",\"data\":{}}");
+        assertEquals(this.codec.serialize(message), "{\"type\":\"YOU_DIED\",\"data\":{}}");
+    }
+
+    /**
+     * Test for deserializing a client's message, and for rejecting malformed messages
+     */
+    @Test
+    public void testDeserialize() throws IOException {
+        Message message = this.codec.deserialize("{\"type\":\"NEW_CLIENT_NO_CODE\",\"data\":{\"username\":\"a\"}}");
+        assertEquals(message.type(), MessageType.NEW_CLIENT_NO_CODE);
+        assertEquals(message.data().get("username"), "a");
+        assertThrows(IOException.class, () -> this.codec.deserialize("{\"type\":\"NOT_A_TYPE\",\"data\":{}}"));
+        assertThrows(IOException.class, () -> this.codec.deserialize("{\"type\":"));
+    }
+}
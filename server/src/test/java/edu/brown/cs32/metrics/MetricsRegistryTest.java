@@ -0,0 +1,86 @@
+package edu.brown.cs32.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for MetricsRegistry.java (and the metrics it writes) in 'metrics' directory
+ */
+public class MetricsRegistryTest {
+
+    /**
+     * Test for a labelled counter being written with a sample for each combination of label values,
+     * and for label values being escaped
+     */
+    @Test
+    public void testCounter() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("messages_total", "Messages received", "type");
+        counter.inc("JOIN");
+        counter.add(3, "MOVE");
+        counter.inc("MOVE");
+        counter.inc("a\"b");
+        assertEquals(counter.get("MOVE"), 4);
+        assertEquals(counter.get("LEAVE"), 0);
+        assertThrows(IllegalArgumentException.class, () -> counter.inc());
+
+        String rendered = registry.render();
+        assertTrue(rendered.startsWith("# HELP messages_total Messages received\n# TYPE messages_total counter\n"));
+        assertTrue(rendered.contains("messages_total{type=\"JOIN\"} 1\n"));
+        assertTrue(rendered.contains("messages_total{type=\"MOVE\"} 4\n"));
+        assertTrue(rendered.contains("messages_total{type=\"a\\\"b\"} 1\n"));
+    }
+
+    /**
+     * Test for a histogram being written with cumulative buckets (a value equal to a bucket's upper
+     * bound being counted in that bucket), a +Inf bucket, a sum, and a count
+     */
+    @Test
+    public void testHistogram() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Histogram histogram = registry.histogram("latency_seconds", "Latency", new double[] {0.1, 1});
+        histogram.observe(0.05);
+        histogram.observe(0.1);
+        histogram.observe(0.5);
+        histogram.observe(2);
+        histogram.observeNanos(250_000_000L);
+        assertEquals(histogram.getCount(), 5);
+
+        String rendered = registry.render();
+        assertTrue(rendered.contains("# TYPE latency_seconds histogram\n"));
+        assertTrue(rendered.contains("latency_seconds_bucket{le=\"0.1\"} 2\n"));
+        assertTrue(rendered.contains("latency_seconds_bucket{le=\"1.0\"} 4\n"));
+        assertTrue(rendered.contains("latency_seconds_bucket{le=\"+Inf\"} 5\n"));
+        assertTrue(rendered.contains("latency_seconds_sum 2.9\n"));
+        assertTrue(rendered.contains("latency_seconds_count 5\n"));
+    }
+
+    /**
+     * Test for gauges being read when the metrics are written (rather than when they are
+     * registered), both with a single value and with a value for each label value
+     */
+    @Test
+    public void testGauges() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Map<String, Integer> orbs = new LinkedHashMap<>();
+        int[] games = {0};
+        registry.gauge("games", "Active games", () -> games[0]);
+        registry.gauge("game_orbs", "Orbs in each game", "game", () -> orbs);
+        assertTrue(registry.render().contains("games 0\n"));
+        assertTrue(!registry.render().contains("game_orbs{"));
+
+        games[0] = 2;
+        orbs.put("abc", 120);
+        orbs.put("def", 7);
+        String rendered = registry.render();
+        assertTrue(rendered.contains("games 2\n"));
+        assertTrue(rendered.contains("game_orbs{game=\"abc\"} 120\n"));
+        assertTrue(rendered.contains("game_orbs{game=\"def\"} 7\n"));
+        assertTrue(rendered.contains("# TYPE game_orbs gauge\n"));
+    }
+}
@@ -0,0 +1,100 @@
+package edu.brown.cs32.orb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.brown.cs32.position.Position;
+
+/**
+ * Testing class for OrbStore.java in 'orb' directory
+ */
+public class OrbStoreTest {
+
+    OrbStore orbStore;
+    Orb o1, o2;
+
+    /**
+     * Setup method to create an OrbStore holding two orbs
+     */
+    @BeforeEach
+    public void setup() {
+        this.orbStore = new OrbStore(-1500, 1500, 35);
+        this.o1 = new Orb(new Position(100.0, 100.0), OrbSize.SMALL, "red");
+        this.o2 = new Orb(new Position(-700.5, 300.25), OrbSize.LARGE, "red");
+        this.orbStore.add(this.o1);
+        this.orbStore.add(this.o2);
+    }
+
+    /**
+     * Test for orbs at an already-occupied position not being added
+     */
+    @Test
+    public void testAddDuplicatePosition() {
+        assertFalse(this.orbStore.add(new Orb(new Position(100.0, 100.0), OrbSize.LARGE, "blue")));
+        assertEquals(this.orbStore.size(), 2);
+        assertTrue(this.orbStore.contains(this.o1));
+    }
+
+    /**
+     * Test for removing orbs by position, after which they are no longer found by radius queries
+     */
+    @Test
+    public void testRemoveAt() {
+        assertEquals(this.orbStore.removeAt(new Position(100.0, 100.0)), this.o1);
+        assertNull(this.orbStore.removeAt(new Position(100.0, 100.0)));
+        assertEquals(this.orbStore.size(), 1);
+        assertTrue(this.orbStore.getWithinRadius(new Position(100.0, 100.0), 35).isEmpty());
+    }
+
+    /**
+     * Test for radius queries only returning orbs that are close enough
+     */
+    @Test
+    public void testGetWithinRadius() {
+        List<Orb> found = this.orbStore.getWithinRadius(new Position(120.0, 80.0), 35);
+        assertEquals(found, List.of(this.o1));
+        assertTrue(this.orbStore.getWithinRadius(new Position(0.0, 0.0), 35).isEmpty());
+    }
+
+    /**
+     * Test for removal through the iterator also removing the orb from the grid
+     */
+    @Test
+    public void testIteratorRemove() {
+        Iterator<Orb> iterator = this.orbStore.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(this.o2))
+                iterator.remove();
+        }
+        assertEquals(this.orbStore.size(), 1);
+        assertFalse(this.orbStore.contains(this.o2));
+        assertTrue(this.orbStore.getWithinRadius(new Position(-700.5, 300.25), 35).isEmpty());
+    }
+
+    /**
+     * Test for the added orbs and removed orb ids being recorded, and cleared once drained
+     */
+    @Test
+    public void testDrainChanges() {
+        assertEquals(this.orbStore.drainAddedOrbs(), List.of(this.o1, this.o2));
+        assertTrue(this.orbStore.drainRemovedOrbIds().isEmpty());
+
+        Orb o3 = new Orb(new Position(5.0, 5.0), OrbSize.SMALL, "red");
+        this.orbStore.add(o3);
+        this.orbStore.add(new Orb(new Position(5.0, 5.0), OrbSize.LARGE, "red")); // not added
+        this.orbStore.removeAt(new Position(100.0, 100.0));
+        this.orbStore.removeAt(new Position(1.0, 1.0)); // no orb here
+        assertEquals(this.orbStore.drainAddedOrbs(), List.of(o3));
+        assertEquals(this.orbStore.drainRemovedOrbIds(), List.of(this.o1.getId()));
+        assertTrue(this.orbStore.drainAddedOrbs().isEmpty());
+        assertTrue(this.orbStore.drainRemovedOrbIds().isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package edu.brown.cs32.position;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for Position.java (and FixedPoint.java) in 'position' directory
+ */
+public class PositionTest {
+
+    /**
+     * Test for coordinates being rounded to the nearest hundredth, so that positions computed in
+     * slightly different ways are still equal (and hash to the same set entry)
+     */
+    @Test
+    public void testQuantization() {
+        Position position = new Position(0.1 + 0.2, 123.456);
+        assertEquals(position, new Position(0.3, 123.46));
+        assertEquals(position.x(), 0.3);
+        assertEquals(position.y(), 123.46);
+        assertEquals(position.fixedX(), 30);
+        assertEquals(position.fixedY(), 12346);
+        assertNotEquals(position, new Position(0.31, 123.46));
+
+        Set<Position> positions = new HashSet<>();
+        positions.add(new Position(600, 100));
+        positions.add(new Position(600.001, 99.999));
+        assertEquals(positions.size(), 1);
+    }
+
+    /**
+     * Test for negative coordinates (and those at the edges of the map) surviving being packed into
+     * a single long
+     */
+    @Test
+    public void testPacking() {
+        for (int x : new int[] {-150000, -1, 0, 1, 150000, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            for (int y : new int[] {-150000, -1, 0, 1, 150000, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+                Position position = Position.ofFixed(x, y);
+                assertEquals(position.fixedX(), x);
+                assertEquals(position.fixedY(), y);
+                assertEquals(FixedPoint.unpackX(FixedPoint.pack(x, y)), x);
+                assertEquals(FixedPoint.unpackY(FixedPoint.pack(x, y)), y);
+            }
+        }
+        assertEquals(new Position(-1500, -0.01), Position.ofFixed(-150000, -1));
+        assertEquals(new Position(-12.34, 5).toString(), "Position[x=-12.34, y=5.0]");
+    }
+}
@@ -0,0 +1,81 @@
+package edu.brown.cs32.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for SerialExecutor.java in 'scheduling' directory
+ */
+public class SerialExecutorTest {
+
+    ExecutorService pool;
+    SerialExecutor serialExecutor;
+
+    /**
+     * Setup method to create a SerialExecutor on top of a multithreaded pool
+     */
+    @BeforeEach
+    public void setup() {
+        this.pool = Executors.newFixedThreadPool(4);
+        this.serialExecutor = new SerialExecutor(this.pool);
+    }
+
+    /**
+     * Teardown method to stop the pool's threads
+     */
+    @AfterEach
+    public void teardown() {
+        this.pool.shutdownNow();
+    }
+
+    /**
+     * Test for tasks running one at a time, in the order they were submitted (even though the
+     * underlying pool has several threads)
+     */
+    @Test
+    public void testTasksRunInOrderOneAtATime() throws InterruptedException {
+        int taskCount = 1000;
+        List<Integer> order = new ArrayList<>(); // deliberately not thread-safe
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+        CountDownLatch done = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            int taskNumber = i;
+            this.serialExecutor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(taskNumber);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(maxRunning.get(), 1);
+        for (int i = 0; i < taskCount; i++)
+            assertEquals(order.get(i), i);
+    }
+
+    /**
+     * Test for a failing task not stopping the tasks submitted after it
+     */
+    @Test
+    public void testFailingTaskDoesNotBlockQueue() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        this.serialExecutor.execute(() -> {
+            throw new IllegalStateException("expected by this test");
+        });
+        this.serialExecutor.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,129 @@
+package edu.brown.cs32.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for TimerService.java and GameTimers.java in 'scheduling' directory
+ */
+public class TimerServiceTest {
+
+    TimerService timerService;
+
+    /**
+     * Setup method to start a TimerService
+     */
+    @BeforeEach
+    public void setup() {
+        this.timerService = new TimerService();
+    }
+
+    /**
+     * Teardown method to stop the TimerService's timer thread
+     */
+    @AfterEach
+    public void teardown() {
+        this.timerService.shutdown();
+    }
+
+    /**
+     * Test for timed work being handed to the registered executor rather than run on the timer thread
+     */
+    @Test
+    public void testWorkRunsOnRegisteredExecutor() throws InterruptedException {
+        List<Runnable> handedOver = new ArrayList<>();
+        CountDownLatch ran = new CountDownLatch(3);
+        GameTimers timers = this.timerService.register(task -> {
+            synchronized (handedOver) {
+                handedOver.add(task);
+            }
+            task.run();
+        });
+        timers.scheduleAtFixedRate(ran::countDown, 0, 5, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        synchronized (handedOver) {
+            assertTrue(handedOver.size() >= 3);
+        }
+    }
+
+    /**
+     * Test for a timer whose executor has fallen behind keeping a single run waiting (rather than one
+     * per period), and for that run's lag counting the periods that it stood in for
+     */
+    @Test
+    public void testBehindExecutorSkipsPeriods() throws InterruptedException {
+        this.timerService.shutdown();
+        List<Long> lags = new ArrayList<>();
+        this.timerService = new TimerService(lag -> {
+            synchronized (lags) {
+                lags.add(lag);
+            }
+        });
+        List<Runnable> waiting = new ArrayList<>();
+        GameTimers timers = this.timerService.register(task -> {
+            synchronized (waiting) {
+                waiting.add(task); // held until the test runs it, as if the executor were busy
+            }
+        });
+        AtomicInteger runs = new AtomicInteger();
+        timers.scheduleAtFixedRate(runs::incrementAndGet, 0, 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(50);
+        Runnable run;
+        synchronized (waiting) {
+            assertEquals(waiting.size(), 1);
+            run = waiting.remove(0);
+        }
+
+        run.run();
+        assertEquals(runs.get(), 1);
+        synchronized (lags) {
+            assertEquals(lags.size(), 1);
+            assertTrue(lags.get(0) >= TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        Thread.sleep(20); // the next period queues a new run
+        timers.cancelAll();
+        synchronized (waiting) {
+            assertEquals(waiting.size(), 1);
+        }
+    }
+
+    /**
+     * Test for cancelled timers being removed from the shared scheduler, stopping their work, and
+     * leaving other games' timers running
+     */
+    @Test
+    public void testCancelAll() throws InterruptedException {
+        GameTimers endedGame = this.timerService.register(Runnable::run);
+        GameTimers otherGame = this.timerService.register(Runnable::run);
+        endedGame.scheduleAtFixedRate(() -> {}, 1, 1, TimeUnit.HOURS);
+        endedGame.scheduleAtFixedRate(() -> {}, 1, 1, TimeUnit.HOURS);
+        otherGame.scheduleAtFixedRate(() -> {}, 1, 1, TimeUnit.HOURS);
+        assertEquals(this.timerService.getScheduledTimerCount(), 3);
+        endedGame.cancelAll();
+        assertEquals(this.timerService.getScheduledTimerCount(), 1);
+
+        AtomicInteger runs = new AtomicInteger();
+        GameTimers fastGame = this.timerService.register(Runnable::run);
+        fastGame.scheduleAtFixedRate(runs::incrementAndGet, 0, 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+        fastGame.cancelAll();
+        Thread.sleep(20); // let any run that had already started finish
+        int runsAfterCancel = runs.get();
+        assertTrue(runsAfterCancel > 0);
+        Thread.sleep(50);
+        assertEquals(runs.get(), runsAfterCancel);
+
+        endedGame.scheduleAtFixedRate(() -> {}, 1, 1, TimeUnit.HOURS); // ignored once cancelled
+        assertEquals(this.timerService.getScheduledTimerCount(), 1);
+    }
+}
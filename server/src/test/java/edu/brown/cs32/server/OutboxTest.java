@@ -0,0 +1,85 @@
+package edu.brown.cs32.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for Outbox.java in 'server' directory
+ */
+public class OutboxTest {
+
+    List<Object> sentFrames;
+    boolean open;
+    WebSocket webSocket;
+
+    /**
+     * Setup method to create a stand-in WebSocket that records every frame sent through it
+     */
+    @BeforeEach
+    public void setup() {
+        this.sentFrames = new ArrayList<>();
+        this.open = true;
+        this.webSocket = TestFixtures.createWebSocket((method, args) -> switch (method) {
+            case "send" -> this.sentFrames.add(args[0]);
+            case "isOpen" -> this.open;
+            default -> null;
+        });
+    }
+
+    /**
+     * Test for runs of JSON and binary messages each being sent as a single frame, in order
+     */
+    @Test
+    public void testFlushGroupsRunsInOrder() {
+        Outbox outbox = new Outbox(this.webSocket, 1 << 16);
+        outbox.add("{\"a\":1}");
+        outbox.add("{\"b\":2}");
+        outbox.add(ByteBuffer.wrap(new byte[] {1, 2}));
+        outbox.add(ByteBuffer.wrap(new byte[] {3}));
+        outbox.add("{\"c\":3}");
+        assertTrue(this.sentFrames.isEmpty());
+
+        outbox.flush();
+        assertEquals(this.sentFrames.size(), 3);
+        assertEquals(this.sentFrames.get(0), "[{\"a\":1},{\"b\":2}]");
+        assertEquals(this.sentFrames.get(1), ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        assertEquals(this.sentFrames.get(2), "{\"c\":3}");
+
+        outbox.flush();
+        assertEquals(this.sentFrames.size(), 3);
+    }
+
+    /**
+     * Test for the outbox being flushed as soon as enough bytes are waiting
+     */
+    @Test
+    public void testFlushAtSizeThreshold() {
+        Outbox outbox = new Outbox(this.webSocket, 10);
+        outbox.add("12345");
+        assertTrue(this.sentFrames.isEmpty());
+        outbox.add("67890");
+        assertEquals(this.sentFrames, List.of("[12345,67890]"));
+    }
+
+    /**
+     * Test for waiting messages being dropped (rather than sent) once the connection has closed
+     */
+    @Test
+    public void testClosedConnection() {
+        Outbox outbox = new Outbox(this.webSocket, 1 << 16);
+        outbox.add("{\"a\":1}");
+        this.open = false;
+        outbox.flush();
+        this.open = true;
+        outbox.flush();
+        assertTrue(this.sentFrames.isEmpty());
+    }
+}
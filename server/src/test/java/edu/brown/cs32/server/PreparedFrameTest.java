@@ -0,0 +1,101 @@
+package edu.brown.cs32.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.framing.Framedata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for PreparedFrame.java in 'server' directory
+ */
+public class PreparedFrameTest {
+
+    List<Framedata> sentFrames;
+    List<Object> sentMessages;
+    WebSocket webSocket;
+
+    /**
+     * Setup method to create a stand-in WebSocket that records every frame, and every message,
+     * sent through it
+     */
+    @BeforeEach
+    public void setup() {
+        this.sentFrames = new ArrayList<>();
+        this.sentMessages = new ArrayList<>();
+        this.webSocket = TestFixtures.createWebSocket((method, args) -> switch (method) {
+            case "sendFrame" -> {
+                for (Object frame : (Iterable<?>) args[0])
+                    this.sentFrames.add((Framedata) frame);
+                yield null;
+            }
+            case "send" -> this.sentMessages.add(args[0]);
+            case "isOpen" -> true;
+            default -> null;
+        });
+    }
+
+    /**
+     * Test for a JSON message being framed once, and the same frame being passed to every client
+     * (and producing the same bytes on the wire each time)
+     */
+    @Test
+    public void testJsonFrameReused() {
+        PreparedFrame frame = PreparedFrame.ofJson("{\"type\":\"\u00e9\"}");
+        frame.sendTo(this.webSocket, null);
+        frame.sendTo(this.webSocket, null);
+        assertEquals(this.sentFrames.size(), 2);
+        assertSame(this.sentFrames.get(0), this.sentFrames.get(1));
+
+        Framedata framedata = this.sentFrames.get(0);
+        assertEquals(framedata.getOpcode(), Opcode.TEXT);
+        assertEquals(framedata.getPayloadData(), ByteBuffer.wrap("{\"type\":\"\u00e9\"}".getBytes(StandardCharsets.UTF_8)));
+
+        Draft_6455 draft = new Draft_6455();
+        ByteBuffer first = draft.createBinaryFrame(framedata);
+        ByteBuffer second = draft.createBinaryFrame(framedata);
+        assertEquals(first, second);
+        assertTrue(first.remaining() > framedata.getPayloadData().remaining());
+    }
+
+    /**
+     * Test for a binary message being framed without changing the buffer it was created from
+     */
+    @Test
+    public void testBinaryFrame() {
+        ByteBuffer binary = ByteBuffer.wrap(new byte[] {9, 1, 2, 3});
+        binary.get(); // only the remaining bytes are sent
+        PreparedFrame frame = PreparedFrame.ofBinary(binary);
+        frame.sendTo(this.webSocket, null);
+
+        assertEquals(this.sentFrames.size(), 1);
+        Framedata framedata = this.sentFrames.get(0);
+        assertEquals(framedata.getOpcode(), Opcode.BINARY);
+        assertEquals(framedata.getPayloadData(), ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        assertEquals(binary.position(), 1);
+    }
+
+    /**
+     * Test for clients whose messages are batched being sent the message through their outbox
+     */
+    @Test
+    public void testBatchedThroughOutbox() {
+        Outbox outbox = new Outbox(this.webSocket, 1 << 16);
+        PreparedFrame.ofJson("{\"a\":1}").sendTo(this.webSocket, outbox);
+        PreparedFrame.ofJson("{\"b\":2}").sendTo(this.webSocket, outbox);
+        assertTrue(this.sentMessages.isEmpty());
+
+        outbox.flush();
+        assertTrue(this.sentFrames.isEmpty());
+        assertEquals(this.sentMessages, List.of("[{\"a\":1},{\"b\":2}]"));
+    }
+}
@@ -0,0 +1,128 @@
+package edu.brown.cs32.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.user.User;
+import java.util.List;
+import java.util.Set;
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for SessionRegistry.java in 'server' directory
+ */
+public class SessionRegistryTest {
+
+    SessionRegistry sessions;
+    SlitherServer server;
+    GameState gameState;
+    Leaderboard leaderboard;
+
+    /**
+     * Setup method to create an empty registry, and a game (that is not started) to add to it
+     */
+    @BeforeEach
+    public void setup() {
+        this.sessions = new SessionRegistry();
+        this.server = TestFixtures.createServer();
+        this.gameState = new GameState(this.server, "ABCDEF");
+        this.leaderboard = new Leaderboard(this.gameState, this.server);
+    }
+
+    /**
+     * Teardown method to cancel the timers of the game and stop the threads of the server
+     */
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        this.gameState.shutdown();
+        this.server.stop();
+    }
+
+    /**
+     * Test for a user being looked up from their connection, and their game from its code
+     */
+    @Test
+    public void testLookups() {
+        WebSocket webSocket = TestFixtures.createWebSocket();
+        User user = new User("user");
+        assertNull(this.sessions.getGameCode(this.sessions.getUser(webSocket)));
+
+        assertTrue(this.sessions.addUser(webSocket, user));
+        assertFalse(this.sessions.addUser(webSocket, new User("other")));
+        assertEquals(this.sessions.getUser(webSocket), user);
+        assertNull(this.sessions.getGameCode(user));
+
+        this.sessions.addGame("ABCDEF", this.gameState, this.leaderboard);
+        assertTrue(this.sessions.setGameCode(user, "ABCDEF"));
+        assertFalse(this.sessions.setGameCode(user, "GHIJKL"));
+        assertEquals(this.sessions.getGameCode(user), "ABCDEF");
+        assertEquals(this.sessions.getGameState("ABCDEF"), this.gameState);
+        assertEquals(this.sessions.getLeaderboard("ABCDEF"), this.leaderboard);
+        assertEquals(this.sessions.getGameCodes(), Set.of("ABCDEF"));
+        assertEquals(this.sessions.getUserCount(), 1);
+
+        assertEquals(this.sessions.removeGameCode(user), "ABCDEF");
+        assertNull(this.sessions.getGameCode(user));
+        assertEquals(this.sessions.removeUser(webSocket), user);
+        assertNull(this.sessions.getGameCode(this.sessions.getUser(webSocket)));
+        assertEquals(this.sessions.getUserCount(), 0);
+    }
+
+    /**
+     * Test for a game being removed when its last websocket leaves it, and for websockets being
+     * unable to join it after that
+     */
+    @Test
+    public void testLastSocketEndsGame() {
+        WebSocket first = TestFixtures.createWebSocket();
+        WebSocket second = TestFixtures.createWebSocket();
+        this.sessions.addGame("ABCDEF", this.gameState, this.leaderboard);
+        assertTrue(this.sessions.addGameSocket(this.gameState, first));
+        assertTrue(this.sessions.addGameSocket(this.gameState, second));
+        assertFalse(this.sessions.addGameSocket(this.gameState, second));
+
+        assertFalse(this.sessions.removeGameSocket("ABCDEF", this.gameState, first));
+        assertEquals(this.sessions.getGameSockets(this.gameState), Set.of(second));
+        assertEquals(this.sessions.getGameState("ABCDEF"), this.gameState);
+
+        assertTrue(this.sessions.removeGameSocket("ABCDEF", this.gameState, second));
+        assertNull(this.sessions.getGameSockets(this.gameState));
+        assertNull(this.sessions.getGameState("ABCDEF"));
+        assertNull(this.sessions.getLeaderboard("ABCDEF"));
+        assertTrue(this.sessions.getGames().isEmpty());
+
+        assertFalse(this.sessions.removeGameSocket("ABCDEF", this.gameState, second));
+        assertThrows(IllegalStateException.class, () -> this.sessions.addGameSocket(this.gameState, first));
+    }
+
+    /**
+     * Test for iterating over a game's websockets while websockets join and leave it: the iteration
+     * sees the websockets at the time that it started
+     */
+    @Test
+    public void testIterateWhileChanging() {
+        WebSocket first = TestFixtures.createWebSocket();
+        WebSocket second = TestFixtures.createWebSocket();
+        WebSocket third = TestFixtures.createWebSocket();
+        this.sessions.addGame("ABCDEF", this.gameState, this.leaderboard);
+        this.sessions.addGameSocket(this.gameState, first);
+        this.sessions.addGameSocket(this.gameState, second);
+
+        int visited = 0;
+        for (WebSocket webSocket : this.sessions.getGameSockets(this.gameState)) {
+            this.sessions.removeGameSocket("ABCDEF", this.gameState, second);
+            this.sessions.addGameSocket(this.gameState, third);
+            visited++;
+        }
+        assertEquals(visited, 2);
+        assertEquals(List.copyOf(this.sessions.getGameSockets(this.gameState)), List.of(first, third));
+    }
+}
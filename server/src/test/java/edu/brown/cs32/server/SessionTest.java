@@ -0,0 +1,80 @@
+package edu.brown.cs32.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.brown.cs32.gameState.GameState;
+import edu.brown.cs32.leaderboard.Leaderboard;
+import edu.brown.cs32.user.User;
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for Session.java in 'server' directory
+ */
+public class SessionTest {
+
+    SlitherServer server;
+
+    /**
+     * Teardown method to stop the threads of the server (if a test created one)
+     */
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        if (this.server != null)
+            this.server.stop();
+    }
+
+    /**
+     * Test for a session being found from the WebSocket that it is attached to
+     */
+    @Test
+    public void testForSocket() {
+        Object[] attachment = {null};
+        WebSocket webSocket = TestFixtures.createWebSocket((method, args) -> switch (method) {
+            case "setAttachment" -> attachment[0] = args[0];
+            case "getAttachment" -> attachment[0];
+            default -> null;
+        });
+        assertNull(Session.forSocket(webSocket));
+
+        Outbox outbox = new Outbox(webSocket, 16);
+        Session session = new Session(outbox);
+        webSocket.setAttachment(session);
+        assertEquals(Session.forSocket(webSocket), session);
+        assertEquals(Session.forSocket(webSocket).getOutbox(), outbox);
+    }
+
+    /**
+     * Test for a session's user and game being set when the user joins a game, and forgotten when
+     * the user's snake dies (while the protocol is kept for the client's next game)
+     */
+    @Test
+    public void testJoinAndLeaveGame() {
+        this.server = TestFixtures.createServer();
+        GameState gameState = new GameState(this.server, "ABCDEF");
+        Leaderboard leaderboard = new Leaderboard(gameState, this.server);
+        gameState.shutdown();
+
+        Session session = new Session(null);
+        assertNull(session.getOutbox());
+        assertFalse(session.isBinary());
+        session.useBinary();
+
+        User user = new User("user");
+        session.setUser(user);
+        session.joinGame(gameState, leaderboard);
+        assertEquals(session.getUser(), user);
+        assertEquals(session.getGameState(), gameState);
+        assertEquals(session.getLeaderboard(), leaderboard);
+
+        session.leaveGame();
+        assertNull(session.getUser());
+        assertNull(session.getGameState());
+        assertNull(session.getLeaderboard());
+        assertTrue(session.isBinary());
+    }
+}
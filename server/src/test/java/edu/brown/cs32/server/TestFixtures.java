@@ -0,0 +1,54 @@
+package edu.brown.cs32.server;
+
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+import org.java_websocket.WebSocket;
+
+/**
+ * TestFixtures class to create the stand-ins shared by the tests: servers that are never started,
+ * and WebSockets that are not connected to anything
+ */
+public final class TestFixtures {
+
+    /**
+     * The settings of a test server: on an ephemeral port, without a tick loop, batching or metrics
+     */
+    public static final ServerConfig SERVER_CONFIG = new ServerConfig(0, 0, 0, 0, 16384, 0);
+
+    /**
+     * TestFixtures constructor, which is private since the class only has static methods
+     */
+    private TestFixtures() {}
+
+    /**
+     * Creates a server that is never started (its threads are stopped by calling its stop method)
+     * @return the server
+     */
+    public static SlitherServer createServer() {
+        return new SlitherServer(SERVER_CONFIG);
+    }
+
+    /**
+     * Creates a stand-in WebSocket whose methods do nothing (and return null)
+     * @return the WebSocket
+     */
+    public static WebSocket createWebSocket() {
+        return createWebSocket((method, args) -> null);
+    }
+
+    /**
+     * Creates a stand-in WebSocket whose methods are handled by a function. The WebSocket is only
+     * equal to itself, so it can be used as a key in maps and sets.
+     * @param methods : the function that is called with the name and arguments of every other
+     *                method called on the WebSocket, and returns the method's result
+     * @return the WebSocket
+     */
+    public static WebSocket createWebSocket(BiFunction<String, Object[], Object> methods) {
+        return (WebSocket) Proxy.newProxyInstance(WebSocket.class.getClassLoader(),
+            new Class<?>[] {WebSocket.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> methods.apply(method.getName(), args);
+            });
+    }
+}
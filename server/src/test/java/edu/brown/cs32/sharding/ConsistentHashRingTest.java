@@ -0,0 +1,85 @@
+package edu.brown.cs32.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.brown.cs32.gamecode.GameCodeGenerator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for ConsistentHashRing.java (and ShardNode.java) in 'sharding' directory
+ */
+public class ConsistentHashRingTest {
+
+    private static final List<ShardNode> NODES = List.of(new ShardNode("localhost", 9100),
+        new ShardNode("localhost", 9101), new ShardNode("localhost", 9102));
+
+    /**
+     * Test for rings built separately from the same nodes (as in different processes) agreeing on
+     * the owner of every key, and for keys being spread across all the nodes
+     */
+    @Test
+    public void testRingsAgree() {
+        ConsistentHashRing<ShardNode> ring = new ConsistentHashRing<>(NODES, 100);
+        ConsistentHashRing<ShardNode> otherRing = new ConsistentHashRing<>(List.of(
+            ShardNode.parse("localhost:9100"), ShardNode.parse("localhost:9101"), ShardNode.parse("localhost:9102")), 100);
+
+        GameCodeGenerator generator = new GameCodeGenerator();
+        Map<ShardNode, Integer> keyCounts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String gameCode = generator.generateGameCode(new HashSet<>());
+            assertEquals(ring.getNode(gameCode), otherRing.getNode(gameCode));
+            keyCounts.merge(ring.getNode(gameCode), 1, Integer::sum);
+        }
+        assertEquals(keyCounts.keySet(), new HashSet<>(NODES));
+        for (int count : keyCounts.values()) {
+            assertTrue(count > 600 && count < 1400);
+        }
+    }
+
+    /**
+     * Test for adding a node only moving keys onto the new node (every other key keeps its owner)
+     */
+    @Test
+    public void testAddingNodeMovesFewKeys() {
+        ConsistentHashRing<ShardNode> ring = new ConsistentHashRing<>(NODES, 100);
+        ShardNode newNode = new ShardNode("localhost", 9103);
+        List<ShardNode> grownNodes = List.of(NODES.get(0), NODES.get(1), NODES.get(2), newNode);
+        ConsistentHashRing<ShardNode> grownRing = new ConsistentHashRing<>(grownNodes, 100);
+
+        int moved = 0;
+        for (int i = 0; i < 2000; i++) {
+            String key = "GAME" + i;
+            if (!ring.getNode(key).equals(grownRing.getNode(key))) {
+                assertEquals(grownRing.getNode(key), newNode);
+                moved++;
+            }
+        }
+        assertTrue(moved > 250 && moved < 750);
+    }
+
+    /**
+     * Test for game codes generated for a node only being codes that the node owns, and for
+     * invalid rings and node addresses being rejected
+     */
+    @Test
+    public void testOwnedGameCodesAndErrors() {
+        ConsistentHashRing<ShardNode> ring = new ConsistentHashRing<>(NODES, 100);
+        for (int i = 0; i < 50; i++) {
+            String gameCode = new GameCodeGenerator().generateGameCode(new HashSet<>(),
+                code -> ring.getNode(code).equals(NODES.get(1)));
+            assertEquals(ring.getNode(gameCode), NODES.get(1));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<ShardNode>(List.of(), 100));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(NODES, 0));
+        assertThrows(IllegalArgumentException.class, () -> ShardNode.parse("localhost"));
+        assertThrows(IllegalArgumentException.class, () -> ShardNode.parse("localhost:port"));
+        assertEquals(ShardNode.parse("example.com:9100").uri().toString(), "ws://example.com:9100");
+    }
+}
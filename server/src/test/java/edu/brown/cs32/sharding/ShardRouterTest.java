@@ -0,0 +1,62 @@
+package edu.brown.cs32.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.brown.cs32.server.TestFixtures;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for ShardRouter.java in 'sharding' directory
+ */
+public class ShardRouterTest {
+
+    private static final List<ShardNode> NODES = List.of(new ShardNode("localhost", 9100),
+        new ShardNode("localhost", 9101), new ShardNode("localhost", 9102));
+
+    /**
+     * Test for clients joining with a game code being routed to the code's owner, and every other
+     * first message (new games, invalid or null messages) being routed to the nodes in turn
+     */
+    @Test
+    public void testChooseNode() {
+        ShardRouter router = new ShardRouter(0, new ShardConfig(NODES, null, 100));
+        ConsistentHashRing<ShardNode> ring = new ConsistentHashRing<>(NODES, 100);
+
+        String join = "{\"type\":\"NEW_CLIENT_WITH_CODE\",\"data\":{\"username\":\"user\",\"gameCode\":\"ABCDEF\"}}";
+        assertEquals(router.chooseNode(join), ring.getNode("ABCDEF"));
+        assertEquals(router.chooseNode(join), ring.getNode("ABCDEF"));
+
+        assertEquals(router.chooseNode("{\"type\":\"NEW_CLIENT_NO_CODE\",\"data\":{\"username\":\"user\"}}"), NODES.get(0));
+        assertEquals(router.chooseNode("null"), NODES.get(1));
+        assertEquals(router.chooseNode("not json"), NODES.get(2));
+        assertEquals(router.chooseNode(""), NODES.get(0));
+    }
+
+    /**
+     * Test for a client being sent the URL of its node in a REDIRECT message, and its connection to
+     * the router then being closed
+     */
+    @Test
+    public void testRedirect() {
+        ShardRouter router = new ShardRouter(0, new ShardConfig(NODES, null, 100));
+        ConsistentHashRing<ShardNode> ring = new ConsistentHashRing<>(NODES, 100);
+        List<Object> calls = new ArrayList<>();
+        WebSocket webSocket = TestFixtures.createWebSocket((method, args) -> switch (method) {
+            case "send", "close" -> calls.add(args[0]);
+            default -> null;
+        });
+
+        router.onMessage(webSocket, "{\"type\":\"NEW_CLIENT_WITH_CODE\",\"data\":{\"username\":\"user\",\"gameCode\":\"ABCDEF\"}}");
+        assertEquals(calls, List.of("{\"type\":\"REDIRECT\",\"data\":{\"url\":\"" + ring.getNode("ABCDEF").uri() + "\"}}",
+            CloseFrame.NORMAL));
+
+        calls.clear();
+        router.onMessage(webSocket, ByteBuffer.wrap(new byte[] {1}));
+        assertEquals(calls, List.of("{\"type\":\"REDIRECT\",\"data\":{\"url\":\"ws://localhost:9100\"}}", CloseFrame.NORMAL));
+    }
+}
@@ -0,0 +1,99 @@
+package edu.brown.cs32.snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.brown.cs32.position.Position;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for SnakeBody.java in 'snake' directory
+ */
+public class SnakeBodyTest {
+
+    /**
+     * Test for moving a snake (adding a head and removing the tail) and growing it (adding to the
+     * tail), and for the body parts being kept in order from head to tail
+     */
+    @Test
+    public void testMoveAndGrow() {
+        SnakeBody snakeBody = new SnakeBody();
+        assertTrue(snakeBody.isEmpty());
+        assertFalse(snakeBody.isLast(new Position(0, 0)));
+
+        snakeBody.addLast(new Position(600, 100));
+        snakeBody.addLast(new Position(600, 105));
+        snakeBody.addLast(new Position(600, 110));
+        assertTrue(snakeBody.isLast(new Position(600, 110)));
+        assertFalse(snakeBody.isLast(new Position(600, 105)));
+
+        snakeBody.removeLast();
+        snakeBody.addFirst(new Position(600, 95));
+        assertEquals(snakeBody.size(), 3);
+        assertEquals(snakeBody.get(0), new Position(600, 95));
+        assertTrue(snakeBody.isLast(new Position(600, 105)));
+
+        snakeBody.addLast(new Position(600, 110));
+        assertEquals(snakeBody.toPositions(),
+            List.of(new Position(600, 95), new Position(600, 100), new Position(600, 105), new Position(600, 110)));
+        assertEquals(snakeBody.getFixedX(3), 60000);
+        assertEquals(snakeBody.getFixedY(3), 11000);
+    }
+
+    /**
+     * Test for reading or removing body parts that a snake does not have
+     */
+    @Test
+    public void testOutOfBounds() {
+        SnakeBody snakeBody = new SnakeBody();
+        assertThrows(IllegalStateException.class, snakeBody::removeLast);
+        assertThrows(IndexOutOfBoundsException.class, () -> snakeBody.getFixedX(0));
+
+        snakeBody.addFirst(new Position(1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> snakeBody.getFixedY(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> snakeBody.get(-1));
+    }
+
+    /**
+     * Test for a snake that wraps around its buffers, and outgrows them, matching a Deque that is
+     * given the same moves
+     */
+    @Test
+    public void testMatchesDeque() {
+        Random random = new Random(32);
+        SnakeBody snakeBody = new SnakeBody();
+        Deque<Position> expected = new ArrayDeque<>();
+        for (int i = 0; i < 20; i++) {
+            snakeBody.addLast(new Position(i, -i));
+            expected.addLast(new Position(i, -i));
+        }
+
+        for (int step = 0; step < 10000; step++) {
+            double x = random.nextInt(3000) - 1500;
+            double y = random.nextInt(3000) - 1500;
+            int action = random.nextInt(10);
+            if (action < 7) { // move
+                assertTrue(snakeBody.isLast(expected.peekLast()));
+                snakeBody.removeLast();
+                snakeBody.addFirst(new Position(x, y));
+                expected.removeLast();
+                expected.addFirst(new Position(x, y));
+            } else if (action < 9) { // grow
+                snakeBody.addLast(new Position(x, y));
+                expected.addLast(new Position(x, y));
+            } else if (expected.size() > 1) { // shrink
+                snakeBody.removeLast();
+                expected.removeLast();
+            }
+        }
+        assertTrue(expected.size() > 64);
+        assertEquals(snakeBody.toPositions(), new ArrayList<>(expected));
+    }
+}
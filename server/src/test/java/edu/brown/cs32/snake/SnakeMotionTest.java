@@ -0,0 +1,69 @@
+package edu.brown.cs32.snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.brown.cs32.position.Position;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing class for SnakeMotion.java in 'snake' directory
+ */
+public class SnakeMotionTest {
+
+    /**
+     * Creates a snake body with a single body part
+     * @param x : the x coordinate of the body part
+     * @param y : the y coordinate of the body part
+     * @return the snake body
+     */
+    private SnakeBody bodyAt(double x, double y) {
+        SnakeBody snakeBody = new SnakeBody();
+        snakeBody.addFirst(new Position(x, y));
+        return snakeBody;
+    }
+
+    /**
+     * Test for a new snake moving down the screen (as clients start their snakes) until it is
+     * given an input
+     */
+    @Test
+    public void testInitialHeading() {
+        SnakeMotion motion = new SnakeMotion();
+        assertEquals(motion.step(this.bodyAt(600, 100)), new Position(600, 108));
+        assertEquals(motion.getHeading(), Math.PI / 2, 1e-9);
+        assertEquals(motion.getLastSequence(), -1);
+        assertThrows(IllegalStateException.class, () -> motion.step(new SnakeBody()));
+    }
+
+    /**
+     * Test for a snake turning by at most MAX_TURN each step (the shorter way round, including
+     * across the angle where headings wrap around), and stopping once it heads towards its target,
+     * with the sequence number of the latest input kept
+     */
+    @Test
+    public void testTurning() {
+        SnakeMotion motion = new SnakeMotion();
+        motion.setInput(0, true, 0);
+        assertEquals(motion.isBoosting(), true);
+        assertEquals(motion.getLastSequence(), 0);
+        motion.step(this.bodyAt(0, 0));
+        assertEquals(motion.getHeading(), Math.PI / 2 - SnakeMotion.MAX_TURN, 1e-9);
+        for (int i = 0; i < 20; i++) {
+            motion.step(this.bodyAt(0, 0));
+        }
+        assertEquals(motion.getHeading(), 0, 1e-9);
+        assertEquals(motion.step(this.bodyAt(10, 10)), new Position(18, 10));
+
+        // from just below PI to just above -PI, the snake turns through PI rather than through 0
+        motion.setInput(3.1, false, 1);
+        for (int i = 0; i < 40; i++) {
+            motion.step(this.bodyAt(0, 0));
+        }
+        assertEquals(motion.getHeading(), 3.1, 1e-9);
+        motion.setInput(-3.1, false, 2);
+        motion.step(this.bodyAt(0, 0));
+        assertEquals(motion.getHeading(), -3.1, 1e-9);
+        assertEquals(motion.getLastSequence(), 2);
+    }
+}
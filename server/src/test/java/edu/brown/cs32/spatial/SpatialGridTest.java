@@ -0,0 +1,92 @@
+package edu.brown.cs32.spatial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.brown.cs32.position.Position;
+
+/**
+ * Testing class for SpatialGrid.java in 'spatial' directory
+ */
+public class SpatialGridTest {
+
+    SpatialGrid<Position> grid;
+
+    /**
+     * Setup method to create an empty grid covering the game map, with 35-unit cells
+     */
+    @BeforeEach
+    public void setup() {
+        this.grid = new SpatialGrid<>(-1500, 1500, 35, position -> position);
+    }
+
+    /**
+     * Test for adding, finding, and removing positions (including duplicate adds and removes)
+     */
+    @Test
+    public void testAddContainsRemove() {
+        Position position = new Position(10.5, -20.25);
+        assertTrue(this.grid.add(position));
+        assertFalse(this.grid.add(new Position(10.5, -20.25)));
+        assertEquals(this.grid.size(), 1);
+        assertTrue(this.grid.contains(position));
+
+        assertTrue(this.grid.remove(position));
+        assertFalse(this.grid.remove(position));
+        assertFalse(this.grid.contains(position));
+        assertEquals(this.grid.size(), 0);
+    }
+
+    /**
+     * Test for radius queries finding positions in neighboring cells, but not positions that are
+     * nearby on one axis only or just outside the radius
+     */
+    @Test
+    public void testWithinRadius() {
+        Position center = new Position(34.0, 34.0);
+        Position neighbor = new Position(60.0, 40.0); // in the next cell over, 26.7 units away
+        Position onRadius = new Position(34.0, 69.0); // exactly 35 units away
+        Position outside = new Position(34.0, 69.5); // just beyond 35 units away
+        this.grid.add(neighbor);
+        this.grid.add(onRadius);
+        this.grid.add(outside);
+
+        List<Position> found = this.grid.getWithinRadius(center, 35);
+        assertEquals(found.size(), 2);
+        assertTrue(found.contains(neighbor));
+        assertTrue(found.contains(onRadius));
+        assertFalse(found.contains(outside));
+        assertTrue(this.grid.anyWithinRadius(center, 35));
+        assertFalse(this.grid.anyWithinRadius(new Position(-500.0, -500.0), 35));
+    }
+
+    /**
+     * Test for positions beyond the map boundary still being stored and found
+     */
+    @Test
+    public void testOutsideMap() {
+        Position outsideMap = new Position(1510.0, -1520.0);
+        assertTrue(this.grid.add(outsideMap));
+        assertTrue(this.grid.contains(outsideMap));
+        assertTrue(this.grid.anyWithinRadius(new Position(1490.0, -1500.0), 35));
+        assertTrue(this.grid.remove(outsideMap));
+    }
+
+    /**
+     * Test for filtered radius queries skipping nearby objects that do not satisfy the filter
+     */
+    @Test
+    public void testAnyWithinRadiusFiltered() {
+        Position center = new Position(0.0, 0.0);
+        this.grid.add(new Position(10.0, 10.0));
+        assertFalse(this.grid.anyWithinRadius(center, 35, position -> position.x() > 20));
+        this.grid.add(new Position(25.0, 0.0));
+        assertTrue(this.grid.anyWithinRadius(center, 35, position -> position.x() > 20));
+    }
+}